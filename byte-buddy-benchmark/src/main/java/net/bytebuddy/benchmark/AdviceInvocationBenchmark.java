@@ -0,0 +1,378 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.utility.nullability.MaybeNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+/**
+ * <p>
+ * This benchmark measures the runtime overhead of methods that are instrumented with {@link Advice}. The same sample method is
+ * instrumented with advice of different shapes, both inlined and delegated, and is compared to a non-instrumented baseline.
+ * The advice methods are kept trivial such that the measured difference reflects the overhead of the generated byte code.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AdviceInvocationBenchmark {
+
+    /**
+     * The name of the instrumented method.
+     */
+    public static final String METHOD_NAME = "apply";
+
+    /**
+     * A generic {@link String} value.
+     */
+    private String stringValue = "foo";
+
+    /**
+     * A generic {@code int} value.
+     */
+    private int intValue = 42;
+
+    /**
+     * A non-instrumented instance that serves as a baseline.
+     */
+    @MaybeNull
+    private Advised baselineInstance;
+
+    /**
+     * An instance with inlined enter and exit advice.
+     */
+    @MaybeNull
+    private Advised inlinedInstance;
+
+    /**
+     * An instance with delegated enter and exit advice.
+     */
+    @MaybeNull
+    private Advised delegatedInstance;
+
+    /**
+     * An instance with exit advice that is also invoked upon an exception.
+     */
+    @MaybeNull
+    private Advised thrownInstance;
+
+    /**
+     * An instance with advice that shares a local variable.
+     */
+    @MaybeNull
+    private Advised localInstance;
+
+    /**
+     * An instance with advice that writes the return value.
+     */
+    @MaybeNull
+    private Advised returnInstance;
+
+    /**
+     * An instance with advice that reads an array of all arguments.
+     */
+    @MaybeNull
+    private Advised allArgumentsInstance;
+
+    /**
+     * Creates an instance for each advice shape.
+     *
+     * @throws Exception If an instance cannot be created.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        baselineInstance = new Sample();
+        inlinedInstance = make(EnterExitAdvice.class);
+        delegatedInstance = make(DelegatingEnterExitAdvice.class);
+        thrownInstance = make(ThrownAdvice.class);
+        localInstance = make(LocalAdvice.class);
+        returnInstance = make(ReturnAdvice.class);
+        allArgumentsInstance = make(AllArgumentsAdvice.class);
+    }
+
+    /**
+     * Creates an instance of the sample type that is instrumented with the supplied advice.
+     *
+     * @param advice The advice to apply.
+     * @return An instance of the instrumented sample type.
+     * @throws Exception If the instance cannot be created.
+     */
+    private static Advised make(Class<?> advice) throws Exception {
+        return (Advised) new ByteBuddy()
+                .redefine(Sample.class)
+                .name(Sample.class.getName() + "$" + advice.getSimpleName())
+                .visit(Advice.to(advice).on(named(METHOD_NAME)))
+                .make()
+                .load(Sample.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .getConstructor()
+                .newInstance();
+    }
+
+    /**
+     * Performs a benchmark of a non-instrumented method as a baseline.
+     *
+     * @return The method's return value.
+     */
+    @Benchmark
+    public String baseline() {
+        return baselineInstance.apply(stringValue, intValue);
+    }
+
+    /**
+     * Performs a benchmark of a method with inlined enter and exit advice that passes a value from enter to exit advice.
+     *
+     * @return The method's return value.
+     */
+    @Benchmark
+    public String benchmarkInlined() {
+        return inlinedInstance.apply(stringValue, intValue);
+    }
+
+    /**
+     * Performs a benchmark of a method with delegated enter and exit advice that passes a value from enter to exit advice.
+     *
+     * @return The method's return value.
+     */
+    @Benchmark
+    public String benchmarkDelegated() {
+        return delegatedInstance.apply(stringValue, intValue);
+    }
+
+    /**
+     * Performs a benchmark of a method with exit advice that is also applied if the method throws an exception.
+     *
+     * @return The method's return value.
+     */
+    @Benchmark
+    public String benchmarkThrown() {
+        return thrownInstance.apply(stringValue, intValue);
+    }
+
+    /**
+     * Performs a benchmark of a method with advice that shares a local variable between enter and exit advice.
+     *
+     * @return The method's return value.
+     */
+    @Benchmark
+    public String benchmarkLocal() {
+        return localInstance.apply(stringValue, intValue);
+    }
+
+    /**
+     * Performs a benchmark of a method with exit advice that writes the return value.
+     *
+     * @return The method's return value.
+     */
+    @Benchmark
+    public String benchmarkReturn() {
+        return returnInstance.apply(stringValue, intValue);
+    }
+
+    /**
+     * Performs a benchmark of a method with enter advice that reads an array of all arguments.
+     *
+     * @return The method's return value.
+     */
+    @Benchmark
+    public String benchmarkAllArguments() {
+        return allArgumentsInstance.apply(stringValue, intValue);
+    }
+
+    /**
+     * An interface that is implemented by all instrumented types.
+     */
+    public interface Advised {
+
+        /**
+         * Returns the supplied value if the count is not zero.
+         *
+         * @param value The value to return.
+         * @param count The count to consider.
+         * @return The supplied value if the count is not zero or {@code null}.
+         */
+        @MaybeNull
+        String apply(String value, int count);
+    }
+
+    /**
+     * A sample type that is instrumented with advice.
+     */
+    public static class Sample implements Advised {
+
+        /**
+         * {@inheritDoc}
+         */
+        @MaybeNull
+        public String apply(String value, int count) {
+            return count == 0
+                    ? null
+                    : value;
+        }
+    }
+
+    /**
+     * An inlined enter and exit advice that passes a value from enter to exit advice.
+     */
+    public static class EnterExitAdvice {
+
+        /**
+         * Reads an argument of the instrumented method.
+         *
+         * @param count The second argument of the instrumented method.
+         * @return The supplied argument.
+         */
+        @Advice.OnMethodEnter
+        public static int enter(@Advice.Argument(1) int count) {
+            return count;
+        }
+
+        /**
+         * Validates the value that was returned by the enter advice.
+         *
+         * @param count The value that was returned by the enter advice.
+         */
+        @Advice.OnMethodExit
+        public static void exit(@Advice.Enter int count) {
+            if (count < 0) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    /**
+     * A delegated enter and exit advice that passes a value from enter to exit advice.
+     */
+    public static class DelegatingEnterExitAdvice {
+
+        /**
+         * Reads an argument of the instrumented method.
+         *
+         * @param count The second argument of the instrumented method.
+         * @return The supplied argument.
+         */
+        @Advice.OnMethodEnter(inline = false)
+        public static int enter(@Advice.Argument(1) int count) {
+            return count;
+        }
+
+        /**
+         * Validates the value that was returned by the enter advice.
+         *
+         * @param count The value that was returned by the enter advice.
+         */
+        @Advice.OnMethodExit(inline = false)
+        public static void exit(@Advice.Enter int count) {
+            if (count < 0) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    /**
+     * An exit advice that is also applied if the instrumented method throws an exception.
+     */
+    public static class ThrownAdvice {
+
+        /**
+         * Validates the thrown exception.
+         *
+         * @param throwable The exception that was thrown by the instrumented method or {@code null}.
+         */
+        @Advice.OnMethodExit(onThrowable = Throwable.class)
+        public static void exit(@Advice.Thrown Throwable throwable) {
+            if (throwable instanceof Error) {
+                throw new IllegalStateException(throwable);
+            }
+        }
+    }
+
+    /**
+     * An advice that shares a local variable between enter and exit advice.
+     */
+    public static class LocalAdvice {
+
+        /**
+         * Assigns an argument to the local variable.
+         *
+         * @param count The second argument of the instrumented method.
+         * @param local The shared local variable.
+         */
+        @Advice.OnMethodEnter
+        public static void enter(@Advice.Argument(1) int count, @Advice.Local("local") int local) {
+            local = count;
+        }
+
+        /**
+         * Validates the shared local variable.
+         *
+         * @param local The shared local variable.
+         */
+        @Advice.OnMethodExit
+        public static void exit(@Advice.Local("local") int local) {
+            if (local < 0) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    /**
+     * An exit advice that writes the return value.
+     */
+    public static class ReturnAdvice {
+
+        /**
+         * Replaces a {@code null} return value with an empty string.
+         *
+         * @param returned The returned value.
+         */
+        @Advice.OnMethodExit
+        public static void exit(@Advice.Return(readOnly = false) String returned) {
+            if (returned == null) {
+                returned = "";
+            }
+        }
+    }
+
+    /**
+     * An enter advice that reads an array of all arguments.
+     */
+    public static class AllArgumentsAdvice {
+
+        /**
+         * Validates the array of all arguments.
+         *
+         * @param arguments An array of all arguments of the instrumented method.
+         */
+        @Advice.OnMethodEnter
+        public static void enter(@Advice.AllArguments Object[] arguments) {
+            if (arguments.length == 0) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+}
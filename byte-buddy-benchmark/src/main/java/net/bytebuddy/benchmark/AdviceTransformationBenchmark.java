@@ -0,0 +1,180 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.asm.AsmVisitorWrapper;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.utility.nullability.MaybeNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+/**
+ * This benchmark measures the time that is required for applying {@link Advice} of different shapes to a type, including the
+ * parsing of the instrumented type's class file and the writing of the transformed class file. The advice is resolved during
+ * the benchmark's setup such that only the cost of its application is measured. The advice shapes are equal to those of the
+ * {@link AdviceInvocationBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AdviceTransformationBenchmark {
+
+    /**
+     * The Byte Buddy instance to use.
+     */
+    @MaybeNull
+    private ByteBuddy byteBuddy;
+
+    /**
+     * A description of the transformed type.
+     */
+    @MaybeNull
+    private TypeDescription typeDescription;
+
+    /**
+     * The class file locator for the transformed type.
+     */
+    @MaybeNull
+    private ClassFileLocator classFileLocator;
+
+    /**
+     * An inlined enter and exit advice.
+     */
+    @MaybeNull
+    private AsmVisitorWrapper inlined;
+
+    /**
+     * A delegated enter and exit advice.
+     */
+    @MaybeNull
+    private AsmVisitorWrapper delegated;
+
+    /**
+     * An exit advice that is also applied if an exception is thrown.
+     */
+    @MaybeNull
+    private AsmVisitorWrapper thrown;
+
+    /**
+     * An advice that shares a local variable.
+     */
+    @MaybeNull
+    private AsmVisitorWrapper local;
+
+    /**
+     * An advice that writes the return value.
+     */
+    @MaybeNull
+    private AsmVisitorWrapper returned;
+
+    /**
+     * An advice that reads an array of all arguments.
+     */
+    @MaybeNull
+    private AsmVisitorWrapper allArguments;
+
+    /**
+     * Resolves the transformed type and all advice.
+     */
+    @Setup
+    public void setUp() {
+        byteBuddy = new ByteBuddy();
+        typeDescription = TypeDescription.ForLoadedType.of(AdviceInvocationBenchmark.Sample.class);
+        classFileLocator = ClassFileLocator.ForClassLoader.of(AdviceInvocationBenchmark.Sample.class.getClassLoader());
+        inlined = Advice.to(AdviceInvocationBenchmark.EnterExitAdvice.class).on(named(AdviceInvocationBenchmark.METHOD_NAME));
+        delegated = Advice.to(AdviceInvocationBenchmark.DelegatingEnterExitAdvice.class).on(named(AdviceInvocationBenchmark.METHOD_NAME));
+        thrown = Advice.to(AdviceInvocationBenchmark.ThrownAdvice.class).on(named(AdviceInvocationBenchmark.METHOD_NAME));
+        local = Advice.to(AdviceInvocationBenchmark.LocalAdvice.class).on(named(AdviceInvocationBenchmark.METHOD_NAME));
+        returned = Advice.to(AdviceInvocationBenchmark.ReturnAdvice.class).on(named(AdviceInvocationBenchmark.METHOD_NAME));
+        allArguments = Advice.to(AdviceInvocationBenchmark.AllArgumentsAdvice.class).on(named(AdviceInvocationBenchmark.METHOD_NAME));
+    }
+
+    /**
+     * Redefines the type without applying any advice as a baseline.
+     *
+     * @return The redefined class file.
+     */
+    @Benchmark
+    public byte[] baseline() {
+        return byteBuddy.redefine(typeDescription, classFileLocator).make().getBytes();
+    }
+
+    /**
+     * Applies an inlined enter and exit advice.
+     *
+     * @return The transformed class file.
+     */
+    @Benchmark
+    public byte[] benchmarkInlined() {
+        return byteBuddy.redefine(typeDescription, classFileLocator).visit(inlined).make().getBytes();
+    }
+
+    /**
+     * Applies a delegated enter and exit advice.
+     *
+     * @return The transformed class file.
+     */
+    @Benchmark
+    public byte[] benchmarkDelegated() {
+        return byteBuddy.redefine(typeDescription, classFileLocator).visit(delegated).make().getBytes();
+    }
+
+    /**
+     * Applies an exit advice that is also applied if an exception is thrown.
+     *
+     * @return The transformed class file.
+     */
+    @Benchmark
+    public byte[] benchmarkThrown() {
+        return byteBuddy.redefine(typeDescription, classFileLocator).visit(thrown).make().getBytes();
+    }
+
+    /**
+     * Applies an advice that shares a local variable.
+     *
+     * @return The transformed class file.
+     */
+    @Benchmark
+    public byte[] benchmarkLocal() {
+        return byteBuddy.redefine(typeDescription, classFileLocator).visit(local).make().getBytes();
+    }
+
+    /**
+     * Applies an advice that writes the return value.
+     *
+     * @return The transformed class file.
+     */
+    @Benchmark
+    public byte[] benchmarkReturn() {
+        return byteBuddy.redefine(typeDescription, classFileLocator).visit(returned).make().getBytes();
+    }
+
+    /**
+     * Applies an advice that reads an array of all arguments.
+     *
+     * @return The transformed class file.
+     */
+    @Benchmark
+    public byte[] benchmarkAllArguments() {
+        return byteBuddy.redefine(typeDescription, classFileLocator).visit(allArguments).make().getBytes();
+    }
+}
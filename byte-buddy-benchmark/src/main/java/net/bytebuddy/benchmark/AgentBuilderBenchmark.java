@@ -0,0 +1,281 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.agent.builder.ResettableClassFileTransformer;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.asm.AsmVisitorWrapper;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.pool.TypePool;
+import net.bytebuddy.utility.JavaModule;
+import net.bytebuddy.utility.nullability.MaybeNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Serializable;
+import java.lang.instrument.IllegalClassFormatException;
+import java.security.ProtectionDomain;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * <p>
+ * A benchmark for the latency of a {@link ResettableClassFileTransformer} that is created by an {@link AgentBuilder} when a class
+ * is loaded or retransformed. Each invocation of the benchmark transforms a single class of a synthetic corpus of
+ * {@link AgentBuilderBenchmark#CLASSES} classes, which are processed in turns. The transformer is invoked directly such that no
+ * {@link java.lang.instrument.Instrumentation} is required. To simulate a retransformation, the transformer is created with
+ * disabled class format changes and is supplied the loaded class.
+ * </p>
+ * <p>
+ * The benchmark is run in sample mode such that JMH reports latency percentiles per transformed class. The pool strategy,
+ * description strategy, location strategy and type matcher can be varied via the benchmark's parameters. Allocation rates can
+ * be reported by running the benchmark with JMH's GC profiler, for example by specifying {@code -prof gc} on the command line.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AgentBuilderBenchmark {
+
+    /**
+     * The number of classes in the transformed corpus.
+     */
+    public static final int CLASSES = 1000;
+
+    /**
+     * The prefix of the name of all classes in the transformed corpus.
+     */
+    public static final String PREFIX = "benchmark.agent.Sample";
+
+    /**
+     * The pool strategy to use, either {@code FAST}, {@code EXTENDED} or {@code CACHED} for a fast pool strategy that caches
+     * type pools per class loader.
+     */
+    @Param({"FAST", "EXTENDED", "CACHED"})
+    public String poolStrategy;
+
+    /**
+     * The name of the {@link AgentBuilder.DescriptionStrategy.Default} to use.
+     */
+    @Param({"HYBRID", "POOL_ONLY", "POOL_FIRST"})
+    public String descriptionStrategy;
+
+    /**
+     * The name of the {@link AgentBuilder.LocationStrategy.ForClassLoader} to use.
+     */
+    @Param({"STRONG", "WEAK"})
+    public String locationStrategy;
+
+    /**
+     * The type matcher to use, either {@code NAME} for matching all types by name, {@code ANNOTATION} for matching types by
+     * a declared annotation or {@code SUPER_TYPE} for matching types by an implemented interface.
+     */
+    @Param({"NAME", "ANNOTATION", "SUPER_TYPE"})
+    public String matcher;
+
+    /**
+     * {@code true} if a retransformation should be simulated.
+     */
+    @Param({"false", "true"})
+    public boolean retransformation;
+
+    /**
+     * The names of the classes in the transformed corpus.
+     */
+    @MaybeNull
+    private String[] names;
+
+    /**
+     * The binary representations of the classes in the transformed corpus.
+     */
+    @MaybeNull
+    private byte[][] binaryRepresentations;
+
+    /**
+     * The loaded classes of the transformed corpus.
+     */
+    @MaybeNull
+    private Class<?>[] types;
+
+    /**
+     * The class loader that defines the transformed corpus.
+     */
+    @MaybeNull
+    private ClassLoader classLoader;
+
+    /**
+     * The class file transformer to benchmark.
+     */
+    @MaybeNull
+    private ResettableClassFileTransformer classFileTransformer;
+
+    /**
+     * The index of the class to transform next.
+     */
+    private int index;
+
+    /**
+     * Sets up this benchmark by generating and loading the transformed corpus and by creating the class file transformer.
+     *
+     * @throws Exception If the setup fails.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        names = new String[CLASSES];
+        binaryRepresentations = new byte[CLASSES][];
+        Map<String, byte[]> typeDefinitions = new HashMap<String, byte[]>();
+        ByteBuddy byteBuddy = new ByteBuddy();
+        for (int index = 0; index < CLASSES; index++) {
+            DynamicType.Builder<?> builder = index % 2 == 0
+                    ? byteBuddy.subclass(Object.class).implement(Serializable.class).annotateType(AnnotationDescription.Builder.ofType(Deprecated.class).build())
+                    : byteBuddy.subclass(Object.class);
+            DynamicType dynamicType = builder.name(PREFIX + index)
+                    .defineField("foo", String.class, Visibility.PRIVATE)
+                    .defineMethod("qux", String.class, Visibility.PUBLIC)
+                    .intercept(FixedValue.value("qux" + index))
+                    .make();
+            names[index] = dynamicType.getTypeDescription().getName();
+            binaryRepresentations[index] = dynamicType.getBytes();
+            typeDefinitions.put(names[index], binaryRepresentations[index]);
+        }
+        classLoader = new ByteArrayClassLoader(AgentBuilderBenchmark.class.getClassLoader(), typeDefinitions, ByteArrayClassLoader.PersistenceHandler.MANIFEST);
+        types = new Class<?>[CLASSES];
+        for (int index = 0; index < CLASSES; index++) {
+            types[index] = Class.forName(names[index], false, classLoader);
+        }
+        AgentBuilder agentBuilder = new AgentBuilder.Default()
+                .with(toPoolStrategy(poolStrategy))
+                .with(AgentBuilder.DescriptionStrategy.Default.valueOf(descriptionStrategy))
+                .with(AgentBuilder.LocationStrategy.ForClassLoader.valueOf(locationStrategy));
+        if (retransformation) {
+            agentBuilder = agentBuilder.disableClassFormatChanges().with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION);
+        }
+        classFileTransformer = (ResettableClassFileTransformer) agentBuilder.type(toMatcher(matcher))
+                .transform(new AdviceTransformer(Advice.to(TrivialAdvice.class).on(named("qux"))))
+                .makeRaw();
+    }
+
+    /**
+     * Resolves a pool strategy by its name.
+     *
+     * @param name The name of the pool strategy.
+     * @return An appropriate pool strategy.
+     */
+    private static AgentBuilder.PoolStrategy toPoolStrategy(String name) {
+        if (name.equals("CACHED")) {
+            return new AgentBuilder.PoolStrategy.WithTypePoolCache.Simple(new ConcurrentHashMap<ClassLoader, TypePool.CacheProvider>());
+        } else {
+            return AgentBuilder.PoolStrategy.Default.valueOf(name);
+        }
+    }
+
+    /**
+     * Resolves a type matcher by its name.
+     *
+     * @param name The name of the type matcher.
+     * @return An appropriate type matcher.
+     */
+    private static ElementMatcher<? super TypeDescription> toMatcher(String name) {
+        if (name.equals("NAME")) {
+            return nameStartsWith(PREFIX);
+        } else if (name.equals("ANNOTATION")) {
+            return isAnnotatedWith(Deprecated.class);
+        } else if (name.equals("SUPER_TYPE")) {
+            return isSubTypeOf(Serializable.class);
+        } else {
+            throw new IllegalArgumentException("Unknown matcher: " + name);
+        }
+    }
+
+    /**
+     * Transforms the next class of the corpus.
+     *
+     * @return The transformed class file or {@code null} if the class was not transformed.
+     * @throws IllegalClassFormatException If the class file cannot be transformed.
+     */
+    @Benchmark
+    @MaybeNull
+    public byte[] benchmarkTransformation() throws IllegalClassFormatException {
+        int index = this.index++ % CLASSES;
+        return classFileTransformer.transform(classLoader,
+                names[index].replace('.', '/'),
+                retransformation
+                        ? types[index]
+                        : null,
+                null,
+                binaryRepresentations[index]);
+    }
+
+    /**
+     * A transformer that applies an advice.
+     */
+    protected static class AdviceTransformer implements AgentBuilder.Transformer {
+
+        /**
+         * The advice to apply.
+         */
+        private final AsmVisitorWrapper advice;
+
+        /**
+         * Creates a new advice transformer.
+         *
+         * @param advice The advice to apply.
+         */
+        protected AdviceTransformer(AsmVisitorWrapper advice) {
+            this.advice = advice;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder,
+                                                TypeDescription typeDescription,
+                                                @MaybeNull ClassLoader classLoader,
+                                                @MaybeNull JavaModule module,
+                                                ProtectionDomain protectionDomain) {
+            return builder.visit(advice);
+        }
+    }
+
+    /**
+     * A trivial advice that is applied to all transformed classes.
+     */
+    public static class TrivialAdvice {
+
+        /**
+         * Replaces a {@code null} return value with an empty string.
+         *
+         * @param returned The returned value.
+         */
+        @Advice.OnMethodExit
+        public static void exit(@Advice.Return(readOnly = false) String returned) {
+            if (returned == null) {
+                returned = "";
+            }
+        }
+    }
+}
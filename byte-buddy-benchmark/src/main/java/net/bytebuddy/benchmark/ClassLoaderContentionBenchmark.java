@@ -0,0 +1,200 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import net.bytebuddy.implementation.FixedValue;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * A benchmark for the throughput of {@link ByteArrayClassLoader}s when many threads load generated classes. For every iteration,
+ * fresh class loaders are created such that the first {@link ClassLoaderContentionBenchmark#classes} invocations define a class
+ * while any later invocation looks up a class that was already defined. Additionally, the lookup of class file resources of
+ * class loaders that apply child-first semantics is measured.
+ * </p>
+ * <p>
+ * To observe the scaling of each class loader, this benchmark should be run with an increasing number of threads, for example by
+ * specifying {@code -t 1}, {@code -t 4} and {@code -t 16} on the command line.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ClassLoaderContentionBenchmark {
+
+    /**
+     * The number of generated classes that are available to each class loader.
+     */
+    @Param("10000")
+    public int classes;
+
+    /**
+     * The names of the generated classes.
+     */
+    private String[] names;
+
+    /**
+     * The resource names of the generated classes' class files.
+     */
+    private String[] resources;
+
+    /**
+     * The binary representations of the generated classes by their names.
+     */
+    private Map<String, byte[]> typeDefinitions;
+
+    /**
+     * A counter for selecting the next class or resource.
+     */
+    private AtomicInteger index;
+
+    /**
+     * A standard byte array class loader.
+     */
+    private ClassLoader standard;
+
+    /**
+     * A standard byte array class loader with child-first semantics.
+     */
+    private ClassLoader childFirst;
+
+    /**
+     * A concurrent byte array class loader.
+     */
+    private ClassLoader concurrent;
+
+    /**
+     * A concurrent byte array class loader with child-first semantics.
+     */
+    private ClassLoader concurrentChildFirst;
+
+    /**
+     * Sets up this benchmark by generating the loaded classes.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        names = new String[classes];
+        resources = new String[classes];
+        typeDefinitions = new HashMap<String, byte[]>();
+        ByteBuddy byteBuddy = new ByteBuddy();
+        for (int index = 0; index < classes; index++) {
+            DynamicType dynamicType = byteBuddy.subclass(Object.class)
+                    .name(ClassLoaderContentionBenchmark.class.getPackage().getName() + ".generated.Sample" + index)
+                    .defineMethod("foo", String.class, Visibility.PUBLIC)
+                    .intercept(FixedValue.value("foo" + index))
+                    .make();
+            names[index] = dynamicType.getTypeDescription().getName();
+            resources[index] = dynamicType.getTypeDescription().getInternalName() + ".class";
+            typeDefinitions.put(names[index], dynamicType.getBytes());
+        }
+    }
+
+    /**
+     * Creates fresh class loaders for each iteration.
+     */
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        index = new AtomicInteger();
+        ClassLoader parent = ClassLoaderContentionBenchmark.class.getClassLoader();
+        standard = new ByteArrayClassLoader(parent, typeDefinitions, ByteArrayClassLoader.PersistenceHandler.MANIFEST);
+        childFirst = new ByteArrayClassLoader.ChildFirst(parent, typeDefinitions, ByteArrayClassLoader.PersistenceHandler.MANIFEST);
+        concurrent = new ByteArrayClassLoader.Concurrent(parent, typeDefinitions, ByteArrayClassLoader.PersistenceHandler.MANIFEST, false);
+        concurrentChildFirst = new ByteArrayClassLoader.Concurrent(parent, typeDefinitions, ByteArrayClassLoader.PersistenceHandler.MANIFEST, true);
+    }
+
+    /**
+     * Returns the index of the next class or resource to request.
+     *
+     * @return The index of the next class or resource to request.
+     */
+    private int next() {
+        return (index.getAndIncrement() & Integer.MAX_VALUE) % classes;
+    }
+
+    /**
+     * Loads a class using a standard byte array class loader.
+     *
+     * @return The loaded class, in order to avoid JIT removal.
+     * @throws ClassNotFoundException If the class cannot be loaded.
+     */
+    @Benchmark
+    public Class<?> benchmarkStandard() throws ClassNotFoundException {
+        return standard.loadClass(names[next()]);
+    }
+
+    /**
+     * Loads a class using a standard byte array class loader with child-first semantics.
+     *
+     * @return The loaded class, in order to avoid JIT removal.
+     * @throws ClassNotFoundException If the class cannot be loaded.
+     */
+    @Benchmark
+    public Class<?> benchmarkChildFirst() throws ClassNotFoundException {
+        return childFirst.loadClass(names[next()]);
+    }
+
+    /**
+     * Loads a class using a concurrent byte array class loader.
+     *
+     * @return The loaded class, in order to avoid JIT removal.
+     * @throws ClassNotFoundException If the class cannot be loaded.
+     */
+    @Benchmark
+    public Class<?> benchmarkConcurrent() throws ClassNotFoundException {
+        return concurrent.loadClass(names[next()]);
+    }
+
+    /**
+     * Loads a class using a concurrent byte array class loader with child-first semantics.
+     *
+     * @return The loaded class, in order to avoid JIT removal.
+     * @throws ClassNotFoundException If the class cannot be loaded.
+     */
+    @Benchmark
+    public Class<?> benchmarkConcurrentChildFirst() throws ClassNotFoundException {
+        return concurrentChildFirst.loadClass(names[next()]);
+    }
+
+    /**
+     * Looks up a class file resource using a standard byte array class loader with child-first semantics.
+     *
+     * @return The resource's URL, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public URL benchmarkChildFirstResource() {
+        return childFirst.getResource(resources[next()]);
+    }
+
+    /**
+     * Looks up a class file resource using a concurrent byte array class loader with child-first semantics.
+     *
+     * @return The resource's URL, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public URL benchmarkConcurrentChildFirstResource() {
+        return concurrentChildFirst.getResource(resources[next()]);
+    }
+}
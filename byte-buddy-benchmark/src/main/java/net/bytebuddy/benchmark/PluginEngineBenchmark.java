@@ -0,0 +1,185 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.build.Plugin;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.FixedValue;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * A benchmark for the end-to-end throughput of a {@link Plugin.Engine} that reads, resolves, transforms and writes a fixed number
+ * of generated classes. As each invocation processes {@link PluginEngineBenchmark#CLASSES} classes, the measured throughput
+ * represents the number of classes that are processed per second.
+ * </p>
+ * <p>
+ * To observe the scaling of the parallel and pipelined engine, this benchmark should be run with an increasing number of threads
+ * as the benchmark's {@code threads} parameter, for example by specifying {@code -p threads=1,4,16} on the command line.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PluginEngineBenchmark {
+
+    /**
+     * The number of classes that are processed by each invocation.
+     */
+    public static final int CLASSES = 1000;
+
+    /**
+     * The number of threads that are used by the parallel and pipelined engine.
+     */
+    @Param("4")
+    public int threads;
+
+    /**
+     * The maximum number of transformed classes that are retained by the pipelined engine before they are written.
+     */
+    @Param("64")
+    public int capacity;
+
+    /**
+     * The binary representations of the processed classes.
+     */
+    private Map<TypeDescription, byte[]> types;
+
+    /**
+     * The executor service to use for the parallel and pipelined engine.
+     */
+    private ExecutorService executorService;
+
+    /**
+     * The serial plugin engine.
+     */
+    private Plugin.Engine serial;
+
+    /**
+     * The parallel plugin engine.
+     */
+    private Plugin.Engine parallel;
+
+    /**
+     * The pipelined plugin engine.
+     */
+    private Plugin.Engine pipelined;
+
+    /**
+     * Sets up this benchmark by generating the processed classes.
+     */
+    @Setup
+    public void setup() {
+        types = new HashMap<TypeDescription, byte[]>();
+        ByteBuddy byteBuddy = new ByteBuddy();
+        for (int index = 0; index < CLASSES; index++) {
+            DynamicType dynamicType = byteBuddy.subclass(Object.class)
+                    .name(PluginEngineBenchmark.class.getPackage().getName() + ".generated.Sample" + index)
+                    .defineField("foo", String.class, Visibility.PRIVATE)
+                    .defineField("bar", long.class, Visibility.PRIVATE)
+                    .defineMethod("qux", String.class, Visibility.PUBLIC)
+                    .intercept(FixedValue.value("qux" + index))
+                    .make();
+            types.put(dynamicType.getTypeDescription(), dynamicType.getBytes());
+        }
+        executorService = Executors.newFixedThreadPool(threads);
+        serial = new Plugin.Engine.Default().with(Plugin.Engine.Dispatcher.ForSerialTransformation.Factory.INSTANCE);
+        parallel = new Plugin.Engine.Default().with(new Plugin.Engine.Dispatcher.ForParallelTransformation.Factory(executorService));
+        pipelined = new Plugin.Engine.Default().with(new Plugin.Engine.Dispatcher.ForPipelinedTransformation.Factory(executorService, capacity));
+    }
+
+    /**
+     * Shuts down the executor service of this benchmark.
+     */
+    @TearDown
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Applies a serial plugin engine.
+     *
+     * @return The summary of the plugin engine's application.
+     * @throws IOException If an I/O exception occurs.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CLASSES)
+    public Plugin.Engine.Summary benchmarkSerial() throws IOException {
+        return serial.apply(Plugin.Engine.Source.InMemory.ofTypes(types), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(new FieldAddingPlugin()));
+    }
+
+    /**
+     * Applies a parallel plugin engine.
+     *
+     * @return The summary of the plugin engine's application.
+     * @throws IOException If an I/O exception occurs.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CLASSES)
+    public Plugin.Engine.Summary benchmarkParallel() throws IOException {
+        return parallel.apply(Plugin.Engine.Source.InMemory.ofTypes(types), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(new FieldAddingPlugin()));
+    }
+
+    /**
+     * Applies a pipelined plugin engine.
+     *
+     * @return The summary of the plugin engine's application.
+     * @throws IOException If an I/O exception occurs.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CLASSES)
+    public Plugin.Engine.Summary benchmarkPipelined() throws IOException {
+        return pipelined.apply(Plugin.Engine.Source.InMemory.ofTypes(types), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(new FieldAddingPlugin()));
+    }
+
+    /**
+     * A plugin that adds a field to any type.
+     */
+    protected static class FieldAddingPlugin implements Plugin {
+
+        /**
+         * {@inheritDoc}
+         */
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            return builder.defineField("benchmark", Object.class, Visibility.PRIVATE);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean matches(TypeDescription target) {
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void close() {
+            /* empty */
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.TypeCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * A benchmark for the contention of a {@link TypeCache} when many threads first-touch types for different keys. Each
+ * invocation requests a type for a key that was not previously requested such that a type is created by every invocation.
+ * The creation of a type is simulated by consuming a fixed amount of CPU time.
+ * </p>
+ * <p>
+ * To observe the scaling of each mode, this benchmark should be run with an increasing number of threads, for example by
+ * specifying {@code -t 1}, {@code -t 4} and {@code -t 16} on the command line.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TypeCacheContentionBenchmark {
+
+    /**
+     * The amount of CPU time that is consumed by a simulated type creation.
+     */
+    @Param("10000")
+    public long tokens;
+
+    /**
+     * The type cache to benchmark.
+     */
+    private TypeCache<Integer> typeCache;
+
+    /**
+     * The monitor to use when creating types while holding a monitor.
+     */
+    private Object monitor;
+
+    /**
+     * A counter for generating keys that were not previously requested.
+     */
+    private AtomicInteger keys;
+
+    /**
+     * The class loader to use for storing types.
+     */
+    private ClassLoader classLoader;
+
+    /**
+     * The lazy creator of a type.
+     */
+    private Callable<Class<?>> creator;
+
+    /**
+     * Sets up this benchmark with a fresh type cache for each iteration.
+     */
+    @Setup(Level.Iteration)
+    public void setup() {
+        typeCache = new TypeCache<Integer>();
+        monitor = new Object();
+        keys = new AtomicInteger();
+        classLoader = TypeCacheContentionBenchmark.class.getClassLoader();
+        creator = new Callable<Class<?>>() {
+            public Class<?> call() {
+                Blackhole.consumeCPU(tokens);
+                return TypeCacheContentionBenchmark.class;
+            }
+        };
+    }
+
+    /**
+     * Creates types while holding a shared monitor what serializes the creation of all types.
+     *
+     * @return The created type, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public Class<?> benchmarkMonitor() {
+        return typeCache.findOrInsert(classLoader, keys.getAndIncrement(), creator, monitor);
+    }
+
+    /**
+     * Creates types without any coordination what might create a type for a key multiple times.
+     *
+     * @return The created type, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public Class<?> benchmarkUncoordinated() {
+        return typeCache.findOrInsert(classLoader, keys.getAndIncrement(), creator);
+    }
+
+    /**
+     * Creates types by coordinating creations per key only.
+     *
+     * @return The created type, in order to avoid JIT removal.
+     */
+    @Benchmark
+    public Class<?> benchmarkOnce() {
+        return typeCache.findOrInsertOnce(classLoader, keys.getAndIncrement(), creator);
+    }
+}
@@ -52,6 +52,12 @@ public class QuickRunner {
                 .include(WILDCARD + ClassByImplementationBenchmark.class.getSimpleName() + WILDCARD)
                 .include(WILDCARD + ClassByExtensionBenchmark.class.getSimpleName() + WILDCARD)
                 .include(WILDCARD + TrivialClassCreationBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + TypeCacheContentionBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + ClassLoaderContentionBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + PluginEngineBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + AdviceInvocationBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + AdviceTransformationBenchmark.class.getSimpleName() + WILDCARD)
+                .include(WILDCARD + AgentBuilderBenchmark.class.getSimpleName() + WILDCARD)
                 .forks(0) // Should rather be 1 but there seems to be a bug in JMH.
                 .build()).run();
     }
@@ -0,0 +1,55 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AdviceInvocationBenchmarkTest {
+
+    private static final String FOO = "foo";
+
+    private AdviceInvocationBenchmark adviceInvocationBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        adviceInvocationBenchmark = new AdviceInvocationBenchmark();
+        adviceInvocationBenchmark.setUp();
+    }
+
+    @Test
+    public void testBaseline() throws Exception {
+        assertThat(adviceInvocationBenchmark.baseline(), is(FOO));
+    }
+
+    @Test
+    public void testInlined() throws Exception {
+        assertThat(adviceInvocationBenchmark.benchmarkInlined(), is(FOO));
+    }
+
+    @Test
+    public void testDelegated() throws Exception {
+        assertThat(adviceInvocationBenchmark.benchmarkDelegated(), is(FOO));
+    }
+
+    @Test
+    public void testThrown() throws Exception {
+        assertThat(adviceInvocationBenchmark.benchmarkThrown(), is(FOO));
+    }
+
+    @Test
+    public void testLocal() throws Exception {
+        assertThat(adviceInvocationBenchmark.benchmarkLocal(), is(FOO));
+    }
+
+    @Test
+    public void testReturn() throws Exception {
+        assertThat(adviceInvocationBenchmark.benchmarkReturn(), is(FOO));
+    }
+
+    @Test
+    public void testAllArguments() throws Exception {
+        assertThat(adviceInvocationBenchmark.benchmarkAllArguments(), is(FOO));
+    }
+}
@@ -0,0 +1,52 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AdviceTransformationBenchmarkTest {
+
+    private AdviceTransformationBenchmark adviceTransformationBenchmark;
+
+    private byte[] baseline;
+
+    @Before
+    public void setUp() throws Exception {
+        adviceTransformationBenchmark = new AdviceTransformationBenchmark();
+        adviceTransformationBenchmark.setUp();
+        baseline = adviceTransformationBenchmark.baseline();
+    }
+
+    @Test
+    public void testInlined() throws Exception {
+        assertThat(adviceTransformationBenchmark.benchmarkInlined(), not(is(baseline)));
+    }
+
+    @Test
+    public void testDelegated() throws Exception {
+        assertThat(adviceTransformationBenchmark.benchmarkDelegated(), not(is(baseline)));
+    }
+
+    @Test
+    public void testThrown() throws Exception {
+        assertThat(adviceTransformationBenchmark.benchmarkThrown(), not(is(baseline)));
+    }
+
+    @Test
+    public void testLocal() throws Exception {
+        assertThat(adviceTransformationBenchmark.benchmarkLocal(), not(is(baseline)));
+    }
+
+    @Test
+    public void testReturn() throws Exception {
+        assertThat(adviceTransformationBenchmark.benchmarkReturn(), not(is(baseline)));
+    }
+
+    @Test
+    public void testAllArguments() throws Exception {
+        assertThat(adviceTransformationBenchmark.benchmarkAllArguments(), not(is(baseline)));
+    }
+}
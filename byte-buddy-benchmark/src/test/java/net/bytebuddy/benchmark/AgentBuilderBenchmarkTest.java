@@ -0,0 +1,63 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@RunWith(Parameterized.class)
+public class AgentBuilderBenchmarkTest {
+
+    private final String poolStrategy, descriptionStrategy, locationStrategy, matcher;
+
+    private final boolean retransformation;
+
+    public AgentBuilderBenchmarkTest(String poolStrategy, String descriptionStrategy, String locationStrategy, String matcher, boolean retransformation) {
+        this.poolStrategy = poolStrategy;
+        this.descriptionStrategy = descriptionStrategy;
+        this.locationStrategy = locationStrategy;
+        this.matcher = matcher;
+        this.retransformation = retransformation;
+    }
+
+    @Parameterized.Parameters
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {"FAST", "HYBRID", "STRONG", "NAME", false},
+                {"EXTENDED", "HYBRID", "STRONG", "NAME", false},
+                {"CACHED", "HYBRID", "STRONG", "NAME", false},
+                {"FAST", "POOL_ONLY", "STRONG", "NAME", false},
+                {"FAST", "POOL_FIRST", "STRONG", "NAME", false},
+                {"FAST", "HYBRID", "WEAK", "NAME", false},
+                {"FAST", "HYBRID", "STRONG", "ANNOTATION", false},
+                {"FAST", "HYBRID", "STRONG", "SUPER_TYPE", false},
+                {"FAST", "HYBRID", "STRONG", "NAME", true},
+                {"CACHED", "POOL_FIRST", "STRONG", "SUPER_TYPE", true},
+                {"FAST", "POOL_ONLY", "WEAK", "ANNOTATION", true}
+        });
+    }
+
+    @Test
+    public void testTransformation() throws Exception {
+        AgentBuilderBenchmark agentBuilderBenchmark = new AgentBuilderBenchmark();
+        agentBuilderBenchmark.poolStrategy = poolStrategy;
+        agentBuilderBenchmark.descriptionStrategy = descriptionStrategy;
+        agentBuilderBenchmark.locationStrategy = locationStrategy;
+        agentBuilderBenchmark.matcher = matcher;
+        agentBuilderBenchmark.retransformation = retransformation;
+        agentBuilderBenchmark.setUp();
+        for (int index = 0; index < 4; index++) {
+            if (index % 2 == 0 || matcher.equals("NAME")) {
+                assertThat(agentBuilderBenchmark.benchmarkTransformation(), notNullValue(byte[].class));
+            } else {
+                assertThat(agentBuilderBenchmark.benchmarkTransformation(), nullValue(byte[].class));
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URL;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassLoaderContentionBenchmarkTest {
+
+    private static final int CLASSES = 2;
+
+    private ClassLoaderContentionBenchmark classLoaderContentionBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        classLoaderContentionBenchmark = new ClassLoaderContentionBenchmark();
+        classLoaderContentionBenchmark.classes = CLASSES;
+        classLoaderContentionBenchmark.setup();
+        classLoaderContentionBenchmark.setupIteration();
+    }
+
+    @Test
+    public void testStandard() throws Exception {
+        Class<?> type = classLoaderContentionBenchmark.benchmarkStandard();
+        assertThat(type.getClassLoader(), not(is(ClassLoaderContentionBenchmark.class.getClassLoader())));
+        classLoaderContentionBenchmark.benchmarkStandard();
+        assertThat(classLoaderContentionBenchmark.benchmarkStandard(), is((Object) type));
+    }
+
+    @Test
+    public void testChildFirst() throws Exception {
+        Class<?> type = classLoaderContentionBenchmark.benchmarkChildFirst();
+        assertThat(type.getClassLoader(), not(is(ClassLoaderContentionBenchmark.class.getClassLoader())));
+        classLoaderContentionBenchmark.benchmarkChildFirst();
+        assertThat(classLoaderContentionBenchmark.benchmarkChildFirst(), is((Object) type));
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        Class<?> type = classLoaderContentionBenchmark.benchmarkConcurrent();
+        assertThat(type.getClassLoader(), not(is(ClassLoaderContentionBenchmark.class.getClassLoader())));
+        classLoaderContentionBenchmark.benchmarkConcurrent();
+        assertThat(classLoaderContentionBenchmark.benchmarkConcurrent(), is((Object) type));
+    }
+
+    @Test
+    public void testConcurrentChildFirst() throws Exception {
+        Class<?> type = classLoaderContentionBenchmark.benchmarkConcurrentChildFirst();
+        assertThat(type.getClassLoader(), not(is(ClassLoaderContentionBenchmark.class.getClassLoader())));
+        classLoaderContentionBenchmark.benchmarkConcurrentChildFirst();
+        assertThat(classLoaderContentionBenchmark.benchmarkConcurrentChildFirst(), is((Object) type));
+    }
+
+    @Test
+    public void testChildFirstResource() throws Exception {
+        assertThat(classLoaderContentionBenchmark.benchmarkChildFirstResource(), notNullValue(URL.class));
+    }
+
+    @Test
+    public void testConcurrentChildFirstResource() throws Exception {
+        assertThat(classLoaderContentionBenchmark.benchmarkConcurrentChildFirstResource(), notNullValue(URL.class));
+    }
+}
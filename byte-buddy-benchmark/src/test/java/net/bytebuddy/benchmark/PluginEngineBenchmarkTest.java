@@ -0,0 +1,41 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PluginEngineBenchmarkTest {
+
+    private PluginEngineBenchmark pluginEngineBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        pluginEngineBenchmark = new PluginEngineBenchmark();
+        pluginEngineBenchmark.threads = 2;
+        pluginEngineBenchmark.capacity = 4;
+        pluginEngineBenchmark.setup();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        pluginEngineBenchmark.tearDown();
+    }
+
+    @Test
+    public void testSerial() throws Exception {
+        assertThat(pluginEngineBenchmark.benchmarkSerial().getTransformed().size(), is(PluginEngineBenchmark.CLASSES));
+    }
+
+    @Test
+    public void testParallel() throws Exception {
+        assertThat(pluginEngineBenchmark.benchmarkParallel().getTransformed().size(), is(PluginEngineBenchmark.CLASSES));
+    }
+
+    @Test
+    public void testPipelined() throws Exception {
+        assertThat(pluginEngineBenchmark.benchmarkPipelined().getTransformed().size(), is(PluginEngineBenchmark.CLASSES));
+    }
+}
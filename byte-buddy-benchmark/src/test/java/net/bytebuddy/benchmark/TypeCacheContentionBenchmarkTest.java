@@ -0,0 +1,34 @@
+package net.bytebuddy.benchmark;
+
+import org.hamcrest.CoreMatchers;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypeCacheContentionBenchmarkTest {
+
+    private TypeCacheContentionBenchmark typeCacheContentionBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        typeCacheContentionBenchmark = new TypeCacheContentionBenchmark();
+        typeCacheContentionBenchmark.tokens = 1;
+        typeCacheContentionBenchmark.setup();
+    }
+
+    @Test
+    public void testMonitor() throws Exception {
+        assertThat(typeCacheContentionBenchmark.benchmarkMonitor(), CoreMatchers.<Class<?>>is(TypeCacheContentionBenchmark.class));
+    }
+
+    @Test
+    public void testUncoordinated() throws Exception {
+        assertThat(typeCacheContentionBenchmark.benchmarkUncoordinated(), CoreMatchers.<Class<?>>is(TypeCacheContentionBenchmark.class));
+    }
+
+    @Test
+    public void testOnce() throws Exception {
+        assertThat(typeCacheContentionBenchmark.benchmarkOnce(), CoreMatchers.<Class<?>>is(TypeCacheContentionBenchmark.class));
+    }
+}
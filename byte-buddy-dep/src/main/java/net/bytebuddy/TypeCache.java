@@ -29,6 +29,8 @@ import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 /**
  * <p>
@@ -72,6 +74,11 @@ public class TypeCache<T> extends ReferenceQueue<ClassLoader> {
      */
     protected final ConcurrentMap<StorageKey, ConcurrentMap<T, Object>> cache;
 
+    /**
+     * A map of types that are currently created by {@link TypeCache#findOrInsertOnce(ClassLoader, Object, Callable)}.
+     */
+    protected final ConcurrentMap<CreationKey, FutureTask<Class<?>>> creations;
+
     /**
      * Creates a new type cache with strong references to the stored types.
      */
@@ -87,6 +94,7 @@ public class TypeCache<T> extends ReferenceQueue<ClassLoader> {
     public TypeCache(Sort sort) {
         this.sort = sort;
         cache = new ConcurrentHashMap<StorageKey, ConcurrentMap<T, Object>>();
+        creations = new ConcurrentHashMap<CreationKey, FutureTask<Class<?>>>();
     }
 
     /**
@@ -192,6 +200,57 @@ public class TypeCache<T> extends ReferenceQueue<ClassLoader> {
         }
     }
 
+    /**
+     * <p>
+     * Finds an existing type or inserts a new one if the previous type was not found. Other than with
+     * {@link TypeCache#findOrInsert(ClassLoader, Object, Callable, Object)}, types are not created while holding a shared
+     * monitor. Instead, only concurrent creations for the same class loader and key are coordinated such that the lazy
+     * creator is only invoked once while other threads that request the same type await its creation. Types for different
+     * keys are created concurrently.
+     * </p>
+     * <p>
+     * <b>Important</b>: The lazy creator must not request the same type from this cache as this would block indefinitely.
+     * </p>
+     *
+     * @param classLoader The class loader for which this type is stored.
+     * @param key         The key for the type in question.
+     * @param lazy        A lazy creator for the type to insert of no previous type was stored in the cache.
+     * @return The lazily created type or a previously submitted type for the same class loader and key combination.
+     */
+    public Class<?> findOrInsertOnce(@MaybeNull ClassLoader classLoader, T key, Callable<Class<?>> lazy) {
+        Class<?> type = find(classLoader, key);
+        if (type != null) {
+            return type;
+        }
+        CreationKey creationKey = new CreationKey(classLoader, key);
+        FutureTask<Class<?>> creation = new FutureTask<Class<?>>(new Creation(classLoader, key, lazy)), previous = creations.putIfAbsent(creationKey, creation);
+        if (previous == null) {
+            try {
+                creation.run();
+            } finally {
+                creations.remove(creationKey, creation);
+            }
+        } else {
+            creation = previous;
+        }
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return creation.get();
+                } catch (InterruptedException ignored) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException exception) {
+            throw new IllegalArgumentException("Could not create type", exception.getCause());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     /**
      * Removes any stale class loader entries from the cache.
      */
@@ -300,6 +359,96 @@ public class TypeCache<T> extends ReferenceQueue<ClassLoader> {
         }
     }
 
+    /**
+     * A key used for identifying a type that is currently created. As such keys are only retained during a type's creation,
+     * the class loader is referenced strongly.
+     */
+    protected static class CreationKey {
+
+        /**
+         * The class loader for which the type is created.
+         */
+        @MaybeNull
+        private final ClassLoader classLoader;
+
+        /**
+         * The key of the type that is created.
+         */
+        private final Object key;
+
+        /**
+         * Creates a new creation key.
+         *
+         * @param classLoader The class loader for which the type is created.
+         * @param key         The key of the type that is created.
+         */
+        protected CreationKey(@MaybeNull ClassLoader classLoader, Object key) {
+            this.classLoader = classLoader;
+            this.key = key;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(classLoader) + key.hashCode();
+        }
+
+        @Override
+        public boolean equals(@MaybeNull Object other) {
+            if (this == other) {
+                return true;
+            } else if (other == null || getClass() != other.getClass()) {
+                return false;
+            }
+            CreationKey creationKey = (CreationKey) other;
+            return classLoader == creationKey.classLoader && key.equals(creationKey.key);
+        }
+    }
+
+    /**
+     * A creation of a type that inserts the created type into the cache unless a type was inserted concurrently.
+     */
+    protected class Creation implements Callable<Class<?>> {
+
+        /**
+         * The class loader for which this type is stored.
+         */
+        @MaybeNull
+        private final ClassLoader classLoader;
+
+        /**
+         * The key for the type in question.
+         */
+        private final T key;
+
+        /**
+         * A lazy creator for the type to insert.
+         */
+        private final Callable<Class<?>> lazy;
+
+        /**
+         * Creates a new creation.
+         *
+         * @param classLoader The class loader for which this type is stored.
+         * @param key         The key for the type in question.
+         * @param lazy        A lazy creator for the type to insert.
+         */
+        protected Creation(@MaybeNull ClassLoader classLoader, T key, Callable<Class<?>> lazy) {
+            this.classLoader = classLoader;
+            this.key = key;
+            this.lazy = lazy;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Class<?> call() throws Exception {
+            Class<?> type = find(classLoader, key);
+            return type == null
+                    ? insert(classLoader, key, lazy.call())
+                    : type;
+        }
+    }
+
     /**
      * A key used for storing a class loader cache reference.
      */
@@ -412,6 +561,17 @@ public class TypeCache<T> extends ReferenceQueue<ClassLoader> {
                 expungeStaleEntries();
             }
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Class<?> findOrInsertOnce(@MaybeNull ClassLoader classLoader, S key, Callable<Class<?>> builder) {
+            try {
+                return super.findOrInsertOnce(classLoader, key, builder);
+            } finally {
+                expungeStaleEntries();
+            }
+        }
     }
 
     /**
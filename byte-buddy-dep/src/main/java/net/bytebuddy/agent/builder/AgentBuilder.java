@@ -69,6 +69,7 @@ import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
 import net.bytebuddy.matcher.LatentMatcher;
+import net.bytebuddy.matcher.TypePrefilter;
 import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.utility.CompoundList;
 import net.bytebuddy.utility.JavaConstant;
@@ -95,6 +96,8 @@ import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.IllegalClassFormatException;
 import java.lang.instrument.Instrumentation;
 import java.lang.instrument.UnmodifiableClassException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -124,7 +127,9 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -309,6 +314,16 @@ public interface AgentBuilder {
      */
     AgentBuilder with(ClassFileBufferStrategy classFileBufferStrategy);
 
+    /**
+     * Specifies a prefilter strategy that determines if a type's class file is checked by a {@link TypePrefilter} before the
+     * type is described. By default, only prefilters that are explicitly registered via {@link RawMatcher.WithPrefilter}
+     * are applied.
+     *
+     * @param prefilterStrategy The prefilter strategy to use.
+     * @return A new agent builder that applies the supplied prefilter strategy.
+     */
+    AgentBuilder with(PrefilterStrategy prefilterStrategy);
+
     /**
      * Adds an installation listener that is notified during installation events. Installation listeners are only invoked if
      * a class file transformer is installed using this agent builder's installation methods and uninstalled via the created
@@ -990,6 +1005,32 @@ public interface AgentBuilder {
          */
         RedefinitionListenable with(RedefinitionStrategy.Listener redefinitionListener);
 
+        /**
+         * <p>
+         * Specifies a preparation strategy for the types that are discovered for redefinition. Preparing a type includes
+         * locating its class file, resolving its type description and applying the agent's matchers. By default, all
+         * types are prepared sequentially on the thread that installs the agent.
+         * </p>
+         * <p>
+         * <b>Important</b>: If types are prepared concurrently, any registered {@link AgentBuilder.Listener} is notified
+         * of discovered and ignored types concurrently and must be thread-safe.
+         * </p>
+         *
+         * @param redefinitionPreparationStrategy The preparation strategy to apply.
+         * @return A new instance of this agent builder which applies the specified preparation strategy.
+         */
+        RedefinitionListenable withPreparation(RedefinitionStrategy.PreparationStrategy redefinitionPreparationStrategy);
+
+        /**
+         * Prepares the types that are discovered for redefinition concurrently by submitting them to the supplied executor
+         * service. Only the redefinition itself is applied by the thread that installs the agent.
+         *
+         * @param executorService The executor service to prepare types on.
+         * @return A new instance of this agent builder which prepares types for redefinition concurrently.
+         * @see RedefinitionListenable#withPreparation(RedefinitionStrategy.PreparationStrategy)
+         */
+        RedefinitionListenable withParallelPreparation(ExecutorService executorService);
+
         /**
          * Specifies resubmission for given unloaded types or types that fail upon an exception during instrumentation.
          *
@@ -1973,6 +2014,59 @@ public interface AgentBuilder {
                 return moduleMatcher.matches(module) && classLoaderMatcher.matches(classLoader) && typeMatcher.matches(typeDescription);
             }
         }
+
+        /**
+         * A raw matcher that is combined with a {@link TypePrefilter} which is applied to the class file of a type before it is
+         * described, allowing to skip types without parsing their class file, for example by scanning a class file's constant
+         * pool for a referenced annotation or method owner. The prefilter must be a conservative approximation of the matcher,
+         * as the matcher is applied without the prefilter where a type's class file is not available, for example when types are
+         * discovered for redefinition.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class WithPrefilter implements RawMatcher {
+
+            /**
+             * The prefilter to apply to a type's class file.
+             */
+            private final TypePrefilter prefilter;
+
+            /**
+             * The matcher to apply to a type's description.
+             */
+            private final RawMatcher matcher;
+
+            /**
+             * Creates a new raw matcher with a prefilter.
+             *
+             * @param prefilter The prefilter to apply to a type's class file.
+             * @param matcher   The matcher to apply to a type's description.
+             */
+            public WithPrefilter(TypePrefilter prefilter, RawMatcher matcher) {
+                this.prefilter = prefilter;
+                this.matcher = matcher;
+            }
+
+            /**
+             * Creates a new raw matcher with a prefilter.
+             *
+             * @param prefilter   The prefilter to apply to a type's class file.
+             * @param typeMatcher The type matcher to apply to a type's description.
+             */
+            public WithPrefilter(TypePrefilter prefilter, ElementMatcher<? super TypeDescription> typeMatcher) {
+                this(prefilter, new ForElementMatchers(typeMatcher));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public boolean matches(TypeDescription typeDescription,
+                                   @MaybeNull ClassLoader classLoader,
+                                   @MaybeNull JavaModule module,
+                                   @MaybeNull Class<?> classBeingRedefined,
+                                   ProtectionDomain protectionDomain) {
+                return matcher.matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain);
+            }
+        }
     }
 
     /**
@@ -3603,11 +3697,11 @@ public interface AgentBuilder {
 
                 @Override
                 protected TypePool.CacheProvider locate(@MaybeNull ClassLoader classLoader) {
-                    classLoader = classLoader == null ? getBootstrapMarkerLoader() : classLoader;
-                    TypePool.CacheProvider cacheProvider = cacheProviders.get(classLoader);
+                    ClassLoader key = classLoader == null ? getBootstrapMarkerLoader() : classLoader;
+                    TypePool.CacheProvider cacheProvider = cacheProviders.get(key);
                     while (cacheProvider == null) {
-                        cacheProvider = TypePool.CacheProvider.Simple.withObjectType();
-                        TypePool.CacheProvider previous = cacheProviders.putIfAbsent(classLoader, cacheProvider);
+                        cacheProvider = make(classLoader);
+                        TypePool.CacheProvider previous = cacheProviders.putIfAbsent(key, cacheProvider);
                         if (previous != null) {
                             cacheProvider = previous;
                         }
@@ -3615,6 +3709,16 @@ public interface AgentBuilder {
                     return cacheProvider;
                 }
 
+                /**
+                 * Creates a new cache provider for a class loader for which no cache provider was yet registered.
+                 *
+                 * @param classLoader The class loader for which to create a cache provider or {@code null} if the bootstrap loader.
+                 * @return The cache provider to use for the supplied class loader.
+                 */
+                protected TypePool.CacheProvider make(@MaybeNull ClassLoader classLoader) {
+                    return TypePool.CacheProvider.Simple.withObjectType();
+                }
+
                 /**
                  * <p>
                  * Returns the class loader to serve as a cache key if a cache provider for the bootstrap class loader is requested.
@@ -3649,6 +3753,498 @@ public interface AgentBuilder {
                     }
                 }
             }
+
+            /**
+             * A type locator {@link WithTypePoolCache} (note documentation of the linked class) that uses a
+             * {@link net.bytebuddy.pool.TypePool.CacheProvider.Bounded} cache provider for each class loader such that the
+             * number of cached types, or their estimated size as determined by a
+             * {@link net.bytebuddy.pool.TypePool.CacheProvider.Bounded.Weigher}, cannot grow beyond a given budget per class loader.
+             * It is the responsibility of the type locator's user to avoid the type locator from leaking memory by retaining cache
+             * providers of unused class loaders.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            public static class Bounded extends Simple {
+
+                /**
+                 * The maximum weight of types to cache per class loader.
+                 */
+                private final long maximumWeight;
+
+                /**
+                 * The weigher to determine the weight of a cached type.
+                 */
+                private final TypePool.CacheProvider.Bounded.Weigher weigher;
+
+                /**
+                 * Creates a new type locator that creates a bounded cache provider per class loader. The type
+                 * locator uses a fast {@link net.bytebuddy.pool.TypePool.Default.ReaderMode}.
+                 *
+                 * @param maximumSize    The maximum number of types to cache per class loader.
+                 * @param cacheProviders The concurrent map that is used for storing a cache provider per class loader.
+                 */
+                public Bounded(int maximumSize, ConcurrentMap<? super ClassLoader, TypePool.CacheProvider> cacheProviders) {
+                    this(TypePool.Default.ReaderMode.FAST, maximumSize, cacheProviders);
+                }
+
+                /**
+                 * Creates a new type locator that creates a bounded cache provider per class loader.
+                 *
+                 * @param readerMode     The reader mode to use for parsing a class file.
+                 * @param maximumSize    The maximum number of types to cache per class loader.
+                 * @param cacheProviders The concurrent map that is used for storing a cache provider per class loader.
+                 */
+                public Bounded(TypePool.Default.ReaderMode readerMode, int maximumSize, ConcurrentMap<? super ClassLoader, TypePool.CacheProvider> cacheProviders) {
+                    this(readerMode, maximumSize, TypePool.CacheProvider.Bounded.Weigher.ForEntry.INSTANCE, cacheProviders);
+                }
+
+                /**
+                 * Creates a new type locator that creates a bounded cache provider per class loader where each cached type is
+                 * weighed by the supplied weigher, for example to limit the estimated size in bytes of all cached types. The type
+                 * locator uses a fast {@link net.bytebuddy.pool.TypePool.Default.ReaderMode}.
+                 *
+                 * @param maximumWeight  The maximum weight of types to cache per class loader.
+                 * @param weigher        The weigher to determine the weight of a cached type.
+                 * @param cacheProviders The concurrent map that is used for storing a cache provider per class loader.
+                 */
+                public Bounded(long maximumWeight,
+                               TypePool.CacheProvider.Bounded.Weigher weigher,
+                               ConcurrentMap<? super ClassLoader, TypePool.CacheProvider> cacheProviders) {
+                    this(TypePool.Default.ReaderMode.FAST, maximumWeight, weigher, cacheProviders);
+                }
+
+                /**
+                 * Creates a new type locator that creates a bounded cache provider per class loader where each cached type is
+                 * weighed by the supplied weigher, for example to limit the estimated size in bytes of all cached types.
+                 *
+                 * @param readerMode     The reader mode to use for parsing a class file.
+                 * @param maximumWeight  The maximum weight of types to cache per class loader.
+                 * @param weigher        The weigher to determine the weight of a cached type.
+                 * @param cacheProviders The concurrent map that is used for storing a cache provider per class loader.
+                 */
+                public Bounded(TypePool.Default.ReaderMode readerMode,
+                               long maximumWeight,
+                               TypePool.CacheProvider.Bounded.Weigher weigher,
+                               ConcurrentMap<? super ClassLoader, TypePool.CacheProvider> cacheProviders) {
+                    super(readerMode, cacheProviders);
+                    this.maximumWeight = maximumWeight;
+                    this.weigher = weigher;
+                }
+
+                @Override
+                protected TypePool.CacheProvider make(@MaybeNull ClassLoader classLoader) {
+                    return TypePool.CacheProvider.Bounded.withObjectType(maximumWeight, weigher);
+                }
+            }
+
+            /**
+             * A type locator {@link WithTypePoolCache} (note documentation of the linked class) that uses a
+             * {@link net.bytebuddy.pool.TypePool.CacheProvider.Persistent} cache provider for each class loader. All cache
+             * providers share a single {@link net.bytebuddy.pool.TypePool.CacheProvider.Persistent.Storage} such that types can
+             * be described from the storage after a restart of the JVM without parsing their original class files. Entries are keyed
+             * by the URL of their class file and are validated against the size and modification date of the file that contains it such
+             * that the original class file is not read if it is unchanged. It is the responsibility of the type locator's user to persist
+             * the storage and to avoid the type locator from leaking memory. The created cache providers only weakly reference their class
+             * loader such that a map with weak keys can be used for storing them.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            public static class Persistent extends Simple {
+
+                /**
+                 * The storage that is shared by all cache providers.
+                 */
+                private final TypePool.CacheProvider.Persistent.Storage storage;
+
+                /**
+                 * Creates a new type locator that creates a persistent cache provider per class loader. The type
+                 * locator uses a fast {@link net.bytebuddy.pool.TypePool.Default.ReaderMode}.
+                 *
+                 * @param storage        The storage that is shared by all cache providers.
+                 * @param cacheProviders The concurrent map that is used for storing a cache provider per class loader.
+                 */
+                public Persistent(TypePool.CacheProvider.Persistent.Storage storage, ConcurrentMap<? super ClassLoader, TypePool.CacheProvider> cacheProviders) {
+                    this(TypePool.Default.ReaderMode.FAST, storage, cacheProviders);
+                }
+
+                /**
+                 * Creates a new type locator that creates a persistent cache provider per class loader.
+                 *
+                 * @param readerMode     The reader mode to use for parsing a class file.
+                 * @param storage        The storage that is shared by all cache providers.
+                 * @param cacheProviders The concurrent map that is used for storing a cache provider per class loader.
+                 */
+                public Persistent(TypePool.Default.ReaderMode readerMode,
+                                  TypePool.CacheProvider.Persistent.Storage storage,
+                                  ConcurrentMap<? super ClassLoader, TypePool.CacheProvider> cacheProviders) {
+                    super(readerMode, cacheProviders);
+                    this.storage = storage;
+                }
+
+                @Override
+                protected TypePool.CacheProvider make(@MaybeNull ClassLoader classLoader) {
+                    return new TypePool.CacheProvider.Persistent(storage, classLoader, readerMode);
+                }
+            }
+
+            /**
+             * <p>
+             * A type locator {@link WithTypePoolCache} (note documentation of the linked class) that shards its cache providers by
+             * class loader where each class loader is only referenced weakly. Cache providers of class loaders that are garbage collected
+             * are removed whenever a cache provider is located or when {@link Sharded#expungeStaleEntries()} is invoked, for example
+             * periodically via {@link Sharded#schedule(ScheduledExecutorService, long, TimeUnit)}. Each shard is represented by a
+             * {@link net.bytebuddy.pool.TypePool.CacheProvider.Bounded} cache provider where the bootstrap loader's shard can be
+             * configured with a different budget than the shards of any other class loader.
+             * </p>
+             * <p>
+             * Optionally, any created type pool delegates to type pools of the supplied class loader's parents, before attempting to
+             * resolve a type itself, such that types of shared class loaders, for example types of the Java core library, are only cached
+             * once for all child class loaders. This assumes that class loaders follow the parent-first delegation model, what is not
+             * true for every class loader, and is therefore disabled by default. The chain of parent type pools is created once per shard.
+             * As type descriptions reference the class file locator they were created from, this strategy should be combined with
+             * {@link LocationStrategy.ForClassLoader#WEAK} to not retain class loaders via cached type descriptions.
+             * </p>
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            public static class Sharded extends WithTypePoolCache {
+
+                /**
+                 * The maximum number of types to cache per class loader that is not the bootstrap loader.
+                 */
+                private final int maximumSize;
+
+                /**
+                 * The maximum number of types to cache for the bootstrap loader.
+                 */
+                private final int bootstrapMaximumSize;
+
+                /**
+                 * {@code true} if types that are visible to a class loader's parents are resolved from and cached in the parents' shards.
+                 */
+                private final boolean shareParents;
+
+                /**
+                 * The reference queue that is notified upon the garbage collection of a class loader.
+                 */
+                @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+                private final ReferenceQueue<ClassLoader> referenceQueue;
+
+                /**
+                 * A map of shards by their weakly referenced class loader.
+                 */
+                @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+                private final ConcurrentMap<StorageKey, Shard> shards;
+
+                /**
+                 * Creates a new type locator that shards bounded cache providers by class loader where all shards share the
+                 * same budget. The type locator uses a fast {@link net.bytebuddy.pool.TypePool.Default.ReaderMode}.
+                 *
+                 * @param maximumSize The maximum number of types to cache per class loader.
+                 */
+                public Sharded(int maximumSize) {
+                    this(maximumSize, maximumSize);
+                }
+
+                /**
+                 * Creates a new type locator that shards bounded cache providers by class loader. The type
+                 * locator uses a fast {@link net.bytebuddy.pool.TypePool.Default.ReaderMode}.
+                 *
+                 * @param maximumSize          The maximum number of types to cache per class loader that is not the bootstrap loader.
+                 * @param bootstrapMaximumSize The maximum number of types to cache for the bootstrap loader.
+                 */
+                public Sharded(int maximumSize, int bootstrapMaximumSize) {
+                    this(TypePool.Default.ReaderMode.FAST, maximumSize, bootstrapMaximumSize);
+                }
+
+                /**
+                 * Creates a new type locator that shards bounded cache providers by class loader without sharing the shards of parent
+                 * class loaders.
+                 *
+                 * @param readerMode           The reader mode to use for parsing a class file.
+                 * @param maximumSize          The maximum number of types to cache per class loader that is not the bootstrap loader.
+                 * @param bootstrapMaximumSize The maximum number of types to cache for the bootstrap loader.
+                 */
+                public Sharded(TypePool.Default.ReaderMode readerMode, int maximumSize, int bootstrapMaximumSize) {
+                    this(readerMode, maximumSize, bootstrapMaximumSize, false);
+                }
+
+                /**
+                 * Creates a new type locator that shards bounded cache providers by class loader.
+                 *
+                 * @param readerMode           The reader mode to use for parsing a class file.
+                 * @param maximumSize          The maximum number of types to cache per class loader that is not the bootstrap loader.
+                 * @param bootstrapMaximumSize The maximum number of types to cache for the bootstrap loader.
+                 * @param shareParents         {@code true} if types that are visible to a class loader's parents should be resolved from
+                 *                             and cached in the parents' shards what requires parent-first delegation.
+                 */
+                public Sharded(TypePool.Default.ReaderMode readerMode, int maximumSize, int bootstrapMaximumSize, boolean shareParents) {
+                    super(readerMode);
+                    this.maximumSize = maximumSize;
+                    this.bootstrapMaximumSize = bootstrapMaximumSize;
+                    this.shareParents = shareParents;
+                    referenceQueue = new ReferenceQueue<ClassLoader>();
+                    shards = new ConcurrentHashMap<StorageKey, Shard>();
+                }
+
+                @Override
+                public TypePool typePool(ClassFileLocator classFileLocator, @MaybeNull ClassLoader classLoader) {
+                    return shareParents
+                            ? new TypePool.LazyFacade(new TypePool.Default.WithLazyResolution(locate(classLoader), classFileLocator, readerMode, parent(classLoader)))
+                            : super.typePool(classFileLocator, classLoader);
+                }
+
+                @Override
+                public TypePool typePool(ClassFileLocator classFileLocator, @MaybeNull ClassLoader classLoader, String name) {
+                    return shareParents
+                            ? new TypePool.LazyFacade(new TypePool.Default.WithLazyResolution(new TypePool.CacheProvider.Discriminating(ElementMatchers.<String>is(name),
+                            new TypePool.CacheProvider.Simple(),
+                            locate(classLoader)), classFileLocator, readerMode, parent(classLoader)))
+                            : super.typePool(classFileLocator, classLoader, name);
+                }
+
+                /**
+                 * Resolves a type pool that represents the parent class loaders of the supplied class loader. The type pool
+                 * of a parent is created once and retained by the parent's shard.
+                 *
+                 * @param classLoader The class loader for which to resolve the parent type pool or {@code null} if the bootstrap loader.
+                 * @return A type pool representing the parents of the supplied class loader.
+                 */
+                protected TypePool parent(@MaybeNull ClassLoader classLoader) {
+                    if (classLoader == null) {
+                        return TypePool.Empty.INSTANCE;
+                    }
+                    ClassLoader parent = classLoader.getParent();
+                    Shard shard = shard(parent);
+                    TypePool typePool = shard.typePool;
+                    if (typePool == null) {
+                        typePool = new TypePool.Default.WithLazyResolution(shard.cacheProvider,
+                                parent == null
+                                        ? ClassFileLocator.ForClassLoader.ofBootLoader()
+                                        : ClassFileLocator.ForClassLoader.WeaklyReferenced.of(parent),
+                                readerMode,
+                                parent(parent));
+                        shard.typePool = typePool;
+                    }
+                    return typePool;
+                }
+
+                @Override
+                protected TypePool.CacheProvider locate(@MaybeNull ClassLoader classLoader) {
+                    return shard(classLoader).cacheProvider;
+                }
+
+                /**
+                 * Locates the shard of a class loader and registers a new shard if no shard was yet registered.
+                 *
+                 * @param classLoader The class loader for which to locate a shard or {@code null} if the bootstrap loader.
+                 * @return The shard of the supplied class loader.
+                 */
+                private Shard shard(@MaybeNull ClassLoader classLoader) {
+                    expungeStaleEntries();
+                    Shard shard = shards.get(new LookupKey(classLoader));
+                    if (shard == null) {
+                        shard = new Shard(make(classLoader));
+                        Shard previous = shards.putIfAbsent(new StorageKey(classLoader, referenceQueue), shard);
+                        if (previous != null) {
+                            shard = previous;
+                        }
+                    }
+                    return shard;
+                }
+
+                /**
+                 * Creates a new cache provider for a class loader for which no shard was yet registered.
+                 *
+                 * @param classLoader The class loader for which to create a cache provider or {@code null} if the bootstrap loader.
+                 * @return The cache provider to use for the supplied class loader.
+                 */
+                protected TypePool.CacheProvider make(@MaybeNull ClassLoader classLoader) {
+                    return TypePool.CacheProvider.Bounded.withObjectType(classLoader == null
+                            ? bootstrapMaximumSize
+                            : maximumSize);
+                }
+
+                /**
+                 * Removes the shards of all class loaders that were garbage collected.
+                 */
+                public void expungeStaleEntries() {
+                    Reference<?> reference;
+                    while ((reference = referenceQueue.poll()) != null) {
+                        shards.remove(reference);
+                    }
+                }
+
+                /**
+                 * Schedules a periodic removal of the shards of all class loaders that were garbage collected.
+                 *
+                 * @param scheduledExecutorService The scheduled executor service to use.
+                 * @param interval                 The interval between two removals.
+                 * @param timeUnit                 The time unit of the interval.
+                 * @return A future representing the scheduled removal which can be used for its cancellation.
+                 */
+                public ScheduledFuture<?> schedule(ScheduledExecutorService scheduledExecutorService, long interval, TimeUnit timeUnit) {
+                    return scheduledExecutorService.scheduleWithFixedDelay(new ExpungingAction(this), interval, interval, timeUnit);
+                }
+
+                /**
+                 * Returns the number of shards that are currently registered.
+                 *
+                 * @return The number of shards that are currently registered.
+                 */
+                public int size() {
+                    return shards.size();
+                }
+
+                /**
+                 * Removes all shards of this type locator.
+                 */
+                public void clear() {
+                    shards.clear();
+                }
+
+                /**
+                 * A shard of a class loader. A shard never references its class loader strongly.
+                 */
+                protected static class Shard {
+
+                    /**
+                     * The cache provider of the represented class loader.
+                     */
+                    private final TypePool.CacheProvider cacheProvider;
+
+                    /**
+                     * The type pool that resolves types of the represented class loader and its parents or {@code null} if not yet created.
+                     */
+                    @MaybeNull
+                    private volatile TypePool typePool;
+
+                    /**
+                     * Creates a new shard.
+                     *
+                     * @param cacheProvider The cache provider of the represented class loader.
+                     */
+                    protected Shard(TypePool.CacheProvider cacheProvider) {
+                        this.cacheProvider = cacheProvider;
+                    }
+                }
+
+                /**
+                 * A key used for looking up a shard without registering a weak reference. As such keys are only used temporarily,
+                 * the class loader is referenced strongly.
+                 */
+                protected static class LookupKey {
+
+                    /**
+                     * The referenced class loader.
+                     */
+                    @MaybeNull
+                    private final ClassLoader classLoader;
+
+                    /**
+                     * The class loader's identity hash code.
+                     */
+                    private final int hashCode;
+
+                    /**
+                     * Creates a new lookup key.
+                     *
+                     * @param classLoader The represented class loader.
+                     */
+                    protected LookupKey(@MaybeNull ClassLoader classLoader) {
+                        this.classLoader = classLoader;
+                        hashCode = System.identityHashCode(classLoader);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return hashCode;
+                    }
+
+                    @Override
+                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended.")
+                    public boolean equals(@MaybeNull Object other) {
+                        if (this == other) {
+                            return true;
+                        } else if (other instanceof LookupKey) {
+                            return classLoader == ((LookupKey) other).classLoader;
+                        } else if (other instanceof StorageKey) {
+                            StorageKey storageKey = (StorageKey) other;
+                            return hashCode == storageKey.hashCode && classLoader == storageKey.get();
+                        } else {
+                            return false;
+                        }
+                    }
+                }
+
+                /**
+                 * A key used for storing a shard where the class loader is referenced weakly.
+                 */
+                protected static class StorageKey extends WeakReference<ClassLoader> {
+
+                    /**
+                     * The class loader's identity hash code.
+                     */
+                    private final int hashCode;
+
+                    /**
+                     * Creates a new storage key.
+                     *
+                     * @param classLoader    The represented class loader.
+                     * @param referenceQueue The reference queue to notify upon a garbage collection.
+                     */
+                    protected StorageKey(@MaybeNull ClassLoader classLoader, ReferenceQueue<? super ClassLoader> referenceQueue) {
+                        super(classLoader, referenceQueue);
+                        hashCode = System.identityHashCode(classLoader);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return hashCode;
+                    }
+
+                    @Override
+                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended.")
+                    public boolean equals(@MaybeNull Object other) {
+                        if (this == other) {
+                            return true;
+                        } else if (other instanceof LookupKey) {
+                            LookupKey lookupKey = (LookupKey) other;
+                            return hashCode == lookupKey.hashCode && get() == lookupKey.classLoader;
+                        } else if (other instanceof StorageKey) {
+                            StorageKey storageKey = (StorageKey) other;
+                            return hashCode == storageKey.hashCode && get() == storageKey.get();
+                        } else {
+                            return false;
+                        }
+                    }
+                }
+
+                /**
+                 * An action that removes the shards of all class loaders that were garbage collected.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class ExpungingAction implements Runnable {
+
+                    /**
+                     * The sharded type locator to expunge.
+                     */
+                    private final Sharded sharded;
+
+                    /**
+                     * Creates a new expunging action.
+                     *
+                     * @param sharded The sharded type locator to expunge.
+                     */
+                    protected ExpungingAction(Sharded sharded) {
+                        this.sharded = sharded;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void run() {
+                        sharded.expungeStaleEntries();
+                    }
+                }
+            }
         }
     }
 
@@ -4417,6 +5013,37 @@ public interface AgentBuilder {
             public DescriptionStrategy withSuperTypeLoading(ExecutorService executorService) {
                 return new SuperTypeLoading.Asynchronous(this, executorService);
             }
+
+            /**
+             * Creates a description strategy that uses this strategy but speculatively resolves the types that are referenced by the
+             * fields and methods of any type that is described by a type pool, together with their super types, on a background thread.
+             * The supplied pool strategy must also be registered with the agent builder.
+             *
+             * @param poolStrategy    The pool strategy that provides the shared type pool cache to resolve prefetched types into.
+             * @param executorService The executor service to use.
+             * @return This description strategy where referenced types are resolved in the background.
+             * @see Prefetching
+             */
+            public DescriptionStrategy withPrefetching(PoolStrategy.WithTypePoolCache poolStrategy, ExecutorService executorService) {
+                return new Prefetching(this, poolStrategy, executorService);
+            }
+
+            /**
+             * Creates a description strategy that uses this strategy but speculatively resolves the types that are referenced by the
+             * fields and methods of any type that is described by a type pool, together with their super types, on a background thread.
+             * The supplied location and pool strategies must also be registered with the agent builder.
+             *
+             * @param locationStrategy The location strategy to use for locating class files of prefetched types.
+             * @param poolStrategy     The pool strategy that provides the shared type pool cache to resolve prefetched types into.
+             * @param executorService  The executor service to use.
+             * @return This description strategy where referenced types are resolved in the background.
+             * @see Prefetching
+             */
+            public DescriptionStrategy withPrefetching(LocationStrategy locationStrategy,
+                                                       PoolStrategy.WithTypePoolCache poolStrategy,
+                                                       ExecutorService executorService) {
+                return new Prefetching(this, locationStrategy, poolStrategy, executorService);
+            }
         }
 
         /**
@@ -4701,7 +5328,212 @@ public interface AgentBuilder {
                                     classLoader.notifyAll();
                                 }
                             }
-                        }
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * <p>
+         * A description strategy that speculatively resolves the types that a type described by a type pool refers to by its declared
+         * fields and methods, together with the super types, interfaces and annotation types of those types, on a background thread.
+         * Such types are typically loaded, and therefore described, after the described type. Doing so, the shared type pool cache
+         * is likely to already contain these descriptions when they are required, what reduces the time that is spent on the class
+         * loading thread. The hierarchy of the described type itself is not resolved as it is already required by the foreground.
+         * </p>
+         * <p>
+         * <b>Important</b>: Resolved types are stored in the cache of the supplied {@link PoolStrategy.WithTypePoolCache}. This pool strategy
+         * and the supplied location strategy must also be registered with the agent builder, otherwise prefetched descriptions are never
+         * used and descriptions that cannot be located might be cached as unresolved. A background task only retains the name of the
+         * described type and a weak reference to its class loader such that queued tasks never prevent a class loader from being
+         * garbage collected. Types are never loaded by this strategy and any error during speculative resolution is ignored.
+         * </p>
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Prefetching implements DescriptionStrategy {
+
+            /**
+             * The delegate description strategy.
+             */
+            private final DescriptionStrategy delegate;
+
+            /**
+             * The location strategy to use for locating class files of prefetched types.
+             */
+            private final LocationStrategy locationStrategy;
+
+            /**
+             * The pool strategy that provides the shared type pool cache to resolve prefetched types into.
+             */
+            private final PoolStrategy.WithTypePoolCache poolStrategy;
+
+            /**
+             * The executor service to use for resolving referenced types.
+             */
+            private final ExecutorService executorService;
+
+            /**
+             * Creates a new description strategy that speculatively resolves referenced types by using a
+             * {@link LocationStrategy.ForClassLoader#STRONG} location strategy.
+             *
+             * @param delegate        The delegate description strategy.
+             * @param poolStrategy    The pool strategy that provides the shared type pool cache to resolve prefetched types into.
+             * @param executorService The executor service to use for resolving referenced types.
+             */
+            public Prefetching(DescriptionStrategy delegate, PoolStrategy.WithTypePoolCache poolStrategy, ExecutorService executorService) {
+                this(delegate, LocationStrategy.ForClassLoader.STRONG, poolStrategy, executorService);
+            }
+
+            /**
+             * Creates a new description strategy that speculatively resolves referenced types.
+             *
+             * @param delegate         The delegate description strategy.
+             * @param locationStrategy The location strategy to use for locating class files of prefetched types.
+             * @param poolStrategy     The pool strategy that provides the shared type pool cache to resolve prefetched types into.
+             * @param executorService  The executor service to use for resolving referenced types.
+             */
+            public Prefetching(DescriptionStrategy delegate,
+                               LocationStrategy locationStrategy,
+                               PoolStrategy.WithTypePoolCache poolStrategy,
+                               ExecutorService executorService) {
+                this.delegate = delegate;
+                this.locationStrategy = locationStrategy;
+                this.poolStrategy = poolStrategy;
+                this.executorService = executorService;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public boolean isLoadedFirst() {
+                return delegate.isLoadedFirst();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public TypeDescription apply(String name,
+                                         @MaybeNull Class<?> type,
+                                         TypePool typePool,
+                                         CircularityLock circularityLock,
+                                         @MaybeNull ClassLoader classLoader,
+                                         @MaybeNull JavaModule module) {
+                TypeDescription typeDescription = delegate.apply(name, type, typePool, circularityLock, classLoader, module);
+                if (!(typeDescription instanceof TypeDescription.ForLoadedType)) {
+                    try {
+                        executorService.execute(new PrefetchingAction(name, classLoader, locationStrategy, poolStrategy));
+                    } catch (RejectedExecutionException ignored) {
+                        /* speculative resolution is optional */
+                    }
+                }
+                return typeDescription;
+            }
+
+            /**
+             * An action that resolves the types that are referenced by a type into a shared type pool cache. This action does not
+             * hold a strong reference to the class loader of the type, nor to any type pool or class file locator.
+             */
+            protected static class PrefetchingAction implements Runnable {
+
+                /**
+                 * The name of the type of which the referenced types are resolved.
+                 */
+                private final String name;
+
+                /**
+                 * A weak reference to the class loader of the type or {@code null} if the type is loaded by the bootstrap loader.
+                 */
+                @MaybeNull
+                private final WeakReference<ClassLoader> classLoader;
+
+                /**
+                 * The location strategy to use for locating class files of prefetched types.
+                 */
+                private final LocationStrategy locationStrategy;
+
+                /**
+                 * The pool strategy that provides the shared type pool cache to resolve prefetched types into.
+                 */
+                private final PoolStrategy.WithTypePoolCache poolStrategy;
+
+                /**
+                 * Creates a new prefetching action.
+                 *
+                 * @param name             The name of the type of which the referenced types are resolved.
+                 * @param classLoader      The class loader of the type or {@code null} if the type is loaded by the bootstrap loader.
+                 * @param locationStrategy The location strategy to use for locating class files of prefetched types.
+                 * @param poolStrategy     The pool strategy that provides the shared type pool cache to resolve prefetched types into.
+                 */
+                protected PrefetchingAction(String name,
+                                            @MaybeNull ClassLoader classLoader,
+                                            LocationStrategy locationStrategy,
+                                            PoolStrategy.WithTypePoolCache poolStrategy) {
+                    this.name = name;
+                    this.classLoader = classLoader == null
+                            ? null
+                            : new WeakReference<ClassLoader>(classLoader);
+                    this.locationStrategy = locationStrategy;
+                    this.poolStrategy = poolStrategy;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void run() {
+                    ClassLoader classLoader;
+                    if (this.classLoader == null) {
+                        classLoader = null;
+                    } else {
+                        classLoader = this.classLoader.get();
+                        if (classLoader == null) {
+                            return;
+                        }
+                    }
+                    try {
+                        TypePool typePool = poolStrategy.typePool(locationStrategy.classFileLocator(classLoader, null), classLoader);
+                        TypePool.Resolution resolution = typePool.describe(name);
+                        if (!resolution.isResolved()) {
+                            return;
+                        }
+                        TypeDescription typeDescription = resolution.resolve();
+                        List<TypeDescription> referencedTypes = new ArrayList<TypeDescription>();
+                        for (FieldDescription fieldDescription : typeDescription.getDeclaredFields()) {
+                            referencedTypes.add(fieldDescription.getType().asErasure());
+                        }
+                        for (MethodDescription methodDescription : typeDescription.getDeclaredMethods()) {
+                            referencedTypes.add(methodDescription.getReturnType().asErasure());
+                            referencedTypes.addAll(methodDescription.getParameters().asTypeList().asErasures());
+                            referencedTypes.addAll(methodDescription.getExceptionTypes().asErasures());
+                        }
+                        Set<String> resolved = new HashSet<String>();
+                        resolved.add(name);
+                        List<TypeDescription> typeDescriptions = new ArrayList<TypeDescription>();
+                        do {
+                            for (TypeDescription referencedType : referencedTypes) {
+                                while (referencedType.isArray()) {
+                                    referencedType = referencedType.getComponentType();
+                                }
+                                if (!referencedType.isPrimitive() && resolved.add(referencedType.getName())) {
+                                    resolution = typePool.describe(referencedType.getName());
+                                    if (resolution.isResolved()) {
+                                        typeDescriptions.add(resolution.resolve());
+                                    }
+                                }
+                            }
+                            referencedTypes.clear();
+                            if (!typeDescriptions.isEmpty()) {
+                                typeDescription = typeDescriptions.remove(typeDescriptions.size() - 1);
+                                TypeDescription.Generic superClass = typeDescription.getSuperClass();
+                                if (superClass != null) {
+                                    referencedTypes.add(superClass.asErasure());
+                                }
+                                referencedTypes.addAll(typeDescription.getInterfaces().asErasures());
+                                referencedTypes.addAll(typeDescription.getDeclaredAnnotations().asTypeList());
+                            }
+                        } while (!referencedTypes.isEmpty() || !typeDescriptions.isEmpty());
+                    } catch (Throwable ignored) {
+                        /* speculative resolution is optional */
                     }
                 }
             }
@@ -5543,6 +6375,101 @@ public interface AgentBuilder {
         }
     }
 
+    /**
+     * A strategy for resolving a {@link TypePrefilter} from the matchers of an agent's transformations. A prefilter is applied to
+     * a type's name and class file before the type is described. If a type is not a candidate of any transformation's prefilter,
+     * the type is ignored without being described.
+     */
+    interface PrefilterStrategy {
+
+        /**
+         * Resolves a prefilter for the matchers of all transformations of an agent.
+         *
+         * @param matchers The matchers of all transformations of an agent.
+         * @return A prefilter that approximates the supplied matchers.
+         */
+        TypePrefilter resolve(List<? extends RawMatcher> matchers);
+
+        /**
+         * Default implementations of prefilter strategies.
+         */
+        enum Default implements PrefilterStrategy {
+
+            /**
+             * Only applies prefilters that are explicitly registered via {@link RawMatcher.WithPrefilter}. If no such
+             * prefilter is registered, no prefilter is applied.
+             */
+            EXPLICIT(false),
+
+            /**
+             * Applies prefilters that are explicitly registered via {@link RawMatcher.WithPrefilter} and additionally compiles
+             * the type matchers of all transformations into prefilters using a {@link TypePrefilter.Compiler}. This requires an
+             * additional inspection of every class file that is loaded but avoids describing any type that cannot be matched.
+             */
+            COMPILING(true);
+
+            /**
+             * {@code true} if type matchers should be compiled into prefilters.
+             */
+            private final boolean compiling;
+
+            /**
+             * Creates a new default prefilter strategy.
+             *
+             * @param compiling {@code true} if type matchers should be compiled into prefilters.
+             */
+            Default(boolean compiling) {
+                this.compiling = compiling;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public TypePrefilter resolve(List<? extends RawMatcher> matchers) {
+                List<TypePrefilter> prefilters = new ArrayList<TypePrefilter>(matchers.size());
+                for (RawMatcher matcher : matchers) {
+                    prefilters.add(resolve(matcher));
+                }
+                return compiling || !prefilters.isEmpty()
+                        ? TypePrefilter.Disjunction.of(prefilters)
+                        : TypePrefilter.Trivial.CANDIDATE;
+            }
+
+            /**
+             * Resolves a prefilter that approximates a raw matcher.
+             *
+             * @param matcher The raw matcher to approximate.
+             * @return A prefilter that approximates the supplied matcher.
+             */
+            private TypePrefilter resolve(RawMatcher matcher) {
+                if (matcher instanceof RawMatcher.ForElementMatchers) {
+                    return compiling
+                            ? TypePrefilter.Compiler.INSTANCE.compile(((RawMatcher.ForElementMatchers) matcher).typeMatcher)
+                            : TypePrefilter.Trivial.CANDIDATE;
+                } else if (matcher instanceof RawMatcher.Conjunction) {
+                    List<TypePrefilter> prefilters = new ArrayList<TypePrefilter>();
+                    for (RawMatcher nested : ((RawMatcher.Conjunction) matcher).matchers) {
+                        prefilters.add(resolve(nested));
+                    }
+                    return TypePrefilter.Conjunction.of(prefilters);
+                } else if (matcher instanceof RawMatcher.Disjunction) {
+                    List<TypePrefilter> prefilters = new ArrayList<TypePrefilter>();
+                    for (RawMatcher nested : ((RawMatcher.Disjunction) matcher).matchers) {
+                        prefilters.add(resolve(nested));
+                    }
+                    return TypePrefilter.Disjunction.of(prefilters);
+                } else if (matcher instanceof RawMatcher.WithPrefilter) {
+                    return TypePrefilter.Conjunction.of(Arrays.asList(((RawMatcher.WithPrefilter) matcher).prefilter,
+                            resolve(((RawMatcher.WithPrefilter) matcher).matcher)));
+                } else if (compiling && matcher == RawMatcher.Trivial.NON_MATCHING) {
+                    return TypePrefilter.Trivial.NON_CANDIDATE;
+                } else {
+                    return TypePrefilter.Trivial.CANDIDATE;
+                }
+            }
+        }
+    }
+
     /**
      * A decorator that allows to change the class file transformer that is registered.
      */
@@ -5659,7 +6586,7 @@ public interface AgentBuilder {
             @Override
             public void apply(Instrumentation instrumentation,
                               PoolStrategy poolStrategy, LocationStrategy locationStrategy, DescriptionStrategy descriptionStrategy, FallbackStrategy fallbackStrategy, DiscoveryStrategy discoveryStrategy, LambdaInstrumentationStrategy lambdaInstrumentationStrategy, AgentBuilder.Listener listener,
-                              Listener redefinitionListener, RawMatcher matcher, BatchAllocator redefinitionBatchAllocator, CircularityLock circularityLock) {
+                              Listener redefinitionListener, RawMatcher matcher, BatchAllocator redefinitionBatchAllocator, PreparationStrategy redefinitionPreparationStrategy, CircularityLock circularityLock) {
                 /* do nothing */
             }
 
@@ -5840,19 +6767,20 @@ public interface AgentBuilder {
          * Applies this redefinition strategy by submitting all loaded types to redefinition. If this redefinition strategy is disabled,
          * this method is non-operational.
          *
-         * @param instrumentation               The instrumentation instance to use.
-         * @param poolStrategy                  The type locator to use.
-         * @param locationStrategy              The location strategy to use.
-         * @param descriptionStrategy           The description strategy for resolving type descriptions for types.
-         * @param fallbackStrategy              The fallback strategy to apply.
-         * @param redefinitionDiscoveryStrategy The discovery strategy for loaded types to be redefined.
-         * @param lambdaInstrumentationStrategy A strategy to determine of the {@code LambdaMetafactory} should be instrumented to allow for the
-         *                                      instrumentation of classes that represent lambda expressions.
-         * @param listener                      The listener to notify on transformations.
-         * @param redefinitionListener          The redefinition listener for the redefinition strategy to apply.
-         * @param matcher                       The matcher to identify what types to redefine.
-         * @param redefinitionBatchAllocator    The batch allocator for the redefinition strategy to apply.
-         * @param circularityLock               The circularity lock to use.
+         * @param instrumentation                 The instrumentation instance to use.
+         * @param poolStrategy                    The type locator to use.
+         * @param locationStrategy                The location strategy to use.
+         * @param descriptionStrategy             The description strategy for resolving type descriptions for types.
+         * @param fallbackStrategy                The fallback strategy to apply.
+         * @param redefinitionDiscoveryStrategy   The discovery strategy for loaded types to be redefined.
+         * @param lambdaInstrumentationStrategy   A strategy to determine of the {@code LambdaMetafactory} should be instrumented to allow for the
+         *                                        instrumentation of classes that represent lambda expressions.
+         * @param listener                        The listener to notify on transformations.
+         * @param redefinitionListener            The redefinition listener for the redefinition strategy to apply.
+         * @param matcher                         The matcher to identify what types to redefine.
+         * @param redefinitionBatchAllocator      The batch allocator for the redefinition strategy to apply.
+         * @param redefinitionPreparationStrategy The preparation strategy for types that are discovered for redefinition.
+         * @param circularityLock                 The circularity lock to use.
          */
         protected void apply(Instrumentation instrumentation,
                              PoolStrategy poolStrategy,
@@ -5865,6 +6793,7 @@ public interface AgentBuilder {
                              Listener redefinitionListener,
                              RawMatcher matcher,
                              BatchAllocator redefinitionBatchAllocator,
+                             PreparationStrategy redefinitionPreparationStrategy,
                              CircularityLock circularityLock) {
             check(instrumentation);
             int batch = RedefinitionStrategy.BatchAllocator.FIRST_BATCH;
@@ -5876,12 +6805,14 @@ public interface AgentBuilder {
                         listener,
                         matcher,
                         circularityLock);
+                Map<Class<?>, Boolean> considered = new LinkedHashMap<Class<?>, Boolean>();
                 for (Class<?> type : types) {
                     if (type == null || type.isArray() || type.isPrimitive() || !lambdaInstrumentationStrategy.isInstrumented(type)) {
                         continue;
                     }
-                    collector.consider(type, DISPATCHER.isModifiableClass(instrumentation, type) || ClassFileVersion.ofThisVm(ClassFileVersion.JAVA_V5).isAtMost(ClassFileVersion.JAVA_V5));
+                    considered.put(type, DISPATCHER.isModifiableClass(instrumentation, type) || ClassFileVersion.ofThisVm(ClassFileVersion.JAVA_V5).isAtMost(ClassFileVersion.JAVA_V5));
                 }
+                collector.consider(redefinitionPreparationStrategy, considered);
                 batch = collector.apply(instrumentation, redefinitionBatchAllocator, redefinitionListener, batch);
             }
         }
@@ -7132,6 +8063,96 @@ public interface AgentBuilder {
             }
         }
 
+        /**
+         * <p>
+         * A preparation strategy determines how the types that are discovered for a redefinition are prepared prior to their
+         * redefinition. Preparing a type includes locating its class file, resolving its type description and applying the
+         * agent's matchers, what is typically the most expensive part of a redefinition that is not executed by the JVM.
+         * </p>
+         * <p>
+         * <b>Important</b>: If preparations are executed concurrently, any registered {@link AgentBuilder.Listener} is notified
+         * of discovered and ignored types concurrently and must be thread-safe. Also, the applied {@link PoolStrategy},
+         * {@link LocationStrategy} and matchers must be thread-safe what is the case for all implementations that ship with
+         * Byte Buddy.
+         * </p>
+         */
+        public interface PreparationStrategy {
+
+            /**
+             * Executes the supplied preparations. This method must not return before all preparations are completed.
+             *
+             * @param preparations The preparations to execute.
+             */
+            void prepare(List<? extends Runnable> preparations);
+
+            /**
+             * A preparation strategy that prepares all types sequentially on the thread that applies the redefinition.
+             */
+            enum Sequential implements PreparationStrategy {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void prepare(List<? extends Runnable> preparations) {
+                    for (Runnable preparation : preparations) {
+                        preparation.run();
+                    }
+                }
+            }
+
+            /**
+             * A preparation strategy that prepares types concurrently by submitting each preparation to an executor service.
+             * The thread that applies the redefinition waits for all preparations to complete such that only the redefinition
+             * itself is applied serially.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForExecutorService implements PreparationStrategy {
+
+                /**
+                 * The executor service to submit preparations to.
+                 */
+                private final ExecutorService executorService;
+
+                /**
+                 * Creates a new preparation strategy for an executor service.
+                 *
+                 * @param executorService The executor service to submit preparations to.
+                 */
+                public ForExecutorService(ExecutorService executorService) {
+                    this.executorService = executorService;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void prepare(List<? extends Runnable> preparations) {
+                    List<Future<?>> futures = new ArrayList<Future<?>>(preparations.size());
+                    try {
+                        for (Runnable preparation : preparations) {
+                            futures.add(executorService.submit(preparation));
+                        }
+                        for (Future<?> future : futures) {
+                            future.get();
+                        }
+                    } catch (ExecutionException exception) {
+                        throw new IllegalStateException("Could not prepare types for redefinition", exception.getCause());
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while preparing types for redefinition", exception);
+                    } finally {
+                        for (Future<?> future : futures) {
+                            future.cancel(true);
+                        }
+                    }
+                }
+            }
+        }
+
         /**
          * A resubmission scheduler is responsible for scheduling a job that is resubmitting unloaded types that failed during retransformation.
          */
@@ -8089,11 +9110,44 @@ public interface AgentBuilder {
              * @param modifiable {@code true} if the considered type is considered modifiable.
              */
             protected void consider(Class<?> type, boolean modifiable) {
+                if (prepare(type, modifiable)) {
+                    types.add(type);
+                }
+            }
+
+            /**
+             * Considers loaded classes for collection by applying the supplied preparation strategy. The types are collected
+             * in their iteration order, independently of the order in which they are prepared.
+             *
+             * @param preparationStrategy The preparation strategy to apply.
+             * @param types               The loaded types being considered, mapped to {@code true} if a type is considered modifiable.
+             */
+            protected void consider(PreparationStrategy preparationStrategy, Map<Class<?>, Boolean> types) {
+                List<Preparation> preparations = new ArrayList<Preparation>(types.size());
+                for (Map.Entry<Class<?>, Boolean> entry : types.entrySet()) {
+                    preparations.add(new Preparation(entry.getKey(), entry.getValue()));
+                }
+                preparationStrategy.prepare(preparations);
+                for (Preparation preparation : preparations) {
+                    if (preparation.isCollected()) {
+                        this.types.add(preparation.getType());
+                    }
+                }
+            }
+
+            /**
+             * Prepares a loaded class by resolving its type description and by applying this collector's matcher.
+             *
+             * @param type       The loaded type being considered.
+             * @param modifiable {@code true} if the considered type is considered modifiable.
+             * @return {@code true} if the type should be collected for redefinition.
+             */
+            protected boolean prepare(Class<?> type, boolean modifiable) {
                 JavaModule module = JavaModule.ofType(type);
                 try {
                     TypePool typePool = poolStrategy.typePool(locationStrategy.classFileLocator(type.getClassLoader(), module), type.getClassLoader());
                     try {
-                        doConsider(matcher,
+                        return doConsider(matcher,
                                 listener,
                                 descriptionStrategy.apply(TypeDescription.ForLoadedType.getName(type), type, typePool, circularityLock, type.getClassLoader(), module),
                                 type,
@@ -8102,7 +9156,7 @@ public interface AgentBuilder {
                                 modifiable);
                     } catch (Throwable throwable) {
                         if (descriptionStrategy.isLoadedFirst() && fallbackStrategy.isFallback(type, throwable)) {
-                            doConsider(matcher,
+                            return doConsider(matcher,
                                     listener,
                                     typePool.describe(TypeDescription.ForLoadedType.getName(type)).resolve(),
                                     type,
@@ -8127,6 +9181,7 @@ public interface AgentBuilder {
                     } catch (Throwable ignored) {
                         // Ignore exceptions that are thrown by listeners to mimic the behavior of a transformation.
                     }
+                    return false;
                 }
             }
 
@@ -8140,8 +9195,9 @@ public interface AgentBuilder {
              * @param classBeingRedefined The loaded type being considered or {@code null} if it should be considered non-available.
              * @param module              The type's Java module or {@code null} if the current VM does not support modules.
              * @param modifiable          {@code true} if the considered type is considered modifiable.
+             * @return {@code true} if the type should be collected for redefinition.
              */
-            private void doConsider(RawMatcher matcher,
+            private boolean doConsider(RawMatcher matcher,
                                     AgentBuilder.Listener listener,
                                     TypeDescription typeDescription,
                                     Class<?> type,
@@ -8161,8 +9217,9 @@ public interface AgentBuilder {
                     } catch (Throwable ignored) {
                         // Ignore exceptions that are thrown by listeners to mimic the behavior of a transformation.
                     }
+                    return false;
                 } else {
-                    types.add(type);
+                    return true;
                 }
             }
 
@@ -8207,6 +9264,71 @@ public interface AgentBuilder {
             protected abstract void doApply(Instrumentation instrumentation,
                                             List<Class<?>> types) throws UnmodifiableClassException, ClassNotFoundException;
 
+            /**
+             * A preparation of a loaded type that records if the type should be collected. A preparation acquires the
+             * circularity lock for the thread it is executed on, if possible.
+             */
+            protected class Preparation implements Runnable {
+
+                /**
+                 * The loaded type being considered.
+                 */
+                private final Class<?> type;
+
+                /**
+                 * {@code true} if the considered type is considered modifiable.
+                 */
+                private final boolean modifiable;
+
+                /**
+                 * {@code true} if the type should be collected for redefinition.
+                 */
+                private volatile boolean collected;
+
+                /**
+                 * Creates a new preparation.
+                 *
+                 * @param type       The loaded type being considered.
+                 * @param modifiable {@code true} if the considered type is considered modifiable.
+                 */
+                protected Preparation(Class<?> type, boolean modifiable) {
+                    this.type = type;
+                    this.modifiable = modifiable;
+                }
+
+                /**
+                 * Returns the loaded type being considered.
+                 *
+                 * @return The loaded type being considered.
+                 */
+                protected Class<?> getType() {
+                    return type;
+                }
+
+                /**
+                 * Returns {@code true} if the type should be collected for redefinition.
+                 *
+                 * @return {@code true} if the type should be collected for redefinition.
+                 */
+                protected boolean isCollected() {
+                    return collected;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void run() {
+                    boolean release = circularityLock.acquire();
+                    try {
+                        collected = prepare(type, modifiable);
+                    } finally {
+                        if (release) {
+                            circularityLock.release();
+                        }
+                    }
+                }
+            }
+
             /**
              * An iterator that allows prepending of iterables to be applied previous to another iterator.
              */
@@ -10329,6 +11451,11 @@ public interface AgentBuilder {
          */
         protected final RedefinitionStrategy.BatchAllocator redefinitionBatchAllocator;
 
+        /**
+         * The preparation strategy for types that are discovered for redefinition.
+         */
+        protected final RedefinitionStrategy.PreparationStrategy redefinitionPreparationStrategy;
+
         /**
          * The redefinition listener for the redefinition strategy to apply.
          */
@@ -10365,6 +11492,11 @@ public interface AgentBuilder {
          */
         protected final ClassFileBufferStrategy classFileBufferStrategy;
 
+        /**
+         * The prefilter strategy to use.
+         */
+        protected final PrefilterStrategy prefilterStrategy;
+
         /**
          * The installation listener to notify.
          */
@@ -10410,6 +11542,7 @@ public interface AgentBuilder {
                     RedefinitionStrategy.DISABLED,
                     RedefinitionStrategy.DiscoveryStrategy.SinglePass.INSTANCE,
                     RedefinitionStrategy.BatchAllocator.ForTotal.INSTANCE,
+                    RedefinitionStrategy.PreparationStrategy.Sequential.INSTANCE,
                     RedefinitionStrategy.Listener.NoOp.INSTANCE,
                     RedefinitionStrategy.ResubmissionStrategy.Disabled.INSTANCE,
                     InjectionStrategy.UsingReflection.INSTANCE,
@@ -10417,6 +11550,7 @@ public interface AgentBuilder {
                     DescriptionStrategy.Default.HYBRID,
                     FallbackStrategy.ByThrowableType.ofOptionalTypes(),
                     ClassFileBufferStrategy.Default.RETAINING,
+                    PrefilterStrategy.Default.EXPLICIT,
                     InstallationListener.NoOp.INSTANCE,
                     new RawMatcher.Disjunction(
                             new RawMatcher.ForElementMatchers(any(), isBootstrapClassLoader().or(isExtensionClassLoader())),
@@ -10444,6 +11578,7 @@ public interface AgentBuilder {
          * @param redefinitionStrategy             The redefinition strategy to apply.
          * @param redefinitionDiscoveryStrategy    The discovery strategy for loaded types to be redefined.
          * @param redefinitionBatchAllocator       The batch allocator for the redefinition strategy to apply.
+         * @param redefinitionPreparationStrategy  The preparation strategy for types that are discovered for redefinition.
          * @param redefinitionListener             The redefinition listener for the redefinition strategy to apply.
          * @param redefinitionResubmissionStrategy The resubmission strategy to apply.
          * @param injectionStrategy                The injection strategy for injecting classes into a class loader.
@@ -10452,6 +11587,7 @@ public interface AgentBuilder {
          * @param descriptionStrategy              The description strategy for resolving type descriptions for types.
          * @param fallbackStrategy                 The fallback strategy to apply.
          * @param classFileBufferStrategy          The class file buffer strategy to use.
+         * @param prefilterStrategy                The prefilter strategy to use.
          * @param installationListener             The installation listener to notify.
          * @param ignoreMatcher                    Identifies types that should not be instrumented.
          * @param transformations                  The transformations to apply for any non-ignored type.
@@ -10470,6 +11606,7 @@ public interface AgentBuilder {
                           RedefinitionStrategy redefinitionStrategy,
                           RedefinitionStrategy.DiscoveryStrategy redefinitionDiscoveryStrategy,
                           RedefinitionStrategy.BatchAllocator redefinitionBatchAllocator,
+                          RedefinitionStrategy.PreparationStrategy redefinitionPreparationStrategy,
                           RedefinitionStrategy.Listener redefinitionListener,
                           RedefinitionStrategy.ResubmissionStrategy redefinitionResubmissionStrategy,
                           InjectionStrategy injectionStrategy,
@@ -10477,6 +11614,7 @@ public interface AgentBuilder {
                           DescriptionStrategy descriptionStrategy,
                           FallbackStrategy fallbackStrategy,
                           ClassFileBufferStrategy classFileBufferStrategy,
+                          PrefilterStrategy prefilterStrategy,
                           InstallationListener installationListener,
                           RawMatcher ignoreMatcher,
                           List<Transformation> transformations) {
@@ -10494,6 +11632,7 @@ public interface AgentBuilder {
             this.redefinitionStrategy = redefinitionStrategy;
             this.redefinitionDiscoveryStrategy = redefinitionDiscoveryStrategy;
             this.redefinitionBatchAllocator = redefinitionBatchAllocator;
+            this.redefinitionPreparationStrategy = redefinitionPreparationStrategy;
             this.redefinitionListener = redefinitionListener;
             this.redefinitionResubmissionStrategy = redefinitionResubmissionStrategy;
             this.injectionStrategy = injectionStrategy;
@@ -10501,6 +11640,7 @@ public interface AgentBuilder {
             this.descriptionStrategy = descriptionStrategy;
             this.fallbackStrategy = fallbackStrategy;
             this.classFileBufferStrategy = classFileBufferStrategy;
+            this.prefilterStrategy = prefilterStrategy;
             this.installationListener = installationListener;
             this.ignoreMatcher = ignoreMatcher;
             this.transformations = transformations;
@@ -10628,6 +11768,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -10635,6 +11776,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -10658,6 +11800,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -10665,6 +11808,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -10688,6 +11832,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -10695,6 +11840,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -10718,6 +11864,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -10725,6 +11872,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -10748,6 +11896,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -10755,6 +11904,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -10778,6 +11928,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -10785,6 +11936,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -10808,6 +11960,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -10815,6 +11968,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -10838,6 +11992,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -10845,6 +12000,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -10868,6 +12024,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -10875,6 +12032,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -10913,6 +12071,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -10920,6 +12079,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -10943,6 +12103,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -10950,6 +12111,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -10973,6 +12135,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     RedefinitionStrategy.DiscoveryStrategy.SinglePass.INSTANCE,
                     RedefinitionStrategy.BatchAllocator.ForTotal.INSTANCE,
+                    RedefinitionStrategy.PreparationStrategy.Sequential.INSTANCE,
                     RedefinitionStrategy.Listener.NoOp.INSTANCE,
                     RedefinitionStrategy.ResubmissionStrategy.Disabled.INSTANCE,
                     injectionStrategy,
@@ -10980,6 +12143,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -11003,6 +12167,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -11010,6 +12175,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -11033,6 +12199,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -11040,6 +12207,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -11063,6 +12231,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -11070,6 +12239,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -11093,6 +12263,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -11100,6 +12271,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -11123,6 +12295,39 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
+                    redefinitionListener,
+                    redefinitionResubmissionStrategy,
+                    injectionStrategy,
+                    lambdaInstrumentationStrategy,
+                    descriptionStrategy,
+                    fallbackStrategy,
+                    classFileBufferStrategy,
+                    prefilterStrategy,
+                    installationListener,
+                    ignoreMatcher,
+                    transformations);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public AgentBuilder with(PrefilterStrategy prefilterStrategy) {
+            return new Default(byteBuddy,
+                    listener,
+                    circularityLock,
+                    poolStrategy,
+                    typeStrategy,
+                    locationStrategy,
+                    classFileLocator,
+                    nativeMethodStrategy,
+                    warmupStrategy,
+                    transformerDecorator,
+                    initializationStrategy,
+                    redefinitionStrategy,
+                    redefinitionDiscoveryStrategy,
+                    redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -11130,6 +12335,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -11153,6 +12359,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -11160,6 +12367,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     new InstallationListener.Compound(this.installationListener, installationListener),
                     ignoreMatcher,
                     transformations);
@@ -11183,6 +12391,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -11190,6 +12399,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -11215,6 +12425,7 @@ public interface AgentBuilder {
                     redefinitionStrategy,
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
+                    redefinitionPreparationStrategy,
                     redefinitionListener,
                     redefinitionResubmissionStrategy,
                     injectionStrategy,
@@ -11222,6 +12433,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     transformations);
@@ -11364,6 +12576,7 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    prefilterStrategy,
                     installationListener,
                     ignoreMatcher,
                     resubmissionEnforcer,
@@ -11507,6 +12720,7 @@ public interface AgentBuilder {
                             redefinitionListener,
                             matcher,
                             redefinitionBatchAllocator,
+                            redefinitionPreparationStrategy,
                             circularityLock);
                 } catch (@MaybeNull Throwable throwable) {
                     throwable = installation.getInstallationListener().onError(instrumentation, classFileTransformer, throwable);
@@ -11910,6 +13124,22 @@ public interface AgentBuilder {
                 return terminal;
             }
 
+            /**
+             * Resolves a prefilter that approximates the matchers of the supplied transformations. If a type is not considered
+             * a candidate by this prefilter, none of the transformations can apply to the type.
+             *
+             * @param prefilterStrategy The prefilter strategy to use.
+             * @param transformations   The transformations to consider.
+             * @return A prefilter that approximates the matchers of the supplied transformations.
+             */
+            protected static TypePrefilter prefilter(PrefilterStrategy prefilterStrategy, List<Transformation> transformations) {
+                List<RawMatcher> matchers = new ArrayList<RawMatcher>(transformations.size());
+                for (Transformation transformation : transformations) {
+                    matchers.add(transformation.getMatcher());
+                }
+                return prefilterStrategy.resolve(matchers);
+            }
+
             /**
              * A matcher that matches any type that is touched by a transformer without being ignored.
              */
@@ -12220,6 +13450,11 @@ public interface AgentBuilder {
              */
             private final List<Transformation> transformations;
 
+            /**
+             * A prefilter that approximates the matchers of all transformations.
+             */
+            private final TypePrefilter prefilter;
+
             /**
              * A lock that prevents circular class transformations.
              */
@@ -12249,6 +13484,7 @@ public interface AgentBuilder {
              * @param fallbackStrategy              The fallback strategy to use.
              * @param installationListener          The installation listener to notify.
              * @param classFileBufferStrategy       The class file buffer strategy to use.
+             * @param prefilterStrategy             The prefilter strategy to use.
              * @param ignoreMatcher                 Identifies types that should not be instrumented.
              * @param resubmissionEnforcer          The resubmission enforcer to use.
              * @param transformations               The transformations to apply on non-ignored types.
@@ -12267,6 +13503,7 @@ public interface AgentBuilder {
                                         DescriptionStrategy descriptionStrategy,
                                         FallbackStrategy fallbackStrategy,
                                         ClassFileBufferStrategy classFileBufferStrategy,
+                                        PrefilterStrategy prefilterStrategy,
                                         InstallationListener installationListener,
                                         RawMatcher ignoreMatcher,
                                         RedefinitionStrategy.ResubmissionEnforcer resubmissionEnforcer,
@@ -12290,6 +13527,7 @@ public interface AgentBuilder {
                 this.resubmissionEnforcer = resubmissionEnforcer;
                 this.transformations = transformations;
                 this.circularityLock = circularityLock;
+                prefilter = Transformation.prefilter(prefilterStrategy, transformations);
                 accessControlContext = getContext();
             }
 
@@ -12418,6 +13656,10 @@ public interface AgentBuilder {
                             module,
                             protectionDomain), this.classFileLocator, locationStrategy.classFileLocator(classLoader, module));
                     TypePool typePool = classFileBufferStrategy.typePool(poolStrategy, classFileLocator, classLoader, name);
+                    if (!prefilter.isUnconstrained() && !prefilter.isCandidate(name, binaryRepresentation)) {
+                        listener.onIgnored(new TypePool.LazyFacade(typePool).describe(name).resolve(), classLoader, module, classBeingRedefined != null);
+                        return NO_TRANSFORMATION;
+                    }
                     try {
                         return doTransform(module, classLoader, name, classBeingRedefined, classBeingRedefined != null, protectionDomain, typePool, classFileLocator);
                     } catch (Throwable throwable) {
@@ -12524,6 +13766,7 @@ public interface AgentBuilder {
                             redefinitionListener,
                             new Transformation.SimpleMatcher(ignoreMatcher, transformations),
                             redefinitionBatchAllocator,
+                            RedefinitionStrategy.PreparationStrategy.Sequential.INSTANCE,
                             CircularityLock.Inactive.INSTANCE);
                     installationListener.onReset(instrumentation, classFileTransformer);
                     return true;
@@ -12555,6 +13798,7 @@ public interface AgentBuilder {
                  * @param descriptionStrategy           The description strategy for resolving type descriptions for types.
                  * @param fallbackStrategy              The fallback strategy to use.
                  * @param classFileBufferStrategy       The class file buffer strategy to use.
+                 * @param prefilterStrategy             The prefilter strategy to use.
                  * @param installationListener          The installation listener to notify.
                  * @param ignoreMatcher                 Identifies types that should not be instrumented.
                  * @param resubmissionEnforcer          The resubmission enforcer to use.
@@ -12575,6 +13819,7 @@ public interface AgentBuilder {
                                                     DescriptionStrategy descriptionStrategy,
                                                     FallbackStrategy fallbackStrategy,
                                                     ClassFileBufferStrategy classFileBufferStrategy,
+                                                    PrefilterStrategy prefilterStrategy,
                                                     InstallationListener installationListener,
                                                     RawMatcher ignoreMatcher,
                                                     RedefinitionStrategy.ResubmissionEnforcer resubmissionEnforcer,
@@ -12626,6 +13871,7 @@ public interface AgentBuilder {
                                             DescriptionStrategy.class,
                                             FallbackStrategy.class,
                                             ClassFileBufferStrategy.class,
+                                            PrefilterStrategy.class,
                                             InstallationListener.class,
                                             RawMatcher.class,
                                             RedefinitionStrategy.ResubmissionEnforcer.class,
@@ -12676,6 +13922,7 @@ public interface AgentBuilder {
                                                                DescriptionStrategy descriptionStrategy,
                                                                FallbackStrategy fallbackStrategy,
                                                                ClassFileBufferStrategy classFileBufferStrategy,
+                                                               PrefilterStrategy prefilterStrategy,
                                                                InstallationListener installationListener,
                                                                RawMatcher ignoreMatcher,
                                                                RedefinitionStrategy.ResubmissionEnforcer resubmissionEnforcer,
@@ -12695,6 +13942,7 @@ public interface AgentBuilder {
                                     descriptionStrategy,
                                     fallbackStrategy,
                                     classFileBufferStrategy,
+                                    prefilterStrategy,
                                     installationListener,
                                     ignoreMatcher,
                                     resubmissionEnforcer,
@@ -12736,6 +13984,7 @@ public interface AgentBuilder {
                                                                DescriptionStrategy descriptionStrategy,
                                                                FallbackStrategy fallbackStrategy,
                                                                ClassFileBufferStrategy classFileBufferStrategy,
+                                                               PrefilterStrategy prefilterStrategy,
                                                                InstallationListener installationListener,
                                                                RawMatcher ignoreMatcher,
                                                                RedefinitionStrategy.ResubmissionEnforcer resubmissionEnforcer,
@@ -12754,6 +14003,7 @@ public interface AgentBuilder {
                                 descriptionStrategy,
                                 fallbackStrategy,
                                 classFileBufferStrategy,
+                                prefilterStrategy,
                                 installationListener,
                                 ignoreMatcher,
                                 resubmissionEnforcer,
@@ -13019,6 +14269,13 @@ public interface AgentBuilder {
                 return materialize().with(classFileBufferStrategy);
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            public AgentBuilder with(PrefilterStrategy prefilterStrategy) {
+                return materialize().with(prefilterStrategy);
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -13331,6 +14588,7 @@ public interface AgentBuilder {
                         redefinitionStrategy,
                         redefinitionDiscoveryStrategy,
                         redefinitionBatchAllocator,
+                        redefinitionPreparationStrategy,
                         redefinitionListener,
                         redefinitionResubmissionStrategy,
                         injectionStrategy,
@@ -13338,6 +14596,7 @@ public interface AgentBuilder {
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
+                        prefilterStrategy,
                         installationListener,
                         rawMatcher,
                         transformations);
@@ -13410,6 +14669,7 @@ public interface AgentBuilder {
                         redefinitionStrategy,
                         redefinitionDiscoveryStrategy,
                         redefinitionBatchAllocator,
+                        redefinitionPreparationStrategy,
                         redefinitionListener,
                         redefinitionResubmissionStrategy,
                         injectionStrategy,
@@ -13417,6 +14677,7 @@ public interface AgentBuilder {
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
+                        prefilterStrategy,
                         installationListener,
                         ignoreMatcher,
                         CompoundList.of(transformations, new Transformation(rawMatcher, transformers, terminal)));
@@ -13473,6 +14734,7 @@ public interface AgentBuilder {
              * @param redefinitionStrategy             The redefinition strategy to apply.
              * @param redefinitionDiscoveryStrategy    The discovery strategy for loaded types to be redefined.
              * @param redefinitionBatchAllocator       The batch allocator for the redefinition strategy to apply.
+             * @param redefinitionPreparationStrategy  The preparation strategy for types that are discovered for redefinition.
              * @param redefinitionListener             The redefinition listener for the redefinition strategy to apply.
              * @param redefinitionResubmissionStrategy The resubmission strategy to apply.
              * @param injectionStrategy                The injection strategy to use.
@@ -13481,6 +14743,7 @@ public interface AgentBuilder {
              * @param descriptionStrategy              The description strategy for resolving type descriptions for types.
              * @param fallbackStrategy                 The fallback strategy to apply.
              * @param classFileBufferStrategy          The class file buffer strategy to use.
+             * @param prefilterStrategy                The prefilter strategy to use.
              * @param installationListener             The installation listener to notify.
              * @param ignoreMatcher                    Identifies types that should not be instrumented.
              * @param transformations                  The transformations to apply on non-ignored types.
@@ -13499,6 +14762,7 @@ public interface AgentBuilder {
                                  RedefinitionStrategy redefinitionStrategy,
                                  RedefinitionStrategy.DiscoveryStrategy redefinitionDiscoveryStrategy,
                                  RedefinitionStrategy.BatchAllocator redefinitionBatchAllocator,
+                                 RedefinitionStrategy.PreparationStrategy redefinitionPreparationStrategy,
                                  RedefinitionStrategy.Listener redefinitionListener,
                                  RedefinitionStrategy.ResubmissionStrategy redefinitionResubmissionStrategy,
                                  InjectionStrategy injectionStrategy,
@@ -13506,6 +14770,7 @@ public interface AgentBuilder {
                                  DescriptionStrategy descriptionStrategy,
                                  FallbackStrategy fallbackStrategy,
                                  ClassFileBufferStrategy classFileBufferStrategy,
+                                 PrefilterStrategy prefilterStrategy,
                                  InstallationListener installationListener,
                                  RawMatcher ignoreMatcher,
                                  List<Transformation> transformations) {
@@ -13523,6 +14788,7 @@ public interface AgentBuilder {
                         redefinitionStrategy,
                         redefinitionDiscoveryStrategy,
                         redefinitionBatchAllocator,
+                        redefinitionPreparationStrategy,
                         redefinitionListener,
                         redefinitionResubmissionStrategy,
                         injectionStrategy,
@@ -13530,6 +14796,7 @@ public interface AgentBuilder {
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
+                        prefilterStrategy,
                         installationListener,
                         ignoreMatcher,
                         transformations);
@@ -13556,6 +14823,7 @@ public interface AgentBuilder {
                         redefinitionStrategy,
                         redefinitionDiscoveryStrategy,
                         redefinitionBatchAllocator,
+                        redefinitionPreparationStrategy,
                         redefinitionListener,
                         redefinitionResubmissionStrategy,
                         injectionStrategy,
@@ -13563,6 +14831,7 @@ public interface AgentBuilder {
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
+                        prefilterStrategy,
                         installationListener,
                         ignoreMatcher,
                         transformations);
@@ -13596,6 +14865,7 @@ public interface AgentBuilder {
                         redefinitionStrategy,
                         redefinitionDiscoveryStrategy,
                         redefinitionBatchAllocator,
+                        redefinitionPreparationStrategy,
                         redefinitionListener,
                         redefinitionResubmissionStrategy,
                         injectionStrategy,
@@ -13603,6 +14873,7 @@ public interface AgentBuilder {
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
+                        prefilterStrategy,
                         installationListener,
                         ignoreMatcher,
                         transformations);
@@ -13629,6 +14900,7 @@ public interface AgentBuilder {
                         redefinitionStrategy,
                         redefinitionDiscoveryStrategy,
                         redefinitionBatchAllocator,
+                        redefinitionPreparationStrategy,
                         new RedefinitionStrategy.Listener.Compound(this.redefinitionListener, redefinitionListener),
                         redefinitionResubmissionStrategy,
                         injectionStrategy,
@@ -13636,11 +14908,54 @@ public interface AgentBuilder {
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
+                        prefilterStrategy,
+                        installationListener,
+                        ignoreMatcher,
+                        transformations);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public RedefinitionListenable withPreparation(RedefinitionStrategy.PreparationStrategy redefinitionPreparationStrategy) {
+                if (!redefinitionStrategy.isEnabled()) {
+                    throw new IllegalStateException("Cannot set redefinition preparation strategy when redefinition is disabled");
+                }
+                return new Redefining(byteBuddy,
+                        listener,
+                        circularityLock,
+                        poolStrategy,
+                        typeStrategy,
+                        locationStrategy,
+                        classFileLocator,
+                        nativeMethodStrategy,
+                        warmupStrategy,
+                        transformerDecorator,
+                        initializationStrategy,
+                        redefinitionStrategy,
+                        redefinitionDiscoveryStrategy,
+                        redefinitionBatchAllocator,
+                        redefinitionPreparationStrategy,
+                        redefinitionListener,
+                        redefinitionResubmissionStrategy,
+                        injectionStrategy,
+                        lambdaInstrumentationStrategy,
+                        descriptionStrategy,
+                        fallbackStrategy,
+                        classFileBufferStrategy,
+                        prefilterStrategy,
                         installationListener,
                         ignoreMatcher,
                         transformations);
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            public RedefinitionListenable withParallelPreparation(ExecutorService executorService) {
+                return withPreparation(new RedefinitionStrategy.PreparationStrategy.ForExecutorService(executorService));
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -13704,6 +15019,7 @@ public interface AgentBuilder {
                             redefinitionStrategy,
                             redefinitionDiscoveryStrategy,
                             redefinitionBatchAllocator,
+                            redefinitionPreparationStrategy,
                             redefinitionListener,
                             new RedefinitionStrategy.ResubmissionStrategy.Enabled(resubmissionScheduler, resubmissionOnErrorMatcher, resubmissionImmediateMatcher),
                             injectionStrategy,
@@ -13711,6 +15027,7 @@ public interface AgentBuilder {
                             descriptionStrategy,
                             fallbackStrategy,
                             classFileBufferStrategy,
+                            prefilterStrategy,
                             installationListener,
                             ignoreMatcher,
                             transformations);
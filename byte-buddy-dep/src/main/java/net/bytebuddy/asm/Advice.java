@@ -2344,6 +2344,52 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
             },
 
 
+            /**
+             * A constant that must be a {@link Method} instance which is stored in a static field of the instrumented type.
+             */
+            CACHED_METHOD {
+                @Override
+                protected boolean isRepresentable(MethodDescription instrumentedMethod) {
+                    return instrumentedMethod.isMethod();
+                }
+
+                @Override
+                protected Target resolve(MethodDescription.InDefinedShape methodDescription) {
+                    return new Target.ForStackManipulation(new CachedIfPossible(MethodConstant.of(methodDescription)));
+                }
+            },
+
+            /**
+             * A constant that must be a {@link Constructor} instance which is stored in a static field of the instrumented type.
+             */
+            CACHED_CONSTRUCTOR {
+                @Override
+                protected boolean isRepresentable(MethodDescription instrumentedMethod) {
+                    return instrumentedMethod.isConstructor();
+                }
+
+                @Override
+                protected Target resolve(MethodDescription.InDefinedShape methodDescription) {
+                    return new Target.ForStackManipulation(new CachedIfPossible(MethodConstant.of(methodDescription)));
+                }
+            },
+
+            /**
+             * A constant that must be a {@code java.lang.reflect.Executable} instance which is stored in a static field of the
+             * instrumented type.
+             */
+            CACHED_EXECUTABLE {
+                @Override
+                protected boolean isRepresentable(MethodDescription instrumentedMethod) {
+                    return instrumentedMethod.isMethod() || instrumentedMethod.isConstructor();
+                }
+
+                @Override
+                protected Target resolve(MethodDescription.InDefinedShape methodDescription) {
+                    return new Target.ForStackManipulation(new CachedIfPossible(MethodConstant.of(methodDescription)));
+                }
+            },
+
             /**
              * A constant that must be a {@code java.lang.invoke.MethodHandle} instance.
              */
@@ -2403,6 +2449,45 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
              * @return A suitable target.
              */
             protected abstract Target resolve(MethodDescription.InDefinedShape methodDescription);
+
+            /**
+             * A stack manipulation that loads a method constant from a static field of the instrumented type but that falls back
+             * to a reflective lookup if the implementation context does not permit to add such a field.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            protected static class CachedIfPossible implements StackManipulation {
+
+                /**
+                 * The method constant to load.
+                 */
+                private final MethodConstant.CanCache methodConstant;
+
+                /**
+                 * Creates a new stack manipulation for a method constant that is cached if possible.
+                 *
+                 * @param methodConstant The method constant to load.
+                 */
+                protected CachedIfPossible(MethodConstant.CanCache methodConstant) {
+                    this.methodConstant = methodConstant;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isValid() {
+                    return methodConstant.isValid();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+                    return (implementationContext instanceof Implementation.Context.ExtractableView
+                            && !((Implementation.Context.ExtractableView) implementationContext).isEnabled()
+                            ? methodConstant
+                            : methodConstant.cached()).apply(methodVisitor, implementationContext);
+                }
+            }
         }
 
         /**
@@ -3504,10 +3589,21 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                 /**
                  * A description of the {@link Origin#value()} method.
                  */
-                private static final MethodDescription.InDefinedShape ORIGIN_VALUE = TypeDescription.ForLoadedType.of(Origin.class)
-                        .getDeclaredMethods()
-                        .filter(named("value"))
-                        .getOnly();
+                private static final MethodDescription.InDefinedShape ORIGIN_VALUE;
+
+                /**
+                 * A description of the {@link Origin#cache()} method.
+                 */
+                private static final MethodDescription.InDefinedShape ORIGIN_CACHE;
+
+                /*
+                 * Resolves annotation properties.
+                 */
+                static {
+                    MethodList<MethodDescription.InDefinedShape> methods = TypeDescription.ForLoadedType.of(Origin.class).getDeclaredMethods();
+                    ORIGIN_VALUE = methods.filter(named("value")).getOnly();
+                    ORIGIN_CACHE = methods.filter(named("cache")).getOnly();
+                }
 
                 /**
                  * {@inheritDoc}
@@ -3525,11 +3621,17 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
                     if (target.getType().asErasure().represents(Class.class)) {
                         return ForInstrumentedType.INSTANCE;
                     } else if (target.getType().asErasure().represents(Method.class)) {
-                        return ForInstrumentedMethod.METHOD;
+                        return annotation.getValue(ORIGIN_CACHE).resolve(Boolean.class)
+                                ? ForInstrumentedMethod.CACHED_METHOD
+                                : ForInstrumentedMethod.METHOD;
                     } else if (target.getType().asErasure().represents(Constructor.class)) {
-                        return ForInstrumentedMethod.CONSTRUCTOR;
+                        return annotation.getValue(ORIGIN_CACHE).resolve(Boolean.class)
+                                ? ForInstrumentedMethod.CACHED_CONSTRUCTOR
+                                : ForInstrumentedMethod.CONSTRUCTOR;
                     } else if (JavaType.EXECUTABLE.getTypeStub().equals(target.getType().asErasure())) {
-                        return ForInstrumentedMethod.EXECUTABLE;
+                        return annotation.getValue(ORIGIN_CACHE).resolve(Boolean.class)
+                                ? ForInstrumentedMethod.CACHED_EXECUTABLE
+                                : ForInstrumentedMethod.EXECUTABLE;
                     } else if (JavaType.METHOD_HANDLE.getTypeStub().equals(target.getType().asErasure())) {
                         return ForInstrumentedMethod.METHOD_HANDLE;
                     } else if (JavaType.METHOD_TYPE.getTypeStub().equals(target.getType().asErasure())) {
@@ -12783,7 +12885,7 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
      * </p>
      * <p>
      * <b>Note</b>: A constant representing a {@link Method} or {@link Constructor} is not cached but is recreated for
-     * every read.
+     * every read unless {@link Origin#cache()} is set to {@code true}.
      * </p>
      * <p>
      * <b>Important</b>: Don't confuse this annotation with {@link net.bytebuddy.implementation.bind.annotation.Origin} or
@@ -12822,6 +12924,22 @@ public class Advice implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisito
          * @return The pattern the annotated parameter should be assigned.
          */
         String value() default DEFAULT;
+
+        /**
+         * <p>
+         * Indicates if a {@link Method}, {@link Constructor} or {@code java.lang.reflect.Executable} constant should be stored in a
+         * static field of the instrumented type that is initialized by the instrumented type's type initializer. This avoids a
+         * reflective lookup of the instrumented method for every read. This property is ignored for any other parameter type.
+         * </p>
+         * <p>
+         * <b>Important</b>: Caching adds a field to the instrumented type. If class format changes are disabled, the constant is
+         * looked up reflectively for every read instead. If class format changes are not disabled, caching cannot be used when the
+         * instrumented type is retransformed or redefined after it was loaded.
+         * </p>
+         *
+         * @return {@code true} if the represented constant should be cached in a static field of the instrumented type.
+         */
+        boolean cache() default false;
     }
 
     /**
@@ -30,6 +30,7 @@ import net.bytebuddy.implementation.attribute.AnnotationValueFilter;
 import net.bytebuddy.implementation.attribute.MethodAttributeAppender;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.matcher.TypePrefilter;
 import net.bytebuddy.utility.nullability.MaybeNull;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.MethodVisitor;
@@ -44,7 +45,7 @@ import static net.bytebuddy.matcher.ElementMatchers.*;
  * {@link Enhance} annotation is present and no explicit method declaration was added. This plugin does not need to be closed.
  */
 @HashCodeAndEqualsPlugin.Enhance
-public class HashCodeAndEqualsPlugin implements Plugin, Plugin.Factory, MethodAttributeAppender.Factory, MethodAttributeAppender {
+public class HashCodeAndEqualsPlugin implements Plugin.WithPrefilter, Plugin.Factory, MethodAttributeAppender.Factory, MethodAttributeAppender {
 
     /**
      * A description of the {@link Enhance#invokeSuper()} method.
@@ -135,6 +136,13 @@ public class HashCodeAndEqualsPlugin implements Plugin, Plugin.Factory, MethodAt
         return target != null && target.getDeclaredAnnotations().isAnnotationPresent(Enhance.class);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public TypePrefilter getPrefilter() {
+        return TypePrefilter.ForMentionedTypes.of(Enhance.class);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -18,6 +18,7 @@ package net.bytebuddy.build;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.type.TypeDefinition;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.dynamic.DynamicType;
@@ -25,11 +26,14 @@ import net.bytebuddy.dynamic.TypeResolutionStrategy;
 import net.bytebuddy.dynamic.scaffold.inline.MethodNameTransformer;
 import net.bytebuddy.implementation.LoadedTypeInitializer;
 import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.TypePrefilter;
 import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.utility.CompoundList;
 import net.bytebuddy.utility.FileSystem;
+import net.bytebuddy.utility.StreamDrainer;
 import net.bytebuddy.utility.nullability.AlwaysNull;
 import net.bytebuddy.utility.nullability.MaybeNull;
+import org.objectweb.asm.Opcodes;
 
 import java.io.*;
 import java.lang.annotation.*;
@@ -37,7 +41,11 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.jar.JarEntry;
@@ -111,6 +119,27 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
         Map<TypeDescription, byte[]> initialize(ClassFileLocator classFileLocator);
     }
 
+    /**
+     * <p>
+     * A plugin that offers a {@link TypePrefilter} that is applied to the class file of a type before the type is described. If a
+     * type is not considered a candidate by this prefilter, a {@link Plugin.Engine} does not parse the type's class file for the
+     * application of this plugin.
+     * </p>
+     * <p>
+     * <b>Important</b>: The prefilter must be a conservative approximation of the plugin's matcher. If a prefilter does not
+     * consider a type a candidate, the plugin must not match the type.
+     * </p>
+     */
+    interface WithPrefilter extends Plugin {
+
+        /**
+         * Returns a prefilter that approximates this plugin's matcher.
+         *
+         * @return A prefilter that approximates this plugin's matcher.
+         */
+        TypePrefilter getPrefilter();
+    }
+
     /**
      * A factory for providing a build plugin.
      */
@@ -849,6 +878,16 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
          */
         Engine withParallelTransformation(int threads);
 
+        /**
+         * Replaces the dispatcher factory of this plugin engine with a pipelined dispatcher factory that uses the given amount of threads
+         * and that writes types in the order in which they are read.
+         *
+         * @param threads  The amount of threads to use.
+         * @param capacity The maximum number of transformed types that are retained before being written.
+         * @return A new plugin engine that is equal to this engine but with a pipelined dispatcher factory using the specified amount of threads.
+         */
+        Engine withPipelinedTransformation(int threads, int capacity);
+
         /**
          * Replaces the dispatcher factory of this plugin engine with the supplied dispatcher factory.
          *
@@ -857,6 +896,14 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
          */
         Engine with(Dispatcher.Factory dispatcherFactory);
 
+        /**
+         * Replaces the cache of this plugin engine with the supplied cache.
+         *
+         * @param cache The cache to use.
+         * @return A new plugin engine that is equal to this engine but with the supplied cache being used.
+         */
+        Engine withCache(Cache cache);
+
         /**
          * Ignores all types that are matched by this matcher or any previously registered ignore matcher.
          *
@@ -1095,6 +1142,57 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                             TypePool.ClassLoading.ofPlatformLoader());
                 }
             }
+
+            /**
+             * A pool strategy that resolves type descriptions lazily and that uses a given cache provider, for example a
+             * {@link TypePool.CacheProvider.Bounded} cache to limit the number of retained type descriptions. The cache provider
+             * is shared by all type pools that are created by this strategy, also across several applications of a plugin engine,
+             * such that described types are retained between applications. It is the responsibility of the user of this strategy
+             * to clear the cache provider if the class files that are located by the supplied class file locators might change.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class WithCacheProvider implements PoolStrategy {
+
+                /**
+                 * The cache provider to use.
+                 */
+                private final TypePool.CacheProvider cacheProvider;
+
+                /**
+                 * This strategy's reader mode.
+                 */
+                private final TypePool.Default.ReaderMode readerMode;
+
+                /**
+                 * Creates a new pool strategy for a cache provider that uses a fast reader mode.
+                 *
+                 * @param cacheProvider The cache provider to use.
+                 */
+                public WithCacheProvider(TypePool.CacheProvider cacheProvider) {
+                    this(cacheProvider, TypePool.Default.ReaderMode.FAST);
+                }
+
+                /**
+                 * Creates a new pool strategy for a cache provider.
+                 *
+                 * @param cacheProvider The cache provider to use.
+                 * @param readerMode    This strategy's reader mode.
+                 */
+                public WithCacheProvider(TypePool.CacheProvider cacheProvider, TypePool.Default.ReaderMode readerMode) {
+                    this.cacheProvider = cacheProvider;
+                    this.readerMode = readerMode;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public TypePool typePool(ClassFileLocator classFileLocator) {
+                    return new TypePool.Default.WithLazyResolution(cacheProvider,
+                            classFileLocator,
+                            readerMode,
+                            TypePool.ClassLoading.ofPlatformLoader());
+                }
+            }
         }
 
         /**
@@ -3631,230 +3729,1108 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
         }
 
         /**
-         * A dispatcher to execute a plugin engine transformation. A dispatcher will receive all work assignments prior to the invocation
-         * of complete. After registering and eventually completing the supplied work, the close method will always be called. Any dispatcher
-         * will only be used once and from a single thread.
+         * A cache that records the outcome of a plugin engine's transformation per type. A cached outcome is only reused if the
+         * binary representation of the type, the plugin configuration and the binary representations of the type's resolved super
+         * types are unchanged, what allows to skip the transformation of types that were already processed by a previous build.
          */
-        interface Dispatcher extends Closeable {
-
-            /**
-             * Accepts a new work assignment.
-             *
-             * @param work  The work to handle prefixed by a preprocessing step.
-             * @param eager {@code true} if the processing does not need to be deferred until all preprocessing is complete.
-             * @throws IOException If an I/O exception occurs.
-             */
-            void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) throws IOException;
+        interface Cache {
 
             /**
-             * Completes the work being handled.
+             * Opens this cache for a plugin engine application.
              *
-             * @throws IOException If an I/O exception occurs.
+             * @param configuration A fingerprint of the plugin configuration of the current application.
+             * @return A session for the current application.
+             * @throws IOException If an I/O error occurs.
              */
-            void complete() throws IOException;
+            Session open(String configuration) throws IOException;
 
             /**
-             * The result of a work assignment that needs to be invoked from the main thread that triggers a dispatchers life-cycle methods.
+             * A session of a cache which is active during a single plugin engine application. A session must be safe for
+             * concurrent use as types might be processed in parallel.
              */
-            interface Materializable {
+            interface Session extends Closeable {
 
                 /**
-                 * Materializes this work result and adds any results to the corresponding collection.
+                 * Looks up a cached outcome for a type.
                  *
-                 * @param sink        The sink to write any work to.
-                 * @param transformed A list of all types that are transformed.
-                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
-                 * @param unresolved  A list of type names that could not be resolved.
-                 * @throws IOException If an I/O exception occurs.
+                 * @param typeDescription  A description of the type being processed.
+                 * @param element          The element that represents the type being processed.
+                 * @param classFileLocator The class file locator to use for resolving the type's super types.
+                 * @return The cached outcome of the type's processing or {@code null} if no outcome is cached.
+                 * @throws IOException If an I/O error occurs.
                  */
-                void materialize(Target.Sink sink,
-                                 List<TypeDescription> transformed,
-                                 Map<TypeDescription,
-                                         List<Throwable>> failed,
-                                 List<String> unresolved) throws IOException;
+                @MaybeNull
+                Outcome lookup(TypeDescription typeDescription, Source.Element element, ClassFileLocator classFileLocator) throws IOException;
 
                 /**
-                 * A materializable for a successfully transformed type.
+                 * Stores the outcome of a type's processing. Failing to store an outcome does not fail the plugin engine's application
+                 * but the type is processed again by the next application.
+                 *
+                 * @param typeDescription  A description of the type being processed.
+                 * @param element          The element that represents the type being processed.
+                 * @param classFileLocator The class file locator to use for resolving the type's super types.
+                 * @param applied          The indices of the plugins that were applied to the type, in the order of the plugin configuration.
+                 * @param dynamicType      The dynamic type that resulted from the type's transformation or {@code null} if the type was retained.
+                 */
+                void store(TypeDescription typeDescription,
+                           Source.Element element,
+                           ClassFileLocator classFileLocator,
+                           List<Integer> applied,
+                           @MaybeNull DynamicType dynamicType);
+
+                /**
+                 * Completes this session after all types of a plugin engine application were processed. As a source might only
+                 * yield a subset of its types, for example when applying an incremental build, a previously cached outcome that was
+                 * neither looked up nor stored during this session is only considered stale and might be removed if the supplied
+                 * class file locator of the processed source can no longer locate the cached type.
+                 *
+                 * @param classFileLocator The class file locator of the processed source.
+                 * @throws IOException If an I/O error occurs.
                  */
-                class ForTransformedElement implements Materializable {
-
-                    /**
-                     * The type that has been transformed.
-                     */
-                    private final DynamicType dynamicType;
-
-                    /**
-                     * Creates a new materializable for a successfully transformed type.
-                     *
-                     * @param dynamicType The type that has been transformed.
-                     */
-                    protected ForTransformedElement(DynamicType dynamicType) {
-                        this.dynamicType = dynamicType;
-                    }
+                void complete(ClassFileLocator classFileLocator) throws IOException;
+            }
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void materialize(Target.Sink sink,
-                                            List<TypeDescription> transformed,
-                                            Map<TypeDescription,
-                                                    List<Throwable>> failed,
-                                            List<String> unresolved) throws IOException {
-                        sink.store(dynamicType.getAllTypes());
-                        transformed.add(dynamicType.getTypeDescription());
-                    }
-                }
+            /**
+             * A cached outcome of a type's processing.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Outcome {
 
                 /**
-                 * A materializable for an element that is retained in its original state.
+                 * The indices of the plugins that were applied to the type, in the order of the plugin configuration.
                  */
-                class ForRetainedElement implements Materializable {
+                private final List<Integer> applied;
 
-                    /**
-                     * The retained element.
-                     */
-                    private final Source.Element element;
+                /**
+                 * The binary representations of all types that resulted from the type's transformation, or an empty map if the
+                 * type was retained in its original form.
+                 */
+                private final Map<String, byte[]> binaryRepresentations;
 
-                    /**
-                     * Creates a new materializable for a retained element.
-                     *
-                     * @param element The retained element.
-                     */
-                    protected ForRetainedElement(Source.Element element) {
-                        this.element = element;
-                    }
+                /**
+                 * The names of the types that resulted from the type's transformation and that define a live loaded type initializer.
+                 */
+                private final Set<String> liveInitializers;
 
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void materialize(Target.Sink sink,
-                                            List<TypeDescription> transformed,
-                                            Map<TypeDescription,
-                                                    List<Throwable>> failed,
-                                            List<String> unresolved) throws IOException {
-                        sink.retain(element);
-                    }
+                /**
+                 * Creates a new cached outcome.
+                 *
+                 * @param applied               The indices of the plugins that were applied to the type, in the order of the plugin configuration.
+                 * @param binaryRepresentations The binary representations of all types that resulted from the type's transformation,
+                 *                              or an empty map if the type was retained in its original form.
+                 * @param liveInitializers      The names of the types that resulted from the type's transformation and that define a
+                 *                              live loaded type initializer.
+                 */
+                public Outcome(List<Integer> applied, Map<String, byte[]> binaryRepresentations, Set<String> liveInitializers) {
+                    this.applied = applied;
+                    this.binaryRepresentations = binaryRepresentations;
+                    this.liveInitializers = liveInitializers;
                 }
 
                 /**
-                 * A materializable for an element that failed to be transformed.
+                 * Returns the indices of the plugins that were applied to the type, in the order of the plugin configuration.
+                 *
+                 * @return The indices of the plugins that were applied to the type, in the order of the plugin configuration.
                  */
-                class ForFailedElement implements Materializable {
-
-                    /**
-                     * The element for which the transformation failed.
-                     */
-                    private final Source.Element element;
-
-                    /**
-                     * The type description for the represented type.
-                     */
-                    private final TypeDescription typeDescription;
-
-                    /**
-                     * A non-empty list of errors that occurred when attempting the transformation.
-                     */
-                    private final List<Throwable> errored;
-
-                    /**
-                     * Creates a new materializable for an element that failed to be transformed.
-                     *
-                     * @param element         The element for which the transformation failed.
-                     * @param typeDescription The type description for the represented type.
-                     * @param errored         A non-empty list of errors that occurred when attempting the transformation.
-                     */
-                    protected ForFailedElement(Source.Element element, TypeDescription typeDescription, List<Throwable> errored) {
-                        this.element = element;
-                        this.typeDescription = typeDescription;
-                        this.errored = errored;
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void materialize(Target.Sink sink,
-                                            List<TypeDescription> transformed,
-                                            Map<TypeDescription,
-                                                    List<Throwable>> failed,
-                                            List<String> unresolved) throws IOException {
-                        sink.retain(element);
-                        failed.put(typeDescription, errored);
-                    }
+                public List<Integer> getApplied() {
+                    return applied;
                 }
 
                 /**
-                 * A materializable for an element that could not be resolved.
+                 * Returns the binary representations of all types that resulted from the type's transformation, or an empty map if
+                 * the type was retained in its original form.
+                 *
+                 * @return The binary representations of all types that resulted from the type's transformation.
                  */
-                class ForUnresolvedElement implements Materializable {
-
-                    /**
-                     * The element that could not be resolved.
-                     */
-                    private final Source.Element element;
-
-                    /**
-                     * The name of the type that was deducted for this element.
-                     */
-                    private final String typeName;
-
-                    /**
-                     * Creates a new materializable for an element that could not be resolved.
-                     *
-                     * @param element  The element that could not be resolved.
-                     * @param typeName The name of the type that was deducted for this element.
-                     */
-                    protected ForUnresolvedElement(Source.Element element, String typeName) {
-                        this.element = element;
-                        this.typeName = typeName;
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public void materialize(Target.Sink sink,
-                                            List<TypeDescription> transformed,
-                                            Map<TypeDescription,
-                                                    List<Throwable>> failed,
-                                            List<String> unresolved) throws IOException {
-                        sink.retain(element);
-                        unresolved.add(typeName);
-                    }
+                public Map<String, byte[]> getBinaryRepresentations() {
+                    return binaryRepresentations;
                 }
-            }
-
-            /**
-             * A factory that is used for creating a dispatcher that is used for a specific plugin engine application.
-             */
-            interface Factory {
 
                 /**
-                 * Creates a new dispatcher.
+                 * Returns the names of the types that resulted from the type's transformation and that define a live loaded type initializer.
                  *
-                 * @param sink        The sink to write any work to.
-                 * @param transformed A list of all types that are transformed.
-                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
-                 * @param unresolved  A list of type names that could not be resolved.
-                 * @return The dispatcher to use.
+                 * @return The names of the types that resulted from the type's transformation and that define a live loaded type initializer.
                  */
-                Dispatcher make(Target.Sink sink,
-                                List<TypeDescription> transformed,
-                                Map<TypeDescription,
-                                        List<Throwable>> failed,
-                                List<String> unresolved);
+                public Set<String> getLiveInitializers() {
+                    return liveInitializers;
+                }
             }
 
             /**
-             * A dispatcher that applies transformation upon discovery.
+             * A non-operational cache that never yields a cached outcome.
              */
-            class ForSerialTransformation implements Dispatcher {
+            enum NoOp implements Cache, Session {
 
                 /**
-                 * The sink to write any work to.
+                 * The singleton instance.
                  */
-                private final Target.Sink sink;
+                INSTANCE;
 
                 /**
-                 * A list of all types that are transformed.
+                 * {@inheritDoc}
+                 */
+                public Session open(String configuration) {
+                    return this;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @MaybeNull
+                public Outcome lookup(TypeDescription typeDescription, Source.Element element, ClassFileLocator classFileLocator) {
+                    return null;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void store(TypeDescription typeDescription,
+                                  Source.Element element,
+                                  ClassFileLocator classFileLocator,
+                                  List<Integer> applied,
+                                  @MaybeNull DynamicType dynamicType) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void complete(ClassFileLocator classFileLocator) {
+                    /* do nothing */
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void close() {
+                    /* do nothing */
+                }
+            }
+
+            /**
+             * A cache that persists its entries within a folder, using one file per processed type. Besides the digest of a type's
+             * original binary representation, an entry also records the digest of the transformed type's binary representation such
+             * that a type that is transformed in place is recognized as unchanged by a subsequent application. Entries of types
+             * that are no longer contained in the processed source are deleted upon the completion of an application.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForFolder implements Cache {
+
+                /**
+                 * The file extension of a cache entry.
+                 */
+                private static final String CACHE_FILE_EXTENSION = ".cache";
+
+                /**
+                 * The version of the format of a cache entry.
+                 */
+                private static final int VERSION = 4;
+
+                /**
+                 * The number of textual header fields of a cache entry that precede the cached binary representations.
+                 */
+                private static final int HEADER_FIELDS = 6;
+
+                /**
+                 * The digest algorithm to use.
+                 */
+                private static final String ALGORITHM = "SHA-256";
+
+                /**
+                 * The file extension of a temporary file that is written before it replaces a cache entry.
+                 */
+                private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+                /**
+                 * The folder to store cache entries in.
+                 */
+                private final File folder;
+
+                /**
+                 * A fingerprint of the build environment that is combined with the plugin configuration.
+                 */
+                private final String configuration;
+
+                /**
+                 * Creates a new cache for a folder. The plugin engine only contributes the names and code sources of the applied
+                 * plugins and its type strategy to a cache's configuration. The supplied fingerprint must therefore describe any
+                 * other configuration that affects a transformation's outcome, such as the plugins' constructor arguments, the
+                 * class file version, the suffix of rebased methods and the class path.
+                 *
+                 * @param folder        The folder to store cache entries in.
+                 * @param configuration A fingerprint of the build environment that is combined with the plugin configuration.
+                 */
+                public ForFolder(File folder, String configuration) {
+                    this.folder = folder;
+                    this.configuration = configuration;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Session open(String configuration) throws IOException {
+                    if (!folder.isDirectory() && !folder.mkdirs()) {
+                        throw new IOException("Could not create directory: " + folder);
+                    }
+                    Storage storage = new Storage(digest((this.configuration + '\n' + configuration).getBytes("UTF-8")));
+                    File[] file = folder.listFiles();
+                    if (file != null) {
+                        for (File entry : file) {
+                            if (entry.getName().endsWith(CACHE_FILE_EXTENSION)) {
+                                storage.register(entry);
+                            }
+                        }
+                    }
+                    return storage;
+                }
+
+                /**
+                 * Computes a hexadecimal digest of a binary representation.
+                 *
+                 * @param binaryRepresentation The binary representation to digest.
+                 * @return A hexadecimal representation of the digest.
+                 */
+                protected static String digest(byte[] binaryRepresentation) {
+                    byte[] digest;
+                    try {
+                        digest = MessageDigest.getInstance(ALGORITHM).digest(binaryRepresentation);
+                    } catch (NoSuchAlgorithmException exception) {
+                        throw new IllegalStateException("Digest algorithm is not available: " + ALGORITHM, exception);
+                    }
+                    return toHex(digest);
+                }
+
+                /**
+                 * Computes a fingerprint of the code source that defines a type, such as the jar file of a plugin. Other than the
+                 * code source's location, the fingerprint changes if the code source's content is changed in place. If the code
+                 * source is a file, its content is digested. If it is a folder, the names and contents of all contained files are
+                 * digested. Otherwise, only the type's class file is digested.
+                 *
+                 * @param type The type for which to compute a fingerprint of its code source.
+                 * @return A hexadecimal representation of the code source's digest.
+                 * @throws IOException If an I/O error occurs.
+                 */
+                public static String fingerprint(Class<?> type) throws IOException {
+                    MessageDigest digest;
+                    try {
+                        digest = MessageDigest.getInstance(ALGORITHM);
+                    } catch (NoSuchAlgorithmException exception) {
+                        throw new IllegalStateException("Digest algorithm is not available: " + ALGORITHM, exception);
+                    }
+                    File location = null;
+                    try {
+                        CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+                        if (codeSource != null && codeSource.getLocation() != null && codeSource.getLocation().getProtocol().equals("file")) {
+                            location = new File(codeSource.getLocation().toURI());
+                        }
+                    } catch (SecurityException ignored) {
+                        /* do nothing */
+                    } catch (URISyntaxException ignored) {
+                        /* do nothing */
+                    } catch (IllegalArgumentException ignored) {
+                        /* do nothing */
+                    }
+                    if (location != null && location.isFile()) {
+                        update(digest, location);
+                    } else if (location != null && location.isDirectory()) {
+                        LinkedList<File> folders = new LinkedList<File>(Collections.singleton(location));
+                        while (!folders.isEmpty()) {
+                            File[] file = folders.removeFirst().listFiles();
+                            if (file != null) {
+                                Arrays.sort(file);
+                                for (File aFile : file) {
+                                    if (aFile.isDirectory()) {
+                                        folders.add(aFile);
+                                    } else {
+                                        digest.update(aFile.getAbsolutePath().substring(location.getAbsolutePath().length()).getBytes("UTF-8"));
+                                        update(digest, aFile);
+                                    }
+                                }
+                            }
+                        }
+                    } else {
+                        digest.update(ClassFileLocator.ForClassLoader.read(type));
+                    }
+                    return toHex(digest.digest());
+                }
+
+                /**
+                 * Updates a digest with the content of a file.
+                 *
+                 * @param digest The digest to update.
+                 * @param file   The file to digest.
+                 * @throws IOException If an I/O error occurs.
+                 */
+                private static void update(MessageDigest digest, File file) throws IOException {
+                    InputStream inputStream = new FileInputStream(file);
+                    try {
+                        byte[] buffer = new byte[StreamDrainer.DEFAULT_BUFFER_SIZE];
+                        int length;
+                        while ((length = inputStream.read(buffer)) != -1) {
+                            digest.update(buffer, 0, length);
+                        }
+                    } finally {
+                        inputStream.close();
+                    }
+                }
+
+                /**
+                 * Converts a digest to its hexadecimal representation.
+                 *
+                 * @param digest The digest to convert.
+                 * @return A hexadecimal representation of the digest.
+                 */
+                private static String toHex(byte[] digest) {
+                    StringBuilder stringBuilder = new StringBuilder(digest.length * 2);
+                    for (byte value : digest) {
+                        stringBuilder.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+                    }
+                    return stringBuilder.toString();
+                }
+
+                /**
+                 * A session of a folder-based cache.
+                 */
+                protected class Storage implements Session {
+
+                    /**
+                     * A digest of the combined configuration of the current application.
+                     */
+                    private final String configuration;
+
+                    /**
+                     * A mapping of digests of original binary representations to their cache entries.
+                     */
+                    private final ConcurrentMap<String, Entry> inputs;
+
+                    /**
+                     * A mapping of digests of transformed binary representations to their cache entries.
+                     */
+                    private final ConcurrentMap<String, Entry> outputs;
+
+                    /**
+                     * A mapping of type names to their cache entries.
+                     */
+                    private final ConcurrentMap<String, Entry> entries;
+
+                    /**
+                     * A mapping of type names to the digest of their binary representation as observed during this session.
+                     */
+                    private final ConcurrentMap<String, String> digests;
+
+                    /**
+                     * The names of the types of which an entry was looked up or stored during this session, mapped to {@link Boolean#TRUE}.
+                     */
+                    private final ConcurrentMap<String, Boolean> used;
+
+                    /**
+                     * Creates a new storage.
+                     *
+                     * @param configuration A digest of the combined configuration of the current application.
+                     */
+                    protected Storage(String configuration) {
+                        this.configuration = configuration;
+                        inputs = new ConcurrentHashMap<String, Entry>();
+                        outputs = new ConcurrentHashMap<String, Entry>();
+                        entries = new ConcurrentHashMap<String, Entry>();
+                        digests = new ConcurrentHashMap<String, String>();
+                        used = new ConcurrentHashMap<String, Boolean>();
+                    }
+
+                    /**
+                     * Registers an existing cache entry. Entries of an incompatible format or configuration are deleted.
+                     *
+                     * @param file The file containing the cache entry.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    protected void register(File file) throws IOException {
+                        Entry entry;
+                        DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+                        try {
+                            entry = inputStream.readInt() == VERSION && inputStream.readUTF().equals(configuration)
+                                    ? new Entry(file, inputStream.readUTF(), inputStream.readUTF(), inputStream.readUTF(), inputStream.readUTF(), inputStream.readUTF())
+                                    : null;
+                        } catch (EOFException ignored) {
+                            entry = null;
+                        } finally {
+                            inputStream.close();
+                        }
+                        if (entry == null) {
+                            if (!file.delete()) {
+                                throw new IOException("Could not delete cache entry: " + file);
+                            }
+                        } else {
+                            add(entry);
+                        }
+                    }
+
+                    /**
+                     * Adds an entry to this session, replacing any previous entry for the same type.
+                     *
+                     * @param entry The entry to add.
+                     */
+                    private void add(Entry entry) {
+                        Entry previous = entries.put(entry.getTypeName(), entry);
+                        if (previous != null) {
+                            inputs.remove(previous.getInput(), previous);
+                            outputs.remove(previous.getOutput(), previous);
+                        }
+                        inputs.put(entry.getInput(), entry);
+                        if (entry.getOutput().length() > 0) {
+                            outputs.put(entry.getOutput(), entry);
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @MaybeNull
+                    public Outcome lookup(TypeDescription typeDescription, Source.Element element, ClassFileLocator classFileLocator) throws IOException {
+                        String digest = digest(read(element));
+                        Entry entry = inputs.get(digest);
+                        String hierarchy;
+                        if (entry != null) {
+                            hierarchy = entry.getInputHierarchy();
+                        } else {
+                            entry = outputs.get(digest);
+                            if (entry == null) {
+                                return null;
+                            }
+                            hierarchy = entry.getOutputHierarchy();
+                        }
+                        try {
+                            if (!entry.getTypeName().equals(typeDescription.getName()) || !hierarchy.equals(hierarchy(typeDescription, classFileLocator))) {
+                                return null;
+                            }
+                        } catch (RuntimeException ignored) {
+                            return null;
+                        }
+                        DataInputStream inputStream;
+                        try {
+                            inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(entry.getFile())));
+                        } catch (FileNotFoundException ignored) {
+                            return null;
+                        }
+                        try {
+                            inputStream.readInt();
+                            for (int index = 0; index < HEADER_FIELDS; index++) {
+                                inputStream.readUTF();
+                            }
+                            int size = inputStream.readInt();
+                            List<Integer> applied = new ArrayList<Integer>(size);
+                            for (int index = 0; index < size; index++) {
+                                applied.add(inputStream.readInt());
+                            }
+                            size = inputStream.readInt();
+                            Map<String, byte[]> binaryRepresentations = new LinkedHashMap<String, byte[]>();
+                            for (int index = 0; index < size; index++) {
+                                String name = inputStream.readUTF();
+                                byte[] binaryRepresentation = new byte[inputStream.readInt()];
+                                inputStream.readFully(binaryRepresentation);
+                                binaryRepresentations.put(name, binaryRepresentation);
+                            }
+                            size = inputStream.readInt();
+                            Set<String> liveInitializers = new LinkedHashSet<String>();
+                            for (int index = 0; index < size; index++) {
+                                liveInitializers.add(inputStream.readUTF());
+                            }
+                            used.put(typeDescription.getName(), Boolean.TRUE);
+                            return new Outcome(applied, binaryRepresentations, liveInitializers);
+                        } catch (EOFException ignored) {
+                            return null;
+                        } finally {
+                            inputStream.close();
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void store(TypeDescription typeDescription,
+                                      Source.Element element,
+                                      ClassFileLocator classFileLocator,
+                                      List<Integer> applied,
+                                      @MaybeNull DynamicType dynamicType) {
+                        File file = new File(folder, typeDescription.getName() + CACHE_FILE_EXTENSION), temporary = null;
+                        try {
+                            String input = digest(read(element)), inputHierarchy = hierarchy(typeDescription, classFileLocator), output, outputHierarchy;
+                            Map<TypeDescription, byte[]> binaryRepresentations;
+                            List<String> liveInitializers = new ArrayList<String>();
+                            if (dynamicType == null) {
+                                output = "";
+                                outputHierarchy = inputHierarchy;
+                                binaryRepresentations = Collections.emptyMap();
+                            } else {
+                                output = digest(dynamicType.getBytes());
+                                outputHierarchy = hierarchy(dynamicType.getTypeDescription(), classFileLocator);
+                                binaryRepresentations = dynamicType.getAllTypes();
+                                for (Map.Entry<TypeDescription, LoadedTypeInitializer> entry : dynamicType.getLoadedTypeInitializers().entrySet()) {
+                                    if (entry.getValue().isAlive()) {
+                                        liveInitializers.add(entry.getKey().getName());
+                                    }
+                                }
+                            }
+                            temporary = File.createTempFile(file.getName(), TEMPORARY_FILE_EXTENSION, folder);
+                            DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+                            try {
+                                outputStream.writeInt(VERSION);
+                                outputStream.writeUTF(configuration);
+                                outputStream.writeUTF(typeDescription.getName());
+                                outputStream.writeUTF(input);
+                                outputStream.writeUTF(inputHierarchy);
+                                outputStream.writeUTF(output);
+                                outputStream.writeUTF(outputHierarchy);
+                                outputStream.writeInt(applied.size());
+                                for (int index : applied) {
+                                    outputStream.writeInt(index);
+                                }
+                                outputStream.writeInt(binaryRepresentations.size());
+                                for (Map.Entry<TypeDescription, byte[]> entry : binaryRepresentations.entrySet()) {
+                                    outputStream.writeUTF(entry.getKey().getName());
+                                    outputStream.writeInt(entry.getValue().length);
+                                    outputStream.write(entry.getValue());
+                                }
+                                outputStream.writeInt(liveInitializers.size());
+                                for (String liveInitializer : liveInitializers) {
+                                    outputStream.writeUTF(liveInitializer);
+                                }
+                            } finally {
+                                outputStream.close();
+                            }
+                            FileSystem.getInstance().move(temporary, file);
+                            add(new Entry(file, typeDescription.getName(), input, inputHierarchy, output, outputHierarchy));
+                            used.put(typeDescription.getName(), Boolean.TRUE);
+                        } catch (Throwable ignored) {
+                            Entry entry = entries.remove(typeDescription.getName());
+                            if (entry != null) {
+                                inputs.remove(entry.getInput(), entry);
+                                outputs.remove(entry.getOutput(), entry);
+                            }
+                            if (file.exists() && !file.delete()) {
+                                file.deleteOnExit();
+                            }
+                            if (temporary != null && temporary.exists() && !temporary.delete()) {
+                                temporary.deleteOnExit();
+                            }
+                        }
+                    }
+
+                    /**
+                     * Reads the binary representation of an element.
+                     *
+                     * @param element The element to read.
+                     * @return The element's binary representation.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    private byte[] read(Source.Element element) throws IOException {
+                        InputStream inputStream = element.getInputStream();
+                        try {
+                            return StreamDrainer.DEFAULT.drain(inputStream);
+                        } finally {
+                            inputStream.close();
+                        }
+                    }
+
+                    /**
+                     * Computes a digest of a type's resolved super type hierarchy. For each super type, the digest considers the
+                     * type's name and the original binary representation of the type such that a super type that was transformed in
+                     * place is not considered to be changed.
+                     *
+                     * @param typeDescription  The type for which to compute a digest of its super type hierarchy.
+                     * @param classFileLocator The class file locator to use for resolving the super types.
+                     * @return A digest of the type's resolved super type hierarchy.
+                     * @throws IOException If an I/O error occurs.
+                     */
+                    private String hierarchy(TypeDescription typeDescription, ClassFileLocator classFileLocator) throws IOException {
+                        StringBuilder stringBuilder = new StringBuilder();
+                        Set<String> names = new HashSet<String>();
+                        LinkedList<TypeDefinition> typeDefinitions = new LinkedList<TypeDefinition>();
+                        typeDefinitions.add(typeDescription);
+                        while (!typeDefinitions.isEmpty()) {
+                            TypeDefinition typeDefinition = typeDefinitions.removeFirst();
+                            TypeDescription.Generic superClass = typeDefinition.getSuperClass();
+                            if (superClass != null) {
+                                typeDefinitions.add(superClass.asErasure());
+                            }
+                            for (TypeDescription.Generic interfaceType : typeDefinition.getInterfaces()) {
+                                typeDefinitions.add(interfaceType.asErasure());
+                            }
+                            if (typeDefinition != typeDescription && names.add(typeDefinition.getTypeName())) {
+                                String name = typeDefinition.getTypeName(), digest = digests.get(name);
+                                if (digest == null) {
+                                    ClassFileLocator.Resolution resolution = classFileLocator.locate(name);
+                                    digest = resolution.isResolved()
+                                            ? digest(resolution.resolve())
+                                            : "";
+                                    String previous = digests.putIfAbsent(name, digest);
+                                    if (previous != null) {
+                                        digest = previous;
+                                    }
+                                }
+                                Entry entry = outputs.get(digest);
+                                stringBuilder.append(name).append('=').append(entry == null ? digest : entry.getInput()).append(';');
+                            }
+                        }
+                        return digest(stringBuilder.toString().getBytes("UTF-8"));
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void complete(ClassFileLocator classFileLocator) throws IOException {
+                        for (Entry entry : entries.values()) {
+                            if (!used.containsKey(entry.getTypeName())
+                                    && !classFileLocator.locate(entry.getTypeName()).isResolved()
+                                    && entries.remove(entry.getTypeName(), entry)) {
+                                inputs.remove(entry.getInput(), entry);
+                                outputs.remove(entry.getOutput(), entry);
+                                if (entry.getFile().exists() && !entry.getFile().delete()) {
+                                    throw new IOException("Could not delete cache entry: " + entry.getFile());
+                                }
+                            }
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void close() {
+                        /* do nothing */
+                    }
+                }
+
+                /**
+                 * A registered cache entry.
+                 */
+                protected static class Entry {
+
+                    /**
+                     * The file containing the cache entry.
+                     */
+                    private final File file;
+
+                    /**
+                     * The name of the cached type.
+                     */
+                    private final String typeName;
+
+                    /**
+                     * The digest of the type's original binary representation.
+                     */
+                    private final String input;
+
+                    /**
+                     * The digest of the original type's super type hierarchy.
+                     */
+                    private final String inputHierarchy;
+
+                    /**
+                     * The digest of the type's transformed binary representation or an empty string if the type was retained.
+                     */
+                    private final String output;
+
+                    /**
+                     * The digest of the transformed type's super type hierarchy.
+                     */
+                    private final String outputHierarchy;
+
+                    /**
+                     * Creates a new cache entry.
+                     *
+                     * @param file            The file containing the cache entry.
+                     * @param typeName        The name of the cached type.
+                     * @param input           The digest of the type's original binary representation.
+                     * @param inputHierarchy  The digest of the original type's super type hierarchy.
+                     * @param output          The digest of the type's transformed binary representation or an empty string if the type was retained.
+                     * @param outputHierarchy The digest of the transformed type's super type hierarchy.
+                     */
+                    protected Entry(File file, String typeName, String input, String inputHierarchy, String output, String outputHierarchy) {
+                        this.file = file;
+                        this.typeName = typeName;
+                        this.input = input;
+                        this.inputHierarchy = inputHierarchy;
+                        this.output = output;
+                        this.outputHierarchy = outputHierarchy;
+                    }
+
+                    /**
+                     * Returns the file containing the cache entry.
+                     *
+                     * @return The file containing the cache entry.
+                     */
+                    protected File getFile() {
+                        return file;
+                    }
+
+                    /**
+                     * Returns the name of the cached type.
+                     *
+                     * @return The name of the cached type.
+                     */
+                    protected String getTypeName() {
+                        return typeName;
+                    }
+
+                    /**
+                     * Returns the digest of the type's original binary representation.
+                     *
+                     * @return The digest of the type's original binary representation.
+                     */
+                    protected String getInput() {
+                        return input;
+                    }
+
+                    /**
+                     * Returns the digest of the original type's super type hierarchy.
+                     *
+                     * @return The digest of the original type's super type hierarchy.
+                     */
+                    protected String getInputHierarchy() {
+                        return inputHierarchy;
+                    }
+
+                    /**
+                     * Returns the digest of the type's transformed binary representation or an empty string if the type was retained.
+                     *
+                     * @return The digest of the type's transformed binary representation or an empty string if the type was retained.
+                     */
+                    protected String getOutput() {
+                        return output;
+                    }
+
+                    /**
+                     * Returns the digest of the transformed type's super type hierarchy.
+                     *
+                     * @return The digest of the transformed type's super type hierarchy.
+                     */
+                    protected String getOutputHierarchy() {
+                        return outputHierarchy;
+                    }
+                }
+            }
+        }
+
+        /**
+         * A dispatcher to execute a plugin engine transformation. A dispatcher will receive all work assignments prior to the invocation
+         * of complete. After registering and eventually completing the supplied work, the close method will always be called. Any dispatcher
+         * will only be used once and from a single thread.
+         */
+        interface Dispatcher extends Closeable {
+
+            /**
+             * Accepts a new work assignment.
+             *
+             * @param work  The work to handle prefixed by a preprocessing step.
+             * @param eager {@code true} if the processing does not need to be deferred until all preprocessing is complete.
+             * @throws IOException If an I/O exception occurs.
+             */
+            void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) throws IOException;
+
+            /**
+             * Completes the work being handled.
+             *
+             * @throws IOException If an I/O exception occurs.
+             */
+            void complete() throws IOException;
+
+            /**
+             * The result of a work assignment that needs to be invoked from the main thread that triggers a dispatchers life-cycle methods.
+             */
+            interface Materializable {
+
+                /**
+                 * Materializes this work result and adds any results to the corresponding collection.
+                 *
+                 * @param sink        The sink to write any work to.
+                 * @param transformed A list of all types that are transformed.
+                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 * @param unresolved  A list of type names that could not be resolved.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                void materialize(Target.Sink sink,
+                                 List<TypeDescription> transformed,
+                                 Map<TypeDescription,
+                                         List<Throwable>> failed,
+                                 List<String> unresolved) throws IOException;
+
+                /**
+                 * A materializable for a successfully transformed type.
+                 */
+                class ForTransformedElement implements Materializable {
+
+                    /**
+                     * The type that has been transformed.
+                     */
+                    private final DynamicType dynamicType;
+
+                    /**
+                     * Creates a new materializable for a successfully transformed type.
+                     *
+                     * @param dynamicType The type that has been transformed.
+                     */
+                    protected ForTransformedElement(DynamicType dynamicType) {
+                        this.dynamicType = dynamicType;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void materialize(Target.Sink sink,
+                                            List<TypeDescription> transformed,
+                                            Map<TypeDescription,
+                                                    List<Throwable>> failed,
+                                            List<String> unresolved) throws IOException {
+                        sink.store(dynamicType.getAllTypes());
+                        transformed.add(dynamicType.getTypeDescription());
+                    }
+                }
+
+                /**
+                 * A materializable for a type whose transformation was resolved from a cache.
+                 */
+                class ForCachedElement implements Materializable {
+
+                    /**
+                     * A description of the type that was transformed.
+                     */
+                    private final TypeDescription typeDescription;
+
+                    /**
+                     * The cached binary representations of all types that resulted from the transformation.
+                     */
+                    private final Map<TypeDescription, byte[]> binaryRepresentations;
+
+                    /**
+                     * Creates a new materializable for a type whose transformation was resolved from a cache.
+                     *
+                     * @param typeDescription       A description of the type that was transformed.
+                     * @param binaryRepresentations The cached binary representations of all types that resulted from the transformation.
+                     */
+                    protected ForCachedElement(TypeDescription typeDescription, Map<TypeDescription, byte[]> binaryRepresentations) {
+                        this.typeDescription = typeDescription;
+                        this.binaryRepresentations = binaryRepresentations;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void materialize(Target.Sink sink,
+                                            List<TypeDescription> transformed,
+                                            Map<TypeDescription,
+                                                    List<Throwable>> failed,
+                                            List<String> unresolved) throws IOException {
+                        sink.store(binaryRepresentations);
+                        transformed.add(typeDescription);
+                    }
+                }
+
+                /**
+                 * A materializable for an element that is retained in its original state.
+                 */
+                class ForRetainedElement implements Materializable {
+
+                    /**
+                     * The retained element.
+                     */
+                    private final Source.Element element;
+
+                    /**
+                     * Creates a new materializable for a retained element.
+                     *
+                     * @param element The retained element.
+                     */
+                    protected ForRetainedElement(Source.Element element) {
+                        this.element = element;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void materialize(Target.Sink sink,
+                                            List<TypeDescription> transformed,
+                                            Map<TypeDescription,
+                                                    List<Throwable>> failed,
+                                            List<String> unresolved) throws IOException {
+                        sink.retain(element);
+                    }
+                }
+
+                /**
+                 * A materializable for an element that failed to be transformed.
+                 */
+                class ForFailedElement implements Materializable {
+
+                    /**
+                     * The element for which the transformation failed.
+                     */
+                    private final Source.Element element;
+
+                    /**
+                     * The type description for the represented type.
+                     */
+                    private final TypeDescription typeDescription;
+
+                    /**
+                     * A non-empty list of errors that occurred when attempting the transformation.
+                     */
+                    private final List<Throwable> errored;
+
+                    /**
+                     * Creates a new materializable for an element that failed to be transformed.
+                     *
+                     * @param element         The element for which the transformation failed.
+                     * @param typeDescription The type description for the represented type.
+                     * @param errored         A non-empty list of errors that occurred when attempting the transformation.
+                     */
+                    protected ForFailedElement(Source.Element element, TypeDescription typeDescription, List<Throwable> errored) {
+                        this.element = element;
+                        this.typeDescription = typeDescription;
+                        this.errored = errored;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void materialize(Target.Sink sink,
+                                            List<TypeDescription> transformed,
+                                            Map<TypeDescription,
+                                                    List<Throwable>> failed,
+                                            List<String> unresolved) throws IOException {
+                        sink.retain(element);
+                        failed.put(typeDescription, errored);
+                    }
+                }
+
+                /**
+                 * A materializable for an element that could not be resolved.
+                 */
+                class ForUnresolvedElement implements Materializable {
+
+                    /**
+                     * The element that could not be resolved.
+                     */
+                    private final Source.Element element;
+
+                    /**
+                     * The name of the type that was deducted for this element.
+                     */
+                    private final String typeName;
+
+                    /**
+                     * Creates a new materializable for an element that could not be resolved.
+                     *
+                     * @param element  The element that could not be resolved.
+                     * @param typeName The name of the type that was deducted for this element.
+                     */
+                    protected ForUnresolvedElement(Source.Element element, String typeName) {
+                        this.element = element;
+                        this.typeName = typeName;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void materialize(Target.Sink sink,
+                                            List<TypeDescription> transformed,
+                                            Map<TypeDescription,
+                                                    List<Throwable>> failed,
+                                            List<String> unresolved) throws IOException {
+                        sink.retain(element);
+                        unresolved.add(typeName);
+                    }
+                }
+            }
+
+            /**
+             * A work assignment for an element that is retained without any processing, such as a resource. A dispatcher might
+             * recognize such work to materialize it without delegating to an executor while still preserving the order of dispatch.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Retention implements Callable<Callable<Materializable>> {
+
+                /**
+                 * The retained element.
+                 */
+                private final Source.Element element;
+
+                /**
+                 * Creates a new work assignment for a retained element.
+                 *
+                 * @param element The retained element.
+                 */
+                public Retention(Source.Element element) {
+                    this.element = element;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Callable<Materializable> call() {
+                    return new Resolved(element);
+                }
+
+                /**
+                 * A resolved work assignment for a retained element.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class Resolved implements Callable<Materializable> {
+
+                    /**
+                     * The retained element.
+                     */
+                    private final Source.Element element;
+
+                    /**
+                     * Creates a new resolved work assignment for a retained element.
+                     *
+                     * @param element The retained element.
+                     */
+                    protected Resolved(Source.Element element) {
+                        this.element = element;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Materializable call() {
+                        return new Materializable.ForRetainedElement(element);
+                    }
+                }
+            }
+
+            /**
+             * A factory that is used for creating a dispatcher that is used for a specific plugin engine application.
+             */
+            interface Factory {
+
+                /**
+                 * Creates a new dispatcher.
+                 *
+                 * @param sink        The sink to write any work to.
+                 * @param transformed A list of all types that are transformed.
+                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 * @param unresolved  A list of type names that could not be resolved.
+                 * @return The dispatcher to use.
+                 */
+                Dispatcher make(Target.Sink sink,
+                                List<TypeDescription> transformed,
+                                Map<TypeDescription,
+                                        List<Throwable>> failed,
+                                List<String> unresolved);
+            }
+
+            /**
+             * A dispatcher that applies transformation upon discovery.
+             */
+            class ForSerialTransformation implements Dispatcher {
+
+                /**
+                 * The sink to write any work to.
+                 */
+                private final Target.Sink sink;
+
+                /**
+                 * A list of all types that are transformed.
                  */
                 private final List<TypeDescription> transformed;
 
@@ -3968,9 +4944,289 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
             }
 
             /**
-             * A dispatcher that applies transformations within one or more threads in parallel to the default transformer.
+             * A dispatcher that applies transformations within one or more threads in parallel to the default transformer.
+             */
+            class ForParallelTransformation implements Dispatcher {
+
+                /**
+                 * The target sink.
+                 */
+                private final Target.Sink sink;
+
+                /**
+                 * A list of all types that are transformed.
+                 */
+                private final List<TypeDescription> transformed;
+
+                /**
+                 * A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 */
+                private final Map<TypeDescription, List<Throwable>> failed;
+
+                /**
+                 * A list of type names that could not be resolved.
+                 */
+                private final List<String> unresolved;
+
+                /**
+                 * A completion service for all preprocessings.
+                 */
+                private final CompletionService<Callable<Materializable>> preprocessings;
+
+                /**
+                 * A completion service for all materializers.
+                 */
+                private final CompletionService<Materializable> materializers;
+
+                /**
+                 * A count of deferred processings.
+                 */
+                private int deferred;
+
+                /**
+                 * A collection of futures that are currently scheduled.
+                 */
+                private final Set<Future<?>> futures;
+
+                /**
+                 * Creates a new dispatcher that applies transformations in parallel.
+                 *
+                 * @param executor    The executor to delegate any work to.
+                 * @param sink        The target sink.
+                 * @param transformed A list of all types that are transformed.
+                 * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                 * @param unresolved  A list of type names that could not be resolved.
+                 */
+                protected ForParallelTransformation(Executor executor,
+                                                    Target.Sink sink,
+                                                    List<TypeDescription> transformed,
+                                                    Map<TypeDescription,
+                                                            List<Throwable>> failed,
+                                                    List<String> unresolved) {
+                    this.sink = sink;
+                    this.transformed = transformed;
+                    this.failed = failed;
+                    this.unresolved = unresolved;
+                    preprocessings = new ExecutorCompletionService<Callable<Materializable>>(executor);
+                    materializers = new ExecutorCompletionService<Materializable>(executor);
+                    futures = new HashSet<Future<?>>();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @SuppressWarnings("unchecked")
+                public void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) {
+                    if (eager) {
+                        futures.add(materializers.submit(new EagerWork(work)));
+                    } else {
+                        deferred += 1;
+                        futures.add(preprocessings.submit((Callable<Callable<Materializable>>) work));
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void complete() throws IOException {
+                    try {
+                        List<Callable<Materializable>> preprocessings = new ArrayList<Callable<Materializable>>(deferred);
+                        while (deferred-- > 0) {
+                            Future<Callable<Materializable>> future = this.preprocessings.take();
+                            futures.remove(future);
+                            preprocessings.add(future.get());
+                        }
+                        for (Callable<Materializable> preprocessing : preprocessings) {
+                            futures.add(materializers.submit(preprocessing));
+                        }
+                        while (!futures.isEmpty()) {
+                            Future<Materializable> future = materializers.take();
+                            futures.remove(future);
+                            future.get().materialize(sink, transformed, failed, unresolved);
+                        }
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(exception);
+                    } catch (ExecutionException exception) {
+                        Throwable cause = exception.getCause();
+                        if (cause instanceof IOException) {
+                            throw (IOException) cause;
+                        } else if (cause instanceof RuntimeException) {
+                            throw (RuntimeException) cause;
+                        } else if (cause instanceof Error) {
+                            throw (Error) cause;
+                        } else {
+                            throw new IllegalStateException(cause);
+                        }
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void close() {
+                    for (Future<?> future : futures) {
+                        future.cancel(true);
+                    }
+                }
+
+                /**
+                 * A parallel dispatcher that shuts down its executor service upon completion of a plugin engine's application.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                public static class WithThrowawayExecutorService extends ForParallelTransformation {
+
+                    /**
+                     * The executor service to delegate any work to.
+                     */
+                    private final ExecutorService executorService;
+
+                    /**
+                     * Creates a new dispatcher that applies transformations in parallel and that closes the supplies executor service.
+                     *
+                     * @param executorService The executor service to delegate any work to.
+                     * @param sink            The target sink.
+                     * @param transformed     A list of all types that are transformed.
+                     * @param failed          A mapping of all types that failed during transformation to the exceptions that explain the failure.
+                     * @param unresolved      A list of type names that could not be resolved.
+                     */
+                    protected WithThrowawayExecutorService(ExecutorService executorService,
+                                                           Target.Sink sink,
+                                                           List<TypeDescription> transformed,
+                                                           Map<TypeDescription, List<Throwable>> failed,
+                                                           List<String> unresolved) {
+                        super(executorService, sink, transformed, failed, unresolved);
+                        this.executorService = executorService;
+                    }
+
+                    @Override
+                    public void close() {
+                        try {
+                            super.close();
+                        } finally {
+                            executorService.shutdown();
+                        }
+                    }
+
+                    /**
+                     * A factory for a parallel executor service that creates a new executor service on each plugin engine application.
+                     */
+                    @HashCodeAndEqualsPlugin.Enhance
+                    public static class Factory implements Dispatcher.Factory {
+
+                        /**
+                         * The amount of threads to create in the throw-away executor service.
+                         */
+                        private final int threads;
+
+                        /**
+                         * Creates a new factory.
+                         *
+                         * @param threads The amount of threads to create in the throw-away executor service.
+                         */
+                        public Factory(int threads) {
+                            this.threads = threads;
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public Dispatcher make(Target.Sink sink,
+                                               List<TypeDescription> transformed,
+                                               Map<TypeDescription, List<Throwable>> failed,
+                                               List<String> unresolved) {
+                            return new WithThrowawayExecutorService(Executors.newFixedThreadPool(threads), sink, transformed, failed, unresolved);
+                        }
+                    }
+                }
+
+                /**
+                 * A factory for a dispatcher that uses a given executor service for parallel dispatching.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                public static class Factory implements Dispatcher.Factory {
+
+                    /**
+                     * The executor to use.
+                     */
+                    private final Executor executor;
+
+                    /**
+                     * Creates a new dispatcher factory for parallel dispatching using the supplied executor.
+                     *
+                     * @param executor The executor to use.
+                     */
+                    public Factory(Executor executor) {
+                        this.executor = executor;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Dispatcher make(Target.Sink sink,
+                                           List<TypeDescription> transformed,
+                                           Map<TypeDescription, List<Throwable>> failed,
+                                           List<String> unresolved) {
+                        return new ForParallelTransformation(executor, sink, transformed, failed, unresolved);
+                    }
+                }
+
+                /**
+                 * An eager materialization that does not defer processing after preprocessing.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class EagerWork implements Callable<Materializable> {
+
+                    /**
+                     * The work to apply.
+                     */
+                    private final Callable<? extends Callable<? extends Materializable>> work;
+
+                    /**
+                     * Creates an eager work resolution.
+                     *
+                     * @param work The work to apply.
+                     */
+                    protected EagerWork(Callable<? extends Callable<? extends Materializable>> work) {
+                        this.work = work;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Materializable call() throws Exception {
+                        return work.call().call();
+                    }
+                }
+            }
+
+            /**
+             * <p>
+             * A dispatcher that pipelines the reading, resolution, transformation and writing of types. Elements are read and
+             * dispatched by the thread that applies the plugin engine while types are resolved and transformed in parallel by an
+             * executor. Other than {@link ForParallelTransformation}, results are materialized while further elements are still
+             * read, in the order in which the elements were dispatched, such that the output of a plugin engine is deterministic.
+             * Resources are dispatched as {@link Retention} which is completed by the dispatching thread, but which is queued for
+             * materialization in its order of dispatch, also if all work is deferred until all types are preprocessed.
+             * </p>
+             * <p>
+             * At most a given number of results are awaiting materialization at any time. If this capacity is exhausted, the
+             * dispatching thread awaits and materializes the oldest result before dispatching further work, what bounds the
+             * amount of memory that is retained by transformed types that are not yet written. If a plugin requires preprocessing,
+             * all types are preprocessed before any type is transformed, as it is required by {@link WithPreprocessor}.
+             * </p>
              */
-            class ForParallelTransformation implements Dispatcher {
+            class ForPipelinedTransformation implements Dispatcher {
+
+                /**
+                 * The executor to delegate any work to.
+                 */
+                private final Executor executor;
+
+                /**
+                 * The maximum number of results that are awaiting materialization.
+                 */
+                private final int capacity;
 
                 /**
                  * The target sink.
@@ -3993,59 +5249,55 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 private final List<String> unresolved;
 
                 /**
-                 * A completion service for all preprocessings.
-                 */
-                private final CompletionService<Callable<Materializable>> preprocessings;
-
-                /**
-                 * A completion service for all materializers.
-                 */
-                private final CompletionService<Materializable> materializers;
-
-                /**
-                 * A count of deferred processings.
+                 * The preprocessings of deferred work in the order of their dispatch.
                  */
-                private int deferred;
+                private final Queue<Future<Callable<Materializable>>> preprocessings;
 
                 /**
-                 * A collection of futures that are currently scheduled.
+                 * The results that are awaiting materialization in the order of their dispatch.
                  */
-                private final Set<Future<?>> futures;
+                private final Queue<Future<Materializable>> materializables;
 
                 /**
-                 * Creates a new dispatcher that applies transformations in parallel.
+                 * Creates a new dispatcher that pipelines transformations.
                  *
                  * @param executor    The executor to delegate any work to.
+                 * @param capacity    The maximum number of results that are awaiting materialization.
                  * @param sink        The target sink.
                  * @param transformed A list of all types that are transformed.
                  * @param failed      A mapping of all types that failed during transformation to the exceptions that explain the failure.
                  * @param unresolved  A list of type names that could not be resolved.
                  */
-                protected ForParallelTransformation(Executor executor,
-                                                    Target.Sink sink,
-                                                    List<TypeDescription> transformed,
-                                                    Map<TypeDescription,
-                                                            List<Throwable>> failed,
-                                                    List<String> unresolved) {
+                protected ForPipelinedTransformation(Executor executor,
+                                                     int capacity,
+                                                     Target.Sink sink,
+                                                     List<TypeDescription> transformed,
+                                                     Map<TypeDescription, List<Throwable>> failed,
+                                                     List<String> unresolved) {
+                    this.executor = executor;
+                    this.capacity = capacity;
                     this.sink = sink;
                     this.transformed = transformed;
                     this.failed = failed;
                     this.unresolved = unresolved;
-                    preprocessings = new ExecutorCompletionService<Callable<Materializable>>(executor);
-                    materializers = new ExecutorCompletionService<Materializable>(executor);
-                    futures = new HashSet<Future<?>>();
+                    preprocessings = new LinkedList<Future<Callable<Materializable>>>();
+                    materializables = new LinkedList<Future<Materializable>>();
                 }
 
                 /**
                  * {@inheritDoc}
                  */
                 @SuppressWarnings("unchecked")
-                public void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) {
+                public void accept(Callable<? extends Callable<? extends Materializable>> work, boolean eager) throws IOException {
                     if (eager) {
-                        futures.add(materializers.submit(new EagerWork(work)));
+                        FutureTask<Materializable> future = new FutureTask<Materializable>(new ForParallelTransformation.EagerWork(work));
+                        materializables.add(future);
+                        execute(future, work instanceof Retention);
+                        materialize(false);
                     } else {
-                        deferred += 1;
-                        futures.add(preprocessings.submit((Callable<Callable<Materializable>>) work));
+                        FutureTask<Callable<Materializable>> future = new FutureTask<Callable<Materializable>>((Callable<Callable<Materializable>>) work);
+                        preprocessings.add(future);
+                        execute(future, work instanceof Retention);
                     }
                 }
 
@@ -4053,21 +5305,58 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                  * {@inheritDoc}
                  */
                 public void complete() throws IOException {
+                    Future<Callable<Materializable>> preprocessing;
+                    while ((preprocessing = preprocessings.poll()) != null) {
+                        Callable<Materializable> work = resolve(preprocessing);
+                        FutureTask<Materializable> future = new FutureTask<Materializable>(work);
+                        materializables.add(future);
+                        execute(future, work instanceof Retention.Resolved);
+                        materialize(false);
+                    }
+                    materialize(true);
+                }
+
+                /**
+                 * Executes a future, either by the executor or, if the work is trivial, by the dispatching thread such that
+                 * the future is completed upon return.
+                 *
+                 * @param future  The future to execute.
+                 * @param trivial {@code true} if the work is trivial and should be executed by the dispatching thread.
+                 */
+                private void execute(FutureTask<?> future, boolean trivial) {
+                    if (trivial) {
+                        future.run();
+                    } else {
+                        executor.execute(future);
+                    }
+                }
+
+                /**
+                 * Materializes all results that are completed in the order of their dispatch, and awaits the oldest results if
+                 * more results than this dispatcher's capacity are awaiting materialization.
+                 *
+                 * @param all {@code true} if all results should be awaited and materialized.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                private void materialize(boolean all) throws IOException {
+                    Future<Materializable> future;
+                    while ((future = materializables.peek()) != null && (all || future.isDone() || materializables.size() > capacity)) {
+                        materializables.remove();
+                        resolve(future).materialize(sink, transformed, failed, unresolved);
+                    }
+                }
+
+                /**
+                 * Awaits the result of a future.
+                 *
+                 * @param future The future to await.
+                 * @param <T>    The type of the future's result.
+                 * @return The future's result.
+                 * @throws IOException If the future's computation yielded an I/O exception.
+                 */
+                private static <T> T resolve(Future<T> future) throws IOException {
                     try {
-                        List<Callable<Materializable>> preprocessings = new ArrayList<Callable<Materializable>>(deferred);
-                        while (deferred-- > 0) {
-                            Future<Callable<Materializable>> future = this.preprocessings.take();
-                            futures.remove(future);
-                            preprocessings.add(future.get());
-                        }
-                        for (Callable<Materializable> preprocessing : preprocessings) {
-                            futures.add(materializers.submit(preprocessing));
-                        }
-                        while (!futures.isEmpty()) {
-                            Future<Materializable> future = materializers.take();
-                            futures.remove(future);
-                            future.get().materialize(sink, transformed, failed, unresolved);
-                        }
+                        return future.get();
                     } catch (InterruptedException exception) {
                         Thread.currentThread().interrupt();
                         throw new IllegalStateException(exception);
@@ -4089,16 +5378,19 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                  * {@inheritDoc}
                  */
                 public void close() {
-                    for (Future<?> future : futures) {
+                    for (Future<?> future : preprocessings) {
+                        future.cancel(true);
+                    }
+                    for (Future<?> future : materializables) {
                         future.cancel(true);
                     }
                 }
 
                 /**
-                 * A parallel dispatcher that shuts down its executor service upon completion of a plugin engine's application.
+                 * A pipelined dispatcher that shuts down its executor service upon completion of a plugin engine's application.
                  */
                 @HashCodeAndEqualsPlugin.Enhance
-                public static class WithThrowawayExecutorService extends ForParallelTransformation {
+                public static class WithThrowawayExecutorService extends ForPipelinedTransformation {
 
                     /**
                      * The executor service to delegate any work to.
@@ -4106,20 +5398,22 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                     private final ExecutorService executorService;
 
                     /**
-                     * Creates a new dispatcher that applies transformations in parallel and that closes the supplies executor service.
+                     * Creates a new dispatcher that pipelines transformations and that closes the supplies executor service.
                      *
                      * @param executorService The executor service to delegate any work to.
+                     * @param capacity        The maximum number of results that are awaiting materialization.
                      * @param sink            The target sink.
                      * @param transformed     A list of all types that are transformed.
                      * @param failed          A mapping of all types that failed during transformation to the exceptions that explain the failure.
                      * @param unresolved      A list of type names that could not be resolved.
                      */
                     protected WithThrowawayExecutorService(ExecutorService executorService,
+                                                           int capacity,
                                                            Target.Sink sink,
                                                            List<TypeDescription> transformed,
                                                            Map<TypeDescription, List<Throwable>> failed,
                                                            List<String> unresolved) {
-                        super(executorService, sink, transformed, failed, unresolved);
+                        super(executorService, capacity, sink, transformed, failed, unresolved);
                         this.executorService = executorService;
                     }
 
@@ -4133,7 +5427,7 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                     }
 
                     /**
-                     * A factory for a parallel executor service that creates a new executor service on each plugin engine application.
+                     * A factory for a pipelined dispatcher that creates a new executor service on each plugin engine application.
                      */
                     @HashCodeAndEqualsPlugin.Enhance
                     public static class Factory implements Dispatcher.Factory {
@@ -4143,13 +5437,20 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                          */
                         private final int threads;
 
+                        /**
+                         * The maximum number of results that are awaiting materialization.
+                         */
+                        private final int capacity;
+
                         /**
                          * Creates a new factory.
                          *
-                         * @param threads The amount of threads to create in the throw-away executor service.
+                         * @param threads  The amount of threads to create in the throw-away executor service.
+                         * @param capacity The maximum number of results that are awaiting materialization.
                          */
-                        public Factory(int threads) {
+                        public Factory(int threads, int capacity) {
                             this.threads = threads;
+                            this.capacity = capacity;
                         }
 
                         /**
@@ -4159,13 +5460,13 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                                                List<TypeDescription> transformed,
                                                Map<TypeDescription, List<Throwable>> failed,
                                                List<String> unresolved) {
-                            return new WithThrowawayExecutorService(Executors.newFixedThreadPool(threads), sink, transformed, failed, unresolved);
+                            return new WithThrowawayExecutorService(Executors.newFixedThreadPool(threads), capacity, sink, transformed, failed, unresolved);
                         }
                     }
                 }
 
                 /**
-                 * A factory for a dispatcher that uses a given executor service for parallel dispatching.
+                 * A factory for a dispatcher that uses a given executor for pipelined dispatching.
                  */
                 @HashCodeAndEqualsPlugin.Enhance
                 public static class Factory implements Dispatcher.Factory {
@@ -4176,12 +5477,19 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                     private final Executor executor;
 
                     /**
-                     * Creates a new dispatcher factory for parallel dispatching using the supplied executor.
+                     * The maximum number of results that are awaiting materialization.
+                     */
+                    private final int capacity;
+
+                    /**
+                     * Creates a new dispatcher factory for pipelined dispatching using the supplied executor.
                      *
                      * @param executor The executor to use.
+                     * @param capacity The maximum number of results that are awaiting materialization.
                      */
-                    public Factory(Executor executor) {
+                    public Factory(Executor executor, int capacity) {
                         this.executor = executor;
+                        this.capacity = capacity;
                     }
 
                     /**
@@ -4191,35 +5499,7 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                                            List<TypeDescription> transformed,
                                            Map<TypeDescription, List<Throwable>> failed,
                                            List<String> unresolved) {
-                        return new ForParallelTransformation(executor, sink, transformed, failed, unresolved);
-                    }
-                }
-
-                /**
-                 * An eager materialization that does not defer processing after preprocessing.
-                 */
-                @HashCodeAndEqualsPlugin.Enhance
-                protected static class EagerWork implements Callable<Materializable> {
-
-                    /**
-                     * The work to apply.
-                     */
-                    private final Callable<? extends Callable<? extends Materializable>> work;
-
-                    /**
-                     * Creates an eager work resolution.
-                     *
-                     * @param work The work to apply.
-                     */
-                    protected EagerWork(Callable<? extends Callable<? extends Materializable>> work) {
-                        this.work = work;
-                    }
-
-                    /**
-                     * {@inheritDoc}
-                     */
-                    public Materializable call() throws Exception {
-                        return work.call().call();
+                        return new ForPipelinedTransformation(executor, capacity, sink, transformed, failed, unresolved);
                     }
                 }
             }
@@ -4329,6 +5609,18 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 return with(new Dispatcher.ForParallelTransformation.WithThrowawayExecutorService.Factory(threads));
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            public Engine withPipelinedTransformation(int threads, int capacity) {
+                if (threads < 1) {
+                    throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+                } else if (capacity < 1) {
+                    throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+                }
+                return with(new Dispatcher.ForPipelinedTransformation.WithThrowawayExecutorService.Factory(threads, capacity));
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -4401,6 +5693,11 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
              */
             private final ElementMatcher.Junction<? super TypeDescription> ignoredTypeMatcher;
 
+            /**
+             * The cache to use.
+             */
+            private final Cache cache;
+
             /**
              * Creates a new default plugin engine that rebases types and fails fast and on unresolved types and on live initializers.
              */
@@ -4433,7 +5730,8 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                                 ErrorHandler.Enforcing.ALL_TYPES_RESOLVED,
                                 ErrorHandler.Enforcing.NO_LIVE_INITIALIZERS),
                         Dispatcher.ForSerialTransformation.Factory.INSTANCE,
-                        none());
+                        none(),
+                        Cache.NoOp.INSTANCE);
             }
 
             /**
@@ -4447,6 +5745,7 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
              * @param errorHandler       The error handler to use.
              * @param dispatcherFactory  The dispatcher factory to use.
              * @param ignoredTypeMatcher A matcher for types to exclude from transformation.
+             * @param cache              The cache to use.
              */
             protected Default(ByteBuddy byteBuddy,
                               TypeStrategy typeStrategy,
@@ -4455,7 +5754,8 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                               Listener listener,
                               ErrorHandler errorHandler,
                               Dispatcher.Factory dispatcherFactory,
-                              ElementMatcher.Junction<? super TypeDescription> ignoredTypeMatcher) {
+                              ElementMatcher.Junction<? super TypeDescription> ignoredTypeMatcher,
+                              Cache cache) {
                 this.byteBuddy = byteBuddy;
                 this.typeStrategy = typeStrategy;
                 this.poolStrategy = poolStrategy;
@@ -4464,6 +5764,7 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 this.errorHandler = errorHandler;
                 this.dispatcherFactory = dispatcherFactory;
                 this.ignoredTypeMatcher = ignoredTypeMatcher;
+                this.cache = cache;
             }
 
             /**
@@ -4502,6 +5803,29 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 return plugins;
             }
 
+            /**
+             * Computes a fingerprint of a type strategy that is contributed to the configuration of a {@link Cache}. For a type
+             * strategy that represents an {@link EntryPoint}, the fingerprint considers the entry point and the type of the
+             * applied method name transformer.
+             *
+             * @param typeStrategy The type strategy for which to compute a fingerprint.
+             * @return A fingerprint of the supplied type strategy.
+             * @throws IOException If an I/O error occurs.
+             */
+            private static String fingerprint(TypeStrategy typeStrategy) throws IOException {
+                if (typeStrategy instanceof TypeStrategy.Default) {
+                    return ((TypeStrategy.Default) typeStrategy).name();
+                } else if (typeStrategy instanceof TypeStrategy.ForEntryPoint) {
+                    EntryPoint entryPoint = ((TypeStrategy.ForEntryPoint) typeStrategy).entryPoint;
+                    return (entryPoint instanceof Enum<?>
+                            ? ((Enum<?>) entryPoint).name()
+                            : entryPoint.getClass().getName() + '@' + Cache.ForFolder.fingerprint(entryPoint.getClass()))
+                            + ';' + ((TypeStrategy.ForEntryPoint) typeStrategy).methodNameTransformer.getClass().getName();
+                } else {
+                    return typeStrategy.getClass().getName() + '@' + Cache.ForFolder.fingerprint(typeStrategy.getClass());
+                }
+            }
+
             /**
              * Runs a plugin engine using the first and second argument as source and target file location and any additional argument as
              * the fully qualified name of any plugin to apply.
@@ -4533,7 +5857,8 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                         listener,
                         errorHandler,
                         dispatcherFactory,
-                        ignoredTypeMatcher);
+                        ignoredTypeMatcher,
+                        cache);
             }
 
             /**
@@ -4547,7 +5872,8 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                         listener,
                         errorHandler,
                         dispatcherFactory,
-                        ignoredTypeMatcher);
+                        ignoredTypeMatcher,
+                        cache);
             }
 
             /**
@@ -4561,7 +5887,8 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                         listener,
                         errorHandler,
                         dispatcherFactory,
-                        ignoredTypeMatcher);
+                        ignoredTypeMatcher,
+                        cache);
             }
 
             /**
@@ -4575,7 +5902,8 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                         listener,
                         errorHandler,
                         dispatcherFactory,
-                        ignoredTypeMatcher);
+                        ignoredTypeMatcher,
+                        cache);
             }
 
             /**
@@ -4589,7 +5917,8 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                         new Listener.Compound(this.listener, listener),
                         errorHandler,
                         dispatcherFactory,
-                        ignoredTypeMatcher);
+                        ignoredTypeMatcher,
+                        cache);
             }
 
             /**
@@ -4603,7 +5932,8 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                         listener,
                         Listener.NoOp.INSTANCE,
                         dispatcherFactory,
-                        ignoredTypeMatcher);
+                        ignoredTypeMatcher,
+                        cache);
             }
 
             /**
@@ -4617,7 +5947,8 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                         listener,
                         new ErrorHandler.Compound(errorHandlers),
                         dispatcherFactory,
-                        ignoredTypeMatcher);
+                        ignoredTypeMatcher,
+                        cache);
             }
 
             /**
@@ -4631,7 +5962,8 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                         listener,
                         errorHandler,
                         dispatcherFactory,
-                        ignoredTypeMatcher);
+                        ignoredTypeMatcher,
+                        cache);
             }
 
             /**
@@ -4645,7 +5977,23 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                         listener,
                         errorHandler,
                         dispatcherFactory,
-                        ignoredTypeMatcher.<TypeDescription>or(matcher));
+                        ignoredTypeMatcher.<TypeDescription>or(matcher),
+                        cache);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Engine withCache(Cache cache) {
+                return new Default(byteBuddy,
+                        typeStrategy,
+                        poolStrategy,
+                        classFileLocator,
+                        listener,
+                        errorHandler,
+                        dispatcherFactory,
+                        ignoredTypeMatcher,
+                        cache);
             }
 
             /**
@@ -4660,6 +6008,8 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                 List<Plugin> plugins = new ArrayList<Plugin>(factories.size());
                 List<WithInitialization> initializers = new ArrayList<WithInitialization>();
                 List<WithPreprocessor> preprocessors = new ArrayList<WithPreprocessor>();
+                List<TypePrefilter> prefilters = new ArrayList<TypePrefilter>(factories.size());
+                StringBuilder configuration = new StringBuilder();
                 try {
                     for (Plugin.Factory factory : factories) {
                         Plugin plugin = factory.make();
@@ -4670,10 +6020,27 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                         if (plugin instanceof WithInitialization) {
                             initializers.add((WithInitialization) plugin);
                         }
+                        prefilters.add(plugin instanceof WithPrefilter && !(plugin instanceof WithPreprocessor)
+                                ? ((WithPrefilter) plugin).getPrefilter()
+                                : TypePrefilter.Trivial.CANDIDATE);
+                        configuration.append(plugin.getClass().getName());
+                        if (cache != Cache.NoOp.INSTANCE) {
+                            configuration.append('@').append(Cache.ForFolder.fingerprint(plugin.getClass()));
+                        }
+                        configuration.append(';');
+                    }
+                    if (cache != Cache.NoOp.INSTANCE) {
+                        configuration.append(fingerprint(typeStrategy));
                     }
+                    TypePrefilter prefilter = plugins.isEmpty()
+                            ? TypePrefilter.Trivial.CANDIDATE
+                            : TypePrefilter.Disjunction.of(prefilters);
                     Source.Origin origin = source.read();
                     try {
-                        ClassFileLocator classFileLocator = new ClassFileLocator.Compound(origin.getClassFileLocator(), this.classFileLocator);
+                        ConcurrentMap<String, byte[]> staged = new ConcurrentHashMap<String, byte[]>();
+                        ClassFileLocator classFileLocator = new ClassFileLocator.Compound(new ClassFileLocator.Simple(staged),
+                                origin.getClassFileLocator(),
+                                this.classFileLocator);
                         TypePool typePool = poolStrategy.typePool(classFileLocator);
                         Manifest manifest = origin.getManifest();
                         listener.onManifest(manifest);
@@ -4682,33 +6049,44 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                             for (WithInitialization initializer : initializers) {
                                 sink.store(initializer.initialize(classFileLocator));
                             }
-                            Dispatcher dispatcher = dispatcherFactory.make(sink, transformed, failed, unresolved);
+                            Cache.Session session = cache.open(configuration.toString());
                             try {
-                                for (Source.Element element : origin) {
-                                    if (Thread.interrupted()) {
-                                        Thread.currentThread().interrupt();
-                                        throw new IllegalStateException("Thread interrupted during plugin engine application");
-                                    }
-                                    String name = element.getName();
-                                    while (name.startsWith("/")) {
-                                        name = name.substring(1);
-                                    }
-                                    if (name.endsWith(CLASS_FILE_EXTENSION) && !name.endsWith(PACKAGE_INFO) && !name.equals(MODULE_INFO)) {
-                                        dispatcher.accept(new Preprocessor(element,
-                                                name.substring(0, name.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.'),
-                                                classFileLocator,
-                                                typePool,
-                                                listener,
-                                                plugins,
-                                                preprocessors), preprocessors.isEmpty());
-                                    } else if (!name.equals(JarFile.MANIFEST_NAME)) {
-                                        listener.onResource(name);
-                                        sink.retain(element);
+                                Dispatcher dispatcher = dispatcherFactory.make(sink, transformed, failed, unresolved);
+                                try {
+                                    for (Source.Element element : origin) {
+                                        if (Thread.interrupted()) {
+                                            Thread.currentThread().interrupt();
+                                            throw new IllegalStateException("Thread interrupted during plugin engine application");
+                                        }
+                                        String name = element.getName();
+                                        while (name.startsWith("/")) {
+                                            name = name.substring(1);
+                                        }
+                                        if (name.endsWith(CLASS_FILE_EXTENSION) && !name.endsWith(PACKAGE_INFO) && !name.equals(MODULE_INFO)) {
+                                            dispatcher.accept(new Preprocessor(element,
+                                                    name.substring(0, name.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.'),
+                                                    classFileLocator,
+                                                    typePool,
+                                                    listener,
+                                                    plugins,
+                                                    preprocessors,
+                                                    prefilter,
+                                                    session,
+                                                    preprocessors.isEmpty()
+                                                            ? staged
+                                                            : null), preprocessors.isEmpty());
+                                        } else if (!name.equals(JarFile.MANIFEST_NAME)) {
+                                            listener.onResource(name);
+                                            dispatcher.accept(new Dispatcher.Retention(element), preprocessors.isEmpty());
+                                        }
                                     }
+                                    dispatcher.complete();
+                                } finally {
+                                    dispatcher.close();
                                 }
-                                dispatcher.complete();
+                                session.complete(origin.getClassFileLocator());
                             } finally {
-                                dispatcher.close();
+                                session.close();
                             }
                             if (!failed.isEmpty()) {
                                 listener.onError(failed);
@@ -4785,6 +6163,24 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                  */
                 private final List<WithPreprocessor> preprocessors;
 
+                /**
+                 * The prefilter that approximates the matchers of all plugins.
+                 */
+                private final TypePrefilter prefilter;
+
+                /**
+                 * The cache session to use.
+                 */
+                private final Cache.Session session;
+
+                /**
+                 * A mapping of type names to class files that were already read for the prefilter which is consulted by the type pool
+                 * and class file locator before the source is read again, or {@code null} if class files are not retained as their
+                 * materialization is deferred.
+                 */
+                @MaybeNull
+                private final Map<String, byte[]> staged;
+
                 /**
                  * Creates a new preprocessor.
                  *
@@ -4795,6 +6191,11 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                  * @param listener         The listener to notify.
                  * @param plugins          The plugins to apply.
                  * @param preprocessors    The plugins with preprocessors to preprocess.
+                 * @param prefilter        The prefilter that approximates the matchers of all plugins.
+                 * @param session          The cache session to use.
+                 * @param staged           A mapping of type names to class files that were already read for the prefilter which is
+                 *                         consulted by the type pool and class file locator before the source is read again, or
+                 *                         {@code null} if class files are not retained as their materialization is deferred.
                  */
                 private Preprocessor(Source.Element element,
                                      String typeName,
@@ -4802,7 +6203,10 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                                      TypePool typePool,
                                      Listener listener,
                                      List<Plugin> plugins,
-                                     List<WithPreprocessor> preprocessors) {
+                                     List<WithPreprocessor> preprocessors,
+                                     TypePrefilter prefilter,
+                                     Cache.Session session,
+                                     @MaybeNull Map<String, byte[]> staged) {
                     this.element = element;
                     this.typeName = typeName;
                     this.classFileLocator = classFileLocator;
@@ -4810,6 +6214,9 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                     this.listener = listener;
                     this.plugins = plugins;
                     this.preprocessors = preprocessors;
+                    this.prefilter = prefilter;
+                    this.session = session;
+                    this.staged = staged;
                 }
 
                 /**
@@ -4817,6 +6224,41 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                  */
                 public Callable<Dispatcher.Materializable> call() throws Exception {
                     listener.onDiscovery(typeName);
+                    if (prefilter.isUnconstrained()) {
+                        return preprocess(element);
+                    }
+                    InputStream inputStream = element.getInputStream();
+                    byte[] binaryRepresentation;
+                    try {
+                        binaryRepresentation = StreamDrainer.DEFAULT.drain(inputStream);
+                    } finally {
+                        inputStream.close();
+                    }
+                    if (!prefilter.isCandidate(typeName, binaryRepresentation)) {
+                        return new Rejected(new TypePool.LazyFacade(typePool).describe(typeName).resolve());
+                    } else if (staged == null) {
+                        return preprocess(element);
+                    }
+                    staged.put(typeName, binaryRepresentation);
+                    Callable<Dispatcher.Materializable> materializable = null;
+                    try {
+                        materializable = preprocess(new Source.Element.ForByteArray(element.getName(), binaryRepresentation));
+                    } finally {
+                        if (!(materializable instanceof Resolved)) {
+                            staged.remove(typeName);
+                        }
+                    }
+                    return materializable;
+                }
+
+                /**
+                 * Resolves the processed type and determines how it is materialized.
+                 *
+                 * @param source The element representing the processed type's original class file which is only used for reading.
+                 * @return A callable that materializes the processed type.
+                 * @throws Exception If an exception occurs during preprocessing.
+                 */
+                private Callable<Dispatcher.Materializable> preprocess(Source.Element source) throws Exception {
                     TypePool.Resolution resolution = typePool.describe(typeName);
                     if (resolution.isResolved()) {
                         TypeDescription typeDescription = resolution.resolve();
@@ -4825,7 +6267,14 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                                 for (WithPreprocessor preprocessor : preprocessors) {
                                     preprocessor.onPreprocess(typeDescription, classFileLocator);
                                 }
-                                return new Resolved(typeDescription);
+                                Cache.Outcome outcome = session.lookup(typeDescription, source, classFileLocator);
+                                if (outcome == null) {
+                                    return new Resolved(typeDescription, source);
+                                } else if (outcome.getBinaryRepresentations().isEmpty()) {
+                                    return new Rejected(typeDescription);
+                                } else {
+                                    return new Cached(typeDescription, outcome);
+                                }
                             } else {
                                 return new Ignored(typeDescription);
                             }
@@ -4854,13 +6303,20 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                      */
                     private final TypeDescription typeDescription;
 
+                    /**
+                     * The element representing the resolved type's original class file which is only used for reading.
+                     */
+                    private final Source.Element source;
+
                     /**
                      * Creates a new resolved materializable.
                      *
                      * @param typeDescription A description of the resolved type.
+                     * @param source          The element representing the resolved type's original class file which is only used for reading.
                      */
-                    private Resolved(TypeDescription typeDescription) {
+                    private Resolved(TypeDescription typeDescription, Source.Element source) {
                         this.typeDescription = typeDescription;
+                        this.source = source;
                     }
 
                     /**
@@ -4868,15 +6324,18 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                      */
                     public Dispatcher.Materializable call() {
                         List<Plugin> applied = new ArrayList<Plugin>(), ignored = new ArrayList<Plugin>();
+                        List<Integer> indices = new ArrayList<Integer>();
                         List<Throwable> errored = new ArrayList<Throwable>();
                         try {
                             DynamicType.Builder<?> builder = typeStrategy.builder(byteBuddy, typeDescription, classFileLocator);
-                            for (Plugin plugin : plugins) {
+                            for (int index = 0; index < plugins.size(); index++) {
+                                Plugin plugin = plugins.get(index);
                                 try {
                                     if (plugin.matches(typeDescription)) {
                                         builder = plugin.apply(builder, typeDescription, classFileLocator);
                                         listener.onTransformation(typeDescription, plugin);
                                         applied.add(plugin);
+                                        indices.add(index);
                                     } else {
                                         listener.onIgnored(typeDescription, plugin);
                                         ignored.add(plugin);
@@ -4898,6 +6357,7 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                                             listener.onLiveInitializer(typeDescription, entry.getKey());
                                         }
                                     }
+                                    session.store(typeDescription, source, classFileLocator, indices, dynamicType);
                                     return new Dispatcher.Materializable.ForTransformedElement(dynamicType);
                                 } catch (Throwable throwable) {
                                     errored.add(throwable);
@@ -4906,9 +6366,13 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                                 }
                             } else {
                                 listener.onIgnored(typeDescription, ignored);
+                                session.store(typeDescription, source, classFileLocator, indices, null);
                                 return new Dispatcher.Materializable.ForRetainedElement(element);
                             }
                         } finally {
+                            if (staged != null) {
+                                staged.remove(typeName);
+                            }
                             listener.onComplete(typeDescription);
                         }
                     }
@@ -4946,6 +6410,100 @@ public interface Plugin extends ElementMatcher<TypeDescription>, Closeable {
                     }
                 }
 
+                /**
+                 * A materializable for an element whose transformation was resolved from the cache.
+                 */
+                private class Cached implements Callable<Dispatcher.Materializable> {
+
+                    /**
+                     * A description of the cached type.
+                     */
+                    private final TypeDescription typeDescription;
+
+                    /**
+                     * The cached outcome of the type's transformation.
+                     */
+                    private final Cache.Outcome outcome;
+
+                    /**
+                     * Creates a new materializable for an element whose transformation was resolved from the cache.
+                     *
+                     * @param typeDescription A description of the cached type.
+                     * @param outcome         The cached outcome of the type's transformation.
+                     */
+                    private Cached(TypeDescription typeDescription, Cache.Outcome outcome) {
+                        this.typeDescription = typeDescription;
+                        this.outcome = outcome;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Dispatcher.Materializable call() {
+                        Map<TypeDescription, byte[]> binaryRepresentations = new LinkedHashMap<TypeDescription, byte[]>();
+                        try {
+                            List<Plugin> applied = new ArrayList<Plugin>(outcome.getApplied().size());
+                            for (int index = 0; index < plugins.size(); index++) {
+                                if (outcome.getApplied().contains(index)) {
+                                    listener.onTransformation(typeDescription, plugins.get(index));
+                                    applied.add(plugins.get(index));
+                                } else {
+                                    listener.onIgnored(typeDescription, plugins.get(index));
+                                }
+                            }
+                            listener.onTransformation(typeDescription, applied);
+                            for (Map.Entry<String, byte[]> entry : outcome.getBinaryRepresentations().entrySet()) {
+                                TypeDescription binaryType = entry.getKey().equals(typeDescription.getName())
+                                        ? typeDescription
+                                        : new TypeDescription.Latent(entry.getKey(), Opcodes.ACC_PUBLIC, TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Object.class));
+                                binaryRepresentations.put(binaryType, entry.getValue());
+                                if (outcome.getLiveInitializers().contains(entry.getKey())) {
+                                    listener.onLiveInitializer(typeDescription, binaryType);
+                                }
+                            }
+                        } finally {
+                            listener.onComplete(typeDescription);
+                        }
+                        return new Dispatcher.Materializable.ForCachedElement(typeDescription, binaryRepresentations);
+                    }
+                }
+
+                /**
+                 * A materializable for an element that is retained as none of the plugins apply, either as it was rejected by
+                 * the prefilter without being described or as its retention was cached.
+                 */
+                private class Rejected implements Callable<Dispatcher.Materializable> {
+
+                    /**
+                     * A description of the rejected type which might be lazy.
+                     */
+                    private final TypeDescription typeDescription;
+
+                    /**
+                     * Creates a new materializable for an element that is retained as none of the plugins apply.
+                     *
+                     * @param typeDescription A description of the rejected type which might be lazy.
+                     */
+                    private Rejected(TypeDescription typeDescription) {
+                        this.typeDescription = typeDescription;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Dispatcher.Materializable call() {
+                        try {
+                            for (Plugin plugin : plugins) {
+                                listener.onIgnored(typeDescription, plugin);
+                            }
+                            listener.onIgnored(typeDescription, plugins);
+                        } finally {
+                            listener.onComplete(typeDescription);
+                        }
+                        return new Dispatcher.Materializable.ForRetainedElement(element);
+                    }
+                }
+
                 /**
                  * A materializable that represents an unresolved type.
                  */
@@ -0,0 +1,356 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.build;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.MethodList;
+import net.bytebuddy.description.modifier.FieldManifestation;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.InvocationHandlerAdapter;
+import net.bytebuddy.implementation.MethodCall;
+
+import java.io.IOException;
+import java.lang.annotation.*;
+import java.lang.reflect.InvocationHandler;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * <p>
+ * A plugin that generates a proxy class at build time for any type that is annotated with {@link Enhance}. This avoids the
+ * generation of such a proxy at runtime where the generated class is instead picked up by a {@link Lookup}, for example in
+ * combination with a {@link net.bytebuddy.TypeCache}. If the proxy class was not generated at build time, the lookup falls
+ * back to generating a proxy of the same name and shape at runtime, which is by default injected into the proxied type's
+ * class loader.
+ * </p>
+ * <p>
+ * If an annotated type implements {@link Registration}, no proxy is generated for the annotated type. Instead, the registration
+ * is instantiated at build time and any type that is defined by one of its returned builders is generated alongside the
+ * registration. Such types can be resolved at runtime by a {@link Registration.Lookup}.
+ * </p>
+ * <p>
+ * A generated proxy resembles a {@link java.lang.reflect.Proxy}: it subclasses the annotated class, or implements the annotated
+ * interface, and delegates any overridable method as well as {@link Object#hashCode()}, {@link Object#equals(Object)} and
+ * {@link Object#toString()} to an {@link InvocationHandler}. The handler is supplied to the proxy's only constructor, which invokes
+ * the default constructor of the annotated class. The proxy is named by appending {@link ProxyPlugin#SUFFIX} to the name of the
+ * annotated type, such that the proxy resides in the same package as the annotated type. A proxy does not reference any Byte
+ * Buddy type such that Byte Buddy is not required at runtime if the proxy is pregenerated.
+ * </p>
+ */
+@HashCodeAndEqualsPlugin.Enhance
+public class ProxyPlugin extends Plugin.ForElementMatcher {
+
+    /**
+     * The suffix that is appended to the name of a proxied type.
+     */
+    public static final String SUFFIX = "$ByteBuddyProxy";
+
+    /**
+     * The name of the field that stores the invocation handler of a proxy.
+     */
+    private static final String HANDLER = "handler";
+
+    /**
+     * Creates a new proxy plugin.
+     */
+    public ProxyPlugin() {
+        super(isAnnotatedWith(Enhance.class));
+    }
+
+    /**
+     * Resolves the name of the proxy class for a proxied type.
+     *
+     * @param typeDescription The proxied type.
+     * @return The name of the proxy class.
+     */
+    public static String nameOf(TypeDescription typeDescription) {
+        return typeDescription.getName() + SUFFIX;
+    }
+
+    /**
+     * Creates a proxy class for a proxied type.
+     *
+     * @param byteBuddy       The Byte Buddy instance to use.
+     * @param typeDescription The proxied type.
+     * @return An unloaded proxy class.
+     */
+    public static DynamicType.Unloaded<?> proxy(ByteBuddy byteBuddy, TypeDescription typeDescription) {
+        if (typeDescription.isFinal() || typeDescription.isPrimitive() || typeDescription.isArray()) {
+            throw new IllegalStateException("Cannot create a proxy for " + typeDescription);
+        }
+        MethodList<MethodDescription.InDefinedShape> constructors = (typeDescription.isInterface()
+                ? TypeDescription.ForLoadedType.of(Object.class)
+                : typeDescription).getDeclaredMethods().filter(isConstructor().and(takesArguments(0)).and(not(isPrivate())));
+        if (constructors.size() != 1) {
+            throw new IllegalStateException("Expected " + typeDescription + " to declare a non-private default constructor");
+        }
+        return byteBuddy.subclass(typeDescription, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                .name(nameOf(typeDescription))
+                .defineField(HANDLER, InvocationHandler.class, Visibility.PRIVATE, FieldManifestation.FINAL)
+                .defineConstructor(Visibility.PUBLIC)
+                .withParameters(InvocationHandler.class)
+                .intercept(MethodCall.invoke(constructors.getOnly()).andThen(FieldAccessor.ofField(HANDLER).setsArgumentAt(0)))
+                .method(not(isDeclaredBy(Object.class)).or(isHashCode()).or(isEquals()).or(isToString()))
+                .intercept(InvocationHandlerAdapter.toField(HANDLER))
+                .make();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+        ClassFileVersion classFileVersion;
+        try {
+            classFileVersion = ClassFileVersion.of(typeDescription, classFileLocator);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to resolve class file version of " + typeDescription, exception);
+        }
+        if (!typeDescription.isAssignableTo(Registration.class)) {
+            return builder.require(proxy(new ByteBuddy(classFileVersion), typeDescription));
+        }
+        Registration registration;
+        try {
+            registration = (Registration) Class.forName(typeDescription.getName(), true, new RegistrationClassLoader(classFileLocator))
+                    .getConstructor()
+                    .newInstance();
+        } catch (Exception exception) {
+            throw new IllegalStateException("Failed to instantiate registration " + typeDescription, exception);
+        }
+        List<DynamicType> dynamicTypes = new ArrayList<DynamicType>();
+        for (DynamicType.Builder<?> proxy : registration.register(new ByteBuddy(classFileVersion))) {
+            dynamicTypes.add(proxy.make());
+        }
+        return builder.require(dynamicTypes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void close() {
+        /* do nothing */
+    }
+
+    /**
+     * Indicates that a proxy class should be generated at build time for the annotated type.
+     */
+    @Documented
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.CLASS)
+    public @interface Enhance {
+        /* empty */
+    }
+
+    /**
+     * A registration of types that are generated at build time. A registration must be annotated with {@link Enhance} and must
+     * declare a public default constructor. At build time, the registration is loaded from the class file locator of the build
+     * and any type that is defined by one of the returned builders is generated alongside the registration. A registration
+     * should therefore only reference types that are visible on the class path of the build.
+     */
+    public interface Registration {
+
+        /**
+         * Returns the builders of all types to generate. Any builder must name its type deterministically such that the
+         * type can be resolved at runtime.
+         *
+         * @param byteBuddy The Byte Buddy instance to use which emits class files in the version of the registration.
+         * @return The builders of all types to generate.
+         */
+        Collection<? extends DynamicType.Builder<?>> register(ByteBuddy byteBuddy);
+
+        /**
+         * A lookup of a type that is defined by a registration that resolves a pregenerated class if present or that
+         * invokes the registration and generates the type otherwise. As a lookup is a {@link Callable}, it can be supplied
+         * to a {@link net.bytebuddy.TypeCache} to retain the resolved class.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Lookup implements Callable<Class<?>> {
+
+            /**
+             * The registration that defines the type.
+             */
+            private final Class<? extends Registration> registration;
+
+            /**
+             * The name of the type to resolve.
+             */
+            private final String name;
+
+            /**
+             * The Byte Buddy instance to use if the type must be generated.
+             */
+            private final ByteBuddy byteBuddy;
+
+            /**
+             * The class loading strategy to use if the type must be generated.
+             */
+            private final ClassLoadingStrategy<ClassLoader> classLoadingStrategy;
+
+            /**
+             * Creates a new lookup that injects a missing type into the registration's class loader.
+             *
+             * @param registration The registration that defines the type.
+             * @param name         The name of the type to resolve.
+             */
+            public Lookup(Class<? extends Registration> registration, String name) {
+                this(registration, name, new ByteBuddy(), ClassLoadingStrategy.Default.INJECTION);
+            }
+
+            /**
+             * Creates a new lookup.
+             *
+             * @param registration         The registration that defines the type.
+             * @param name                 The name of the type to resolve.
+             * @param byteBuddy            The Byte Buddy instance to use if the type must be generated.
+             * @param classLoadingStrategy The class loading strategy to use if the type must be generated.
+             */
+            public Lookup(Class<? extends Registration> registration,
+                          String name,
+                          ByteBuddy byteBuddy,
+                          ClassLoadingStrategy<ClassLoader> classLoadingStrategy) {
+                this.registration = registration;
+                this.name = name;
+                this.byteBuddy = byteBuddy;
+                this.classLoadingStrategy = classLoadingStrategy;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Class<?> call() throws Exception {
+                try {
+                    return Class.forName(name, false, registration.getClassLoader());
+                } catch (ClassNotFoundException ignored) {
+                    for (DynamicType.Builder<?> builder : registration.getConstructor().newInstance().register(byteBuddy)) {
+                        DynamicType.Unloaded<?> dynamicType = builder.make();
+                        if (dynamicType.getTypeDescription().getName().equals(name)) {
+                            return dynamicType.load(registration.getClassLoader(), classLoadingStrategy).getLoaded();
+                        }
+                    }
+                    throw new IllegalStateException(registration.getName() + " does not register " + name);
+                }
+            }
+        }
+    }
+
+    /**
+     * A class loader that loads registrations and the types they reference from the class file locator of a build. Any type
+     * that is visible to the class loader of the plugin, such as Byte Buddy's types, is loaded by that class loader.
+     */
+    protected static class RegistrationClassLoader extends ClassLoader {
+
+        /**
+         * The class file locator of the build.
+         */
+        private final ClassFileLocator classFileLocator;
+
+        /**
+         * Creates a new registration class loader.
+         *
+         * @param classFileLocator The class file locator of the build.
+         */
+        protected RegistrationClassLoader(ClassFileLocator classFileLocator) {
+            super(ProxyPlugin.class.getClassLoader());
+            this.classFileLocator = classFileLocator;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            ClassFileLocator.Resolution resolution;
+            try {
+                resolution = classFileLocator.locate(name);
+            } catch (IOException exception) {
+                throw new ClassNotFoundException(name, exception);
+            }
+            if (!resolution.isResolved()) {
+                throw new ClassNotFoundException(name);
+            }
+            byte[] binaryRepresentation = resolution.resolve();
+            return defineClass(name, binaryRepresentation, 0, binaryRepresentation.length);
+        }
+    }
+
+    /**
+     * A lookup of a proxy class that resolves a pregenerated proxy class if present or that generates the proxy class otherwise.
+     * As a lookup is a {@link Callable}, it can be supplied to a {@link net.bytebuddy.TypeCache} to retain the resolved class.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    public static class Lookup implements Callable<Class<?>> {
+
+        /**
+         * The proxied type.
+         */
+        private final Class<?> type;
+
+        /**
+         * The Byte Buddy instance to use if the proxy class must be generated.
+         */
+        private final ByteBuddy byteBuddy;
+
+        /**
+         * The class loading strategy to use if the proxy class must be generated.
+         */
+        private final ClassLoadingStrategy<ClassLoader> classLoadingStrategy;
+
+        /**
+         * Creates a new lookup that injects a missing proxy class into the proxied type's class loader such that the proxy
+         * resides in the proxied type's runtime package.
+         *
+         * @param type The proxied type.
+         */
+        public Lookup(Class<?> type) {
+            this(type, new ByteBuddy(), ClassLoadingStrategy.Default.INJECTION);
+        }
+
+        /**
+         * Creates a new lookup. If the proxy class must be generated, it must be defined in the proxied type's class loader
+         * and package for accessing package-private members of the proxied type, for example by using a
+         * {@link ClassLoadingStrategy.UsingLookup} that is created within the proxied type's package.
+         *
+         * @param type                 The proxied type.
+         * @param byteBuddy            The Byte Buddy instance to use if the proxy class must be generated.
+         * @param classLoadingStrategy The class loading strategy to use if the proxy class must be generated.
+         */
+        public Lookup(Class<?> type, ByteBuddy byteBuddy, ClassLoadingStrategy<ClassLoader> classLoadingStrategy) {
+            this.type = type;
+            this.byteBuddy = byteBuddy;
+            this.classLoadingStrategy = classLoadingStrategy;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Class<?> call() {
+            TypeDescription typeDescription = TypeDescription.ForLoadedType.of(type);
+            try {
+                return Class.forName(nameOf(typeDescription), false, type.getClassLoader());
+            } catch (ClassNotFoundException ignored) {
+                return proxy(byteBuddy, typeDescription).load(type.getClassLoader(), classLoadingStrategy).getLoaded();
+            }
+        }
+    }
+}
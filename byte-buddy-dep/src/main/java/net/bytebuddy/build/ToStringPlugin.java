@@ -24,6 +24,7 @@ import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.implementation.ToStringMethod;
 import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.matcher.TypePrefilter;
 import net.bytebuddy.utility.nullability.MaybeNull;
 
 import java.lang.annotation.*;
@@ -35,7 +36,7 @@ import static net.bytebuddy.matcher.ElementMatchers.*;
  * explicit method declaration was added. This plugin does not need to be closed.
  */
 @HashCodeAndEqualsPlugin.Enhance
-public class ToStringPlugin implements Plugin, Plugin.Factory {
+public class ToStringPlugin implements Plugin.WithPrefilter, Plugin.Factory {
 
     /**
      * A description of the {@link Enhance#prefix()} method.
@@ -70,6 +71,13 @@ public class ToStringPlugin implements Plugin, Plugin.Factory {
         return target != null && target.getDeclaredAnnotations().isAnnotationPresent(Enhance.class);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public TypePrefilter getPrefilter() {
+        return TypePrefilter.ForMentionedTypes.of(Enhance.class);
+    }
+
     /**
      * {@inheritDoc}
      */
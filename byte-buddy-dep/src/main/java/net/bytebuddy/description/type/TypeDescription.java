@@ -8749,6 +8749,15 @@ public interface TypeDescription extends TypeDefinition, ByteCodeElement, TypeVa
                     : typeDescription;
         }
 
+        /**
+         * Returns the loaded type that is represented by this type description.
+         *
+         * @return The loaded type that is represented by this type description.
+         */
+        public Class<?> getLoadedType() {
+            return type;
+        }
+
         @Override
         public boolean isAssignableFrom(Class<?> type) {
             return this.type.isAssignableFrom(type) || super.isAssignableFrom(type);
@@ -39,11 +39,20 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.jar.JarFile;
 import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -866,6 +875,352 @@ public interface ClassFileLocator extends Closeable {
         }
     }
 
+    /**
+     * <p>
+     * A class file locator that memory maps a jar file and that indexes the location of all contained class files once upon
+     * its creation. Stored class files are copied directly from the mapped file and compressed class files are inflated using
+     * pooled inflaters, what avoids the allocation of streams and buffers when resolving a large number of classes from a jar file.
+     * </p>
+     * <p>
+     * <b>Note</b>: If a jar file cannot be mapped or indexed, for example because it exceeds two gigabytes, because it uses the
+     * <i>ZIP64</i> format or because it contains encrypted class files, a {@link ForJarFile} class file locator is used instead.
+     * A memory mapping is only released once this class file locator is garbage collected, even if it was closed.
+     * </p>
+     */
+    class ForMappedJarFile implements ClassFileLocator {
+
+        /**
+         * The signature of a zip file's end of central directory record.
+         */
+        private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+
+        /**
+         * The signature of a zip file's central directory file header.
+         */
+        private static final int CENTRAL_DIRECTORY = 0x02014b50;
+
+        /**
+         * The signature of a zip file's local file header.
+         */
+        private static final int LOCAL_FILE_HEADER = 0x04034b50;
+
+        /**
+         * The minimal size of a zip file's end of central directory record.
+         */
+        private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+
+        /**
+         * The minimal size of a zip file's central directory file header.
+         */
+        private static final int CENTRAL_DIRECTORY_SIZE = 46;
+
+        /**
+         * The minimal size of a zip file's local file header.
+         */
+        private static final int LOCAL_FILE_HEADER_SIZE = 30;
+
+        /**
+         * The maximum length of a zip file's comment.
+         */
+        private static final int MAXIMUM_COMMENT_LENGTH = 0xFFFF;
+
+        /**
+         * The compression method of a stored entry.
+         */
+        private static final int STORED = 0;
+
+        /**
+         * The compression method of a deflated entry.
+         */
+        private static final int DEFLATED = 8;
+
+        /**
+         * The flag that indicates an encrypted entry.
+         */
+        private static final int ENCRYPTED = 1;
+
+        /**
+         * The mapped jar file.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * An index of all class file entries by their name.
+         */
+        private final Map<String, Entry> entries;
+
+        /**
+         * A pool of inflaters for reading compressed entries.
+         */
+        private final Queue<Inflater> inflaters;
+
+        /**
+         * Creates a new class file locator for a mapped jar file.
+         *
+         * @param buffer  The mapped jar file.
+         * @param entries An index of all class file entries by their name.
+         */
+        protected ForMappedJarFile(ByteBuffer buffer, Map<String, Entry> entries) {
+            this.buffer = buffer;
+            this.entries = entries;
+            inflaters = new ConcurrentLinkedQueue<Inflater>();
+        }
+
+        /**
+         * Creates a new class file locator for the given jar file which is memory mapped if possible.
+         *
+         * @param file The jar file to read from.
+         * @return A class file locator for the jar file.
+         * @throws IOException If an I/O exception is thrown.
+         */
+        public static ClassFileLocator of(File file) throws IOException {
+            ByteBuffer buffer;
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+            try {
+                if (randomAccessFile.length() > Integer.MAX_VALUE) {
+                    return ForJarFile.of(file);
+                }
+                buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, randomAccessFile.length());
+            } finally {
+                randomAccessFile.close();
+            }
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            Map<String, Entry> entries = index(buffer);
+            return entries == null
+                    ? ForJarFile.of(file)
+                    : new ForMappedJarFile(buffer, entries);
+        }
+
+        /**
+         * Resolves a class file locator for the class path that memory maps jar files if possible. The resulting
+         * class file locator does not imply classes on the boot path.
+         *
+         * @return A class file locator for the class path.
+         * @throws IOException If an I/O exception occurs.
+         */
+        public static ClassFileLocator ofClassPath() throws IOException {
+            return ofClassPath(System.getProperty("java.class.path"));
+        }
+
+        /**
+         * <p>
+         * Resolves a class file locator for the class path that memory maps jar files if possible.
+         * </p>
+         * <p>
+         * <b>Note</b>: The resulting class file locator does not include classes of the bootstrap class loader.
+         * </p>
+         *
+         * @param classPath The class path to scan with the elements separated by {@code path.separator}.
+         * @return A class file locator for the class path.
+         * @throws IOException If an I/O exception occurs.
+         */
+        public static ClassFileLocator ofClassPath(String classPath) throws IOException {
+            List<ClassFileLocator> classFileLocators = new ArrayList<ClassFileLocator>();
+            for (String element : Pattern.compile(System.getProperty("path.separator"), Pattern.LITERAL).split(classPath)) {
+                File file = new File(element);
+                if (file.isDirectory()) {
+                    classFileLocators.add(new ForFolder(file));
+                } else if (file.isFile()) {
+                    classFileLocators.add(of(file));
+                }
+            }
+            return new Compound(classFileLocators);
+        }
+
+        /**
+         * Indexes all class file entries of a mapped jar file by reading its central directory.
+         *
+         * @param buffer The mapped jar file.
+         * @return An index of all class file entries by their name or {@code null} if the jar file cannot be indexed.
+         * @throws IOException If an I/O exception occurs.
+         */
+        @MaybeNull
+        protected static Map<String, Entry> index(ByteBuffer buffer) throws IOException {
+            int end = -1;
+            for (int position = buffer.limit() - END_OF_CENTRAL_DIRECTORY_SIZE;
+                 position >= Math.max(0, buffer.limit() - END_OF_CENTRAL_DIRECTORY_SIZE - MAXIMUM_COMMENT_LENGTH);
+                 position--) {
+                if (buffer.getInt(position) == END_OF_CENTRAL_DIRECTORY) {
+                    end = position;
+                    break;
+                }
+            }
+            if (end == -1) {
+                return null;
+            }
+            int count = buffer.getShort(end + 10) & 0xFFFF;
+            long size = buffer.getInt(end + 12) & 0xFFFFFFFFL, offset = buffer.getInt(end + 16) & 0xFFFFFFFFL;
+            if (count == 0xFFFF || offset + size > end) {
+                return null;
+            }
+            Map<String, Entry> entries = new HashMap<String, Entry>();
+            ByteBuffer names = buffer.duplicate();
+            int position = (int) offset;
+            for (int index = 0; index < count; index++) {
+                if (position + CENTRAL_DIRECTORY_SIZE > end || buffer.getInt(position) != CENTRAL_DIRECTORY) {
+                    return null;
+                }
+                int nameLength = buffer.getShort(position + 28) & 0xFFFF;
+                byte[] name = new byte[nameLength];
+                names.position(position + CENTRAL_DIRECTORY_SIZE);
+                names.get(name);
+                String entry = new String(name, "UTF-8");
+                if (entry.endsWith(CLASS_FILE_EXTENSION) && !entries.containsKey(entry)) {
+                    int method = buffer.getShort(position + 10) & 0xFFFF;
+                    long compressedSize = buffer.getInt(position + 20) & 0xFFFFFFFFL, uncompressedSize = buffer.getInt(position + 24) & 0xFFFFFFFFL;
+                    if ((buffer.getShort(position + 8) & ENCRYPTED) != 0
+                            || method != STORED && method != DEFLATED
+                            || compressedSize >= Integer.MAX_VALUE
+                            || uncompressedSize >= Integer.MAX_VALUE) {
+                        return null;
+                    }
+                    entries.put(entry, new Entry(buffer.getInt(position + 42), method, (int) compressedSize, (int) uncompressedSize));
+                }
+                position += CENTRAL_DIRECTORY_SIZE + nameLength + (buffer.getShort(position + 30) & 0xFFFF) + (buffer.getShort(position + 32) & 0xFFFF);
+            }
+            return entries;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Resolution locate(String name) throws IOException {
+            Entry entry = entries.get(name.replace('.', '/') + CLASS_FILE_EXTENSION);
+            if (entry == null) {
+                return new Resolution.Illegal(name);
+            }
+            if (entry.getOffset() < 0
+                    || entry.getOffset() > buffer.limit() - LOCAL_FILE_HEADER_SIZE
+                    || buffer.getInt(entry.getOffset()) != LOCAL_FILE_HEADER) {
+                throw new IOException("Invalid local file header for " + name);
+            }
+            int position = entry.getOffset()
+                    + LOCAL_FILE_HEADER_SIZE
+                    + (buffer.getShort(entry.getOffset() + 26) & 0xFFFF)
+                    + (buffer.getShort(entry.getOffset() + 28) & 0xFFFF);
+            if (position > buffer.limit() - entry.getCompressedSize()) {
+                throw new IOException("Truncated entry for " + name);
+            }
+            ByteBuffer buffer = this.buffer.duplicate();
+            buffer.position(position);
+            byte[] binaryRepresentation = new byte[entry.getSize()];
+            if (entry.getMethod() == STORED) {
+                buffer.get(binaryRepresentation);
+            } else {
+                byte[] compressed = new byte[entry.getCompressedSize() + 1]; // An additional byte is required by an inflater without wrapping.
+                buffer.get(compressed, 0, entry.getCompressedSize());
+                Inflater inflater = inflaters.poll();
+                if (inflater == null) {
+                    inflater = new Inflater(true);
+                }
+                try {
+                    inflater.setInput(compressed);
+                    int length = 0;
+                    while (length < binaryRepresentation.length) {
+                        int inflated = inflater.inflate(binaryRepresentation, length, binaryRepresentation.length - length);
+                        if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                            throw new IOException("Truncated entry for " + name);
+                        }
+                        length += inflated;
+                    }
+                } catch (DataFormatException exception) {
+                    throw new IOException("Cannot inflate entry for " + name + ": " + exception.getMessage());
+                } finally {
+                    inflater.reset();
+                    inflaters.offer(inflater);
+                }
+            }
+            return new Resolution.Explicit(binaryRepresentation);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void close() {
+            Inflater inflater;
+            while ((inflater = inflaters.poll()) != null) {
+                inflater.end();
+            }
+        }
+
+        /**
+         * An indexed class file entry of a mapped jar file.
+         */
+        protected static class Entry {
+
+            /**
+             * The offset of the entry's local file header.
+             */
+            private final int offset;
+
+            /**
+             * The entry's compression method.
+             */
+            private final int method;
+
+            /**
+             * The entry's compressed size.
+             */
+            private final int compressedSize;
+
+            /**
+             * The entry's uncompressed size.
+             */
+            private final int size;
+
+            /**
+             * Creates a new indexed class file entry.
+             *
+             * @param offset         The offset of the entry's local file header.
+             * @param method         The entry's compression method.
+             * @param compressedSize The entry's compressed size.
+             * @param size           The entry's uncompressed size.
+             */
+            protected Entry(int offset, int method, int compressedSize, int size) {
+                this.offset = offset;
+                this.method = method;
+                this.compressedSize = compressedSize;
+                this.size = size;
+            }
+
+            /**
+             * Returns the offset of the entry's local file header.
+             *
+             * @return The offset of the entry's local file header.
+             */
+            protected int getOffset() {
+                return offset;
+            }
+
+            /**
+             * Returns the entry's compression method.
+             *
+             * @return The entry's compression method.
+             */
+            protected int getMethod() {
+                return method;
+            }
+
+            /**
+             * Returns the entry's compressed size.
+             *
+             * @return The entry's compressed size.
+             */
+            protected int getCompressedSize() {
+                return compressedSize;
+            }
+
+            /**
+             * Returns the entry's uncompressed size.
+             *
+             * @return The entry's uncompressed size.
+             */
+            protected int getSize() {
+                return size;
+            }
+        }
+    }
+
     /**
      * A class file locator that locates classes within a Java <i>jmod</i> file. This class file locator should not be used
      * for reading modular jar files for which {@link ForJarFile} is appropriate.
@@ -1947,5 +2302,224 @@ public interface ClassFileLocator extends Closeable {
                 classFileLocator.close();
             }
         }
+
+        /**
+         * <p>
+         * A compound class file locator that remembers the locator that resolved a type of a given package and that
+         * records names that could not be resolved by any locator. A repeated lookup of an unresolvable name is answered
+         * without querying any locator and a lookup of a type within a previously resolved package queries the locator
+         * that resolved this package first. Once types of a package were resolved by more than one locator, the package is
+         * considered split and its types are again looked up in the supplied order of the locators.
+         * </p>
+         * <p>
+         * <b>Important</b>: A package is only known to be split after a type of the package was resolved by a locator other
+         * than the indexed one. Until then, a type that is contained by more than one locator might be resolved from a locator
+         * other than the first locator in the supplied order. Also, a type that is added to a locator after a failed lookup is
+         * not resolved until {@link Indexed#clear()} is called.
+         * </p>
+         * <p>
+         * This locator records the number of lookups, index hits, negative cache hits and queries of its delegates. Those counters
+         * are not reset if the locator is cleared.
+         * </p>
+         */
+        public static class Indexed extends Compound {
+
+            /**
+             * The default maximum number of unresolvable names to retain.
+             */
+            public static final int DEFAULT_MAXIMUM_MISSES = 10000;
+
+            /**
+             * Indicates that a package is split over several locators.
+             */
+            private static final int SPLIT_PACKAGE = -1;
+
+            /**
+             * The maximum number of unresolvable names to retain.
+             */
+            private final int maximumMisses;
+
+            /**
+             * A mapping of package names to the index of the locator that resolved a type of this package or to
+             * {@link Indexed#SPLIT_PACKAGE} if types of the package were resolved by several locators.
+             */
+            private final ConcurrentMap<String, Integer> packages;
+
+            /**
+             * The retained unresolvable names in the order of their last lookup. All access to this map must be synchronized on the map.
+             */
+            private final LinkedHashMap<String, Boolean> misses;
+
+            /**
+             * The number of lookups.
+             */
+            private final AtomicLong lookups;
+
+            /**
+             * The number of lookups that were resolved by the locator that was indexed for the type's package.
+             */
+            private final AtomicLong indexHits;
+
+            /**
+             * The number of lookups that were answered from the retained unresolvable names.
+             */
+            private final AtomicLong negativeHits;
+
+            /**
+             * The number of queries of the delegate locators.
+             */
+            private final AtomicLong queries;
+
+            /**
+             * Creates a new indexed compound class file locator.
+             *
+             * @param classFileLocator The {@link ClassFileLocator}s to be represented by this compound class file locator in the order of their application.
+             */
+            public Indexed(ClassFileLocator... classFileLocator) {
+                this(Arrays.asList(classFileLocator));
+            }
+
+            /**
+             * Creates a new indexed compound class file locator.
+             *
+             * @param classFileLocators The {@link ClassFileLocator}s to be represented by this compound class file locator in
+             *                          the order of their application.
+             */
+            public Indexed(List<? extends ClassFileLocator> classFileLocators) {
+                this(classFileLocators, DEFAULT_MAXIMUM_MISSES);
+            }
+
+            /**
+             * Creates a new indexed compound class file locator.
+             *
+             * @param classFileLocators The {@link ClassFileLocator}s to be represented by this compound class file locator in
+             *                          the order of their application.
+             * @param maximumMisses     The maximum number of unresolvable names to retain or {@code 0} if no names should be retained.
+             */
+            public Indexed(List<? extends ClassFileLocator> classFileLocators, int maximumMisses) {
+                super(classFileLocators);
+                if (maximumMisses < 0) {
+                    throw new IllegalArgumentException("Maximum number of misses must not be negative: " + maximumMisses);
+                }
+                this.maximumMisses = maximumMisses;
+                packages = new ConcurrentHashMap<String, Integer>();
+                misses = new LinkedHashMap<String, Boolean>(16, 0.75f, true);
+                lookups = new AtomicLong();
+                indexHits = new AtomicLong();
+                negativeHits = new AtomicLong();
+                queries = new AtomicLong();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Resolution locate(String name) throws IOException {
+                lookups.incrementAndGet();
+                synchronized (misses) {
+                    if (misses.get(name) != null) {
+                        negativeHits.incrementAndGet();
+                        return new Resolution.Illegal(name);
+                    }
+                }
+                int packageIndex = name.lastIndexOf('.');
+                String packageName = packageIndex == -1
+                        ? NamedElement.EMPTY_NAME
+                        : name.substring(0, packageIndex);
+                Integer indexed = packages.get(packageName);
+                if (indexed != null && indexed != SPLIT_PACKAGE) {
+                    queries.incrementAndGet();
+                    Resolution resolution = super.classFileLocators.get(indexed).locate(name);
+                    if (resolution.isResolved()) {
+                        indexHits.incrementAndGet();
+                        return resolution;
+                    }
+                }
+                for (int index = 0; index < super.classFileLocators.size(); index++) {
+                    if (indexed == null || indexed != index) {
+                        queries.incrementAndGet();
+                        Resolution resolution = super.classFileLocators.get(index).locate(name);
+                        if (resolution.isResolved()) {
+                            if (indexed == null) {
+                                Integer previous = packages.putIfAbsent(packageName, index);
+                                if (previous != null && previous != index) {
+                                    packages.put(packageName, SPLIT_PACKAGE);
+                                }
+                            } else if (indexed != SPLIT_PACKAGE) {
+                                packages.put(packageName, SPLIT_PACKAGE);
+                            }
+                            return resolution;
+                        }
+                    }
+                }
+                if (maximumMisses > 0) {
+                    synchronized (misses) {
+                        misses.put(name, Boolean.TRUE);
+                        if (misses.size() > maximumMisses) {
+                            Iterator<String> iterator = misses.keySet().iterator();
+                            iterator.next();
+                            iterator.remove();
+                        }
+                    }
+                }
+                return new Resolution.Illegal(name);
+            }
+
+            /**
+             * Clears the package index and all retained unresolvable names.
+             */
+            public void clear() {
+                packages.clear();
+                synchronized (misses) {
+                    misses.clear();
+                }
+            }
+
+            /**
+             * Returns the number of currently retained unresolvable names.
+             *
+             * @return The number of currently retained unresolvable names.
+             */
+            public int getMissSize() {
+                synchronized (misses) {
+                    return misses.size();
+                }
+            }
+
+            /**
+             * Returns the number of lookups.
+             *
+             * @return The number of lookups.
+             */
+            public long getLookupCount() {
+                return lookups.get();
+            }
+
+            /**
+             * Returns the number of lookups that were resolved by the locator that was indexed for the type's package.
+             *
+             * @return The number of lookups that were resolved by the locator that was indexed for the type's package.
+             */
+            public long getIndexHitCount() {
+                return indexHits.get();
+            }
+
+            /**
+             * Returns the number of lookups that were answered from the retained unresolvable names.
+             *
+             * @return The number of lookups that were answered from the retained unresolvable names.
+             */
+            public long getNegativeHitCount() {
+                return negativeHits.get();
+            }
+
+            /**
+             * Returns the number of queries of the delegate locators.
+             *
+             * @return The number of queries of the delegate locators.
+             */
+            public long getQueryCount() {
+                return queries.get();
+            }
+        }
     }
 }
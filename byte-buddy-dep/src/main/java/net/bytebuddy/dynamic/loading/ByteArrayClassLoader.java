@@ -36,8 +36,11 @@ import java.net.*;
 import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 /**
  * <p>
@@ -1415,6 +1418,338 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
         }
     }
 
+    /**
+     * <p>
+     * A {@link ByteArrayClassLoader} that is tuned for defining a large number of classes from many threads. Other than the
+     * standard implementation, this class loader does not define types while holding a lock that is shared among types. Instead,
+     * each type is defined exactly once by the first thread that requests it while any concurrently requesting thread awaits
+     * the outcome of this definition. Any later lookup of a defined type is resolved without acquiring a lock. Furthermore, the URLs of class files that are exposed by a
+     * {@link PersistenceHandler#MANIFEST} persistence handler are indexed by their resource name such that they are only
+     * created once.
+     * </p>
+     * <p>
+     * If this class loader is configured to apply child-first semantics, types that are defined by this class loader and their
+     * class file resources are resolved without querying the parent class loader.
+     * </p>
+     */
+    public static class Concurrent extends ByteArrayClassLoader {
+
+        /**
+         * The suffix of files in the Java class file format.
+         */
+        private static final String CLASS_FILE_SUFFIX = ".class";
+
+        /*
+         * Register class loader as parallel capable if the current VM supports it.
+         */
+        static {
+            doRegisterAsParallelCapable();
+        }
+
+        /**
+         * Registers class loader as parallel capable if possible.
+         */
+        @SuppressFBWarnings(value = "DP_DO_INSIDE_DO_PRIVILEGED", justification = "Must be invoked from targeting class loader type.")
+        private static void doRegisterAsParallelCapable() {
+            try {
+                Method method = ClassLoader.class.getDeclaredMethod("registerAsParallelCapable");
+                method.setAccessible(true);
+                method.invoke(null);
+            } catch (Throwable ignored) {
+                /* do nothing */
+            }
+        }
+
+        /**
+         * {@code true} if this class loader applies child-first semantics for the types it defines.
+         */
+        private final boolean childFirst;
+
+        /**
+         * A map of type names to the definitions of these types that were or are currently performed by this class loader.
+         */
+        private final ConcurrentMap<String, FutureTask<Class<?>>> definitions;
+
+        /**
+         * An index of resource names to the URLs of class files that are exposed by a manifest persistence handler.
+         */
+        private final ConcurrentMap<String, URL> urls;
+
+        /**
+         * Creates a new concurrent byte array class loader with parent-first semantics.
+         *
+         * @param parent          The {@link java.lang.ClassLoader} that is the parent of this class loader.
+         * @param typeDefinitions A map of fully qualified class names pointing to their binary representations.
+         */
+        public Concurrent(@MaybeNull ClassLoader parent, Map<String, byte[]> typeDefinitions) {
+            this(parent, typeDefinitions, PersistenceHandler.LATENT, false);
+        }
+
+        /**
+         * Creates a new concurrent byte array class loader.
+         *
+         * @param parent             The {@link java.lang.ClassLoader} that is the parent of this class loader.
+         * @param typeDefinitions    A map of fully qualified class names pointing to their binary representations.
+         * @param persistenceHandler The persistence handler of this class loader.
+         * @param childFirst         {@code true} if this class loader applies child-first semantics for the types it defines.
+         */
+        public Concurrent(@MaybeNull ClassLoader parent, Map<String, byte[]> typeDefinitions, PersistenceHandler persistenceHandler, boolean childFirst) {
+            this(parent,
+                    true,
+                    typeDefinitions,
+                    ClassLoadingStrategy.NO_PROTECTION_DOMAIN,
+                    persistenceHandler,
+                    PackageDefinitionStrategy.Trivial.INSTANCE,
+                    ClassFilePostProcessor.NoOp.INSTANCE,
+                    childFirst);
+        }
+
+        /**
+         * Creates a new concurrent byte array class loader.
+         *
+         * @param parent                    The {@link java.lang.ClassLoader} that is the parent of this class loader.
+         * @param sealed                    {@code true} if this class loader is sealed.
+         * @param typeDefinitions           A map of fully qualified class names pointing to their binary representations.
+         * @param protectionDomain          The protection domain to apply where {@code null} references an implicit protection domain.
+         * @param persistenceHandler        The persistence handler of this class loader.
+         * @param packageDefinitionStrategy The package definer to be queried for package definitions.
+         * @param classFilePostProcessor    A post processor for class files to apply.
+         * @param childFirst                {@code true} if this class loader applies child-first semantics for the types it defines.
+         */
+        public Concurrent(@MaybeNull ClassLoader parent,
+                          boolean sealed,
+                          Map<String, byte[]> typeDefinitions,
+                          @MaybeNull ProtectionDomain protectionDomain,
+                          PersistenceHandler persistenceHandler,
+                          PackageDefinitionStrategy packageDefinitionStrategy,
+                          ClassFilePostProcessor classFilePostProcessor,
+                          boolean childFirst) {
+            super(parent, sealed, typeDefinitions, protectionDomain, persistenceHandler, packageDefinitionStrategy, classFilePostProcessor);
+            this.childFirst = childFirst;
+            definitions = new ConcurrentHashMap<String, FutureTask<Class<?>>>();
+            urls = new ConcurrentHashMap<String, URL>();
+        }
+
+        /**
+         * Loads a given set of class descriptions and their binary representations using a concurrent class loader.
+         *
+         * @param classLoader The parent class loader.
+         * @param types       The unloaded types to be loaded.
+         * @param childFirst  {@code true} if the created class loader should apply child-first semantics for the types it defines.
+         * @return A map of the given type descriptions pointing to their loaded representations.
+         */
+        @SuppressFBWarnings(value = "DP_CREATE_CLASSLOADER_INSIDE_DO_PRIVILEGED", justification = "Assuring privilege is explicit user responsibility.")
+        public static Map<TypeDescription, Class<?>> load(@MaybeNull ClassLoader classLoader, Map<TypeDescription, byte[]> types, boolean childFirst) {
+            Map<String, byte[]> typesByName = new HashMap<String, byte[]>();
+            for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
+                typesByName.put(entry.getKey().getName(), entry.getValue());
+            }
+            classLoader = new Concurrent(classLoader, typesByName, PersistenceHandler.LATENT, childFirst);
+            Map<TypeDescription, Class<?>> result = new LinkedHashMap<TypeDescription, Class<?>>();
+            for (TypeDescription typeDescription : types.keySet()) {
+                try {
+                    result.put(typeDescription, Class.forName(typeDescription.getName(), false, classLoader));
+                } catch (ClassNotFoundException exception) {
+                    throw new IllegalStateException("Cannot load class " + typeDescription, exception);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        protected Map<String, Class<?>> doDefineClasses(Map<String, byte[]> typeDefinitions) throws ClassNotFoundException {
+            Map<String, byte[]> previous = new HashMap<String, byte[]>();
+            for (Map.Entry<String, byte[]> entry : typeDefinitions.entrySet()) {
+                previous.put(entry.getKey(), this.typeDefinitions.putIfAbsent(entry.getKey(), entry.getValue()));
+            }
+            try {
+                Map<String, Class<?>> types = new LinkedHashMap<String, Class<?>>();
+                for (String name : typeDefinitions.keySet()) {
+                    types.put(name, loadClass(name));
+                }
+                return types;
+            } finally {
+                for (Map.Entry<String, byte[]> entry : previous.entrySet()) {
+                    if (entry.getValue() == null) {
+                        persistenceHandler.release(entry.getKey(), this.typeDefinitions);
+                    } else {
+                        this.typeDefinitions.put(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            FutureTask<Class<?>> definition = definitions.get(name);
+            if (definition == null && !(childFirst && typeDefinitions.containsKey(name))) {
+                return super.loadClass(name, resolve);
+            }
+            Class<?> type = definition == null
+                    ? findClass(name)
+                    : resolve(name, definition);
+            if (resolve) {
+                resolveClass(type);
+            }
+            return type;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            FutureTask<Class<?>> definition = new FutureTask<Class<?>>(new DefinitionAction(name)), previous = definitions.putIfAbsent(name, definition);
+            if (previous == null) {
+                definition.run();
+                return resolve(name, definition);
+            } else {
+                return resolve(name, previous);
+            }
+        }
+
+        /**
+         * Awaits the outcome of a type definition. If the definition failed, it is discarded such that it can be attempted again.
+         *
+         * @param name       The name of the type being defined.
+         * @param definition The definition of the type.
+         * @return The defined type.
+         * @throws ClassNotFoundException If the type could not be defined.
+         */
+        private Class<?> resolve(String name, FutureTask<Class<?>> definition) throws ClassNotFoundException {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        return definition.get();
+                    } catch (InterruptedException ignored) {
+                        interrupted = true;
+                    }
+                }
+            } catch (ExecutionException exception) {
+                definitions.remove(name, definition);
+                Throwable cause = exception.getCause();
+                if (cause instanceof ClassNotFoundException) {
+                    throw (ClassNotFoundException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                } else {
+                    throw new IllegalStateException("Failed to define " + name, cause);
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @MaybeNull
+        protected URL findResource(String name) {
+            if (!persistenceHandler.isManifest()) {
+                return NO_URL;
+            }
+            URL url = urls.get(name);
+            if (url == null) {
+                url = persistenceHandler.url(name, typeDefinitions);
+                if (url != null) {
+                    URL previous = urls.putIfAbsent(name, url);
+                    if (previous != null) {
+                        url = previous;
+                    }
+                }
+            }
+            return url;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        protected Enumeration<URL> findResources(String name) {
+            URL url = findResource(name);
+            return url == null
+                    ? EmptyEnumeration.INSTANCE
+                    : new SingletonEnumeration(url);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @MaybeNull
+        public URL getResource(String name) {
+            if (!childFirst) {
+                return super.getResource(name);
+            }
+            URL url = findResource(name);
+            return url != null || isDefined(name)
+                    ? url
+                    : super.getResource(name);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Enumeration<URL> getResources(String name) throws IOException {
+            if (!childFirst) {
+                return super.getResources(name);
+            }
+            URL url = findResource(name);
+            return url == null
+                    ? super.getResources(name)
+                    : new ChildFirst.PrependingEnumeration(url, super.getResources(name));
+        }
+
+        /**
+         * Checks if a resource name represents a class file of a class that is or was defined by this class loader. As a type's
+         * definition is registered before its binary representation is released, this check does not require any locking.
+         *
+         * @param resourceName The resource name of the class to be exposed as its class file.
+         * @return {@code true} if this class represents a class that is or was defined by this class loader.
+         */
+        private boolean isDefined(String resourceName) {
+            if (!resourceName.endsWith(CLASS_FILE_SUFFIX)) {
+                return false;
+            } else if (resourceName.startsWith("/")) {
+                resourceName = resourceName.substring(1);
+            }
+            String typeName = resourceName.replace('/', '.').substring(FROM_BEGINNING, resourceName.length() - CLASS_FILE_SUFFIX.length());
+            return definitions.containsKey(typeName) || typeDefinitions.containsKey(typeName);
+        }
+
+        /**
+         * An action that defines a type by its binary representation if this representation is known to this class loader.
+         */
+        @HashCodeAndEqualsPlugin.Enhance(includeSyntheticFields = true)
+        protected class DefinitionAction implements Callable<Class<?>> {
+
+            /**
+             * The binary name of the class to define.
+             */
+            private final String name;
+
+            /**
+             * Creates a new definition action.
+             *
+             * @param name The binary name of the class to define.
+             */
+            protected DefinitionAction(String name) {
+                this.name = name;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Class<?> call() throws ClassNotFoundException {
+                return Concurrent.super.findClass(name);
+            }
+        }
+    }
+
     /**
      * An enumeration without any elements.
      */
@@ -0,0 +1,491 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.build.HashCodeAndEqualsPlugin;
+import net.bytebuddy.build.Plugin;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.utility.FileSystem;
+import net.bytebuddy.utility.StreamDrainer;
+import net.bytebuddy.utility.nullability.MaybeNull;
+import org.objectweb.asm.Opcodes;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * A cache that persists the class files of generated types within a folder, such that a type can be loaded from its persisted
+ * class files when it is requested after a restart of the application instead of generating it anew. The class files are stored
+ * using the folder layout of a class path. This way, the folder can also be added to the class path when creating an
+ * application class data sharing archive, using a class list that is emitted by {@link ClassFileCache#writeClassList(File)}.
+ * </p>
+ * <p>
+ * A persisted type is only reused if the name of the type and a fingerprint of the input types, from which it was generated, are
+ * unchanged. The fingerprint considers the version of Byte Buddy, the names of the input types, the generator's type and their
+ * super types as well as the binary representation of any such type that is not loaded by the boot loader. If the generator is
+ * a synthetic type, such as a lambda expression, its type is not considered. Any further configuration, such as the version of
+ * the application, can be provided as a configuration string. If the fingerprint changed, the type is generated anew and its
+ * class files are replaced.
+ * </p>
+ * <p>
+ * A type is typically resolved in combination with a {@link net.bytebuddy.TypeCache}:
+ * </p>
+ * <pre>
+ * typeCache.findOrInsert(classLoader, key, classFileCache.resolve(classLoader, classLoadingStrategy, name, generator, inputs));
+ * </pre>
+ * <p>
+ * <b>Important</b>: A generator must always name the generated type deterministically. Types that require a
+ * {@link net.bytebuddy.implementation.LoadedTypeInitializer} to be alive after loading, for example to set a delegation target
+ * that is not a constant, cannot be restored from their class files and are therefore never persisted.
+ * </p>
+ */
+@HashCodeAndEqualsPlugin.Enhance
+public class ClassFileCache {
+
+    /**
+     * The file extension of an index of a persisted type.
+     */
+    private static final String INDEX_FILE_EXTENSION = ".index";
+
+    /**
+     * The version of the format of an index.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * The file extension of a temporary file that is written before it replaces a class file or an index.
+     */
+    private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+    /**
+     * The digest algorithm to use.
+     */
+    private static final String ALGORITHM = "SHA-256";
+
+    /**
+     * A fingerprint of the version of Byte Buddy or {@code null} if it was not yet resolved.
+     */
+    @MaybeNull
+    private static volatile String byteBuddyVersion;
+
+    /**
+     * The folder to store class files in.
+     */
+    private final File folder;
+
+    /**
+     * A fingerprint of the configuration that is combined with the fingerprint of the input types.
+     */
+    private final String configuration;
+
+    /**
+     * The internal names of all types that were loaded or persisted by this cache.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final ConcurrentMap<String, Boolean> internalNames;
+
+    /**
+     * Creates a new class file cache.
+     *
+     * @param folder The folder to store class files in.
+     */
+    public ClassFileCache(File folder) {
+        this(folder, "");
+    }
+
+    /**
+     * Creates a new class file cache.
+     *
+     * @param folder        The folder to store class files in.
+     * @param configuration A fingerprint of the configuration that is combined with the fingerprint of the input types.
+     */
+    public ClassFileCache(File folder, String configuration) {
+        this.folder = folder;
+        this.configuration = configuration;
+        internalNames = new ConcurrentHashMap<String, Boolean>();
+    }
+
+    /**
+     * Creates a callable that loads a persisted type or that generates and persists the type if it is not persisted or if its
+     * input types have changed.
+     *
+     * @param classLoader          The class loader to load the type with or {@code null} for the boot loader.
+     * @param classLoadingStrategy The class loading strategy to use.
+     * @param name                 The deterministic name of the generated type.
+     * @param generator            A generator for the type if it cannot be loaded from its persisted class files.
+     * @param input                The input types from which the type is generated.
+     * @param <S>                  The type of the class loader.
+     * @return A callable that resolves the type.
+     */
+    public <S extends ClassLoader> Callable<Class<?>> resolve(@MaybeNull S classLoader,
+                                                             ClassLoadingStrategy<? super S> classLoadingStrategy,
+                                                             String name,
+                                                             Callable<? extends DynamicType.Unloaded<?>> generator,
+                                                             Class<?>... input) {
+        return resolve(classLoader, classLoadingStrategy, name, generator, Arrays.asList(input));
+    }
+
+    /**
+     * Creates a callable that loads a persisted type or that generates and persists the type if it is not persisted or if its
+     * input types have changed.
+     *
+     * @param classLoader          The class loader to load the type with or {@code null} for the boot loader.
+     * @param classLoadingStrategy The class loading strategy to use.
+     * @param name                 The deterministic name of the generated type.
+     * @param generator            A generator for the type if it cannot be loaded from its persisted class files.
+     * @param inputs               The input types from which the type is generated.
+     * @param <S>                  The type of the class loader.
+     * @return A callable that resolves the type.
+     */
+    public <S extends ClassLoader> Callable<Class<?>> resolve(@MaybeNull S classLoader,
+                                                             ClassLoadingStrategy<? super S> classLoadingStrategy,
+                                                             String name,
+                                                             Callable<? extends DynamicType.Unloaded<?>> generator,
+                                                             List<? extends Class<?>> inputs) {
+        return new Resolution<S>(classLoader, classLoadingStrategy, name, generator, inputs);
+    }
+
+    /**
+     * Returns the internal names of all types that were loaded or persisted by this cache, including auxiliary types.
+     *
+     * @return The internal names of all types that were loaded or persisted by this cache.
+     */
+    public Set<String> getInternalNames() {
+        return new TreeSet<String>(internalNames.keySet());
+    }
+
+    /**
+     * Writes a class list of all types that were loaded or persisted by this cache, using one internal name per line as
+     * it is expected by the {@code -XX:SharedClassListFile} option of the JVM.
+     *
+     * @param file The file to write the class list to.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void writeClassList(File file) throws IOException {
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            for (String internalName : getInternalNames()) {
+                writer.write(internalName);
+                writer.write('\n');
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Resolves a fingerprint of the version of Byte Buddy. If Byte Buddy does not declare an implementation version, the code
+     * source of Byte Buddy is digested instead.
+     *
+     * @return A fingerprint of the version of Byte Buddy.
+     * @throws IOException If an I/O error occurs.
+     */
+    protected static String byteBuddyVersion() throws IOException {
+        String version = byteBuddyVersion;
+        if (version == null) {
+            Package aPackage = ByteBuddy.class.getPackage();
+            version = aPackage == null ? null : aPackage.getImplementationVersion();
+            if (version == null) {
+                version = Plugin.Engine.Cache.ForFolder.fingerprint(ByteBuddy.class);
+            }
+            byteBuddyVersion = version;
+        }
+        return version;
+    }
+
+    /**
+     * Computes a fingerprint of the version of Byte Buddy, the generator's type, the input types and their super types.
+     *
+     * @param generator The generator of the type.
+     * @param inputs    The input types from which a type is generated.
+     * @return A fingerprint of the input types.
+     * @throws IOException If an I/O error occurs.
+     */
+    protected String fingerprint(Callable<?> generator, List<? extends Class<?>> inputs) throws IOException {
+        StringBuilder stringBuilder = new StringBuilder(byteBuddyVersion()).append('\n').append(configuration).append('\n');
+        Set<Class<?>> types = new HashSet<Class<?>>();
+        LinkedList<Class<?>> queue = new LinkedList<Class<?>>(inputs);
+        if (!generator.getClass().isSynthetic()) {
+            queue.add(generator.getClass());
+        }
+        while (!queue.isEmpty()) {
+            Class<?> type = queue.removeFirst();
+            if (types.add(type)) {
+                stringBuilder.append(type.getName());
+                if (type.getClassLoader() != null) {
+                    stringBuilder.append('=').append(digest(ClassFileLocator.ForClassLoader.read(type)));
+                }
+                stringBuilder.append(';');
+                Class<?> superClass = type.getSuperclass();
+                if (superClass != null) {
+                    queue.add(superClass);
+                }
+                queue.addAll(Arrays.asList(type.getInterfaces()));
+            }
+        }
+        return digest(stringBuilder.toString().getBytes("UTF-8"));
+    }
+
+    /**
+     * Computes a hexadecimal digest of a binary representation.
+     *
+     * @param binaryRepresentation The binary representation to digest.
+     * @return A hexadecimal representation of the digest.
+     */
+    protected static String digest(byte[] binaryRepresentation) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance(ALGORITHM).digest(binaryRepresentation);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("Digest algorithm is not available: " + ALGORITHM, exception);
+        }
+        StringBuilder stringBuilder = new StringBuilder(digest.length * 2);
+        for (byte value : digest) {
+            stringBuilder.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Reads the persisted class files of a type if they exist and if they were generated for the given fingerprint.
+     *
+     * @param name        The name of the type.
+     * @param fingerprint The fingerprint of the type's input types.
+     * @return A mapping of the persisted types to their binary representations in the order they were persisted or {@code null}
+     * if no matching class files are persisted.
+     * @throws IOException If an I/O error occurs.
+     */
+    @MaybeNull
+    protected Map<TypeDescription, byte[]> read(String name, String fingerprint) throws IOException {
+        File index = new File(folder, name.replace('.', File.separatorChar) + INDEX_FILE_EXTENSION);
+        if (!index.isFile()) {
+            return null;
+        }
+        Map<String, String> digests = new LinkedHashMap<String, String>();
+        DataInputStream inputStream;
+        try {
+            inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(index)));
+        } catch (FileNotFoundException ignored) {
+            return null;
+        }
+        try {
+            if (inputStream.readInt() != VERSION || !inputStream.readUTF().equals(fingerprint)) {
+                return null;
+            }
+            int size = inputStream.readInt();
+            for (int i = 0; i < size; i++) {
+                digests.put(inputStream.readUTF(), inputStream.readUTF());
+            }
+        } catch (EOFException ignored) {
+            return null;
+        } catch (UTFDataFormatException ignored) {
+            return null;
+        } finally {
+            inputStream.close();
+        }
+        Map<TypeDescription, byte[]> types = new LinkedHashMap<TypeDescription, byte[]>();
+        for (Map.Entry<String, String> entry : digests.entrySet()) {
+            byte[] binaryRepresentation;
+            try {
+                InputStream classFile = new FileInputStream(new File(folder, entry.getKey().replace('.', File.separatorChar) + ClassFileLocator.CLASS_FILE_EXTENSION));
+                try {
+                    binaryRepresentation = StreamDrainer.DEFAULT.drain(classFile);
+                } finally {
+                    classFile.close();
+                }
+            } catch (FileNotFoundException ignored) {
+                return null;
+            }
+            if (!digest(binaryRepresentation).equals(entry.getValue())) {
+                return null;
+            }
+            types.put(new TypeDescription.Latent(entry.getKey(), Opcodes.ACC_PUBLIC, TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Object.class)), binaryRepresentation);
+        }
+        return types;
+    }
+
+    /**
+     * Persists the class files of a dynamic type. Every file is first written to a temporary file which then replaces the
+     * previous file such that another process that shares the folder never observes a partially written file. The index of
+     * the type is replaced last and records a digest of every class file such that a class file that was replaced by another
+     * process after the index was written is not considered to be persisted. If a file cannot be replaced, the type is not
+     * persisted and is generated anew upon its next resolution.
+     *
+     * @param dynamicType The dynamic type to persist.
+     * @param fingerprint The fingerprint of the type's input types.
+     * @return {@code true} if the type was persisted.
+     * @throws IOException If an I/O error occurs.
+     */
+    protected boolean write(DynamicType dynamicType, String fingerprint) throws IOException {
+        Map<TypeDescription, byte[]> types = dynamicType.getAllTypes();
+        for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
+            File temporary = temporary(entry.getKey().getName(), ClassFileLocator.CLASS_FILE_EXTENSION);
+            OutputStream outputStream = new FileOutputStream(temporary);
+            try {
+                outputStream.write(entry.getValue());
+            } finally {
+                outputStream.close();
+            }
+            if (!replace(temporary, entry.getKey().getName(), ClassFileLocator.CLASS_FILE_EXTENSION)) {
+                return false;
+            }
+        }
+        File temporary = temporary(dynamicType.getTypeDescription().getName(), INDEX_FILE_EXTENSION);
+        DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+        try {
+            outputStream.writeInt(VERSION);
+            outputStream.writeUTF(fingerprint);
+            outputStream.writeInt(types.size());
+            for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
+                outputStream.writeUTF(entry.getKey().getName());
+                outputStream.writeUTF(digest(entry.getValue()));
+            }
+        } finally {
+            outputStream.close();
+        }
+        return replace(temporary, dynamicType.getTypeDescription().getName(), INDEX_FILE_EXTENSION);
+    }
+
+    /**
+     * Creates a uniquely named temporary file next to the file of a type.
+     *
+     * @param name      The name of the type.
+     * @param extension The file extension of the type's file.
+     * @return A new temporary file.
+     * @throws IOException If an I/O error occurs.
+     */
+    private File temporary(String name, String extension) throws IOException {
+        File file = new File(folder, name.replace('.', File.separatorChar) + extension), directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+            throw new IOException("Could not create directory: " + directory);
+        }
+        return File.createTempFile(file.getName(), TEMPORARY_FILE_EXTENSION, directory);
+    }
+
+    /**
+     * Replaces the file of a type with a temporary file. If the file cannot be replaced, the temporary file is deleted.
+     *
+     * @param temporary The temporary file.
+     * @param name      The name of the type.
+     * @param extension The file extension of the type's file.
+     * @return {@code true} if the file was replaced.
+     */
+    private boolean replace(File temporary, String name, String extension) {
+        try {
+            FileSystem.getInstance().move(temporary, new File(folder, name.replace('.', File.separatorChar) + extension));
+            return true;
+        } catch (IOException ignored) {
+            if (!temporary.delete()) {
+                temporary.deleteOnExit();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A resolution of a type that is either loaded from its persisted class files or that is generated and persisted.
+     *
+     * @param <S> The type of the class loader.
+     */
+    @HashCodeAndEqualsPlugin.Enhance(includeSyntheticFields = true)
+    protected class Resolution<S extends ClassLoader> implements Callable<Class<?>> {
+
+        /**
+         * The class loader to load the type with or {@code null} for the boot loader.
+         */
+        @MaybeNull
+        @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.REVERSE_NULLABILITY)
+        private final S classLoader;
+
+        /**
+         * The class loading strategy to use.
+         */
+        private final ClassLoadingStrategy<? super S> classLoadingStrategy;
+
+        /**
+         * The deterministic name of the generated type.
+         */
+        private final String name;
+
+        /**
+         * A generator for the type if it cannot be loaded from its persisted class files.
+         */
+        private final Callable<? extends DynamicType.Unloaded<?>> generator;
+
+        /**
+         * The input types from which the type is generated.
+         */
+        private final List<? extends Class<?>> inputs;
+
+        /**
+         * Creates a new resolution.
+         *
+         * @param classLoader          The class loader to load the type with or {@code null} for the boot loader.
+         * @param classLoadingStrategy The class loading strategy to use.
+         * @param name                 The deterministic name of the generated type.
+         * @param generator            A generator for the type if it cannot be loaded from its persisted class files.
+         * @param inputs               The input types from which the type is generated.
+         */
+        protected Resolution(@MaybeNull S classLoader,
+                             ClassLoadingStrategy<? super S> classLoadingStrategy,
+                             String name,
+                             Callable<? extends DynamicType.Unloaded<?>> generator,
+                             List<? extends Class<?>> inputs) {
+            this.classLoader = classLoader;
+            this.classLoadingStrategy = classLoadingStrategy;
+            this.name = name;
+            this.generator = generator;
+            this.inputs = inputs;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Class<?> call() throws Exception {
+            String fingerprint = fingerprint(generator, inputs);
+            Map<TypeDescription, byte[]> types = read(name, fingerprint);
+            if (types != null) {
+                Map<TypeDescription, Class<?>> loaded = classLoadingStrategy.load(classLoader, types);
+                for (TypeDescription typeDescription : types.keySet()) {
+                    internalNames.put(typeDescription.getInternalName(), Boolean.TRUE);
+                }
+                Class<?> type = loaded.get(types.keySet().iterator().next());
+                if (type == null) {
+                    throw new IllegalStateException("Class loading strategy did not load " + name);
+                }
+                return type;
+            }
+            DynamicType.Unloaded<?> dynamicType = generator.call();
+            if (!dynamicType.getTypeDescription().getName().equals(name)) {
+                throw new IllegalStateException("Expected generated type to be named " + name + ": " + dynamicType.getTypeDescription());
+            } else if (!dynamicType.hasAliveLoadedTypeInitializers() && write(dynamicType, fingerprint)) {
+                for (TypeDescription typeDescription : dynamicType.getAllTypes().keySet()) {
+                    internalNames.put(typeDescription.getInternalName(), Boolean.TRUE);
+                }
+            }
+            return dynamicType.load(classLoader, classLoadingStrategy).getLoaded();
+        }
+    }
+}
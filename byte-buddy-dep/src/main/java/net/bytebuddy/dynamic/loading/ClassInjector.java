@@ -33,12 +33,14 @@ import net.bytebuddy.implementation.MethodCall;
 import net.bytebuddy.utility.GraalImageCode;
 import net.bytebuddy.utility.JavaModule;
 import net.bytebuddy.utility.JavaType;
+import net.bytebuddy.utility.OpenedClassReader;
 import net.bytebuddy.utility.RandomString;
 import net.bytebuddy.utility.dispatcher.JavaDispatcher;
 import net.bytebuddy.utility.nullability.AlwaysNull;
 import net.bytebuddy.utility.nullability.MaybeNull;
 import net.bytebuddy.utility.nullability.UnknownNull;
 import net.bytebuddy.utility.privilege.GetMethodAction;
+import org.objectweb.asm.ClassReader;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -50,6 +52,7 @@ import java.security.Permission;
 import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
@@ -2926,4 +2929,529 @@ public interface ClassInjector {
             }
         }
     }
+
+    /**
+     * <p>
+     * A class injector that injects a large number of types in batches. Before injection, all types are sorted such that any
+     * type is defined after its super class and its interfaces if those are part of the injected types. Within this order, types
+     * of the same package are kept together such that all types of a package are defined by a single batch. The class injector
+     * for a package is resolved only once per injection and is invoked once per batch.
+     * </p>
+     * <p>
+     * Using {@link Batching#injectBatch(Map)}, the time that is spent for each injection phase is reported.
+     * </p>
+     * <p>
+     * Built-in factories resolve a {@link UsingLookup} within a type of each package via {@link Factory.ForLookup} or a
+     * {@link UsingReflection} that defines each package only once via {@link Factory.ForReflection}. A {@link UsingUnsafe}
+     * injector does not define packages explicitly and can be used for all packages via {@link Factory.Simple}.
+     * </p>
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    class Batching extends AbstractBase {
+
+        /**
+         * The factory to resolve a class injector for a package.
+         */
+        private final Factory factory;
+
+        /**
+         * Creates a new batching class injector that delegates to a single class injector.
+         *
+         * @param classInjector The class injector to use for all packages.
+         */
+        public Batching(ClassInjector classInjector) {
+            this(new Factory.Simple(classInjector));
+        }
+
+        /**
+         * Creates a new batching class injector.
+         *
+         * @param factory The factory to resolve a class injector for a package.
+         */
+        public Batching(Factory factory) {
+            this.factory = factory;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isAlive() {
+            return factory.isAlive();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Map<String, Class<?>> injectRaw(Map<? extends String, byte[]> types) {
+            return injectBatch(types).getLoadedTypes();
+        }
+
+        /**
+         * Injects the given types in batches and reports the time that was spent within each phase.
+         *
+         * @param types The types to load via injection.
+         * @return A report of the injection.
+         */
+        public Report injectBatch(Map<? extends String, byte[]> types) {
+            long started = System.nanoTime();
+            List<String> names = sort(types);
+            long sorted = System.nanoTime(), resolution = 0L;
+            Map<String, ClassInjector> classInjectors = new HashMap<String, ClassInjector>();
+            Map<String, Class<?>> loadedTypes = new LinkedHashMap<String, Class<?>>();
+            int batches = 0, index = 0;
+            while (index < names.size()) {
+                String packageName = packageOf(names.get(index));
+                Map<String, byte[]> batch = new LinkedHashMap<String, byte[]>();
+                while (index < names.size() && packageOf(names.get(index)).equals(packageName)) {
+                    batch.put(names.get(index), types.get(names.get(index)));
+                    index++;
+                }
+                ClassInjector classInjector = classInjectors.get(packageName);
+                if (classInjector == null) {
+                    long resolving = System.nanoTime();
+                    classInjector = factory.resolve(packageName);
+                    classInjectors.put(packageName, classInjector);
+                    resolution += System.nanoTime() - resolving;
+                }
+                loadedTypes.putAll(classInjector.injectRaw(batch));
+                batches++;
+            }
+            long completed = System.nanoTime();
+            return new Report(loadedTypes, batches, sorted - started, resolution, completed - sorted - resolution);
+        }
+
+        /**
+         * Sorts the supplied types such that any type is preceded by its super class and interfaces if they are contained
+         * in the supplied types. Among the types that can be defined at any point, types of the package of the previously
+         * defined type are preferred, followed by the package with the most types that can be defined. Types with cyclic
+         * dependencies are appended in their original order.
+         *
+         * @param types The types to sort.
+         * @return The names of the supplied types in their order of definition.
+         */
+        protected static List<String> sort(Map<? extends String, byte[]> types) {
+            Map<String, Integer> dependencies = new HashMap<String, Integer>();
+            Map<String, List<String>> dependents = new HashMap<String, List<String>>();
+            Map<String, LinkedList<String>> ready = new LinkedHashMap<String, LinkedList<String>>();
+            for (Map.Entry<? extends String, byte[]> entry : types.entrySet()) {
+                ClassReader classReader = OpenedClassReader.of(entry.getValue());
+                List<String> superTypes = new ArrayList<String>();
+                if (classReader.getSuperName() != null) {
+                    superTypes.add(classReader.getSuperName());
+                }
+                superTypes.addAll(Arrays.asList(classReader.getInterfaces()));
+                int count = 0;
+                for (String superType : superTypes) {
+                    String name = superType.replace('/', '.');
+                    if (!name.equals(entry.getKey()) && types.containsKey(name)) {
+                        List<String> names = dependents.get(name);
+                        if (names == null) {
+                            names = new ArrayList<String>();
+                            dependents.put(name, names);
+                        }
+                        names.add(entry.getKey());
+                        count++;
+                    }
+                }
+                dependencies.put(entry.getKey(), count);
+                if (count == 0) {
+                    enqueue(ready, entry.getKey());
+                }
+            }
+            List<String> sorted = new ArrayList<String>(types.size());
+            String packageName = null;
+            while (!ready.isEmpty()) {
+                LinkedList<String> candidates = packageName == null ? null : ready.get(packageName);
+                if (candidates == null) {
+                    for (Map.Entry<String, LinkedList<String>> entry : ready.entrySet()) {
+                        if (candidates == null || entry.getValue().size() > candidates.size()) {
+                            packageName = entry.getKey();
+                            candidates = entry.getValue();
+                        }
+                    }
+                }
+                String name = candidates.removeFirst();
+                if (candidates.isEmpty()) {
+                    ready.remove(packageName);
+                }
+                sorted.add(name);
+                List<String> names = dependents.get(name);
+                if (names != null) {
+                    for (String dependent : names) {
+                        int count = dependencies.get(dependent) - 1;
+                        dependencies.put(dependent, count);
+                        if (count == 0) {
+                            enqueue(ready, dependent);
+                        }
+                    }
+                }
+            }
+            if (sorted.size() < types.size()) {
+                Set<String> names = new HashSet<String>(sorted);
+                for (String name : types.keySet()) {
+                    if (!names.contains(name)) {
+                        sorted.add(name);
+                    }
+                }
+            }
+            return sorted;
+        }
+
+        /**
+         * Adds a type that can be defined to the queue of its package.
+         *
+         * @param ready A mapping of package names to the types of that package that can be defined.
+         * @param name  The name of the type that can be defined.
+         */
+        private static void enqueue(Map<String, LinkedList<String>> ready, String name) {
+            String packageName = packageOf(name);
+            LinkedList<String> names = ready.get(packageName);
+            if (names == null) {
+                names = new LinkedList<String>();
+                ready.put(packageName, names);
+            }
+            names.add(name);
+        }
+
+        /**
+         * Resolves the package name of a type.
+         *
+         * @param name The name of the type.
+         * @return The name of the type's package.
+         */
+        private static String packageOf(String name) {
+            int index = name.lastIndexOf('.');
+            return index == -1 ? "" : name.substring(0, index);
+        }
+
+        /**
+         * A factory for resolving a class injector for a package.
+         */
+        public interface Factory {
+
+            /**
+             * Indicates if the class injectors that are resolved by this factory are available on the current VM.
+             *
+             * @return {@code true} if the resolved class injectors are available on the current VM.
+             */
+            boolean isAlive();
+
+            /**
+             * Resolves a class injector for a package.
+             *
+             * @param packageName The name of the package into which types are injected or the empty string for the default package.
+             * @return The class injector to use for the package.
+             */
+            ClassInjector resolve(String packageName);
+
+            /**
+             * A factory that resolves the same class injector for any package.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Simple implements Factory {
+
+                /**
+                 * The class injector to use for any package.
+                 */
+                private final ClassInjector classInjector;
+
+                /**
+                 * Creates a new simple factory.
+                 *
+                 * @param classInjector The class injector to use for any package.
+                 */
+                public Simple(ClassInjector classInjector) {
+                    this.classInjector = classInjector;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isAlive() {
+                    return classInjector.isAlive();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public ClassInjector resolve(String packageName) {
+                    return classInjector;
+                }
+            }
+
+            /**
+             * A factory that resolves a {@link UsingLookup} class injector for a package by resolving the supplied lookup
+             * within a type of that package. The lookup is used as it is for its own package.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForLookup implements Factory {
+
+                /**
+                 * The lookup-based class injector to resolve for any package.
+                 */
+                private final UsingLookup classInjector;
+
+                /**
+                 * A mapping of package names to a type of that package to resolve the lookup in.
+                 */
+                private final Map<String, Class<?>> types;
+
+                /**
+                 * Creates a new factory for a lookup-based class injector.
+                 *
+                 * @param classInjector The lookup-based class injector to resolve for any package.
+                 * @param type          Types of the packages into which types are injected, to resolve the lookup in.
+                 */
+                public ForLookup(UsingLookup classInjector, Class<?>... type) {
+                    this(classInjector, Arrays.asList(type));
+                }
+
+                /**
+                 * Creates a new factory for a lookup-based class injector.
+                 *
+                 * @param classInjector The lookup-based class injector to resolve for any package.
+                 * @param types         Types of the packages into which types are injected, to resolve the lookup in.
+                 */
+                public ForLookup(UsingLookup classInjector, Collection<? extends Class<?>> types) {
+                    this.classInjector = classInjector;
+                    this.types = new HashMap<String, Class<?>>();
+                    for (Class<?> type : types) {
+                        this.types.put(packageOf(type.getName()), type);
+                    }
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isAlive() {
+                    return classInjector.isAlive();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public ClassInjector resolve(String packageName) {
+                    if (packageOf(classInjector.lookupType().getName()).equals(packageName)) {
+                        return classInjector;
+                    }
+                    Class<?> type = types.get(packageName);
+                    if (type == null) {
+                        throw new IllegalStateException("No type of package " + packageName + " to resolve a lookup in");
+                    }
+                    return classInjector.in(type);
+                }
+            }
+
+            /**
+             * A factory that resolves a {@link UsingReflection} class injector for a package that only queries the package
+             * definition strategy when injecting the first type of the package. For any further type of that package, the
+             * package is neither looked up nor defined again.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForReflection implements Factory {
+
+                /**
+                 * The class loader into which types are injected.
+                 */
+                private final ClassLoader classLoader;
+
+                /**
+                 * The protection domain to apply during class definition.
+                 */
+                @MaybeNull
+                @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.REVERSE_NULLABILITY)
+                private final ProtectionDomain protectionDomain;
+
+                /**
+                 * The package definer to be queried for package definitions.
+                 */
+                private final PackageDefinitionStrategy packageDefinitionStrategy;
+
+                /**
+                 * Determines if an exception should be thrown when attempting to load a type that already exists.
+                 */
+                private final boolean forbidExisting;
+
+                /**
+                 * Creates a new factory for reflection-based class injectors with a default protection domain and a trivial
+                 * package definition strategy where the injection of existent classes does not trigger an error.
+                 *
+                 * @param classLoader The class loader into which types are injected. Must not be the bootstrap loader.
+                 */
+                public ForReflection(ClassLoader classLoader) {
+                    this(classLoader, ClassLoadingStrategy.NO_PROTECTION_DOMAIN, PackageDefinitionStrategy.Trivial.INSTANCE, ALLOW_EXISTING_TYPES);
+                }
+
+                /**
+                 * Creates a new factory for reflection-based class injectors.
+                 *
+                 * @param classLoader               The class loader into which types are injected. Must not be the bootstrap loader.
+                 * @param protectionDomain          The protection domain to apply during class definition.
+                 * @param packageDefinitionStrategy The package definer to be queried for package definitions.
+                 * @param forbidExisting            Determines if an exception should be thrown when attempting to load a type that already exists.
+                 */
+                public ForReflection(ClassLoader classLoader,
+                                     @MaybeNull ProtectionDomain protectionDomain,
+                                     PackageDefinitionStrategy packageDefinitionStrategy,
+                                     boolean forbidExisting) {
+                    this.classLoader = classLoader;
+                    this.protectionDomain = protectionDomain;
+                    this.packageDefinitionStrategy = packageDefinitionStrategy;
+                    this.forbidExisting = forbidExisting;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isAlive() {
+                    return UsingReflection.isAvailable();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public ClassInjector resolve(String packageName) {
+                    return new UsingReflection(classLoader, protectionDomain, new Memoizing(packageDefinitionStrategy), forbidExisting);
+                }
+
+                /**
+                 * A package definition strategy that only delegates the first package definition and that returns the same
+                 * definition thereafter. As all types of a batch share a package, the definition is only resolved once while
+                 * the injector still validates every type of the batch against the package's sealing.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class Memoizing implements PackageDefinitionStrategy {
+
+                    /**
+                     * The package definition strategy to delegate to.
+                     */
+                    private final PackageDefinitionStrategy packageDefinitionStrategy;
+
+                    /**
+                     * The package definition that was resolved by the delegate or {@code null} if it was not yet resolved.
+                     */
+                    @MaybeNull
+                    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+                    private Definition definition;
+
+                    /**
+                     * Creates a new package definition strategy that only delegates the first package definition.
+                     *
+                     * @param packageDefinitionStrategy The package definition strategy to delegate to.
+                     */
+                    protected Memoizing(PackageDefinitionStrategy packageDefinitionStrategy) {
+                        this.packageDefinitionStrategy = packageDefinitionStrategy;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Definition define(ClassLoader classLoader, String packageName, String typeName) {
+                        Definition definition = this.definition;
+                        if (definition == null) {
+                            definition = packageDefinitionStrategy.define(classLoader, packageName, typeName);
+                            this.definition = definition;
+                        }
+                        return definition;
+                    }
+                }
+            }
+        }
+
+        /**
+         * A report of a batched injection.
+         */
+        public static class Report {
+
+            /**
+             * The loaded types in their order of definition.
+             */
+            private final Map<String, Class<?>> loadedTypes;
+
+            /**
+             * The number of batches that were injected.
+             */
+            private final int batches;
+
+            /**
+             * The time spent for sorting the types in nanoseconds.
+             */
+            private final long sortingTime;
+
+            /**
+             * The time spent for resolving class injectors in nanoseconds.
+             */
+            private final long resolutionTime;
+
+            /**
+             * The time spent for defining the types in nanoseconds.
+             */
+            private final long definitionTime;
+
+            /**
+             * Creates a new report.
+             *
+             * @param loadedTypes    The loaded types in their order of definition.
+             * @param batches        The number of batches that were injected.
+             * @param sortingTime    The time spent for sorting the types in nanoseconds.
+             * @param resolutionTime The time spent for resolving class injectors in nanoseconds.
+             * @param definitionTime The time spent for defining the types in nanoseconds.
+             */
+            protected Report(Map<String, Class<?>> loadedTypes, int batches, long sortingTime, long resolutionTime, long definitionTime) {
+                this.loadedTypes = loadedTypes;
+                this.batches = batches;
+                this.sortingTime = sortingTime;
+                this.resolutionTime = resolutionTime;
+                this.definitionTime = definitionTime;
+            }
+
+            /**
+             * Returns the loaded types in their order of definition.
+             *
+             * @return The loaded types in their order of definition.
+             */
+            public Map<String, Class<?>> getLoadedTypes() {
+                return loadedTypes;
+            }
+
+            /**
+             * Returns the number of batches that were injected.
+             *
+             * @return The number of batches that were injected.
+             */
+            public int getBatches() {
+                return batches;
+            }
+
+            /**
+             * Returns the time spent for sorting the types.
+             *
+             * @param timeUnit The time unit to report the time in.
+             * @return The time spent for sorting the types.
+             */
+            public long getSortingTime(TimeUnit timeUnit) {
+                return timeUnit.convert(sortingTime, TimeUnit.NANOSECONDS);
+            }
+
+            /**
+             * Returns the time spent for resolving class injectors.
+             *
+             * @param timeUnit The time unit to report the time in.
+             * @return The time spent for resolving class injectors.
+             */
+            public long getResolutionTime(TimeUnit timeUnit) {
+                return timeUnit.convert(resolutionTime, TimeUnit.NANOSECONDS);
+            }
+
+            /**
+             * Returns the time spent for defining the types.
+             *
+             * @param timeUnit The time unit to report the time in.
+             * @return The time spent for defining the types.
+             */
+            public long getDefinitionTime(TimeUnit timeUnit) {
+                return timeUnit.convert(definitionTime, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
 }
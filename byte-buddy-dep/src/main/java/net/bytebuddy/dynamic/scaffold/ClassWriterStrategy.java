@@ -17,9 +17,16 @@ package net.bytebuddy.dynamic.scaffold;
 
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.pool.TypePool;
+import net.bytebuddy.utility.nullability.MaybeNull;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
 
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * A class writer strategy is responsible for the creation of a {@link ClassWriter} when creating a type.
  */
@@ -77,6 +84,52 @@ public interface ClassWriterStrategy {
         }
     }
 
+    /**
+     * <p>
+     * Class writer strategies that compute stack map frames incrementally by retaining a per-transformation cache of resolved
+     * types and of computed common super classes. As a class writer is only used for a single transformation, any type is
+     * resolved from the {@link TypePool} at most once and every pair of types is only compared once, regardless of how many
+     * frames of the created class need to be computed.
+     * </p>
+     * <p>
+     * <b>Important</b>: ASM computes frames for an entire method and not for individual code regions. When retaining the
+     * original class's constant pool, methods that are not altered by a transformation are however copied including their
+     * original stack map frames such that frames are only computed for methods into which code is inserted. For this, the
+     * code of such methods is not validated when redefining or rebasing a type, as it is retained from a valid class file.
+     * Methods that are visited by a registered {@link net.bytebuddy.asm.AsmVisitorWrapper} are not copied.
+     * </p>
+     */
+    enum Incremental implements ClassWriterStrategy {
+
+        /**
+         * A class writer strategy that retains the original class's constant pool if applicable. This allows ASM to copy
+         * methods that are not altered, including their original stack map frames, without computing them.
+         */
+        CONSTANT_POOL_RETAINING {
+            /** {@inheritDoc} */
+            public ClassWriter resolve(int flags, TypePool typePool, ClassReader classReader) {
+                return new CachingFrameComputingClassWriter(classReader, flags, typePool);
+            }
+        },
+
+        /**
+         * A class writer strategy that discards the original class's constant pool if applicable.
+         */
+        CONSTANT_POOL_DISCARDING {
+            /** {@inheritDoc} */
+            public ClassWriter resolve(int flags, TypePool typePool, ClassReader classReader) {
+                return resolve(flags, typePool);
+            }
+        };
+
+        /**
+         * {@inheritDoc}
+         */
+        public ClassWriter resolve(int flags, TypePool typePool) {
+            return new CachingFrameComputingClassWriter(flags, typePool);
+        }
+    }
+
     /**
      * A class writer that piggy-backs on Byte Buddy's {@link TypePool} to avoid class loading or look-up errors when redefining a class.
      * This is not available when creating a new class where automatic frame computation is however not normally a requirement.
@@ -115,8 +168,7 @@ public interface ClassWriterStrategy {
          * {@inheritDoc}
          */
         protected String getCommonSuperClass(String leftTypeName, String rightTypeName) {
-            TypeDescription leftType = typePool.describe(leftTypeName.replace('/', '.')).resolve();
-            TypeDescription rightType = typePool.describe(rightTypeName.replace('/', '.')).resolve();
+            TypeDescription leftType = describe(leftTypeName), rightType = describe(rightTypeName);
             if (leftType.isAssignableFrom(rightType)) {
                 return leftType.getInternalName();
             } else if (leftType.isAssignableTo(rightType)) {
@@ -134,5 +186,341 @@ public interface ClassWriterStrategy {
                 return leftType.getInternalName();
             }
         }
+
+        /**
+         * Describes a type by its internal name.
+         *
+         * @param internalName The internal name of the type to describe.
+         * @return A description of the type.
+         */
+        protected TypeDescription describe(String internalName) {
+            return typePool.describe(internalName.replace('/', '.')).resolve();
+        }
+    }
+
+    /**
+     * A frame computing class writer that retains a cache of any resolved type and any computed common super class. As a class
+     * writer is only used for a single transformation, the cache is discarded together with the writer.
+     */
+    class CachingFrameComputingClassWriter extends FrameComputingClassWriter {
+
+        /**
+         * A mapping of internal names to the types that were resolved for them.
+         */
+        private final Map<String, TypeDescription> types;
+
+        /**
+         * A mapping of pairs of internal names to the internal name of their common super class.
+         */
+        private final Map<String, String> commonSuperClasses;
+
+        /**
+         * Creates a new caching frame computing class writer.
+         *
+         * @param flags    The flags to be handed to the writer.
+         * @param typePool The type pool to use for computing stack map frames, if required.
+         */
+        public CachingFrameComputingClassWriter(int flags, TypePool typePool) {
+            super(flags, typePool);
+            types = new HashMap<String, TypeDescription>();
+            commonSuperClasses = new HashMap<String, String>();
+        }
+
+        /**
+         * Creates a new caching frame computing class writer.
+         *
+         * @param classReader The class reader from which the original class is read.
+         * @param flags       The flags to be handed to the writer.
+         * @param typePool    The type pool to use for computing stack map frames, if required.
+         */
+        public CachingFrameComputingClassWriter(ClassReader classReader, int flags, TypePool typePool) {
+            super(classReader, flags, typePool);
+            types = new HashMap<String, TypeDescription>();
+            commonSuperClasses = new HashMap<String, String>();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        protected String getCommonSuperClass(String leftTypeName, String rightTypeName) {
+            String key = toKey(leftTypeName, rightTypeName);
+            String commonSuperClass = commonSuperClasses.get(key);
+            if (commonSuperClass == null) {
+                commonSuperClass = super.getCommonSuperClass(leftTypeName, rightTypeName);
+                commonSuperClasses.put(key, commonSuperClass);
+            }
+            return commonSuperClass;
+        }
+
+        /**
+         * Creates a key for a pair of internal names that is independent of the pair's order. As a common super class is
+         * symmetric, both orders of a pair share the same key.
+         *
+         * @param leftTypeName  The internal name of the first type.
+         * @param rightTypeName The internal name of the second type.
+         * @return A key that represents the pair of internal names.
+         */
+        protected static String toKey(String leftTypeName, String rightTypeName) {
+            return leftTypeName.compareTo(rightTypeName) < 0
+                    ? leftTypeName + ';' + rightTypeName
+                    : rightTypeName + ';' + leftTypeName;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        protected TypeDescription describe(String internalName) {
+            TypeDescription typeDescription = types.get(internalName);
+            if (typeDescription == null) {
+                typeDescription = super.describe(internalName);
+                types.put(internalName, typeDescription);
+            }
+            return typeDescription;
+        }
+    }
+
+    /**
+     * <p>
+     * A class writer strategy that resolves common super classes for frame computation via a bounded cache that is shared by
+     * all class writers that this strategy creates. By reusing a single instance of this strategy, for example by registering
+     * it via {@link net.bytebuddy.ByteBuddy#with(ClassWriterStrategy)} for a {@link net.bytebuddy.build.Plugin.Engine}, type
+     * pairs that are frequently compared, such as exception or collection types, are only resolved once across all
+     * transformations. The cache is safe for concurrent use.
+     * </p>
+     * <p>
+     * <b>Important</b>: The cache is keyed by internal names only. A shared cache should therefore only be used for type pools
+     * that resolve a name to the same type, as it is the case for a build's class path.
+     * </p>
+     * <p>
+     * This strategy records the number of lookups, hits and evictions. Those counters are not reset if the cache is cleared.
+     * </p>
+     */
+    class ForSharedCache implements ClassWriterStrategy {
+
+        /**
+         * The default maximum number of common super classes to retain.
+         */
+        public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+        /**
+         * The maximum number of common super classes to retain.
+         */
+        private final int maximumSize;
+
+        /**
+         * {@code true} if the original class's constant pool should be retained if applicable.
+         */
+        private final boolean constantPoolRetaining;
+
+        /**
+         * The retained common super classes in the order of their last access. All access to this map must be synchronized on the map.
+         */
+        private final LinkedHashMap<String, String> commonSuperClasses;
+
+        /**
+         * The number of lookups.
+         */
+        private final AtomicLong lookups;
+
+        /**
+         * The number of cache hits.
+         */
+        private final AtomicLong hits;
+
+        /**
+         * The number of evicted common super classes.
+         */
+        private final AtomicLong evictions;
+
+        /**
+         * Creates a new class writer strategy with a shared cache of a default size that retains the original constant pool.
+         */
+        public ForSharedCache() {
+            this(DEFAULT_MAXIMUM_SIZE);
+        }
+
+        /**
+         * Creates a new class writer strategy with a shared cache that retains the original constant pool.
+         *
+         * @param maximumSize The maximum number of common super classes to retain.
+         */
+        public ForSharedCache(int maximumSize) {
+            this(maximumSize, true);
+        }
+
+        /**
+         * Creates a new class writer strategy with a shared cache.
+         *
+         * @param maximumSize           The maximum number of common super classes to retain.
+         * @param constantPoolRetaining {@code true} if the original class's constant pool should be retained if applicable.
+         */
+        public ForSharedCache(int maximumSize, boolean constantPoolRetaining) {
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+            }
+            this.maximumSize = maximumSize;
+            this.constantPoolRetaining = constantPoolRetaining;
+            commonSuperClasses = new LinkedHashMap<String, String>(16, 0.75f, true);
+            lookups = new AtomicLong();
+            hits = new AtomicLong();
+            evictions = new AtomicLong();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public ClassWriter resolve(int flags, TypePool typePool) {
+            return new CacheSharingClassWriter(flags, typePool, this);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public ClassWriter resolve(int flags, TypePool typePool, ClassReader classReader) {
+            return constantPoolRetaining
+                    ? new CacheSharingClassWriter(classReader, flags, typePool, this)
+                    : resolve(flags, typePool);
+        }
+
+        /**
+         * Looks up a common super class.
+         *
+         * @param key The key that represents the pair of compared types.
+         * @return The internal name of the common super class or {@code null} if it is not cached.
+         */
+        @MaybeNull
+        protected String lookup(String key) {
+            lookups.incrementAndGet();
+            String commonSuperClass;
+            synchronized (commonSuperClasses) {
+                commonSuperClass = commonSuperClasses.get(key);
+            }
+            if (commonSuperClass != null) {
+                hits.incrementAndGet();
+            }
+            return commonSuperClass;
+        }
+
+        /**
+         * Registers a common super class, possibly evicting the least recently used common super class.
+         *
+         * @param key              The key that represents the pair of compared types.
+         * @param commonSuperClass The internal name of the common super class.
+         */
+        protected void register(String key, String commonSuperClass) {
+            synchronized (commonSuperClasses) {
+                commonSuperClasses.put(key, commonSuperClass);
+                if (commonSuperClasses.size() > maximumSize) {
+                    Iterator<String> iterator = commonSuperClasses.keySet().iterator();
+                    iterator.next();
+                    iterator.remove();
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+
+        /**
+         * Returns the number of currently retained common super classes.
+         *
+         * @return The number of currently retained common super classes.
+         */
+        public int size() {
+            synchronized (commonSuperClasses) {
+                return commonSuperClasses.size();
+            }
+        }
+
+        /**
+         * Clears the cache.
+         */
+        public void clear() {
+            synchronized (commonSuperClasses) {
+                commonSuperClasses.clear();
+            }
+        }
+
+        /**
+         * Returns the number of common super classes that were looked up.
+         *
+         * @return The number of common super classes that were looked up.
+         */
+        public long getLookupCount() {
+            return lookups.get();
+        }
+
+        /**
+         * Returns the number of lookups that were served from the cache.
+         *
+         * @return The number of lookups that were served from the cache.
+         */
+        public long getHitCount() {
+            return hits.get();
+        }
+
+        /**
+         * Returns the number of common super classes that were resolved from a type pool.
+         *
+         * @return The number of common super classes that were resolved from a type pool.
+         */
+        public long getResolutionCount() {
+            return lookups.get() - hits.get();
+        }
+
+        /**
+         * Returns the number of common super classes that were evicted.
+         *
+         * @return The number of common super classes that were evicted.
+         */
+        public long getEvictionCount() {
+            return evictions.get();
+        }
+
+        /**
+         * A frame computing class writer that consults a shared cache before resolving a common super class.
+         */
+        protected static class CacheSharingClassWriter extends CachingFrameComputingClassWriter {
+
+            /**
+             * The class writer strategy that holds the shared cache.
+             */
+            private final ForSharedCache classWriterStrategy;
+
+            /**
+             * Creates a new frame computing class writer.
+             *
+             * @param flags               The flags to be handed to the writer.
+             * @param typePool            The type pool to use for computing stack map frames, if required.
+             * @param classWriterStrategy The class writer strategy that holds the shared cache.
+             */
+            protected CacheSharingClassWriter(int flags, TypePool typePool, ForSharedCache classWriterStrategy) {
+                super(flags, typePool);
+                this.classWriterStrategy = classWriterStrategy;
+            }
+
+            /**
+             * Creates a new frame computing class writer.
+             *
+             * @param classReader         The class reader from which the original class is read.
+             * @param flags               The flags to be handed to the writer.
+             * @param typePool            The type pool to use for computing stack map frames, if required.
+             * @param classWriterStrategy The class writer strategy that holds the shared cache.
+             */
+            protected CacheSharingClassWriter(ClassReader classReader, int flags, TypePool typePool, ForSharedCache classWriterStrategy) {
+                super(classReader, flags, typePool);
+                this.classWriterStrategy = classWriterStrategy;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            protected String getCommonSuperClass(String leftTypeName, String rightTypeName) {
+                String key = toKey(leftTypeName, rightTypeName), commonSuperClass = classWriterStrategy.lookup(key);
+                if (commonSuperClass == null) {
+                    commonSuperClass = super.getCommonSuperClass(leftTypeName, rightTypeName);
+                    classWriterStrategy.register(key, commonSuperClass);
+                }
+                return commonSuperClass;
+            }
+        }
     }
 }
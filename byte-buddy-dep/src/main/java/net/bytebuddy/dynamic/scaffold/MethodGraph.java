@@ -20,14 +20,19 @@ import net.bytebuddy.build.HashCodeAndEqualsPlugin;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.method.MethodList;
 import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.PackageDescription;
 import net.bytebuddy.description.type.TypeDefinition;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.FilterableList;
+import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.utility.nullability.MaybeNull;
 import org.objectweb.asm.Opcodes;
 
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
@@ -664,7 +669,18 @@ public interface MethodGraph {
              * {@inheritDoc}
              */
             public MethodGraph.Linked compile(TypeDefinition typeDefinition, TypeDescription viewPoint) {
-                Map<TypeDefinition, Key.Store<T>> snapshots = new HashMap<TypeDefinition, Key.Store<T>>();
+                return compile(typeDefinition, viewPoint, new HashMap<TypeDefinition, Key.Store<T>>());
+            }
+
+            /**
+             * Compiles the given type into a method graph.
+             *
+             * @param typeDefinition The type to be compiled.
+             * @param viewPoint      The view point that determines the method's visibility.
+             * @param snapshots      A map containing snapshots of key stores for previously analyzed types.
+             * @return A linked method graph representing the given type.
+             */
+            protected MethodGraph.Linked compile(TypeDefinition typeDefinition, TypeDescription viewPoint, Map<TypeDefinition, Key.Store<T>> snapshots) {
                 Key.Store<?> rootStore = doAnalyze(typeDefinition, snapshots, isVirtual().and(isVisibleTo(viewPoint)).and(matcher));
                 TypeDescription.Generic superClass = typeDefinition.getSuperClass();
                 List<TypeDescription.Generic> interfaceTypes = typeDefinition.getInterfaces();
@@ -1888,6 +1904,414 @@ public interface MethodGraph {
                     }
                 }
             }
+
+            /**
+             * <p>
+             * A default method graph compiler that memoizes the analysis of super classes and interfaces across compilations. When
+             * many types share the same super types, the method graph of these super types is only computed once. A super type is
+             * only memoized if its generic form does not reference a type variable and if all types it references are represented by
+             * loaded types or are described by a {@link net.bytebuddy.pool.TypePool}, such that non-generic and identically parameterized
+             * super types share a graph. Graphs are keyed by the identity of these loaded types or of the describing type pools such that
+             * types of an identical name that are defined by different class loaders or that are described by different type pools do not
+             * share a graph. As the visibility of package-private methods depends on the package of the compiled type, the graph of a
+             * super type is memoized per package.
+             * </p>
+             * <p>
+             * Memoization is only applied if a type is compiled from its own view point, as it is the case for instrumented types.
+             * The number of memoized graphs is bounded where the least recently used graph is discarded first. Graphs are softly
+             * referenced such that they can be collected if memory is scarce. A memoizing compiler can be registered via
+             * {@link net.bytebuddy.ByteBuddy#with(MethodGraph.Compiler)} and can therefore also be used by an
+             * {@link net.bytebuddy.agent.builder.AgentBuilder} that is created from such a {@link net.bytebuddy.ByteBuddy} instance.
+             * </p>
+             * <p>
+             * <b>Important</b>: Keys only weakly reference the loaded types and type pools, but the softly referenced graphs reference
+             * the descriptions of the analyzed super types. A class loader or type pool can therefore only be collected once its graphs
+             * are collected, evicted or discarded by {@link Memoizing#clear()}. Keys of collected types or type pools are never matched
+             * and are evicted as the least recently used keys. Graphs of pool-described types are only shared between compilations
+             * that resolve their types from the same type pool.
+             * </p>
+             *
+             * @param <T> The type of the harmonizer token to be used for linking methods of different types.
+             */
+            public static class Memoizing<T> extends Default<T> {
+
+                /**
+                 * The default maximum number of memoized graphs.
+                 */
+                public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+                /**
+                 * The maximum number of memoized graphs.
+                 */
+                private final int maximumSize;
+
+                /**
+                 * The memoized key stores. All access to this map must be synchronized on the map.
+                 */
+                private final LinkedHashMap<StorageKey, SoftReference<Key.Store<T>>> stores;
+
+                /**
+                 * The number of lookups of a memoized graph that were successful.
+                 */
+                private final AtomicLong hits;
+
+                /**
+                 * The number of lookups of a memoized graph that were not successful.
+                 */
+                private final AtomicLong misses;
+
+                /**
+                 * Creates a new memoizing method graph compiler.
+                 *
+                 * @param harmonizer  The harmonizer to be used.
+                 * @param merger      The merger to be used.
+                 * @param visitor     A visitor to apply to all type descriptions before analyzing their methods or resolving super types.
+                 * @param matcher     A matcher to filter methods from the graph.
+                 * @param maximumSize The maximum number of memoized graphs.
+                 */
+                public Memoizing(Harmonizer<T> harmonizer,
+                                 Merger merger,
+                                 TypeDescription.Generic.Visitor<? extends TypeDescription.Generic> visitor,
+                                 ElementMatcher<? super MethodDescription> matcher,
+                                 int maximumSize) {
+                    super(harmonizer, merger, visitor, matcher);
+                    if (maximumSize < 1) {
+                        throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+                    }
+                    this.maximumSize = maximumSize;
+                    stores = new LinkedHashMap<StorageKey, SoftReference<Key.Store<T>>>(16, 0.75f, true);
+                    hits = new AtomicLong();
+                    misses = new AtomicLong();
+                }
+
+                /**
+                 * Creates a memoizing compiler for a method hierarchy following the rules of the Java programming language.
+                 *
+                 * @return A memoizing compiler for resolving a method hierarchy following the rules of the Java programming language.
+                 * @see Default#forJavaHierarchy()
+                 */
+                public static Memoizing<Harmonizer.ForJavaMethod.Token> ofJavaHierarchy() {
+                    return ofJavaHierarchy(DEFAULT_MAXIMUM_SIZE);
+                }
+
+                /**
+                 * Creates a memoizing compiler for a method hierarchy following the rules of the Java programming language.
+                 *
+                 * @param maximumSize The maximum number of memoized graphs.
+                 * @return A memoizing compiler for resolving a method hierarchy following the rules of the Java programming language.
+                 * @see Default#forJavaHierarchy()
+                 */
+                public static Memoizing<Harmonizer.ForJavaMethod.Token> ofJavaHierarchy(int maximumSize) {
+                    return new Memoizing<Harmonizer.ForJavaMethod.Token>(Harmonizer.ForJavaMethod.INSTANCE,
+                            Merger.Directional.LEFT,
+                            TypeDescription.Generic.Visitor.Reifying.INITIATING,
+                            any(),
+                            maximumSize);
+                }
+
+                /**
+                 * Creates a memoizing compiler for a method hierarchy following the rules of the Java virtual machine.
+                 *
+                 * @return A memoizing compiler for resolving a method hierarchy following the rules of the Java virtual machine.
+                 * @see Default#forJVMHierarchy()
+                 */
+                public static Memoizing<Harmonizer.ForJVMMethod.Token> ofJVMHierarchy() {
+                    return ofJVMHierarchy(DEFAULT_MAXIMUM_SIZE);
+                }
+
+                /**
+                 * Creates a memoizing compiler for a method hierarchy following the rules of the Java virtual machine.
+                 *
+                 * @param maximumSize The maximum number of memoized graphs.
+                 * @return A memoizing compiler for resolving a method hierarchy following the rules of the Java virtual machine.
+                 * @see Default#forJVMHierarchy()
+                 */
+                public static Memoizing<Harmonizer.ForJVMMethod.Token> ofJVMHierarchy(int maximumSize) {
+                    return new Memoizing<Harmonizer.ForJVMMethod.Token>(Harmonizer.ForJVMMethod.INSTANCE,
+                            Merger.Directional.LEFT,
+                            TypeDescription.Generic.Visitor.Reifying.INITIATING,
+                            any(),
+                            maximumSize);
+                }
+
+                @Override
+                public MethodGraph.Linked compile(TypeDefinition typeDefinition, TypeDescription viewPoint) {
+                    PackageDescription packageDescription = viewPoint.getPackage();
+                    return packageDescription == null || !viewPoint.equals(typeDefinition.asErasure())
+                            ? super.compile(typeDefinition, viewPoint)
+                            : compile(typeDefinition, viewPoint, new Snapshots(packageDescription));
+                }
+
+                /**
+                 * Discards all memoized graphs.
+                 */
+                public void clear() {
+                    synchronized (stores) {
+                        stores.clear();
+                    }
+                }
+
+                /**
+                 * Returns the number of currently memoized graphs, including graphs that were already collected.
+                 *
+                 * @return The number of currently memoized graphs.
+                 */
+                public int size() {
+                    synchronized (stores) {
+                        return stores.size();
+                    }
+                }
+
+                /**
+                 * Returns the number of lookups of a memoized graph that were successful.
+                 *
+                 * @return The number of lookups of a memoized graph that were successful.
+                 */
+                public long getHitCount() {
+                    return hits.get();
+                }
+
+                /**
+                 * Returns the number of lookups of a memoized graph that were not successful.
+                 *
+                 * @return The number of lookups of a memoized graph that were not successful.
+                 */
+                public long getMissCount() {
+                    return misses.get();
+                }
+
+                /**
+                 * Determines if a super type can be memoized, i.e. if it does not reference any type variable and if all types it
+                 * references are represented by loaded types or are described by a type pool.
+                 *
+                 * @param typeDescription The type to check.
+                 * @return {@code true} if the supplied type can be memoized.
+                 */
+                protected static boolean isMemoizable(TypeDescription.Generic typeDescription) {
+                    return toOrigins(typeDescription) != null;
+                }
+
+                /**
+                 * Resolves the origins of all types that are referenced by a super type. The origin of a type is either the loaded
+                 * type that it represents or the type pool that describes it.
+                 *
+                 * @param typeDescription The type for which to resolve the origins of the referenced types.
+                 * @return A list of the origins of all types that are referenced by the supplied type or {@code null} if the type cannot be memoized.
+                 */
+                @MaybeNull
+                protected static List<Object> toOrigins(TypeDescription.Generic typeDescription) {
+                    List<Object> origins = new ArrayList<Object>();
+                    return resolve(typeDescription, origins)
+                            ? origins
+                            : null;
+                }
+
+                /**
+                 * Resolves the origins of all types that are referenced by a type.
+                 *
+                 * @param typeDescription The type for which to resolve the origins of the referenced types.
+                 * @param origins         The list to which any resolved origin is added.
+                 * @return {@code true} if the supplied type can be memoized.
+                 */
+                private static boolean resolve(TypeDescription.Generic typeDescription, List<Object> origins) {
+                    TypeDefinition.Sort sort = typeDescription.getSort();
+                    if (sort.isNonGeneric()) {
+                        return resolve(typeDescription.asErasure(), origins);
+                    } else if (sort.isParameterized()) {
+                        TypeDescription.Generic ownerType = typeDescription.getOwnerType();
+                        if (ownerType != null && !resolve(ownerType, origins)) {
+                            return false;
+                        }
+                        if (!resolve(typeDescription.asErasure(), origins)) {
+                            return false;
+                        }
+                        for (TypeDescription.Generic typeArgument : typeDescription.getTypeArguments()) {
+                            if (!resolve(typeArgument, origins)) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    } else if (sort.isWildcard()) {
+                        for (TypeDescription.Generic bound : typeDescription.getUpperBounds()) {
+                            if (!resolve(bound, origins)) {
+                                return false;
+                            }
+                        }
+                        for (TypeDescription.Generic bound : typeDescription.getLowerBounds()) {
+                            if (!resolve(bound, origins)) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    } else if (sort.isGenericArray()) {
+                        return resolve(typeDescription.getComponentType(), origins);
+                    } else {
+                        return false;
+                    }
+                }
+
+                /**
+                 * Resolves the origin of a non-generic type.
+                 *
+                 * @param typeDescription The type for which to resolve the origin.
+                 * @param origins         The list to which a resolved origin is added.
+                 * @return {@code true} if the supplied type can be memoized.
+                 */
+                private static boolean resolve(TypeDescription typeDescription, List<Object> origins) {
+                    if (typeDescription instanceof TypeDescription.ForLoadedType) {
+                        origins.add(((TypeDescription.ForLoadedType) typeDescription).getLoadedType());
+                        return true;
+                    } else if (typeDescription instanceof TypePool.Described) {
+                        origins.add(((TypePool.Described) typeDescription).getTypePool());
+                        return true;
+                    } else {
+                        return false;
+                    }
+                }
+
+                /**
+                 * A key for a memoized graph that weakly references the origins of the types that are referenced by a super type. A
+                 * key is only equal to another key if all origins are identical and not yet collected. As the key also considers the
+                 * super type's generic name, a type pool together with a type's name identifies the type.
+                 */
+                protected static class StorageKey {
+
+                    /**
+                     * The generic name of the memoized super type.
+                     */
+                    private final String typeName;
+
+                    /**
+                     * The name of the package of the compiled type.
+                     */
+                    private final String packageName;
+
+                    /**
+                     * Weak references to the origins of the types that are referenced by the memoized super type.
+                     */
+                    private final List<WeakReference<Object>> origins;
+
+                    /**
+                     * The hash code of this key which is computed upon construction as it must not change if a type is collected.
+                     */
+                    private final int hashCode;
+
+                    /**
+                     * Creates a new storage key.
+                     *
+                     * @param typeName    The generic name of the memoized super type.
+                     * @param packageName The name of the package of the compiled type.
+                     * @param origins     The origins of the types that are referenced by the memoized super type.
+                     */
+                    protected StorageKey(String typeName, String packageName, List<Object> origins) {
+                        this.typeName = typeName;
+                        this.packageName = packageName;
+                        this.origins = new ArrayList<WeakReference<Object>>(origins.size());
+                        int hashCode = typeName.hashCode() * 31 + packageName.hashCode();
+                        for (Object origin : origins) {
+                            this.origins.add(new WeakReference<Object>(origin));
+                            hashCode = hashCode * 31 + System.identityHashCode(origin);
+                        }
+                        this.hashCode = hashCode;
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return hashCode;
+                    }
+
+                    @Override
+                    public boolean equals(@MaybeNull Object other) {
+                        if (this == other) {
+                            return true;
+                        } else if (other == null || getClass() != other.getClass()) {
+                            return false;
+                        }
+                        StorageKey storageKey = (StorageKey) other;
+                        if (hashCode != storageKey.hashCode
+                                || !typeName.equals(storageKey.typeName)
+                                || !packageName.equals(storageKey.packageName)
+                                || origins.size() != storageKey.origins.size()) {
+                            return false;
+                        }
+                        for (int index = 0; index < origins.size(); index++) {
+                            Object origin = origins.get(index).get();
+                            if (origin == null || origin != storageKey.origins.get(index).get()) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }
+
+                /**
+                 * A map of snapshots of key stores that consults and populates the memoized graphs of the enclosing compiler.
+                 */
+                @SuppressFBWarnings(value = "SE_BAD_FIELD_INNER_CLASS", justification = "Snapshots are never serialized.")
+                protected class Snapshots extends HashMap<TypeDefinition, Key.Store<T>> {
+
+                    /**
+                     * The class's serial version UID.
+                     */
+                    private static final long serialVersionUID = 1L;
+
+                    /**
+                     * The package of the compiled type.
+                     */
+                    private final transient PackageDescription packageDescription;
+
+                    /**
+                     * Creates a new map of snapshots.
+                     *
+                     * @param packageDescription The package of the compiled type.
+                     */
+                    protected Snapshots(PackageDescription packageDescription) {
+                        this.packageDescription = packageDescription;
+                    }
+
+                    @Override
+                    @MaybeNull
+                    public Key.Store<T> get(Object key) {
+                        Key.Store<T> store = super.get(key);
+                        List<Object> origins;
+                        if (store == null
+                                && key instanceof TypeDescription.Generic
+                                && (origins = toOrigins((TypeDescription.Generic) key)) != null) {
+                            SoftReference<Key.Store<T>> reference;
+                            synchronized (stores) {
+                                reference = stores.get(new StorageKey(key.toString(), packageDescription.getName(), origins));
+                            }
+                            store = reference == null
+                                    ? null
+                                    : reference.get();
+                            if (store == null) {
+                                misses.incrementAndGet();
+                            } else {
+                                hits.incrementAndGet();
+                                super.put((TypeDefinition) key, store);
+                            }
+                        }
+                        return store;
+                    }
+
+                    @Override
+                    @MaybeNull
+                    public Key.Store<T> put(TypeDefinition key, Key.Store<T> store) {
+                        List<Object> origins;
+                        if (key instanceof TypeDescription.Generic && (origins = toOrigins((TypeDescription.Generic) key)) != null) {
+                            synchronized (stores) {
+                                stores.put(new StorageKey(key.toString(), packageDescription.getName(), origins), new SoftReference<Key.Store<T>>(store));
+                                if (stores.size() > maximumSize) {
+                                    Iterator<StorageKey> iterator = stores.keySet().iterator();
+                                    iterator.next();
+                                    iterator.remove();
+                                }
+                            }
+                        }
+                        return super.put(key, store);
+                    }
+                }
+            }
         }
     }
 
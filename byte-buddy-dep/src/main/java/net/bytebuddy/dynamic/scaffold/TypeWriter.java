@@ -2364,6 +2364,13 @@ public interface TypeWriter<T> {
             @UnknownNull
             private Constraint constraint;
 
+            /**
+             * The name and descriptor of a method whose code is retained from an original class file and that is currently
+             * visited or {@code null} if no such method is visited.
+             */
+            @MaybeNull
+            private String retainedMethod;
+
             /**
              * Creates a validating class visitor.
              *
@@ -2540,9 +2547,42 @@ public interface TypeWriter<T> {
                         !descriptor.startsWith(NO_PARAMETERS) || descriptor.endsWith(RETURNS_VOID),
                         signature != null);
                 MethodVisitor methodVisitor = super.visitMethod(modifiers, name, descriptor, signature, exceptionInternalName);
-                return methodVisitor == null
-                        ? IGNORE_METHOD
-                        : new ValidatingMethodVisitor(methodVisitor, name);
+                if (methodVisitor == null) {
+                    return IGNORE_METHOD;
+                } else if (retainedMethod != null && retainedMethod.equals(name + descriptor)) {
+                    return methodVisitor;
+                } else {
+                    return new ValidatingMethodVisitor(methodVisitor, name);
+                }
+            }
+
+            /**
+             * Visits a method whose code is retained from an original class file via the supplied class visitor which delegates
+             * to this class visitor. The method's declaration is validated but its code is not, as it was already valid for the
+             * original class file's version. Without a validating method visitor, ASM can copy the method's code including its
+             * stack map frames from the original class file if no other method visitor is registered.
+             *
+             * @param classVisitor          The class visitor which delegates to this class visitor.
+             * @param modifiers             The method's modifiers.
+             * @param name                  The method's internal name.
+             * @param descriptor            The method's descriptor.
+             * @param signature             The method's generic signature or {@code null} if the method is not generic.
+             * @param exceptionInternalName The method's declared exceptions or {@code null} if no exceptions are declared.
+             * @return A method visitor to visit the method or {@code null} if the method should not be visited.
+             */
+            @MaybeNull
+            protected MethodVisitor visitRetainedMethod(ClassVisitor classVisitor,
+                                                        int modifiers,
+                                                        String name,
+                                                        String descriptor,
+                                                        @MaybeNull String signature,
+                                                        @MaybeNull String[] exceptionInternalName) {
+                retainedMethod = name + descriptor;
+                try {
+                    return classVisitor.visitMethod(modifiers, name, descriptor, signature, exceptionInternalName);
+                } finally {
+                    retainedMethod = null;
+                }
             }
 
             /**
@@ -4927,6 +4967,13 @@ public interface TypeWriter<T> {
                      */
                     private boolean retainDeprecationModifiers;
 
+                    /**
+                     * The validating class visitor to which methods with retained code are reported or {@code null} if the code
+                     * of such methods is validated as any other code.
+                     */
+                    @MaybeNull
+                    private final ValidatingClassVisitor validatingClassVisitor;
+
                     /**
                      * Creates a class visitor which is capable of redefining an existent class on the fly.
                      *
@@ -4946,6 +4993,9 @@ public interface TypeWriter<T> {
                         this.contextRegistry = contextRegistry;
                         this.writerFlags = writerFlags;
                         this.readerFlags = readerFlags;
+                        validatingClassVisitor = classWriterStrategy instanceof ClassWriterStrategy.Incremental && classVisitor instanceof ValidatingClassVisitor
+                                ? (ValidatingClassVisitor) classVisitor
+                                : null;
                         declarableFields = new LinkedHashMap<SignatureKey, FieldDescription>((int) Math.ceil(fields.size() / 0.75));
                         for (FieldDescription fieldDescription : fields) {
                             declarableFields.put(new SignatureKey(fieldDescription.getInternalName(), fieldDescription.getDescriptor()), fieldDescription);
@@ -5181,7 +5231,7 @@ public interface TypeWriter<T> {
                         } else {
                             MethodDescription methodDescription = declarableMethods.remove(new SignatureKey(internalName, descriptor));
                             return methodDescription == null
-                                    ? cv.visitMethod(modifiers, internalName, descriptor, genericSignature, exceptionName)
+                                    ? retain(modifiers, internalName, descriptor, genericSignature, exceptionName)
                                     : redefine(methodDescription, (modifiers & Opcodes.ACC_ABSTRACT) != 0, modifiers, genericSignature);
                         }
                     }
@@ -5200,7 +5250,7 @@ public interface TypeWriter<T> {
                     protected MethodVisitor redefine(MethodDescription methodDescription, boolean abstractOrigin, int modifiers, @MaybeNull String genericSignature) {
                         MethodPool.Record record = methodPool.target(methodDescription);
                         if (!record.getSort().isDefined()) {
-                            return cv.visitMethod(methodDescription.getActualModifiers() | resolveDeprecationModifiers(modifiers),
+                            return retain(methodDescription.getActualModifiers() | resolveDeprecationModifiers(modifiers),
                                     methodDescription.getInternalName(),
                                     methodDescription.getDescriptor(),
                                     TypeDescription.AbstractBase.RAW_TYPES
@@ -5243,6 +5293,27 @@ public interface TypeWriter<T> {
                         }
                     }
 
+                    /**
+                     * Visits a method whose code is retained from the original class file.
+                     *
+                     * @param modifiers        The method's modifiers.
+                     * @param internalName     The method's internal name.
+                     * @param descriptor       The method's descriptor.
+                     * @param genericSignature The method's generic signature or {@code null} if the method is not generic.
+                     * @param exceptionName    The method's declared exceptions or {@code null} if no exceptions are declared.
+                     * @return A method visitor which is capable of consuming the original method.
+                     */
+                    @MaybeNull
+                    protected MethodVisitor retain(int modifiers,
+                                                   String internalName,
+                                                   String descriptor,
+                                                   @MaybeNull String genericSignature,
+                                                   @MaybeNull String[] exceptionName) {
+                        return validatingClassVisitor == null
+                                ? cv.visitMethod(modifiers, internalName, descriptor, genericSignature, exceptionName)
+                                : validatingClassVisitor.visitRetainedMethod(cv, modifiers, internalName, descriptor, genericSignature, exceptionName);
+                    }
+
                     @Override
                     protected void onVisitInnerClass(String internalName, @MaybeNull String outerName, @MaybeNull String innerName, int modifiers) {
                         if (!internalName.equals(instrumentedType.getInternalName())) {
@@ -24,11 +24,14 @@ import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.field.FieldList;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.description.modifier.FieldManifestation;
+import net.bytebuddy.description.modifier.Ownership;
 import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.description.type.TypeDefinition;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.description.type.TypeVariableToken;
 import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.TargetType;
 import net.bytebuddy.dynamic.scaffold.InstrumentedType;
 import net.bytebuddy.dynamic.scaffold.MethodGraph;
 import net.bytebuddy.dynamic.scaffold.TypeValidation;
@@ -40,11 +43,16 @@ import net.bytebuddy.implementation.bytecode.Duplication;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
 import net.bytebuddy.implementation.bytecode.TypeCreation;
 import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
+import net.bytebuddy.implementation.bytecode.constant.IntegerConstant;
+import net.bytebuddy.implementation.bytecode.constant.NullConstant;
 import net.bytebuddy.implementation.bytecode.member.FieldAccess;
 import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
 import net.bytebuddy.implementation.bytecode.member.MethodReturn;
 import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.utility.CompoundList;
 import net.bytebuddy.utility.RandomString;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 
@@ -52,7 +60,7 @@ import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.Callable;
 
-import static net.bytebuddy.matcher.ElementMatchers.isConstructor;
+import static net.bytebuddy.matcher.ElementMatchers.*;
 
 /**
  * A method call proxy represents a class that is compiled against a particular method which can then be called whenever
@@ -65,6 +73,12 @@ import static net.bytebuddy.matcher.ElementMatchers.isConstructor;
  * <li>If the target method is not {@code static}, the first argument should be an instance on which the method is called.</li>
  * <li>All arguments for the called method in the order in which they are required.</li>
  * </ol>
+ * <p>&nbsp;</p>
+ * Alternatively, a method call proxy can be defined to be reusable. A reusable proxy is not constructed but acquired from a
+ * static {@code acquire} method that accepts the same arguments as the constructor of a non-reusable proxy. This method returns
+ * a proxy instance that is retained per thread and reused for subsequent acquisitions once the proxy was invoked. If a thread's
+ * proxy is acquired but not yet invoked, as it is the case for a reentrant invocation, a new proxy is created and retained in its
+ * place. Upon its invocation, a reusable proxy releases its captured arguments.
  */
 @HashCodeAndEqualsPlugin.Enhance
 public class MethodCallProxy implements AuxiliaryType {
@@ -74,6 +88,21 @@ public class MethodCallProxy implements AuxiliaryType {
      */
     private static final String FIELD_NAME_PREFIX = "argument";
 
+    /**
+     * The name of the static field of a reusable proxy that holds the proxy instance of the current thread.
+     */
+    private static final String CURRENT_FIELD_NAME = "current";
+
+    /**
+     * The name of the field of a reusable proxy that indicates that the proxy was acquired but not yet invoked.
+     */
+    private static final String RESERVED_FIELD_NAME = "reserved";
+
+    /**
+     * The name of the static method of a reusable proxy that acquires a proxy instance.
+     */
+    private static final String ACQUIRE_METHOD_NAME = "acquire";
+
     /**
      * The special method invocation to invoke from the auxiliary type.
      */
@@ -90,6 +119,11 @@ public class MethodCallProxy implements AuxiliaryType {
      */
     private final Assigner assigner;
 
+    /**
+     * Determines if the generated proxy should be reusable.
+     */
+    private final boolean reusableProxy;
+
     /**
      * Creates a new method call proxy for a given method and uses a default assigner for assigning the method's return
      * value to either the {@link java.util.concurrent.Callable#call()} or {@link Runnable#run()} method returns.
@@ -111,9 +145,27 @@ public class MethodCallProxy implements AuxiliaryType {
      *                                return values.
      */
     public MethodCallProxy(Implementation.SpecialMethodInvocation specialMethodInvocation, boolean serializableProxy, Assigner assigner) {
+        this(specialMethodInvocation, serializableProxy, assigner, false);
+    }
+
+    /**
+     * Creates a new method call proxy for a given method.
+     *
+     * @param specialMethodInvocation The special method invocation which should be invoked by this method call proxy.
+     * @param serializableProxy       Determines if the generated proxy should be serializableProxy.
+     * @param assigner                An assigner for assigning the target method's return value to either the
+     *                                {@link java.util.concurrent.Callable#call()} or {@link Runnable#run()}} methods'
+     *                                return values.
+     * @param reusableProxy           Determines if the generated proxy should be reusable.
+     */
+    public MethodCallProxy(Implementation.SpecialMethodInvocation specialMethodInvocation,
+                           boolean serializableProxy,
+                           Assigner assigner,
+                           boolean reusableProxy) {
         this.specialMethodInvocation = specialMethodInvocation;
         this.serializableProxy = serializableProxy;
         this.assigner = assigner;
+        this.reusableProxy = reusableProxy;
     }
 
     /**
@@ -149,7 +201,7 @@ public class MethodCallProxy implements AuxiliaryType {
      * {@inheritDoc}
      */
     public String getSuffix() {
-        return RandomString.hashOf(specialMethodInvocation.getMethodDescription().hashCode()) + (serializableProxy ? "S" : "0");
+        return RandomString.hashOf(specialMethodInvocation.getMethodDescription().hashCode()) + (serializableProxy ? "S" : "0") + (reusableProxy ? "R" : "");
     }
 
     /**
@@ -166,13 +218,23 @@ public class MethodCallProxy implements AuxiliaryType {
                 .subclass(Object.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
                 .name(auxiliaryTypeName)
                 .modifiers(DEFAULT_TYPE_MODIFIER)
-                .implement(Runnable.class, Callable.class).intercept(new MethodCall(accessorMethod, assigner))
+                .implement(Runnable.class, Callable.class).intercept(new MethodCall(accessorMethod, assigner, reusableProxy))
                 .implement(serializableProxy ? new Class<?>[]{Serializable.class} : new Class<?>[0])
-                .defineConstructor().withParameters(parameterFields.values())
+                .defineConstructor().withParameters(reusableProxy
+                        ? Collections.<TypeDescription>emptyList()
+                        : parameterFields.values())
                 .intercept(ConstructorCall.INSTANCE);
         for (Map.Entry<String, TypeDescription> field : parameterFields.entrySet()) {
             builder = builder.defineField(field.getKey(), field.getValue(), Visibility.PRIVATE);
         }
+        if (reusableProxy) {
+            builder = builder.defineField(CURRENT_FIELD_NAME, ThreadLocal.class, Visibility.PRIVATE, Ownership.STATIC, FieldManifestation.FINAL)
+                    .defineField(RESERVED_FIELD_NAME, boolean.class, Visibility.PRIVATE)
+                    .initializer(ThreadLocalInitializer.INSTANCE)
+                    .defineMethod(ACQUIRE_METHOD_NAME, TargetType.class, Visibility.PUBLIC, Ownership.STATIC)
+                    .withParameters(parameterFields.values())
+                    .intercept(Acquisition.INSTANCE);
+        }
         return builder.make();
     }
 
@@ -313,16 +375,14 @@ public class MethodCallProxy implements AuxiliaryType {
              * {@inheritDoc}
              */
             public Size apply(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
-                FieldList<?> fieldList = instrumentedType.getDeclaredFields();
-                StackManipulation[] fieldLoading = new StackManipulation[fieldList.size()];
-                int index = 0;
-                for (FieldDescription fieldDescription : fieldList) {
+                FieldList<?> fieldList = instrumentedType.getDeclaredFields().filter(nameStartsWith(FIELD_NAME_PREFIX));
+                StackManipulation[] fieldLoading = new StackManipulation[instrumentedMethod.getParameters().size()];
+                for (int index = 0; index < fieldLoading.length; index++) {
                     fieldLoading[index] = new StackManipulation.Compound(
                             MethodVariableAccess.loadThis(),
                             MethodVariableAccess.load(instrumentedMethod.getParameters().get(index)),
-                            FieldAccess.forField(fieldDescription).write()
+                            FieldAccess.forField(fieldList.get(index)).write()
                     );
-                    index++;
                 }
                 StackManipulation.Size stackSize = new StackManipulation.Compound(
                         MethodVariableAccess.loadThis(),
@@ -351,6 +411,11 @@ public class MethodCallProxy implements AuxiliaryType {
          */
         private final Assigner assigner;
 
+        /**
+         * {@code true} if the implemented proxy is reusable and should release its arguments upon invocation.
+         */
+        private final boolean reusable;
+
         /**
          * Creates a new method call implementation.
          *
@@ -358,8 +423,20 @@ public class MethodCallProxy implements AuxiliaryType {
          * @param assigner       The assigner to be used for invoking the accessor method.
          */
         protected MethodCall(MethodDescription accessorMethod, Assigner assigner) {
+            this(accessorMethod, assigner, false);
+        }
+
+        /**
+         * Creates a new method call implementation.
+         *
+         * @param accessorMethod The method that is accessed by the implemented method.
+         * @param assigner       The assigner to be used for invoking the accessor method.
+         * @param reusable       {@code true} if the implemented proxy is reusable and should release its arguments upon invocation.
+         */
+        protected MethodCall(MethodDescription accessorMethod, Assigner assigner, boolean reusable) {
             this.accessorMethod = accessorMethod;
             this.assigner = assigner;
+            this.reusable = reusable;
         }
 
         /**
@@ -402,13 +479,27 @@ public class MethodCallProxy implements AuxiliaryType {
             public Size apply(MethodVisitor methodVisitor,
                               Context implementationContext,
                               MethodDescription instrumentedMethod) {
-                FieldList<?> fieldList = instrumentedType.getDeclaredFields();
+                FieldList<?> fieldList = instrumentedType.getDeclaredFields().filter(nameStartsWith(FIELD_NAME_PREFIX));
                 List<StackManipulation> fieldLoadings = new ArrayList<StackManipulation>(fieldList.size());
                 for (FieldDescription fieldDescription : fieldList) {
                     fieldLoadings.add(new StackManipulation.Compound(MethodVariableAccess.loadThis(), FieldAccess.forField(fieldDescription).read()));
                 }
+                List<StackManipulation> releases = new ArrayList<StackManipulation>();
+                if (reusable) {
+                    releases.add(new StackManipulation.Compound(MethodVariableAccess.loadThis(),
+                            IntegerConstant.forValue(false),
+                            FieldAccess.forField(instrumentedType.getDeclaredFields().filter(named(RESERVED_FIELD_NAME)).getOnly()).write()));
+                    for (FieldDescription fieldDescription : fieldList) {
+                        if (!fieldDescription.getType().isPrimitive()) {
+                            releases.add(new StackManipulation.Compound(MethodVariableAccess.loadThis(),
+                                    NullConstant.INSTANCE,
+                                    FieldAccess.forField(fieldDescription).write()));
+                        }
+                    }
+                }
                 StackManipulation.Size stackSize = new StackManipulation.Compound(
                         new StackManipulation.Compound(fieldLoadings),
+                        new StackManipulation.Compound(releases),
                         MethodInvocation.invoke(accessorMethod),
                         assigner.assign(accessorMethod.getReturnType(), instrumentedMethod.getReturnType(), Assigner.Typing.DYNAMIC),
                         MethodReturn.of(instrumentedMethod.getReturnType())
@@ -418,6 +509,135 @@ public class MethodCallProxy implements AuxiliaryType {
         }
     }
 
+    /**
+     * An initializer of the field of a reusable {@link net.bytebuddy.implementation.auxiliary.MethodCallProxy} that holds
+     * the proxy instance of the current thread.
+     */
+    protected enum ThreadLocalInitializer implements ByteCodeAppender {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        /**
+         * {@inheritDoc}
+         */
+        public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
+            StackManipulation.Size stackSize = new StackManipulation.Compound(
+                    TypeCreation.of(TypeDescription.ForLoadedType.of(ThreadLocal.class)),
+                    Duplication.SINGLE,
+                    MethodInvocation.invoke(TypeDescription.ForLoadedType.of(ThreadLocal.class).getDeclaredMethods().filter(isConstructor()).getOnly()),
+                    FieldAccess.forField(implementationContext.getInstrumentedType().getDeclaredFields().filter(named(CURRENT_FIELD_NAME)).getOnly()).write()
+            ).apply(methodVisitor, implementationContext);
+            return new Size(stackSize.getMaximalSize(), instrumentedMethod.getStackSize());
+        }
+    }
+
+    /**
+     * An implementation of the static method of a reusable {@link net.bytebuddy.implementation.auxiliary.MethodCallProxy}
+     * that acquires the current thread's proxy instance and assigns the supplied arguments to it. If the current thread's
+     * proxy instance was acquired but not yet invoked, or if no proxy instance exists for the current thread, a new
+     * proxy instance is created and retained for the current thread.
+     */
+    protected enum Acquisition implements Implementation {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        /**
+         * {@inheritDoc}
+         */
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            return instrumentedType;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public ByteCodeAppender appender(Target implementationTarget) {
+            return new Appender(implementationTarget.getInstrumentedType());
+        }
+
+        /**
+         * The appender for implementing the {@link net.bytebuddy.implementation.auxiliary.MethodCallProxy.Acquisition}.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        protected static class Appender implements ByteCodeAppender {
+
+            /**
+             * The instrumented type being created.
+             */
+            private final TypeDescription instrumentedType;
+
+            /**
+             * Creates a new appender.
+             *
+             * @param instrumentedType The instrumented type that is being created.
+             */
+            private Appender(TypeDescription instrumentedType) {
+                this.instrumentedType = instrumentedType;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
+                FieldDescription current = instrumentedType.getDeclaredFields().filter(named(CURRENT_FIELD_NAME)).getOnly();
+                FieldDescription reserved = instrumentedType.getDeclaredFields().filter(named(RESERVED_FIELD_NAME)).getOnly();
+                FieldList<?> fieldList = instrumentedType.getDeclaredFields().filter(nameStartsWith(FIELD_NAME_PREFIX));
+                TypeDescription threadLocal = TypeDescription.ForLoadedType.of(ThreadLocal.class);
+                List<TypeDescription> parameterTypes = instrumentedMethod.getParameters().asTypeList().asErasures();
+                int offset = instrumentedMethod.getStackSize();
+                Label create = new Label(), reserve = new Label();
+                StackManipulation.Size stackSize = new StackManipulation.Compound(
+                        FieldAccess.forField(current).read(),
+                        MethodInvocation.invoke(threadLocal.getDeclaredMethods().filter(named("get").and(takesArguments(0))).getOnly()),
+                        TypeCasting.to(instrumentedType),
+                        MethodVariableAccess.REFERENCE.storeAt(offset)
+                ).apply(methodVisitor, implementationContext);
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, offset);
+                methodVisitor.visitJumpInsn(Opcodes.IFNULL, create);
+                stackSize = stackSize.aggregate(new StackManipulation.Compound(
+                        MethodVariableAccess.REFERENCE.loadFrom(offset),
+                        FieldAccess.forField(reserved).read()
+                ).apply(methodVisitor, implementationContext));
+                methodVisitor.visitJumpInsn(Opcodes.IFEQ, reserve);
+                methodVisitor.visitLabel(create);
+                implementationContext.getFrameGeneration().append(methodVisitor, Collections.singletonList(instrumentedType), parameterTypes);
+                stackSize = stackSize.aggregate(new StackManipulation.Compound(
+                        TypeCreation.of(instrumentedType),
+                        Duplication.SINGLE,
+                        MethodInvocation.invoke(instrumentedType.getDeclaredMethods().filter(isConstructor()).getOnly()),
+                        MethodVariableAccess.REFERENCE.storeAt(offset),
+                        FieldAccess.forField(current).read(),
+                        MethodVariableAccess.REFERENCE.loadFrom(offset),
+                        MethodInvocation.invoke(threadLocal.getDeclaredMethods().filter(named("set").and(takesArguments(1))).getOnly())
+                ).apply(methodVisitor, implementationContext));
+                methodVisitor.visitLabel(reserve);
+                implementationContext.getFrameGeneration().same(methodVisitor, CompoundList.of(parameterTypes, instrumentedType));
+                List<StackManipulation> fieldAssignments = new ArrayList<StackManipulation>(fieldList.size());
+                for (int index = 0; index < fieldList.size(); index++) {
+                    fieldAssignments.add(new StackManipulation.Compound(
+                            MethodVariableAccess.REFERENCE.loadFrom(offset),
+                            MethodVariableAccess.load(instrumentedMethod.getParameters().get(index)),
+                            FieldAccess.forField(fieldList.get(index)).write()));
+                }
+                stackSize = stackSize.aggregate(new StackManipulation.Compound(
+                        MethodVariableAccess.REFERENCE.loadFrom(offset),
+                        IntegerConstant.forValue(true),
+                        FieldAccess.forField(reserved).write(),
+                        new StackManipulation.Compound(fieldAssignments),
+                        MethodVariableAccess.REFERENCE.loadFrom(offset),
+                        MethodReturn.REFERENCE
+                ).apply(methodVisitor, implementationContext));
+                return new Size(stackSize.getMaximalSize(), offset + 1);
+            }
+        }
+    }
+
     /**
      * A stack manipulation that creates a {@link net.bytebuddy.implementation.auxiliary.MethodCallProxy}
      * for a given method an pushes such an object onto the call stack. For this purpose, all arguments of the proxied method
@@ -437,6 +657,11 @@ public class MethodCallProxy implements AuxiliaryType {
          */
         private final boolean serializable;
 
+        /**
+         * Determines if the generated proxy should be reusable.
+         */
+        private final boolean reusable;
+
         /**
          * Creates an operand stack assignment that creates a
          * {@link net.bytebuddy.implementation.auxiliary.MethodCallProxy} for the
@@ -448,8 +673,25 @@ public class MethodCallProxy implements AuxiliaryType {
          */
         public AssignableSignatureCall(Implementation.SpecialMethodInvocation specialMethodInvocation,
                                        boolean serializable) {
+            this(specialMethodInvocation, serializable, false);
+        }
+
+        /**
+         * Creates an operand stack assignment that creates or, if reusable, acquires a
+         * {@link net.bytebuddy.implementation.auxiliary.MethodCallProxy} for the
+         * {@code targetMethod} and pushes this proxy object onto the stack.
+         *
+         * @param specialMethodInvocation The special method invocation which should be invoked by the created method
+         *                                call proxy.
+         * @param serializable            Determines if the generated proxy should be serializableProxy.
+         * @param reusable                Determines if the generated proxy should be reusable.
+         */
+        public AssignableSignatureCall(Implementation.SpecialMethodInvocation specialMethodInvocation,
+                                       boolean serializable,
+                                       boolean reusable) {
             this.specialMethodInvocation = specialMethodInvocation;
             this.serializable = serializable;
+            this.reusable = reusable;
         }
 
         /**
@@ -457,8 +699,13 @@ public class MethodCallProxy implements AuxiliaryType {
          */
         public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
             TypeDescription auxiliaryType = implementationContext
-                    .register(new MethodCallProxy(specialMethodInvocation, serializable));
-            return new Compound(
+                    .register(new MethodCallProxy(specialMethodInvocation, serializable, Assigner.DEFAULT, reusable));
+            return reusable
+                    ? new Compound(
+                    MethodVariableAccess.allArgumentsOf(specialMethodInvocation.getMethodDescription()).prependThisReference(),
+                    MethodInvocation.invoke(auxiliaryType.getDeclaredMethods().filter(named(ACQUIRE_METHOD_NAME)).getOnly())
+            ).apply(methodVisitor, implementationContext)
+                    : new Compound(
                     TypeCreation.of(auxiliaryType),
                     Duplication.SINGLE,
                     MethodVariableAccess.allArgumentsOf(specialMethodInvocation.getMethodDescription()).prependThisReference(),
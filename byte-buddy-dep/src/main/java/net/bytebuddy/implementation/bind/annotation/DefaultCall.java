@@ -75,6 +75,17 @@ public @interface DefaultCall {
      */
     boolean nullIfImpossible() default false;
 
+    /**
+     * Determines if the proxy should be reused. A reusable proxy is retained per thread such that the intercepted method does not
+     * allocate a proxy if the previously acquired proxy of the current thread was invoked, as it is the case when an interceptor
+     * proceeds with the intercepted method. A new proxy is only created for a reentrant invocation or if a previously acquired
+     * proxy was not invoked. A reusable proxy must only be invoked once and only on the intercepting thread before the interceptor
+     * returns. It must not be retained as it is reassigned for subsequent invocations of the intercepted method.
+     *
+     * @return {@code true} if the proxy should be reused.
+     */
+    boolean reusableProxy() default false;
+
     /**
      * A binder for handling the {@link DefaultCall} annotation.
      *
@@ -102,6 +113,11 @@ public @interface DefaultCall {
          */
         private static final MethodDescription.InDefinedShape NULL_IF_IMPOSSIBLE;
 
+        /**
+         * A reference to the reusable proxy method of the default call annotation.
+         */
+        private static final MethodDescription.InDefinedShape REUSABLE_PROXY;
+
         /*
          * Looks up method constants of the default call annotation.
          */
@@ -110,6 +126,7 @@ public @interface DefaultCall {
             TARGET_TYPE = annotationProperties.filter(named("targetType")).getOnly();
             SERIALIZABLE_PROXY = annotationProperties.filter(named("serializableProxy")).getOnly();
             NULL_IF_IMPOSSIBLE = annotationProperties.filter(named("nullIfImpossible")).getOnly();
+            REUSABLE_PROXY = annotationProperties.filter(named("reusableProxy")).getOnly();
         }
 
         /**
@@ -142,7 +159,9 @@ public @interface DefaultCall {
                     : new DefaultMethodLocator.Explicit(typeDescription)).resolve(implementationTarget, source).withCheckedCompatibilityTo(source.asTypeToken());
             StackManipulation stackManipulation;
             if (specialMethodInvocation.isValid()) {
-                stackManipulation = new MethodCallProxy.AssignableSignatureCall(specialMethodInvocation, annotation.getValue(SERIALIZABLE_PROXY).resolve(Boolean.class));
+                stackManipulation = new MethodCallProxy.AssignableSignatureCall(specialMethodInvocation,
+                        annotation.getValue(SERIALIZABLE_PROXY).resolve(Boolean.class),
+                        annotation.getValue(REUSABLE_PROXY).resolve(Boolean.class));
             } else if (annotation.getValue(NULL_IF_IMPOSSIBLE).resolve(Boolean.class)) {
                 stackManipulation = NullConstant.INSTANCE;
             } else {
@@ -70,6 +70,17 @@ public @interface SuperCall {
      */
     boolean nullIfImpossible() default false;
 
+    /**
+     * Determines if the proxy should be reused. A reusable proxy is retained per thread such that the intercepted method does not
+     * allocate a proxy if the previously acquired proxy of the current thread was invoked, as it is the case when an interceptor
+     * proceeds with the intercepted method. A new proxy is only created for a reentrant invocation or if a previously acquired
+     * proxy was not invoked. A reusable proxy must only be invoked once and only on the intercepting thread before the interceptor
+     * returns. It must not be retained as it is reassigned for subsequent invocations of the intercepted method.
+     *
+     * @return {@code true} if the proxy should be reused.
+     */
+    boolean reusableProxy() default false;
+
     /**
      * A binder for handling the
      * {@link net.bytebuddy.implementation.bind.annotation.SuperCall}
@@ -99,6 +110,11 @@ public @interface SuperCall {
          */
         private static final MethodDescription.InDefinedShape NULL_IF_IMPOSSIBLE;
 
+        /**
+         * A description of the {@link SuperCall#reusableProxy()} method.
+         */
+        private static final MethodDescription.InDefinedShape REUSABLE_PROXY;
+
         /*
          * Resolves annotation properties.
          */
@@ -107,6 +123,7 @@ public @interface SuperCall {
             SERIALIZABLE_PROXY = methods.filter(named("serializableProxy")).getOnly();
             FALLBACK_TO_DEFAULT = methods.filter(named("fallbackToDefault")).getOnly();
             NULL_IF_IMPOSSIBLE = methods.filter(named("nullIfImpossible")).getOnly();
+            REUSABLE_PROXY = methods.filter(named("reusableProxy")).getOnly();
         }
 
         /**
@@ -138,7 +155,9 @@ public @interface SuperCall {
                     : implementationTarget.invokeSuper(source.asSignatureToken())).withCheckedCompatibilityTo(source.asTypeToken());
             StackManipulation stackManipulation;
             if (specialMethodInvocation.isValid()) {
-                stackManipulation = new MethodCallProxy.AssignableSignatureCall(specialMethodInvocation, annotation.getValue(SERIALIZABLE_PROXY).resolve(Boolean.class));
+                stackManipulation = new MethodCallProxy.AssignableSignatureCall(specialMethodInvocation,
+                        annotation.getValue(SERIALIZABLE_PROXY).resolve(Boolean.class),
+                        annotation.getValue(REUSABLE_PROXY).resolve(Boolean.class));
             } else if (annotation.getValue(NULL_IF_IMPOSSIBLE).resolve(Boolean.class)) {
                 stackManipulation = NullConstant.INSTANCE;
             } else {
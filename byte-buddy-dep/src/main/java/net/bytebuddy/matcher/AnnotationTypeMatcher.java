@@ -41,6 +41,15 @@ public class AnnotationTypeMatcher<T extends AnnotationDescription> extends Elem
         this.matcher = matcher;
     }
 
+    /**
+     * Returns the type matcher to apply to an annotation's type.
+     *
+     * @return The type matcher to apply to an annotation's type.
+     */
+    ElementMatcher<? super TypeDescription> getMatcher() {
+        return matcher;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -17,10 +17,14 @@ package net.bytebuddy.matcher;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import net.bytebuddy.build.HashCodeAndEqualsPlugin;
+import net.bytebuddy.description.type.TypeDefinition;
 import net.bytebuddy.utility.nullability.MaybeNull;
 
+import java.lang.ref.WeakReference;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A matcher that remembers the results of previously matching an equal target.
@@ -129,5 +133,273 @@ public class CachingMatcher<T> extends ElementMatcher.Junction.AbstractBase<T> {
             return super.onCacheMiss(target);
         }
     }
+
+    /**
+     * <p>
+     * A caching matcher that retains a bounded number of results where the least recently used result is evicted first. Targets
+     * are translated into cache keys by a {@link KeyFunction} what allows to cache results by identity or by type name rather
+     * than by the target's equality. Cache lookups are recorded and exposed as statistics.
+     * </p>
+     * <p>
+     * <b>Important</b>: Unless a key function is used that does not reference the matched target, up to {@code capacity} targets
+     * are referenced strongly by this matcher.
+     * </p>
+     *
+     * @param <S> The actual matched type of this matcher.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    public static class Bounded<S> extends ElementMatcher.Junction.AbstractBase<S> {
+
+        /**
+         * The underlying matcher to apply for non-cached targets.
+         */
+        private final ElementMatcher<? super S> matcher;
+
+        /**
+         * The key function to use for translating a target into a cache key.
+         */
+        private final KeyFunction<? super S> keyFunction;
+
+        /**
+         * The maximum number of cached results.
+         */
+        private final int capacity;
+
+        /**
+         * The cached results in the order of their last use. All access to this map must be synchronized on the map.
+         */
+        @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+        private final LinkedHashMap<Object, Boolean> cache;
+
+        /**
+         * The number of matches that were resolved from the cache.
+         */
+        @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+        private final AtomicLong hits;
+
+        /**
+         * The number of matches that were not resolved from the cache.
+         */
+        @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+        private final AtomicLong misses;
+
+        /**
+         * The number of results that were evicted from the cache.
+         */
+        @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+        private final AtomicLong evictions;
+
+        /**
+         * Creates a new bounded caching matcher.
+         *
+         * @param matcher     The underlying matcher to apply for non-cached targets.
+         * @param keyFunction The key function to use for translating a target into a cache key.
+         * @param capacity    The maximum number of cached results.
+         */
+        public Bounded(ElementMatcher<? super S> matcher, KeyFunction<? super S> keyFunction, int capacity) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("Capacity must be a positive number: " + capacity);
+            }
+            this.matcher = matcher;
+            this.keyFunction = keyFunction;
+            this.capacity = capacity;
+            cache = new LinkedHashMap<Object, Boolean>(16, 0.75f, true);
+            hits = new AtomicLong();
+            misses = new AtomicLong();
+            evictions = new AtomicLong();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean matches(@MaybeNull S target) {
+            Object key = target == null
+                    ? NULL_VALUE
+                    : keyFunction.toKey(target);
+            Boolean cached;
+            synchronized (cache) {
+                cached = cache.get(key);
+            }
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            misses.incrementAndGet();
+            boolean matched = matcher.matches(target);
+            synchronized (cache) {
+                cache.put(key, matched);
+                if (cache.size() > capacity) {
+                    Iterator<Object> iterator = cache.keySet().iterator();
+                    iterator.next();
+                    iterator.remove();
+                    evictions.incrementAndGet();
+                }
+            }
+            return matched;
+        }
+
+        /**
+         * Removes all cached results.
+         */
+        public void clear() {
+            synchronized (cache) {
+                cache.clear();
+            }
+        }
+
+        /**
+         * Returns the number of currently cached results.
+         *
+         * @return The number of currently cached results.
+         */
+        public int size() {
+            synchronized (cache) {
+                return cache.size();
+            }
+        }
+
+        /**
+         * Returns the number of matches that were resolved from the cache.
+         *
+         * @return The number of matches that were resolved from the cache.
+         */
+        public long getHitCount() {
+            return hits.get();
+        }
+
+        /**
+         * Returns the number of matches that were not resolved from the cache.
+         *
+         * @return The number of matches that were not resolved from the cache.
+         */
+        public long getMissCount() {
+            return misses.get();
+        }
+
+        /**
+         * Returns the number of results that were evicted from the cache.
+         *
+         * @return The number of results that were evicted from the cache.
+         */
+        public long getEvictionCount() {
+            return evictions.get();
+        }
+
+        @Override
+        public String toString() {
+            return "cached(" + matcher + ", " + capacity + ")";
+        }
+    }
+
+    /**
+     * A key function translates a matched target into the key of a {@link Bounded} caching matcher.
+     *
+     * @param <T> The type of the matched target.
+     */
+    public interface KeyFunction<T> {
+
+        /**
+         * Translates a target into a cache key. Two targets with equal keys are considered to yield the same result.
+         *
+         * @param target The matched target.
+         * @return The key to use for caching the result of matching the target.
+         */
+        Object toKey(T target);
+
+        /**
+         * A key function that uses the target as a key such that equal targets share a result.
+         */
+        enum ForEquality implements KeyFunction<Object> {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            public Object toKey(Object target) {
+                return target;
+            }
+        }
+
+        /**
+         * A key function that only shares results for identical targets. Targets are referenced weakly such that a cache entry
+         * does not prevent the garbage collection of its target. Entries of collected targets are never hit again and are
+         * eventually evicted.
+         */
+        enum ForIdentity implements KeyFunction<Object> {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            public Object toKey(Object target) {
+                return new IdentityKey(target);
+            }
+
+            /**
+             * A key that represents a weakly referenced target by its identity.
+             */
+            protected static class IdentityKey extends WeakReference<Object> {
+
+                /**
+                 * The identity hash code of the referenced target.
+                 */
+                private final int hashCode;
+
+                /**
+                 * Creates a new identity key.
+                 *
+                 * @param target The represented target.
+                 */
+                protected IdentityKey(Object target) {
+                    super(target);
+                    hashCode = System.identityHashCode(target);
+                }
+
+                @Override
+                public int hashCode() {
+                    return hashCode;
+                }
+
+                @Override
+                public boolean equals(@MaybeNull Object other) {
+                    if (this == other) {
+                        return true;
+                    } else if (other == null || other.getClass() != getClass()) {
+                        return false;
+                    }
+                    Object target = get();
+                    return target != null && target == ((IdentityKey) other).get();
+                }
+            }
+        }
+
+        /**
+         * A key function that uses a type's name as a key such that different representations of the same type share a
+         * result. The key does not reference the target such that a cache entry does not prevent the garbage collection of
+         * a type or its class loader. Types of the same name that are defined by different class loaders share a result.
+         */
+        enum ForTypeName implements KeyFunction<TypeDefinition> {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            public Object toKey(TypeDefinition target) {
+                return target.getTypeName();
+            }
+        }
+    }
 }
 
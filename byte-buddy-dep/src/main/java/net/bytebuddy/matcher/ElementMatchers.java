@@ -111,6 +111,40 @@ public final class ElementMatchers {
         return new CachingMatcher.WithInlineEviction<T>(matcher, new ConcurrentHashMap<T, Boolean>(), evictionSize);
     }
 
+    /**
+     * <p>
+     * Wraps another matcher but caches the result of previously matched elements within a cache of bounded capacity where
+     * the least recently used result is evicted first. The returned matcher exposes statistics on its cache use.
+     * </p>
+     * <p>
+     * <b>Warning</b>: Depending on the supplied key function, up to {@code capacity} elements are referenced strongly.
+     * </p>
+     *
+     * @param matcher     The actual matcher for which the results are cached.
+     * @param keyFunction The key function that translates a matched element into a cache key.
+     * @param capacity    The maximum amount of results that are stored in the cache. Must be a positive number.
+     * @param <T>         The type of the matched object.
+     * @return A matcher that stores the results of a previous matching in a bounded cache.
+     */
+    public static <T> CachingMatcher.Bounded<T> cached(ElementMatcher<? super T> matcher, CachingMatcher.KeyFunction<? super T> keyFunction, int capacity) {
+        return new CachingMatcher.Bounded<T>(matcher, keyFunction, capacity);
+    }
+
+    /**
+     * Wraps another matcher but caches the result of previously matched types by their type name within a cache of bounded
+     * capacity where the least recently used result is evicted first. Different representations of the same type share a
+     * result and the cache does not reference the matched types. Types of the same name that are defined by different class
+     * loaders do however share a result, too.
+     *
+     * @param matcher  The actual matcher for which the results are cached.
+     * @param capacity The maximum amount of results that are stored in the cache. Must be a positive number.
+     * @param <T>      The type of the matched object.
+     * @return A matcher that stores the results of a previous matching in a bounded cache.
+     */
+    public static <T extends TypeDefinition> CachingMatcher.Bounded<T> cachedByName(ElementMatcher<? super T> matcher, int capacity) {
+        return new CachingMatcher.Bounded<T>(matcher, CachingMatcher.KeyFunction.ForTypeName.INSTANCE, capacity);
+    }
+
     /**
      * Matches the given value which can also be {@code null} by the {@link java.lang.Object#equals(Object)} method or
      * by a null-check.
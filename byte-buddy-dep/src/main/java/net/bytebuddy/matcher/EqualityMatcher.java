@@ -40,6 +40,15 @@ public class EqualityMatcher<T> extends ElementMatcher.Junction.AbstractBase<T>
         this.value = value;
     }
 
+    /**
+     * Returns the object that is checked to be equal to the matched value.
+     *
+     * @return The object that is checked to be equal to the matched value.
+     */
+    Object getValue() {
+        return value;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,705 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.build.HashCodeAndEqualsPlugin;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.utility.ConstantPoolScanner;
+import net.bytebuddy.utility.nullability.MaybeNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>
+ * A type prefilter is a conservative approximation of a type matcher that is evaluated on a type's binary name and on its
+ * class file without describing the type. If a type is not considered a candidate, the approximated matcher is guaranteed
+ * to not match the type. A candidate type is, however, not guaranteed to be matched.
+ * </p>
+ * <p>
+ * A prefilter is compiled from an element matcher by the {@link Compiler} which extracts exact names and name prefixes as well
+ * as the types of declared annotations from a matcher. Any other matcher is approximated by considering all types candidates.
+ * </p>
+ */
+public interface TypePrefilter {
+
+    /**
+     * Determines if a type is a candidate for being matched by the approximated matcher.
+     *
+     * @param name                 The binary name of the type.
+     * @param binaryRepresentation The type's class file.
+     * @return {@code true} if the type is a candidate for being matched.
+     */
+    boolean isCandidate(String name, byte[] binaryRepresentation);
+
+    /**
+     * Returns {@code true} if this prefilter considers any type a candidate such that its application cannot exclude a type.
+     *
+     * @return {@code true} if this prefilter considers any type a candidate.
+     */
+    boolean isUnconstrained();
+
+    /**
+     * A trivial prefilter.
+     */
+    enum Trivial implements TypePrefilter {
+
+        /**
+         * A prefilter that considers any type a candidate.
+         */
+        CANDIDATE(true),
+
+        /**
+         * A prefilter that does not consider any type a candidate.
+         */
+        NON_CANDIDATE(false);
+
+        /**
+         * {@code true} if any type is considered a candidate.
+         */
+        private final boolean candidate;
+
+        /**
+         * Creates a new trivial prefilter.
+         *
+         * @param candidate {@code true} if any type is considered a candidate.
+         */
+        Trivial(boolean candidate) {
+            this.candidate = candidate;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isCandidate(String name, byte[] binaryRepresentation) {
+            return candidate;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isUnconstrained() {
+            return candidate;
+        }
+    }
+
+    /**
+     * A prefilter that considers types candidates if their name is contained in a set of names or if it starts with
+     * any of a set of prefixes.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    class ForNames implements TypePrefilter {
+
+        /**
+         * The names of the types that are considered candidates.
+         */
+        private final Set<String> names;
+
+        /**
+         * The prefixes of the names of the types that are considered candidates.
+         */
+        private final Set<String> prefixes;
+
+        /**
+         * Creates a new prefilter for names.
+         *
+         * @param names    The names of the types that are considered candidates.
+         * @param prefixes The prefixes of the names of the types that are considered candidates.
+         */
+        public ForNames(Set<String> names, Set<String> prefixes) {
+            this.names = names;
+            this.prefixes = prefixes;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isCandidate(String name, byte[] binaryRepresentation) {
+            if (names.contains(name)) {
+                return true;
+            }
+            for (String prefix : prefixes) {
+                if (name.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isUnconstrained() {
+            return prefixes.contains("");
+        }
+    }
+
+    /**
+     * An abstract base implementation of a prefilter that evaluates a type's class file. The class file is scanned at most once,
+     * also if several prefilters of a conjunction or disjunction consider it.
+     */
+    abstract class OfClassFile implements TypePrefilter {
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isCandidate(String name, byte[] binaryRepresentation) {
+            return isCandidate(name, new Scan(binaryRepresentation));
+        }
+
+        /**
+         * Determines if a type is a candidate for being matched by the approximated matcher.
+         *
+         * @param name The binary name of the type.
+         * @param scan The scan of the type's class file.
+         * @return {@code true} if the type is a candidate for being matched.
+         */
+        protected abstract boolean isCandidate(String name, Scan scan);
+
+        /**
+         * Determines if a type is a candidate for a prefilter, reusing the scan of a type's class file if the prefilter evaluates it.
+         *
+         * @param prefilter The prefilter to apply.
+         * @param name      The binary name of the type.
+         * @param scan      The scan of the type's class file.
+         * @return {@code true} if the type is a candidate for being matched.
+         */
+        protected static boolean isCandidate(TypePrefilter prefilter, String name, Scan scan) {
+            return prefilter instanceof OfClassFile
+                    ? ((OfClassFile) prefilter).isCandidate(name, scan)
+                    : prefilter.isCandidate(name, scan.getBinaryRepresentation());
+        }
+
+        /**
+         * A lazy scan of a class file's constant pool which is shared among all prefilters that are applied to a type.
+         */
+        protected static class Scan {
+
+            /**
+             * The type's class file.
+             */
+            private final byte[] binaryRepresentation;
+
+            /**
+             * The constant pool scanner or {@code null} if the class file was not yet scanned or cannot be scanned.
+             */
+            @MaybeNull
+            private ConstantPoolScanner scanner;
+
+            /**
+             * {@code true} if the class file was already scanned.
+             */
+            private boolean scanned;
+
+            /**
+             * Creates a new scan.
+             *
+             * @param binaryRepresentation The type's class file.
+             */
+            protected Scan(byte[] binaryRepresentation) {
+                this.binaryRepresentation = binaryRepresentation;
+            }
+
+            /**
+             * Returns the type's class file.
+             *
+             * @return The type's class file.
+             */
+            protected byte[] getBinaryRepresentation() {
+                return binaryRepresentation;
+            }
+
+            /**
+             * Resolves a scanner for the class file's constant pool, scanning the class file upon the first invocation.
+             *
+             * @return The constant pool scanner or {@code null} if the class file cannot be scanned.
+             */
+            @MaybeNull
+            protected ConstantPoolScanner resolve() {
+                if (!scanned) {
+                    scanned = true;
+                    try {
+                        scanner = ConstantPoolScanner.of(binaryRepresentation);
+                    } catch (IllegalArgumentException ignored) {
+                        scanner = null;
+                    }
+                }
+                return scanner;
+            }
+        }
+    }
+
+    /**
+     * A prefilter that considers types candidates if the constant pool of their class file mentions any of a set of descriptors.
+     * If a descriptor is not contained in the constant pool, the represented type cannot be referenced, for example as the type
+     * of an annotation. If a class file cannot be scanned, its type is considered a candidate.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    class ForMentionedDescriptors extends OfClassFile {
+
+        /**
+         * The descriptors of which any must be mentioned for a type to be considered a candidate.
+         */
+        private final Set<String> descriptors;
+
+        /**
+         * Creates a new prefilter for mentioned descriptors.
+         *
+         * @param descriptors The descriptors of which any must be mentioned for a type to be considered a candidate.
+         */
+        public ForMentionedDescriptors(Set<String> descriptors) {
+            this.descriptors = descriptors;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        protected boolean isCandidate(String name, Scan scan) {
+            ConstantPoolScanner scanner = scan.resolve();
+            if (scanner == null) {
+                return true;
+            }
+            for (String descriptor : descriptors) {
+                if (scanner.mentionsDescriptor(descriptor)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isUnconstrained() {
+            return descriptors.contains("");
+        }
+    }
+
+    /**
+     * A prefilter that considers types candidates if the constant pool of their class file references any of a set of types,
+     * either as a member type, as an annotation type or as the owner of an accessed field or method. If a class file cannot
+     * be scanned, its type is considered a candidate.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    class ForMentionedTypes extends OfClassFile {
+
+        /**
+         * The internal names of the types of which any must be mentioned for a type to be considered a candidate.
+         */
+        private final Set<String> internalNames;
+
+        /**
+         * Creates a new prefilter for mentioned types.
+         *
+         * @param internalNames The internal names of the types of which any must be mentioned for a type to be considered a candidate.
+         */
+        public ForMentionedTypes(Set<String> internalNames) {
+            this.internalNames = internalNames;
+        }
+
+        /**
+         * Creates a prefilter for types that mention any of the supplied types.
+         *
+         * @param type The types of which any must be mentioned for a type to be considered a candidate.
+         * @return An appropriate prefilter.
+         */
+        public static TypePrefilter of(Class<?>... type) {
+            Set<String> internalNames = new LinkedHashSet<String>();
+            for (Class<?> aType : type) {
+                internalNames.add(aType.getName().replace('.', '/'));
+            }
+            return new ForMentionedTypes(internalNames);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        protected boolean isCandidate(String name, Scan scan) {
+            ConstantPoolScanner scanner = scan.resolve();
+            if (scanner == null) {
+                return true;
+            }
+            for (String internalName : internalNames) {
+                if (scanner.mentionsType(internalName)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isUnconstrained() {
+            return false;
+        }
+    }
+
+    /**
+     * A prefilter that considers a type a candidate if all of its prefilters consider the type a candidate.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    class Conjunction extends OfClassFile {
+
+        /**
+         * The prefilters to apply.
+         */
+        private final List<TypePrefilter> prefilters;
+
+        /**
+         * Creates a new conjunction of prefilters.
+         *
+         * @param prefilter The prefilters to apply.
+         */
+        public Conjunction(TypePrefilter... prefilter) {
+            this(Arrays.asList(prefilter));
+        }
+
+        /**
+         * Creates a new conjunction of prefilters.
+         *
+         * @param prefilters The prefilters to apply.
+         */
+        public Conjunction(List<? extends TypePrefilter> prefilters) {
+            this.prefilters = new ArrayList<TypePrefilter>(prefilters.size());
+            for (TypePrefilter prefilter : prefilters) {
+                if (prefilter instanceof Conjunction) {
+                    this.prefilters.addAll(((Conjunction) prefilter).prefilters);
+                } else if (!prefilter.isUnconstrained()) {
+                    this.prefilters.add(prefilter);
+                }
+            }
+        }
+
+        /**
+         * Resolves a conjunction of prefilters in its simplest form.
+         *
+         * @param prefilters The prefilters to apply.
+         * @return A prefilter that represents a conjunction of the supplied prefilters.
+         */
+        public static TypePrefilter of(List<? extends TypePrefilter> prefilters) {
+            Conjunction conjunction = new Conjunction(prefilters);
+            if (conjunction.prefilters.contains(Trivial.NON_CANDIDATE)) {
+                return Trivial.NON_CANDIDATE;
+            } else if (conjunction.prefilters.isEmpty()) {
+                return Trivial.CANDIDATE;
+            } else if (conjunction.prefilters.size() == 1) {
+                return conjunction.prefilters.get(0);
+            } else {
+                return conjunction;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        protected boolean isCandidate(String name, Scan scan) {
+            for (TypePrefilter prefilter : prefilters) {
+                if (!isCandidate(prefilter, name, scan)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isUnconstrained() {
+            return prefilters.isEmpty();
+        }
+    }
+
+    /**
+     * A prefilter that considers a type a candidate if any of its prefilters considers the type a candidate. Prefilters
+     * for names, mentioned descriptors and mentioned types are merged such that each type is only looked up once per kind of prefilter
+     * while a type's class file is only scanned once.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    class Disjunction extends OfClassFile {
+
+        /**
+         * The prefilters to apply.
+         */
+        private final List<TypePrefilter> prefilters;
+
+        /**
+         * Creates a new disjunction of prefilters.
+         *
+         * @param prefilter The prefilters to apply.
+         */
+        public Disjunction(TypePrefilter... prefilter) {
+            this(Arrays.asList(prefilter));
+        }
+
+        /**
+         * Creates a new disjunction of prefilters.
+         *
+         * @param prefilters The prefilters to apply.
+         */
+        public Disjunction(List<? extends TypePrefilter> prefilters) {
+            this.prefilters = new ArrayList<TypePrefilter>(prefilters.size());
+            Set<String> names = new HashSet<String>(),
+                    prefixes = new LinkedHashSet<String>(),
+                    descriptors = new LinkedHashSet<String>(),
+                    internalNames = new LinkedHashSet<String>();
+            for (TypePrefilter prefilter : prefilters) {
+                if (prefilter instanceof Disjunction) {
+                    for (TypePrefilter nested : ((Disjunction) prefilter).prefilters) {
+                        if (!merge(nested, names, prefixes, descriptors, internalNames)) {
+                            this.prefilters.add(nested);
+                        }
+                    }
+                } else if (prefilter != Trivial.NON_CANDIDATE && !merge(prefilter, names, prefixes, descriptors, internalNames)) {
+                    this.prefilters.add(prefilter);
+                }
+            }
+            if (!names.isEmpty() || !prefixes.isEmpty()) {
+                this.prefilters.add(0, new ForNames(names, prefixes));
+            }
+            if (!descriptors.isEmpty()) {
+                this.prefilters.add(new ForMentionedDescriptors(descriptors));
+            }
+            if (!internalNames.isEmpty()) {
+                this.prefilters.add(new ForMentionedTypes(internalNames));
+            }
+        }
+
+        /**
+         * Merges a prefilter for names, mentioned descriptors or mentioned types.
+         *
+         * @param prefilter     The prefilter to merge.
+         * @param names         The names that were merged so far.
+         * @param prefixes      The prefixes that were merged so far.
+         * @param descriptors   The descriptors that were merged so far.
+         * @param internalNames The internal names of mentioned types that were merged so far.
+         * @return {@code true} if the prefilter was merged.
+         */
+        private static boolean merge(TypePrefilter prefilter,
+                                     Set<String> names,
+                                     Set<String> prefixes,
+                                     Set<String> descriptors,
+                                     Set<String> internalNames) {
+            if (prefilter instanceof ForNames) {
+                names.addAll(((ForNames) prefilter).names);
+                prefixes.addAll(((ForNames) prefilter).prefixes);
+                return true;
+            } else if (prefilter instanceof ForMentionedDescriptors) {
+                descriptors.addAll(((ForMentionedDescriptors) prefilter).descriptors);
+                return true;
+            } else if (prefilter instanceof ForMentionedTypes) {
+                internalNames.addAll(((ForMentionedTypes) prefilter).internalNames);
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+        /**
+         * Resolves a disjunction of prefilters in its simplest form.
+         *
+         * @param prefilters The prefilters to apply.
+         * @return A prefilter that represents a disjunction of the supplied prefilters.
+         */
+        public static TypePrefilter of(List<? extends TypePrefilter> prefilters) {
+            Disjunction disjunction = new Disjunction(prefilters);
+            if (disjunction.isUnconstrained()) {
+                return Trivial.CANDIDATE;
+            } else if (disjunction.prefilters.isEmpty()) {
+                return Trivial.NON_CANDIDATE;
+            } else if (disjunction.prefilters.size() == 1) {
+                return disjunction.prefilters.get(0);
+            } else {
+                return disjunction;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        protected boolean isCandidate(String name, Scan scan) {
+            for (TypePrefilter prefilter : prefilters) {
+                if (isCandidate(prefilter, name, scan)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isUnconstrained() {
+            for (TypePrefilter prefilter : prefilters) {
+                if (prefilter.isUnconstrained()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A compiler for prefilters that approximates element matchers for types. The compiler considers conjunctions and disjunctions,
+     * trivial matchers, matchers for exact names and name prefixes, matchers for equality to a type and matchers for declared
+     * annotations of a given type.
+     */
+    enum Compiler {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        /**
+         * Compiles a prefilter for a type matcher.
+         *
+         * @param matcher The type matcher to approximate.
+         * @return A prefilter that approximates the supplied matcher.
+         */
+        public TypePrefilter compile(ElementMatcher<?> matcher) {
+            if (matcher instanceof ElementMatcher.Junction.Conjunction<?>) {
+                List<TypePrefilter> prefilters = new ArrayList<TypePrefilter>();
+                for (ElementMatcher<?> nested : ((ElementMatcher.Junction.Conjunction<?>) matcher).getMatchers()) {
+                    prefilters.add(compile(nested));
+                }
+                return Conjunction.of(prefilters);
+            } else if (matcher instanceof ElementMatcher.Junction.Disjunction<?>) {
+                List<TypePrefilter> prefilters = new ArrayList<TypePrefilter>();
+                for (ElementMatcher<?> nested : ((ElementMatcher.Junction.Disjunction<?>) matcher).getMatchers()) {
+                    prefilters.add(compile(nested));
+                }
+                return Disjunction.of(prefilters);
+            } else if (matcher instanceof BooleanMatcher<?>) {
+                return ((BooleanMatcher<?>) matcher).matches
+                        ? Trivial.CANDIDATE
+                        : Trivial.NON_CANDIDATE;
+            } else if (matcher instanceof ErasureMatcher<?>) {
+                return compile(((ErasureMatcher<?>) matcher).getMatcher());
+            } else if (matcher instanceof NameMatcher<?>) {
+                ElementMatcher<String> nameMatcher = ((NameMatcher<?>) matcher).getMatcher();
+                if (nameMatcher instanceof StringMatcher && ((StringMatcher) nameMatcher).getMode() == StringMatcher.Mode.STARTS_WITH) {
+                    return new ForNames(Collections.<String>emptySet(), Collections.singleton(((StringMatcher) nameMatcher).getValue()));
+                }
+            } else if (matcher instanceof DeclaringAnnotationMatcher<?>) {
+                ElementMatcher<?> annotationsMatcher = ((DeclaringAnnotationMatcher<?>) matcher).getMatcher();
+                if (annotationsMatcher instanceof CollectionItemMatcher<?>) {
+                    Set<String> names = toAnnotationTypeNames(((CollectionItemMatcher<?>) annotationsMatcher).getMatcher());
+                    if (names != null) {
+                        Set<String> descriptors = new LinkedHashSet<String>();
+                        for (String name : names) {
+                            descriptors.add("L" + name.replace('.', '/') + ";");
+                        }
+                        return descriptors.isEmpty()
+                                ? Trivial.NON_CANDIDATE
+                                : new ForMentionedDescriptors(descriptors);
+                    }
+                }
+                return Trivial.CANDIDATE;
+            }
+            Set<String> names = toTypeNames(matcher);
+            return names == null
+                    ? Trivial.CANDIDATE
+                    : new ForNames(names, Collections.<String>emptySet());
+        }
+
+        /**
+         * Resolves the names of the annotation types that are matched by a matcher for annotation descriptions.
+         *
+         * @param matcher The matcher for annotation descriptions.
+         * @return The names of all matched annotation types or {@code null} if the matched annotation types cannot be determined.
+         */
+        @MaybeNull
+        private Set<String> toAnnotationTypeNames(ElementMatcher<?> matcher) {
+            if (matcher instanceof AnnotationTypeMatcher<?>) {
+                return toTypeNames(((AnnotationTypeMatcher<?>) matcher).getMatcher());
+            } else if (matcher instanceof ElementMatcher.Junction.Disjunction<?>) {
+                Set<String> names = new LinkedHashSet<String>();
+                for (ElementMatcher<?> nested : ((ElementMatcher.Junction.Disjunction<?>) matcher).getMatchers()) {
+                    Set<String> resolved = toAnnotationTypeNames(nested);
+                    if (resolved == null) {
+                        return null;
+                    }
+                    names.addAll(resolved);
+                }
+                return names;
+            } else {
+                return null;
+            }
+        }
+
+        /**
+         * Resolves the names of the types that are matched by a matcher for types.
+         *
+         * @param matcher The matcher for types.
+         * @return The names of all matched types or {@code null} if the matched types cannot be determined.
+         */
+        @MaybeNull
+        private Set<String> toTypeNames(ElementMatcher<?> matcher) {
+            if (matcher instanceof NameMatcher<?>) {
+                ElementMatcher<String> nameMatcher = ((NameMatcher<?>) matcher).getMatcher();
+                if (nameMatcher instanceof StringMatcher && ((StringMatcher) nameMatcher).getMode() == StringMatcher.Mode.EQUALS_FULLY) {
+                    return Collections.singleton(((StringMatcher) nameMatcher).getValue());
+                } else if (nameMatcher instanceof StringSetMatcher) {
+                    return ((StringSetMatcher) nameMatcher).getValues();
+                } else {
+                    return null;
+                }
+            } else if (matcher instanceof EqualityMatcher<?>) {
+                Object value = ((EqualityMatcher<?>) matcher).getValue();
+                if (value instanceof TypeDefinition) {
+                    return ((TypeDefinition) value).getSort().isNonGeneric()
+                            ? Collections.singleton(((TypeDefinition) value).asErasure().getName())
+                            : Collections.<String>emptySet();
+                } else {
+                    return null;
+                }
+            } else if (matcher instanceof ErasureMatcher<?>) {
+                return toTypeNames(((ErasureMatcher<?>) matcher).getMatcher());
+            } else if (matcher instanceof BooleanMatcher<?>) {
+                return ((BooleanMatcher<?>) matcher).matches
+                        ? null
+                        : Collections.<String>emptySet();
+            } else if (matcher instanceof ElementMatcher.Junction.Disjunction<?>) {
+                Set<String> names = new LinkedHashSet<String>();
+                for (ElementMatcher<?> nested : ((ElementMatcher.Junction.Disjunction<?>) matcher).getMatchers()) {
+                    Set<String> resolved = toTypeNames(nested);
+                    if (resolved == null) {
+                        return null;
+                    }
+                    names.addAll(resolved);
+                }
+                return names;
+            } else if (matcher instanceof ElementMatcher.Junction.Conjunction<?>) {
+                Set<String> names = null;
+                for (ElementMatcher<?> nested : ((ElementMatcher.Junction.Conjunction<?>) matcher).getMatchers()) {
+                    Set<String> resolved = toTypeNames(nested);
+                    if (resolved != null && (names == null || resolved.size() < names.size())) {
+                        names = resolved;
+                    }
+                }
+                return names;
+            } else {
+                return null;
+            }
+        }
+    }
+}
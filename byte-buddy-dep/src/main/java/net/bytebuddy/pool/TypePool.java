@@ -41,6 +41,7 @@ import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.implementation.bytecode.StackSize;
 import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.utility.FileSystem;
 import net.bytebuddy.utility.JavaType;
 import net.bytebuddy.utility.OpenedClassReader;
 import net.bytebuddy.utility.nullability.AlwaysNull;
@@ -49,6 +50,7 @@ import net.bytebuddy.utility.nullability.UnknownNull;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.FieldVisitor;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
@@ -61,19 +63,37 @@ import org.objectweb.asm.signature.SignatureReader;
 import org.objectweb.asm.signature.SignatureVisitor;
 
 import javax.annotation.Nonnull;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.lang.annotation.Annotation;
 import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.GenericSignatureFormatError;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
 
 import static net.bytebuddy.matcher.ElementMatchers.hasDescriptor;
 import static net.bytebuddy.matcher.ElementMatchers.hasMethodName;
@@ -227,6 +247,21 @@ public interface TypePool {
         }
     }
 
+    /**
+     * A type description that is resolved by a type pool. As a type pool describes a type of a given name consistently, the
+     * identity of the describing type pool and the type's binary name identify the class file that is represented by such a
+     * description, without resolving any property of the type but its name.
+     */
+    interface Described {
+
+        /**
+         * Returns the type pool that describes this type.
+         *
+         * @return The type pool that describes this type.
+         */
+        TypePool getTypePool();
+    }
+
     /**
      * A cache provider for a {@link net.bytebuddy.pool.TypePool}.
      */
@@ -268,221 +303,1516 @@ public interface TypePool {
          */
         enum NoOp implements CacheProvider {
 
-            /**
-             * The singleton instance.
-             */
-            INSTANCE;
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            @MaybeNull
+            public Resolution find(String name) {
+                return UNRESOLVED;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Resolution register(String name, Resolution resolution) {
+                return resolution;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void clear() {
+                /* do nothing */
+            }
+        }
+
+        /**
+         * A simple, thread-safe type cache based on a {@link java.util.concurrent.ConcurrentHashMap}.
+         */
+        class Simple implements CacheProvider {
+
+            /**
+             * A map containing all cached resolutions by their names.
+             */
+            private final ConcurrentMap<String, Resolution> storage;
+
+            /**
+             * Creates a new simple cache.
+             */
+            public Simple() {
+                this(new ConcurrentHashMap<String, Resolution>());
+            }
+
+            /**
+             * Creates a new simple cache.
+             *
+             * @param storage A map that is used for locating and storing resolutions.
+             */
+            public Simple(ConcurrentMap<String, Resolution> storage) {
+                this.storage = storage;
+            }
+
+            /**
+             * Returns a simple cache provider that is prepopulated with the {@link Object} type.
+             *
+             * @return A simple cache provider that is prepopulated with the {@link Object} type.
+             */
+            public static CacheProvider withObjectType() {
+                CacheProvider cacheProvider = new Simple();
+                cacheProvider.register(Object.class.getName(), new Resolution.Simple(TypeDescription.ForLoadedType.of(Object.class)));
+                return cacheProvider;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @MaybeNull
+            public Resolution find(String name) {
+                return storage.get(name);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Resolution register(String name, Resolution resolution) {
+                Resolution cached = storage.putIfAbsent(name, resolution);
+                return cached == null
+                        ? resolution
+                        : cached;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void clear() {
+                storage.clear();
+            }
+
+            /**
+             * Returns the underlying storage map of this simple cache provider.
+             *
+             * @return A map containing all cached resolutions by their names.
+             */
+            public ConcurrentMap<String, Resolution> getStorage() {
+                return storage;
+            }
+
+            /**
+             * A {@link Simple} cache provider that clears its storage if the heap is filled, by using a soft reference.
+             */
+            public static class UsingSoftReference implements CacheProvider {
+
+                /**
+                 * A reference for the actual cache provider.
+                 */
+                private final AtomicReference<SoftReference<Simple>> delegate;
+
+                /**
+                 * Creates a softly referenced {@link Simple} cache provider.
+                 */
+                public UsingSoftReference() {
+                    delegate = new AtomicReference<SoftReference<Simple>>(new SoftReference<Simple>(new Simple()));
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @MaybeNull
+                public Resolution find(String name) {
+                    CacheProvider provider = delegate.get().get();
+                    return provider == null
+                            ? UNRESOLVED
+                            : provider.find(name);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Resolution register(String name, Resolution resolution) {
+                    SoftReference<Simple> reference = delegate.get();
+                    Simple provider = reference.get();
+                    if (provider == null) {
+                        provider = new Simple();
+                        while (!delegate.compareAndSet(reference, new SoftReference<Simple>(provider))) {
+                            reference = delegate.get();
+                            Simple previous = reference.get();
+                            if (previous != null) {
+                                provider = previous;
+                                break;
+                            }
+                        }
+                    }
+                    return provider.register(name, resolution);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void clear() {
+                    CacheProvider provider = delegate.get().get();
+                    if (provider != null) {
+                        provider.clear();
+                    }
+                }
+            }
+        }
+
+        /**
+         * <p>
+         * A thread-safe cache provider that retains resolutions up to a maximum weight. If this weight is exceeded, the least
+         * recently used resolution is considered for eviction. To avoid that frequently used resolutions are replaced by resolutions
+         * that are only used once, the frequency of lookups of any type name is approximated. A new resolution is only admitted to
+         * a full cache if its type name was looked up more frequently than the name of the resolution it would replace. Other than
+         * {@link Simple.UsingSoftReference}, this cache never discards all of its entries at once.
+         * </p>
+         * <p>
+         * This cache provider records the number of hits, misses and evictions. Those counters are not reset if the cache is cleared.
+         * </p>
+         */
+        class Bounded implements CacheProvider {
+
+            /**
+             * The maximum weight of all retained resolutions.
+             */
+            private final long maximumWeight;
+
+            /**
+             * The weigher to determine the weight of a resolution.
+             */
+            private final Weigher weigher;
+
+            /**
+             * The retained resolutions in the order of their last access. All access to this map must be synchronized on the map.
+             */
+            private final LinkedHashMap<String, Weighted> resolutions;
+
+            /**
+             * The sketch that approximates the frequency of lookups by type name.
+             */
+            private final FrequencySketch frequencySketch;
+
+            /**
+             * The current weight of all retained resolutions.
+             */
+            private long weight;
+
+            /**
+             * The number of cache hits.
+             */
+            private final AtomicLong hits;
+
+            /**
+             * The number of cache misses.
+             */
+            private final AtomicLong misses;
+
+            /**
+             * The number of evicted resolutions.
+             */
+            private final AtomicLong evictions;
+
+            /**
+             * Creates a new bounded cache that retains a maximum number of resolutions.
+             *
+             * @param maximumSize The maximum number of resolutions to retain.
+             */
+            public Bounded(int maximumSize) {
+                this(maximumSize, Weigher.ForEntry.INSTANCE);
+            }
+
+            /**
+             * Creates a new bounded cache.
+             *
+             * @param maximumWeight The maximum weight of all retained resolutions.
+             * @param weigher       The weigher to determine the weight of a resolution.
+             */
+            public Bounded(long maximumWeight, Weigher weigher) {
+                if (maximumWeight < 1) {
+                    throw new IllegalArgumentException("Maximum weight must be positive: " + maximumWeight);
+                }
+                this.maximumWeight = maximumWeight;
+                this.weigher = weigher;
+                resolutions = new LinkedHashMap<String, Weighted>(16, 0.75f, true);
+                frequencySketch = new FrequencySketch((int) Math.min(maximumWeight, 1 << 20));
+                hits = new AtomicLong();
+                misses = new AtomicLong();
+                evictions = new AtomicLong();
+            }
+
+            /**
+             * Returns a bounded cache provider that is prepopulated with the {@link Object} type.
+             *
+             * @param maximumSize The maximum number of resolutions to retain.
+             * @return A bounded cache provider that is prepopulated with the {@link Object} type.
+             */
+            public static CacheProvider withObjectType(int maximumSize) {
+                return withObjectType(maximumSize, Weigher.ForEntry.INSTANCE);
+            }
+
+            /**
+             * Returns a bounded cache provider that is prepopulated with the {@link Object} type.
+             *
+             * @param maximumWeight The maximum weight of all retained resolutions.
+             * @param weigher       The weigher to determine the weight of a resolution.
+             * @return A bounded cache provider that is prepopulated with the {@link Object} type.
+             */
+            public static CacheProvider withObjectType(long maximumWeight, Weigher weigher) {
+                CacheProvider cacheProvider = new Bounded(maximumWeight, weigher);
+                cacheProvider.register(Object.class.getName(), new Resolution.Simple(TypeDescription.ForLoadedType.of(Object.class)));
+                return cacheProvider;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @MaybeNull
+            public Resolution find(String name) {
+                Weighted weighted;
+                synchronized (resolutions) {
+                    frequencySketch.increment(name);
+                    weighted = resolutions.get(name);
+                }
+                if (weighted == null) {
+                    misses.incrementAndGet();
+                    return UNRESOLVED;
+                } else {
+                    hits.incrementAndGet();
+                    return weighted.resolution;
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Resolution register(String name, Resolution resolution) {
+                int weight = weigher.weigh(name, resolution);
+                int evicted = 0;
+                try {
+                    synchronized (resolutions) {
+                        Weighted cached = resolutions.get(name);
+                        if (cached != null) {
+                            return cached.resolution;
+                        } else if (weight > maximumWeight) {
+                            return resolution;
+                        }
+                        Iterator<Map.Entry<String, Weighted>> iterator = resolutions.entrySet().iterator();
+                        int frequency = frequencySketch.frequency(name);
+                        long released = 0;
+                        List<Map.Entry<String, Weighted>> victims = new ArrayList<Map.Entry<String, Weighted>>();
+                        while (this.weight - released + weight > maximumWeight && iterator.hasNext()) {
+                            Map.Entry<String, Weighted> victim = iterator.next();
+                            if (frequencySketch.frequency(victim.getKey()) > frequency) {
+                                return resolution;
+                            }
+                            victims.add(victim);
+                            released += victim.getValue().weight;
+                        }
+                        for (Map.Entry<String, Weighted> victim : victims) {
+                            resolutions.remove(victim.getKey());
+                        }
+                        evicted = victims.size();
+                        this.weight += weight - released;
+                        resolutions.put(name, new Weighted(resolution, weight));
+                        return resolution;
+                    }
+                } finally {
+                    if (evicted > 0) {
+                        evictions.addAndGet(evicted);
+                    }
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void clear() {
+                synchronized (resolutions) {
+                    resolutions.clear();
+                    weight = 0;
+                }
+            }
+
+            /**
+             * Returns the number of currently retained resolutions.
+             *
+             * @return The number of currently retained resolutions.
+             */
+            public int size() {
+                synchronized (resolutions) {
+                    return resolutions.size();
+                }
+            }
+
+            /**
+             * Returns the current weight of all retained resolutions.
+             *
+             * @return The current weight of all retained resolutions.
+             */
+            public long getWeight() {
+                synchronized (resolutions) {
+                    return weight;
+                }
+            }
+
+            /**
+             * Returns the number of lookups that were answered by this cache.
+             *
+             * @return The number of lookups that were answered by this cache.
+             */
+            public long getHitCount() {
+                return hits.get();
+            }
+
+            /**
+             * Returns the number of lookups that could not be answered by this cache.
+             *
+             * @return The number of lookups that could not be answered by this cache.
+             */
+            public long getMissCount() {
+                return misses.get();
+            }
+
+            /**
+             * Returns the number of resolutions that were evicted from this cache.
+             *
+             * @return The number of resolutions that were evicted from this cache.
+             */
+            public long getEvictionCount() {
+                return evictions.get();
+            }
+
+            /**
+             * A weigher to determine the weight of a resolution within a {@link Bounded} cache provider.
+             */
+            public interface Weigher {
+
+                /**
+                 * Determines the weight of a resolution.
+                 *
+                 * @param name       The name of the type that is registered.
+                 * @param resolution The resolution that is registered.
+                 * @return The weight of the resolution which must not be negative.
+                 */
+                int weigh(String name, Resolution resolution);
+
+                /**
+                 * A weigher that assigns the same weight to every resolution such that the maximum weight represents the maximum
+                 * number of retained resolutions.
+                 */
+                enum ForEntry implements Weigher {
+
+                    /**
+                     * The singleton instance.
+                     */
+                    INSTANCE;
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public int weigh(String name, Resolution resolution) {
+                        return 1;
+                    }
+                }
+
+                /**
+                 * A weigher that approximates the retained memory of a resolution in bytes by the number of its declared members.
+                 * Resolutions of lazy type pools are weighed by their name only, to avoid triggering their resolution.
+                 */
+                enum ForEstimatedSize implements Weigher {
+
+                    /**
+                     * The singleton instance.
+                     */
+                    INSTANCE;
+
+                    /**
+                     * The estimated base size of a resolved type description in bytes.
+                     */
+                    private static final int BASE_SIZE = 256;
+
+                    /**
+                     * The estimated size of a declared member of a type description in bytes.
+                     */
+                    private static final int MEMBER_SIZE = 128;
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public int weigh(String name, Resolution resolution) {
+                        if (!(resolution instanceof Resolution.Simple) || !resolution.isResolved()) {
+                            return BASE_SIZE + 2 * name.length();
+                        }
+                        TypeDescription typeDescription = resolution.resolve();
+                        return BASE_SIZE + 2 * name.length() + MEMBER_SIZE * (typeDescription.getDeclaredFields().size() + typeDescription.getDeclaredMethods().size());
+                    }
+                }
+            }
+
+            /**
+             * A resolution that is retained together with its weight.
+             */
+            protected static class Weighted {
+
+                /**
+                 * The retained resolution.
+                 */
+                private final Resolution resolution;
+
+                /**
+                 * The weight of the resolution.
+                 */
+                private final int weight;
+
+                /**
+                 * Creates a new weighted resolution.
+                 *
+                 * @param resolution The retained resolution.
+                 * @param weight     The weight of the resolution.
+                 */
+                protected Weighted(Resolution resolution, int weight) {
+                    this.resolution = resolution;
+                    this.weight = weight;
+                }
+            }
+
+            /**
+             * A count-min sketch that approximates the frequency of lookups by type name with four counters per name. Once the
+             * number of recorded lookups exceeds a sample size, all counters are halved such that the frequency of names that
+             * are no longer looked up decays over time. This class is not thread-safe.
+             */
+            protected static class FrequencySketch {
+
+                /**
+                 * The number of counters that are maintained per type name.
+                 */
+                private static final int DEPTH = 4;
+
+                /**
+                 * The maximum value of a counter.
+                 */
+                private static final int MAXIMUM_FREQUENCY = 15;
+
+                /**
+                 * Seeds to derive a counter index per depth.
+                 */
+                private static final int[] SEEDS = new int[]{0x97CB3127, 0xB3F63B5D, 0xC2B2AE35, 0x27D4EB2F};
+
+                /**
+                 * The counters of this sketch.
+                 */
+                private final int[] counters;
+
+                /**
+                 * The number of recorded lookups after which all counters are halved.
+                 */
+                private final int sampleSize;
+
+                /**
+                 * The number of lookups since the counters were last halved.
+                 */
+                private int size;
+
+                /**
+                 * Creates a new frequency sketch.
+                 *
+                 * @param capacity The expected number of retained elements.
+                 */
+                protected FrequencySketch(int capacity) {
+                    int length = 16;
+                    while (length < capacity * 2 && length < 1 << 22) {
+                        length <<= 1;
+                    }
+                    counters = new int[length];
+                    sampleSize = Math.max(capacity, 16) * 10;
+                }
+
+                /**
+                 * Records a lookup of a type name.
+                 *
+                 * @param name The name of the type that is looked up.
+                 */
+                protected void increment(String name) {
+                    int hash = name.hashCode();
+                    for (int depth = 0; depth < DEPTH; depth++) {
+                        int index = index(hash, depth);
+                        if (counters[index] < MAXIMUM_FREQUENCY) {
+                            counters[index]++;
+                        }
+                    }
+                    if (++size == sampleSize) {
+                        for (int index = 0; index < counters.length; index++) {
+                            counters[index] >>>= 1;
+                        }
+                        size /= 2;
+                    }
+                }
+
+                /**
+                 * Returns the approximate number of lookups of a type name.
+                 *
+                 * @param name The name of the type.
+                 * @return The approximate number of lookups of the type name.
+                 */
+                protected int frequency(String name) {
+                    int hash = name.hashCode(), frequency = MAXIMUM_FREQUENCY;
+                    for (int depth = 0; depth < DEPTH; depth++) {
+                        frequency = Math.min(frequency, counters[index(hash, depth)]);
+                    }
+                    return frequency;
+                }
+
+                /**
+                 * Computes the index of a counter.
+                 *
+                 * @param hash  The hash code of the type name.
+                 * @param depth The depth of the counter.
+                 * @return The index of the counter.
+                 */
+                private int index(int hash, int depth) {
+                    int value = (hash ^ (hash >>> 16)) * SEEDS[depth];
+                    return (value ^ (value >>> 15)) & (counters.length - 1);
+                }
+            }
+        }
+
+        /**
+         * A discriminating cache provider that delegates a type name to one of two caches.
+         */
+        class Discriminating implements CacheProvider {
+
+            /**
+             * The matcher that determines which cache to use.
+             */
+            private final ElementMatcher<String> matcher;
+
+            /**
+             * The cache provider to use for matched types.
+             */
+            private final CacheProvider matched;
+
+            /**
+             * The cache provider to use for unmatched types.
+             */
+            private final CacheProvider unmatched;
+
+            /**
+             * Creates a new discriminating cache provider.
+             *
+             * @param matcher   The matcher that determines which cache to use.
+             * @param matched   The cache provider to use for matched types.
+             * @param unmatched The cache provider to use for unmatched types.
+             */
+            public Discriminating(ElementMatcher<String> matcher, CacheProvider matched, CacheProvider unmatched) {
+                this.matcher = matcher;
+                this.matched = matched;
+                this.unmatched = unmatched;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @MaybeNull
+            public Resolution find(String name) {
+                return (matcher.matches(name) ? matched : unmatched).find(name);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Resolution register(String name, Resolution resolution) {
+                return (matcher.matches(name) ? matched : unmatched).register(name, resolution);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void clear() {
+                try {
+                    unmatched.clear();
+                } finally {
+                    matched.clear();
+                }
+            }
+        }
+
+        /**
+         * <p>
+         * A cache provider that persists a condensed representation of any type it describes to a {@link Storage} such that a
+         * type can be described after a restart of the JVM without parsing its full class file. The condensed representation
+         * only contains the class file elements that are considered by a {@link TypePool.Default} for the given
+         * {@link TypePool.Default.ReaderMode}, what excludes the code segments of methods for the fast reader mode.
+         * </p>
+         * <p>
+         * If a cache provider is created for a class loader, each stored entry is keyed by the name of the type and the URL of its class
+         * file. An entry is validated against the size and modification date of the class file or of the jar file that contains it, such
+         * that a stored entry can be used without reading the original class file. If no such file can be determined, or if a cache
+         * provider is created for a {@link ClassFileLocator}, an entry is validated against a hash of the original class file such that
+         * modified class files are condensed anew.
+         * </p>
+         * <p>
+         * <b>Important</b>: A storage is only written to disk when {@link Storage#persist()} is invoked. It is the responsibility of
+         * the user of this cache provider to do so, for example from a shutdown hook.
+         * </p>
+         */
+        class Persistent implements CacheProvider {
+
+            /**
+             * The storage to use.
+             */
+            private final Storage storage;
+
+            /**
+             * A map containing all cached resolutions by their names.
+             */
+            private final ConcurrentMap<String, Resolution> resolutions;
+
+            /**
+             * The type pool that describes types from the condensed class files of the storage.
+             */
+            private final TypePool typePool;
+
+            /**
+             * Creates a persistent cache provider that validates stored entries against the original class file.
+             *
+             * @param storage          The storage to use.
+             * @param classFileLocator The class file locator to query for the original class files.
+             * @param readerMode       The reader mode to apply when parsing class files.
+             */
+            public Persistent(Storage storage, ClassFileLocator classFileLocator, Default.ReaderMode readerMode) {
+                this(storage, classFileLocator, readerMode, true);
+            }
+
+            /**
+             * Creates a persistent cache provider. If stored entries are not validated, the storage must not be shared with
+             * any other cache provider as entries are then only keyed by a type's name.
+             *
+             * @param storage          The storage to use.
+             * @param classFileLocator The class file locator to query for the original class files.
+             * @param readerMode       The reader mode to apply when parsing class files.
+             * @param validate         {@code true} if stored entries should be validated against a hash of the original class file
+             *                         before they are used. If {@code false}, the original class file is only located if no entry
+             *                         is stored for a type's name.
+             */
+            public Persistent(Storage storage, ClassFileLocator classFileLocator, Default.ReaderMode readerMode, boolean validate) {
+                this(storage, classFileLocator, OriginLocator.NoOp.INSTANCE, readerMode, validate);
+            }
+
+            /**
+             * Creates a persistent cache provider for a class loader that validates stored entries against the size and modification
+             * date of the file that contains a class file without reading the class file itself. Entries are keyed by the URL of the
+             * class file such that a storage can be shared among cache providers of several class loaders. The class loader is only
+             * weakly referenced such that the cache provider can be stored as a value of a map that is weakly keyed by this loader.
+             *
+             * @param storage     The storage to use.
+             * @param classLoader The class loader for which types are described or {@code null} for the bootstrap loader.
+             * @param readerMode  The reader mode to apply when parsing class files.
+             */
+            public Persistent(Storage storage, @MaybeNull ClassLoader classLoader, Default.ReaderMode readerMode) {
+                this(storage,
+                        ClassFileLocator.ForClassLoader.WeaklyReferenced.of(classLoader),
+                        OriginLocator.ForClassLoader.WeaklyReferenced.of(classLoader),
+                        readerMode,
+                        true);
+            }
+
+            /**
+             * Creates a persistent cache provider.
+             *
+             * @param storage          The storage to use.
+             * @param classFileLocator The class file locator to query for the original class files.
+             * @param originLocator    The origin locator to use for validating stored entries without reading class files.
+             * @param readerMode       The reader mode to apply when parsing class files.
+             * @param validate         {@code true} if stored entries should be validated before they are used.
+             */
+            protected Persistent(Storage storage,
+                                 ClassFileLocator classFileLocator,
+                                 OriginLocator originLocator,
+                                 Default.ReaderMode readerMode,
+                                 boolean validate) {
+                storage.register(!validate);
+                this.storage = storage;
+                resolutions = new ConcurrentHashMap<String, Resolution>();
+                typePool = new Default(new Simple(resolutions), new CondensingClassFileLocator(storage,
+                        classFileLocator,
+                        originLocator,
+                        readerMode,
+                        validate), readerMode);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @MaybeNull
+            public Resolution find(String name) {
+                Resolution resolution = resolutions.get(name);
+                if (resolution == null) {
+                    resolution = typePool.describe(name);
+                }
+                return resolution.isResolved()
+                        ? resolution
+                        : UNRESOLVED;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Resolution register(String name, Resolution resolution) {
+                Resolution previous;
+                do {
+                    previous = resolutions.putIfAbsent(name, resolution);
+                    if (previous == null) {
+                        return resolution;
+                    } else if (previous.isResolved()) {
+                        return previous;
+                    }
+                } while (!resolutions.replace(name, previous, resolution));
+                return resolution;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void clear() {
+                resolutions.clear();
+            }
+
+            /**
+             * Returns the storage of this cache provider.
+             *
+             * @return The storage of this cache provider.
+             */
+            public Storage getStorage() {
+                return storage;
+            }
+
+            /**
+             * A storage of condensed class files that can be persisted to and restored from a file. A storage can be shared
+             * among several {@link Persistent} cache providers, for example for several class loaders, as long as all of them
+             * validate their entries. A storage that is used by a cache provider that does not validate its entries cannot be shared.
+             * The entries are stored in generations of files that are named after the storage's file with an appended generation
+             * number. Every persistence writes a new generation such that a file that is still memory-mapped is never replaced,
+             * what some operating systems do not permit.
+             */
+            public static class Storage {
+
+                /**
+                 * The magic number that is written at the beginning of a storage file.
+                 */
+                private static final int MAGIC = 0x42425450;
+
+                /**
+                 * The version of the storage file format.
+                 */
+                private static final int VERSION = 2;
+
+                /**
+                 * The suffix of the temporary file that is written before it becomes a new generation of the storage file.
+                 */
+                private static final String TEMPORARY_SUFFIX = ".tmp";
+
+                /**
+                 * The file that identifies this storage.
+                 */
+                private final File file;
+
+                /**
+                 * The generation of the storage file that was read or last written by this storage or {@code 0} if no such file exists.
+                 */
+                private long generation;
+
+                /**
+                 * A mapping of type names to their stored entries.
+                 */
+                private final ConcurrentMap<String, Entry> entries;
+
+                /**
+                 * The number of cache providers that use this storage.
+                 */
+                private int users;
+
+                /**
+                 * {@code true} if this storage is used by a cache provider that does not validate its entries.
+                 */
+                private boolean exclusive;
+
+                /**
+                 * Creates a new storage.
+                 *
+                 * @param file       The file that identifies this storage.
+                 * @param generation The generation of the storage file that was read or {@code 0} if no such file exists.
+                 * @param entries    A mapping of type names to their stored entries.
+                 */
+                protected Storage(File file, long generation, ConcurrentMap<String, Entry> entries) {
+                    this.file = file;
+                    this.generation = generation;
+                    this.entries = entries;
+                }
+
+                /**
+                 * Opens a storage for a given file. If a generation of the file exists, the latest generation is memory-mapped
+                 * and its entries are indexed while any previous generation is deleted. If no generation exists or if the latest
+                 * generation was written in an incompatible format, an empty storage is returned.
+                 *
+                 * @param file The file that identifies this storage.
+                 * @return A storage for the supplied file.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                public static Storage of(File file) throws IOException {
+                    ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+                    TreeMap<Long, File> generations = generations(file);
+                    long generation = generations.isEmpty() ? 0L : generations.lastKey();
+                    if (generation > 0L) {
+                        delete(generations.headMap(generation));
+                        ByteBuffer buffer;
+                        RandomAccessFile randomAccessFile = new RandomAccessFile(generations.get(generation), "r");
+                        try {
+                            FileChannel fileChannel = randomAccessFile.getChannel();
+                            buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+                        } finally {
+                            randomAccessFile.close();
+                        }
+                        try {
+                            if (buffer.getInt() == MAGIC && buffer.getInt() == VERSION) {
+                                int count = buffer.getInt();
+                                for (int index = 0; index < count; index++) {
+                                    byte[] name = new byte[buffer.getShort() & 0xFFFF];
+                                    buffer.get(name);
+                                    long hash = buffer.getLong();
+                                    int length = buffer.getInt();
+                                    entries.put(new String(name, "UTF-8"), new Entry.ForMappedBuffer(hash, buffer, buffer.position(), length));
+                                    buffer.position(buffer.position() + length);
+                                }
+                            }
+                        } catch (BufferUnderflowException ignored) {
+                            entries.clear();
+                        } catch (IllegalArgumentException ignored) {
+                            entries.clear();
+                        }
+                    }
+                    return new Storage(file, generation, entries);
+                }
+
+                /**
+                 * Locates all generations of a storage file.
+                 *
+                 * @param file The file that identifies the storage.
+                 * @return A mapping of generation numbers to the files of these generations.
+                 */
+                protected static TreeMap<Long, File> generations(File file) {
+                    TreeMap<Long, File> generations = new TreeMap<Long, File>();
+                    File[] candidate = file.getAbsoluteFile().getParentFile().listFiles();
+                    if (candidate != null) {
+                        String prefix = file.getName() + ".";
+                        for (File aCandidate : candidate) {
+                            String name = aCandidate.getName();
+                            if (name.startsWith(prefix) && name.length() > prefix.length() && aCandidate.isFile()) {
+                                try {
+                                    long generation = Long.parseLong(name.substring(prefix.length()));
+                                    if (generation > 0L) {
+                                        generations.put(generation, aCandidate);
+                                    }
+                                } catch (NumberFormatException ignored) {
+                                    /* do nothing */
+                                }
+                            }
+                        }
+                    }
+                    return generations;
+                }
+
+                /**
+                 * Attempts to delete previous generations of a storage file. A generation that is still memory-mapped might
+                 * not be deletable and is otherwise deleted on exit or when the storage is opened or persisted the next time.
+                 *
+                 * @param generations The generations to delete.
+                 */
+                protected static void delete(Map<Long, File> generations) {
+                    for (File file : generations.values()) {
+                        if (!file.delete()) {
+                            file.deleteOnExit();
+                        }
+                    }
+                }
+
+                /**
+                 * Computes the hash of a class file that is used for validating a stored entry.
+                 *
+                 * @param binaryRepresentation The binary representation of the class file.
+                 * @return The hash of the supplied class file.
+                 */
+                protected static long hash(byte[] binaryRepresentation) {
+                    CRC32 checksum = new CRC32();
+                    checksum.update(binaryRepresentation);
+                    return ((long) binaryRepresentation.length << 32) | checksum.getValue();
+                }
+
+                /**
+                 * Computes a stamp of a file that contains class files that is used for validating a stored entry.
+                 *
+                 * @param file The file that contains class files.
+                 * @return The stamp of the supplied file.
+                 */
+                protected static long stamp(File file) {
+                    return file.lastModified() * 31 + file.length();
+                }
+
+                /**
+                 * Registers a cache provider as a user of this storage.
+                 *
+                 * @param exclusive {@code true} if the registered cache provider does not validate its entries and
+                 *                  requires exclusive use of this storage.
+                 */
+                protected synchronized void register(boolean exclusive) {
+                    if (this.exclusive || exclusive && users > 0) {
+                        throw new IllegalStateException("Storage of " + file + " cannot be shared by a cache provider that does not validate its entries");
+                    }
+                    users++;
+                    this.exclusive = exclusive;
+                }
+
+                /**
+                 * Returns the stored entry for a key.
+                 *
+                 * @param name The key of the entry, normally the name of the type.
+                 * @return The entry for the type or {@code null} if no such entry is stored.
+                 */
+                @MaybeNull
+                protected Entry get(String name) {
+                    return entries.get(name);
+                }
+
+                /**
+                 * Stores an entry for a type.
+                 *
+                 * @param name                 The key of the entry, normally the name of the type.
+                 * @param hash                 The hash of the type's original class file or the stamp of the file containing it.
+                 * @param binaryRepresentation The condensed class file of the type.
+                 */
+                protected void put(String name, long hash, byte[] binaryRepresentation) {
+                    entries.put(name, new Entry.Resident(hash, binaryRepresentation));
+                }
+
+                /**
+                 * Removes an entry for a type if it exists.
+                 *
+                 * @param name The key of the entry, normally the name of the type.
+                 */
+                protected void remove(String name) {
+                    entries.remove(name);
+                }
+
+                /**
+                 * Returns the file that identifies this storage. The entries are stored in generations of this file that are
+                 * named after this file with an appended generation number.
+                 *
+                 * @return The file that identifies this storage.
+                 */
+                public File getFile() {
+                    return file;
+                }
+
+                /**
+                 * Returns the generation of the storage file that was read or last written by this storage.
+                 *
+                 * @return The generation of the storage file or {@code null} if this storage was neither read from nor written to a file.
+                 */
+                @MaybeNull
+                public File getCurrentFile() {
+                    return generation == 0L
+                            ? null
+                            : new File(file.getPath() + "." + generation);
+                }
+
+                /**
+                 * Returns the number of entries in this storage.
+                 *
+                 * @return The number of entries in this storage.
+                 */
+                public int size() {
+                    return entries.size();
+                }
+
+                /**
+                 * Removes all entries from this storage. The backing file is only altered when this storage is persisted.
+                 */
+                public void clear() {
+                    entries.clear();
+                }
+
+                /**
+                 * Writes all entries of this storage to a new generation of its file. The file is first written to a temporary
+                 * location and then moved to the name of the new generation such that a file is never left in an incomplete state.
+                 * As the new generation is written under a fresh name, a previous generation that is still memory-mapped by this
+                 * or another storage is never replaced. Previous generations are deleted where possible.
+                 *
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                public synchronized void persist() throws IOException {
+                    Map<String, Entry> entries = new TreeMap<String, Entry>(this.entries);
+                    File temporary = File.createTempFile(file.getName(), TEMPORARY_SUFFIX, file.getAbsoluteFile().getParentFile());
+                    DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+                    try {
+                        outputStream.writeInt(MAGIC);
+                        outputStream.writeInt(VERSION);
+                        outputStream.writeInt(entries.size());
+                        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                            byte[] name = entry.getKey().getBytes("UTF-8");
+                            byte[] binaryRepresentation = entry.getValue().getBinaryRepresentation();
+                            outputStream.writeShort(name.length);
+                            outputStream.write(name);
+                            outputStream.writeLong(entry.getValue().getHash());
+                            outputStream.writeInt(binaryRepresentation.length);
+                            outputStream.write(binaryRepresentation);
+                        }
+                    } finally {
+                        outputStream.close();
+                    }
+                    TreeMap<Long, File> generations = generations(file);
+                    long generation = Math.max(this.generation, generations.isEmpty() ? 0L : generations.lastKey()) + 1;
+                    try {
+                        FileSystem.getInstance().move(temporary, new File(file.getPath() + "." + generation));
+                    } catch (IOException exception) {
+                        if (!temporary.delete()) {
+                            temporary.deleteOnExit();
+                        }
+                        throw exception;
+                    }
+                    this.generation = generation;
+                    delete(generations);
+                }
+
+                /**
+                 * An entry of a storage.
+                 */
+                protected abstract static class Entry {
+
+                    /**
+                     * The hash of the original class file.
+                     */
+                    private final long hash;
+
+                    /**
+                     * Creates a new entry.
+                     *
+                     * @param hash The hash of the original class file.
+                     */
+                    protected Entry(long hash) {
+                        this.hash = hash;
+                    }
+
+                    /**
+                     * Returns the hash of the original class file.
+                     *
+                     * @return The hash of the original class file.
+                     */
+                    protected long getHash() {
+                        return hash;
+                    }
+
+                    /**
+                     * Returns the condensed class file of this entry.
+                     *
+                     * @return The condensed class file of this entry.
+                     */
+                    protected abstract byte[] getBinaryRepresentation();
+
+                    /**
+                     * An entry that is held in memory.
+                     */
+                    protected static class Resident extends Entry {
+
+                        /**
+                         * The condensed class file of this entry.
+                         */
+                        private final byte[] binaryRepresentation;
+
+                        /**
+                         * Creates a new resident entry.
+                         *
+                         * @param hash                 The hash of the original class file.
+                         * @param binaryRepresentation The condensed class file of this entry.
+                         */
+                        @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "The array is not modified by class contract.")
+                        protected Resident(long hash, byte[] binaryRepresentation) {
+                            super(hash);
+                            this.binaryRepresentation = binaryRepresentation;
+                        }
+
+                        @Override
+                        @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "The array is not modified by class contract.")
+                        protected byte[] getBinaryRepresentation() {
+                            return binaryRepresentation;
+                        }
+                    }
+
+                    /**
+                     * An entry that is read from a memory-mapped storage file.
+                     */
+                    protected static class ForMappedBuffer extends Entry {
+
+                        /**
+                         * The memory-mapped buffer of the storage file.
+                         */
+                        private final ByteBuffer buffer;
+
+                        /**
+                         * The offset of the condensed class file within the buffer.
+                         */
+                        private final int offset;
+
+                        /**
+                         * The length of the condensed class file.
+                         */
+                        private final int length;
+
+                        /**
+                         * Creates a new entry for a memory-mapped buffer.
+                         *
+                         * @param hash   The hash of the original class file.
+                         * @param buffer The memory-mapped buffer of the storage file.
+                         * @param offset The offset of the condensed class file within the buffer.
+                         * @param length The length of the condensed class file.
+                         */
+                        protected ForMappedBuffer(long hash, ByteBuffer buffer, int offset, int length) {
+                            super(hash);
+                            this.buffer = buffer;
+                            this.offset = offset;
+                            this.length = length;
+                        }
+
+                        @Override
+                        protected byte[] getBinaryRepresentation() {
+                            ByteBuffer buffer = this.buffer.duplicate();
+                            buffer.position(offset);
+                            byte[] binaryRepresentation = new byte[length];
+                            buffer.get(binaryRepresentation);
+                            return binaryRepresentation;
+                        }
+                    }
+                }
+            }
+
+            /**
+             * Locates the URL of a class file without reading it.
+             */
+            protected interface OriginLocator {
+
+                /**
+                 * Locates the URL of a type's class file.
+                 *
+                 * @param name The name of the type.
+                 * @return The URL of the type's class file or {@code null} if it cannot be located.
+                 */
+                @MaybeNull
+                URL locate(String name);
+
+                /**
+                 * An origin locator that never locates a class file's URL.
+                 */
+                enum NoOp implements OriginLocator {
+
+                    /**
+                     * The singleton instance.
+                     */
+                    INSTANCE;
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @MaybeNull
+                    public URL locate(String name) {
+                        return null;
+                    }
+                }
+
+                /**
+                 * An origin locator that queries a class loader for the URL of a class file.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                class ForClassLoader implements OriginLocator {
+
+                    /**
+                     * A class loader that only locates resources of the bootstrap loader.
+                     */
+                    private static final ClassLoader BOOTSTRAP_LOADER = new URLClassLoader(new URL[0], ClassLoadingStrategy.BOOTSTRAP_LOADER);
+
+                    /**
+                     * The class loader to query.
+                     */
+                    private final ClassLoader classLoader;
+
+                    /**
+                     * Creates a new origin locator for a class loader.
+                     *
+                     * @param classLoader The class loader to query.
+                     */
+                    protected ForClassLoader(ClassLoader classLoader) {
+                        this.classLoader = classLoader;
+                    }
+
+                    /**
+                     * Creates an origin locator for a class loader.
+                     *
+                     * @param classLoader The class loader to query or {@code null} for the bootstrap loader.
+                     * @return An appropriate origin locator.
+                     */
+                    protected static OriginLocator of(@MaybeNull ClassLoader classLoader) {
+                        return new ForClassLoader(classLoader == null ? BOOTSTRAP_LOADER : classLoader);
+                    }
 
-            /**
-             * {@inheritDoc}
-             */
-            @MaybeNull
-            public Resolution find(String name) {
-                return UNRESOLVED;
-            }
+                    /**
+                     * Locates the URL of a type's class file.
+                     *
+                     * @param classLoader The class loader to query.
+                     * @param name        The name of the type.
+                     * @return The URL of the type's class file or {@code null} if it cannot be located.
+                     */
+                    @MaybeNull
+                    protected static URL locate(ClassLoader classLoader, String name) {
+                        return classLoader.getResource(name.replace('.', '/') + ClassFileLocator.CLASS_FILE_EXTENSION);
+                    }
 
-            /**
-             * {@inheritDoc}
-             */
-            public Resolution register(String name, Resolution resolution) {
-                return resolution;
-            }
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @MaybeNull
+                    public URL locate(String name) {
+                        return locate(classLoader, name);
+                    }
 
-            /**
-             * {@inheritDoc}
-             */
-            public void clear() {
-                /* do nothing */
-            }
-        }
+                    /**
+                     * An origin locator that queries a class loader for the URL of a class file where the class loader is only
+                     * weakly referenced. If the class loader is collected, no URL is located.
+                     */
+                    protected static class WeaklyReferenced extends WeakReference<ClassLoader> implements OriginLocator {
 
-        /**
-         * A simple, thread-safe type cache based on a {@link java.util.concurrent.ConcurrentHashMap}.
-         */
-        class Simple implements CacheProvider {
+                        /**
+                         * The represented class loader's hash code.
+                         */
+                        private final int hashCode;
 
-            /**
-             * A map containing all cached resolutions by their names.
-             */
-            private final ConcurrentMap<String, Resolution> storage;
+                        /**
+                         * Creates a new origin locator for a class loader that is weakly referenced.
+                         *
+                         * @param classLoader The class loader to query.
+                         */
+                        protected WeaklyReferenced(ClassLoader classLoader) {
+                            super(classLoader);
+                            hashCode = System.identityHashCode(classLoader);
+                        }
 
-            /**
-             * Creates a new simple cache.
-             */
-            public Simple() {
-                this(new ConcurrentHashMap<String, Resolution>());
-            }
+                        /**
+                         * Creates an origin locator for a class loader. If the class loader is not the bootstrap class loader or
+                         * the system class loader which cannot be collected, the class loader is only weakly referenced.
+                         *
+                         * @param classLoader The class loader to query or {@code null} for the bootstrap loader.
+                         * @return An appropriate origin locator.
+                         */
+                        protected static OriginLocator of(@MaybeNull ClassLoader classLoader) {
+                            return classLoader == null || classLoader == ClassLoader.getSystemClassLoader() || classLoader == ClassLoader.getSystemClassLoader().getParent()
+                                    ? ForClassLoader.of(classLoader)
+                                    : new WeaklyReferenced(classLoader);
+                        }
 
-            /**
-             * Creates a new simple cache.
-             *
-             * @param storage A map that is used for locating and storing resolutions.
-             */
-            public Simple(ConcurrentMap<String, Resolution> storage) {
-                this.storage = storage;
-            }
+                        /**
+                         * {@inheritDoc}
+                         */
+                        @MaybeNull
+                        public URL locate(String name) {
+                            ClassLoader classLoader = get();
+                            return classLoader == null
+                                    ? null
+                                    : ForClassLoader.locate(classLoader, name);
+                        }
 
-            /**
-             * Returns a simple cache provider that is prepopulated with the {@link Object} type.
-             *
-             * @return A simple cache provider that is prepopulated with the {@link Object} type.
-             */
-            public static CacheProvider withObjectType() {
-                CacheProvider cacheProvider = new Simple();
-                cacheProvider.register(Object.class.getName(), new Resolution.Simple(TypeDescription.ForLoadedType.of(Object.class)));
-                return cacheProvider;
-            }
+                        @Override
+                        public int hashCode() {
+                            return hashCode;
+                        }
 
-            /**
-             * {@inheritDoc}
-             */
-            @MaybeNull
-            public Resolution find(String name) {
-                return storage.get(name);
+                        @Override
+                        public boolean equals(@MaybeNull Object other) {
+                            if (this == other) {
+                                return true;
+                            } else if (other == null || getClass() != other.getClass()) {
+                                return false;
+                            }
+                            WeaklyReferenced weaklyReferenced = (WeaklyReferenced) other;
+                            ClassLoader classLoader = weaklyReferenced.get();
+                            return classLoader != null && get() == classLoader;
+                        }
+                    }
+                }
             }
 
             /**
-             * {@inheritDoc}
+             * A class file locator that supplies condensed class files from a storage and that condenses and stores any
+             * class file that is not yet contained in the storage.
              */
-            public Resolution register(String name, Resolution resolution) {
-                Resolution cached = storage.putIfAbsent(name, resolution);
-                return cached == null
-                        ? resolution
-                        : cached;
-            }
+            @HashCodeAndEqualsPlugin.Enhance
+            protected static class CondensingClassFileLocator implements ClassFileLocator {
 
-            /**
-             * {@inheritDoc}
-             */
-            public void clear() {
-                storage.clear();
-            }
+                /**
+                 * The storage to use.
+                 */
+                private final Storage storage;
 
-            /**
-             * Returns the underlying storage map of this simple cache provider.
-             *
-             * @return A map containing all cached resolutions by their names.
-             */
-            public ConcurrentMap<String, Resolution> getStorage() {
-                return storage;
-            }
+                /**
+                 * The class file locator to query for the original class files.
+                 */
+                private final ClassFileLocator classFileLocator;
 
-            /**
-             * A {@link Simple} cache provider that clears its storage if the heap is filled, by using a soft reference.
-             */
-            public static class UsingSoftReference implements CacheProvider {
+                /**
+                 * The origin locator to use for validating stored entries without reading class files.
+                 */
+                private final OriginLocator originLocator;
 
                 /**
-                 * A reference for the actual cache provider.
+                 * The reader mode to apply when condensing class files.
                  */
-                private final AtomicReference<SoftReference<Simple>> delegate;
+                private final Default.ReaderMode readerMode;
 
                 /**
-                 * Creates a softly referenced {@link Simple} cache provider.
+                 * {@code true} if stored entries should be validated before they are used.
                  */
-                public UsingSoftReference() {
-                    delegate = new AtomicReference<SoftReference<Simple>>(new SoftReference<Simple>(new Simple()));
-                }
+                private final boolean validate;
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a new condensing class file locator.
+                 *
+                 * @param storage          The storage to use.
+                 * @param classFileLocator The class file locator to query for the original class files.
+                 * @param originLocator    The origin locator to use for validating stored entries without reading class files.
+                 * @param readerMode       The reader mode to apply when condensing class files.
+                 * @param validate         {@code true} if stored entries should be validated before they are used.
+                 */
+                protected CondensingClassFileLocator(Storage storage,
+                                                     ClassFileLocator classFileLocator,
+                                                     OriginLocator originLocator,
+                                                     Default.ReaderMode readerMode,
+                                                     boolean validate) {
+                    this.storage = storage;
+                    this.classFileLocator = classFileLocator;
+                    this.originLocator = originLocator;
+                    this.readerMode = readerMode;
+                    this.validate = validate;
+                }
+
+                /**
+                 * Resolves the file that contains a class file of the given URL, if this file can be determined.
+                 *
+                 * @param url The URL of the class file.
+                 * @return The file containing the class file or {@code null} if no such file can be determined.
                  */
                 @MaybeNull
-                public Resolution find(String name) {
-                    CacheProvider provider = delegate.get().get();
-                    return provider == null
-                            ? UNRESOLVED
-                            : provider.find(name);
+                protected static File toFile(URL url) {
+                    try {
+                        if (url.getProtocol().equals("file")) {
+                            return new File(url.toURI());
+                        } else if (url.getProtocol().equals("jar")) {
+                            String path = url.getPath();
+                            int index = path.indexOf("!/");
+                            if (index != -1) {
+                                URL jar = new URL(path.substring(0, index));
+                                if (jar.getProtocol().equals("file")) {
+                                    return new File(jar.toURI());
+                                }
+                            }
+                        } else if (url.getProtocol().equals("jrt")) {
+                            String home = System.getProperty("java.home");
+                            if (home != null) {
+                                File modules = new File(home, "lib" + File.separatorChar + "modules");
+                                if (modules.isFile()) {
+                                    return modules;
+                                }
+                            }
+                        }
+                    } catch (URISyntaxException ignored) {
+                        /* do nothing */
+                    } catch (MalformedURLException ignored) {
+                        /* do nothing */
+                    } catch (IllegalArgumentException ignored) {
+                        /* do nothing */
+                    } catch (SecurityException ignored) {
+                        /* do nothing */
+                    }
+                    return null;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public Resolution register(String name, Resolution resolution) {
-                    SoftReference<Simple> reference = delegate.get();
-                    Simple provider = reference.get();
-                    if (provider == null) {
-                        provider = new Simple();
-                        while (!delegate.compareAndSet(reference, new SoftReference<Simple>(provider))) {
-                            reference = delegate.get();
-                            Simple previous = reference.get();
-                            if (previous != null) {
-                                provider = previous;
-                                break;
+                public ClassFileLocator.Resolution locate(String name) throws IOException {
+                    URL url = validate
+                            ? originLocator.locate(name)
+                            : null;
+                    String key = url == null
+                            ? name
+                            : name + '@' + url.toExternalForm();
+                    Storage.Entry entry = storage.get(key);
+                    if (entry != null && !validate) {
+                        return new ClassFileLocator.Resolution.Explicit(entry.getBinaryRepresentation());
+                    }
+                    File file = url == null
+                            ? null
+                            : toFile(url);
+                    if (file != null) {
+                        long stamp = Storage.stamp(file);
+                        if (entry != null && entry.getHash() == stamp) {
+                            return new ClassFileLocator.Resolution.Explicit(entry.getBinaryRepresentation());
+                        }
+                        ClassFileLocator.Resolution resolution = classFileLocator.locate(name);
+                        if (!resolution.isResolved()) {
+                            if (entry != null) {
+                                storage.remove(key);
                             }
+                            return resolution;
                         }
+                        return condense(key, stamp, resolution.resolve());
                     }
-                    return provider.register(name, resolution);
+                    ClassFileLocator.Resolution resolution = classFileLocator.locate(name);
+                    if (!resolution.isResolved()) {
+                        if (entry != null) {
+                            storage.remove(key);
+                        }
+                        return resolution;
+                    }
+                    byte[] binaryRepresentation = resolution.resolve();
+                    long hash = Storage.hash(binaryRepresentation);
+                    if (entry != null && entry.getHash() == hash) {
+                        return new ClassFileLocator.Resolution.Explicit(entry.getBinaryRepresentation());
+                    }
+                    return condense(key, hash, binaryRepresentation);
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Condenses a class file and stores it.
+                 *
+                 * @param key                  The key of the stored entry.
+                 * @param hash                 The hash or stamp to validate the entry against.
+                 * @param binaryRepresentation The original class file.
+                 * @return A resolution of the condensed class file.
                  */
-                public void clear() {
-                    CacheProvider provider = delegate.get().get();
-                    if (provider != null) {
-                        provider.clear();
-                    }
+                private ClassFileLocator.Resolution condense(String key, long hash, byte[] binaryRepresentation) {
+                    ClassWriter classWriter = new ClassWriter(0);
+                    OpenedClassReader.of(binaryRepresentation).accept(classWriter, readerMode.isExtended()
+                            ? readerMode.getFlags()
+                            : readerMode.getFlags() | ClassReader.SKIP_DEBUG);
+                    binaryRepresentation = classWriter.toByteArray();
+                    storage.put(key, hash, binaryRepresentation);
+                    return new ClassFileLocator.Resolution.Explicit(binaryRepresentation);
                 }
-            }
-        }
-
-        /**
-         * A discriminating cache provider that delegates a type name to one of two caches.
-         */
-        class Discriminating implements CacheProvider {
-
-            /**
-             * The matcher that determines which cache to use.
-             */
-            private final ElementMatcher<String> matcher;
 
-            /**
-             * The cache provider to use for matched types.
-             */
-            private final CacheProvider matched;
-
-            /**
-             * The cache provider to use for unmatched types.
-             */
-            private final CacheProvider unmatched;
-
-            /**
-             * Creates a new discriminating cache provider.
-             *
-             * @param matcher   The matcher that determines which cache to use.
-             * @param matched   The cache provider to use for matched types.
-             * @param unmatched The cache provider to use for unmatched types.
-             */
-            public Discriminating(ElementMatcher<String> matcher, CacheProvider matched, CacheProvider unmatched) {
-                this.matcher = matcher;
-                this.matched = matched;
-                this.unmatched = unmatched;
-            }
-
-            /**
-             * {@inheritDoc}
-             */
-            @MaybeNull
-            public Resolution find(String name) {
-                return (matcher.matches(name) ? matched : unmatched).find(name);
-            }
-
-            /**
-             * {@inheritDoc}
-             */
-            public Resolution register(String name, Resolution resolution) {
-                return (matcher.matches(name) ? matched : unmatched).register(name, resolution);
-            }
-
-            /**
-             * {@inheritDoc}
-             */
-            public void clear() {
-                try {
-                    unmatched.clear();
-                } finally {
-                    matched.clear();
+                /**
+                 * {@inheritDoc}
+                 */
+                public void close() throws IOException {
+                    classFileLocator.close();
                 }
             }
         }
@@ -1082,7 +2412,7 @@ public interface TypePool {
             /**
              * A lazy type description that resolves any property that is not the name only when requested.
              */
-            protected class LazyTypeDescription extends TypeDescription.AbstractBase.OfSimpleType.WithDelegation {
+            protected class LazyTypeDescription extends TypeDescription.AbstractBase.OfSimpleType.WithDelegation implements Described {
 
                 /**
                  * The type's name.
@@ -1105,6 +2435,13 @@ public interface TypePool {
                     return name;
                 }
 
+                /**
+                 * {@inheritDoc}
+                 */
+                public TypePool getTypePool() {
+                    return WithLazyResolution.this;
+                }
+
                 @Override
                 @CachedReturnPlugin.Enhance("delegate")
                 protected TypeDescription delegate() {
@@ -2556,7 +3893,7 @@ public interface TypePool {
          * A type description that looks up any referenced {@link net.bytebuddy.description.ByteCodeElement} or
          * {@link AnnotationDescription} by querying a type pool at lookup time.
          */
-        protected static class LazyTypeDescription extends TypeDescription.AbstractBase.OfSimpleType {
+        protected static class LazyTypeDescription extends TypeDescription.AbstractBase.OfSimpleType implements Described {
 
             /**
              * Indicates that a type does not exist and does therefore not have a name.
@@ -2873,6 +4210,13 @@ public interface TypePool {
                 return name;
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            public TypePool getTypePool() {
+                return typePool;
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -9031,7 +10375,7 @@ public interface TypePool {
         /**
          * A description of a type that delegates to another type pool once a property that is not the name is resolved.
          */
-        protected static class LazyTypeDescription extends TypeDescription.AbstractBase.OfSimpleType.WithDelegation {
+        protected static class LazyTypeDescription extends TypeDescription.AbstractBase.OfSimpleType.WithDelegation implements Described {
 
             /**
              * The type pool to delegate to.
@@ -9061,6 +10405,13 @@ public interface TypePool {
                 return name;
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            public TypePool getTypePool() {
+                return typePool;
+            }
+
             @Override
             @CachedReturnPlugin.Enhance("delegate")
             protected TypeDescription delegate() {
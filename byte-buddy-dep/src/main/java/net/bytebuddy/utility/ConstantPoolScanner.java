@@ -0,0 +1,397 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.utility;
+
+/**
+ * <p>
+ * A scanner for the constant pool of a class file that answers if a class file mentions a given type or descriptor without
+ * parsing any other section of the class file. A type that is not mentioned in a class file's constant pool cannot be
+ * referenced by the class file, neither as a declared annotation, nor as a field or method type, nor as the owner of an
+ * accessed member. A mentioned type is, however, not necessarily used in any of those roles.
+ * </p>
+ * <p>
+ * <b>Important</b>: The scanner does not validate the constant pool beyond what is necessary to locate its entries and
+ * does not validate any value. All strings are compared in their modified UTF-8 encoding as used by the class file format.
+ * </p>
+ */
+public class ConstantPoolScanner {
+
+    /**
+     * The magic number of a class file.
+     */
+    private static final int MAGIC = 0xCAFEBABE;
+
+    /**
+     * The offset of the constant pool count within a class file.
+     */
+    private static final int CONSTANT_POOL_COUNT = 8;
+
+    /**
+     * The tag of a {@code CONSTANT_Utf8_info} entry.
+     */
+    private static final int UTF8 = 1;
+
+    /**
+     * The tag of a {@code CONSTANT_Integer_info} entry.
+     */
+    private static final int INTEGER = 3;
+
+    /**
+     * The tag of a {@code CONSTANT_Float_info} entry.
+     */
+    private static final int FLOAT = 4;
+
+    /**
+     * The tag of a {@code CONSTANT_Long_info} entry.
+     */
+    private static final int LONG = 5;
+
+    /**
+     * The tag of a {@code CONSTANT_Double_info} entry.
+     */
+    private static final int DOUBLE = 6;
+
+    /**
+     * The tag of a {@code CONSTANT_Class_info} entry.
+     */
+    private static final int CLASS = 7;
+
+    /**
+     * The tag of a {@code CONSTANT_String_info} entry.
+     */
+    private static final int STRING = 8;
+
+    /**
+     * The tag of a {@code CONSTANT_Fieldref_info} entry.
+     */
+    private static final int FIELD_REFERENCE = 9;
+
+    /**
+     * The tag of a {@code CONSTANT_Methodref_info} entry.
+     */
+    private static final int METHOD_REFERENCE = 10;
+
+    /**
+     * The tag of a {@code CONSTANT_InterfaceMethodref_info} entry.
+     */
+    private static final int INTERFACE_METHOD_REFERENCE = 11;
+
+    /**
+     * The tag of a {@code CONSTANT_NameAndType_info} entry.
+     */
+    private static final int NAME_AND_TYPE = 12;
+
+    /**
+     * The tag of a {@code CONSTANT_MethodHandle_info} entry.
+     */
+    private static final int METHOD_HANDLE = 15;
+
+    /**
+     * The tag of a {@code CONSTANT_MethodType_info} entry.
+     */
+    private static final int METHOD_TYPE = 16;
+
+    /**
+     * The tag of a {@code CONSTANT_Dynamic_info} entry.
+     */
+    private static final int DYNAMIC = 17;
+
+    /**
+     * The tag of a {@code CONSTANT_InvokeDynamic_info} entry.
+     */
+    private static final int INVOKE_DYNAMIC = 18;
+
+    /**
+     * The tag of a {@code CONSTANT_Module_info} entry.
+     */
+    private static final int MODULE = 19;
+
+    /**
+     * The tag of a {@code CONSTANT_Package_info} entry.
+     */
+    private static final int PACKAGE = 20;
+
+    /**
+     * The binary representation of the scanned class file.
+     */
+    private final byte[] binaryRepresentation;
+
+    /**
+     * The offsets of all constant pool entries of tag {@code CONSTANT_Utf8_info}, pointing to the entry's tag.
+     */
+    private final int[] utf8;
+
+    /**
+     * The offsets of all constant pool entries of tag {@code CONSTANT_Class_info}, pointing to the entry's tag.
+     */
+    private final int[] types;
+
+    /**
+     * The offsets of all constant pool entries by their index where unusable indices are represented by {@code 0}.
+     */
+    private final int[] offsets;
+
+    /**
+     * Creates a new constant pool scanner.
+     *
+     * @param binaryRepresentation The binary representation of the scanned class file.
+     * @param utf8                 The offsets of all constant pool entries of tag {@code CONSTANT_Utf8_info}.
+     * @param types                The offsets of all constant pool entries of tag {@code CONSTANT_Class_info}.
+     * @param offsets              The offsets of all constant pool entries by their index.
+     */
+    protected ConstantPoolScanner(byte[] binaryRepresentation, int[] utf8, int[] types, int[] offsets) {
+        this.binaryRepresentation = binaryRepresentation;
+        this.utf8 = utf8;
+        this.types = types;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Creates a constant pool scanner for a class file by locating the entries of its constant pool.
+     *
+     * @param binaryRepresentation The binary representation of the class file.
+     * @return A constant pool scanner for the supplied class file.
+     * @throws IllegalArgumentException If the supplied binary representation is not a class file or if its constant pool is malformed.
+     */
+    public static ConstantPoolScanner of(byte[] binaryRepresentation) {
+        if (binaryRepresentation.length < CONSTANT_POOL_COUNT + 2 || readInt(binaryRepresentation, 0) != MAGIC) {
+            throw new IllegalArgumentException("Not a class file");
+        }
+        int count = readUnsignedShort(binaryRepresentation, CONSTANT_POOL_COUNT);
+        int[] utf8 = new int[count], types = new int[count], offsets = new int[count];
+        int utf8Count = 0, typeCount = 0, offset = CONSTANT_POOL_COUNT + 2;
+        for (int index = 1; index < count; index++) {
+            if (offset >= binaryRepresentation.length) {
+                throw new IllegalArgumentException("Truncated constant pool at entry " + index);
+            }
+            offsets[index] = offset;
+            switch (binaryRepresentation[offset]) {
+                case UTF8:
+                    if (offset + 3 > binaryRepresentation.length) {
+                        throw new IllegalArgumentException("Truncated constant pool at entry " + index);
+                    }
+                    utf8[utf8Count++] = offset;
+                    offset += 3 + readUnsignedShort(binaryRepresentation, offset + 1);
+                    break;
+                case CLASS:
+                    types[typeCount++] = offset;
+                    offset += 3;
+                    break;
+                case STRING:
+                case METHOD_TYPE:
+                case MODULE:
+                case PACKAGE:
+                    offset += 3;
+                    break;
+                case METHOD_HANDLE:
+                    offset += 4;
+                    break;
+                case INTEGER:
+                case FLOAT:
+                case FIELD_REFERENCE:
+                case METHOD_REFERENCE:
+                case INTERFACE_METHOD_REFERENCE:
+                case NAME_AND_TYPE:
+                case DYNAMIC:
+                case INVOKE_DYNAMIC:
+                    offset += 5;
+                    break;
+                case LONG:
+                case DOUBLE:
+                    offset += 9;
+                    index++;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown constant pool tag " + binaryRepresentation[offset] + " at entry " + index);
+            }
+        }
+        if (offset > binaryRepresentation.length) {
+            throw new IllegalArgumentException("Truncated constant pool");
+        }
+        int[] resolvedUtf8 = new int[utf8Count], resolvedTypes = new int[typeCount];
+        System.arraycopy(utf8, 0, resolvedUtf8, 0, utf8Count);
+        System.arraycopy(types, 0, resolvedTypes, 0, typeCount);
+        return new ConstantPoolScanner(binaryRepresentation, resolvedUtf8, resolvedTypes, offsets);
+    }
+
+    /**
+     * Encodes a string in the modified UTF-8 encoding that is used by the class file format.
+     *
+     * @param value The value to encode.
+     * @return The encoded value.
+     */
+    private static byte[] encode(String value) {
+        byte[] encoding = new byte[value.length() * 3];
+        int length = 0;
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            if (character >= 0x0001 && character <= 0x007F) {
+                encoding[length++] = (byte) character;
+            } else if (character <= 0x07FF) {
+                encoding[length++] = (byte) (0xC0 | ((character >> 6) & 0x1F));
+                encoding[length++] = (byte) (0x80 | (character & 0x3F));
+            } else {
+                encoding[length++] = (byte) (0xE0 | ((character >> 12) & 0x0F));
+                encoding[length++] = (byte) (0x80 | ((character >> 6) & 0x3F));
+                encoding[length++] = (byte) (0x80 | (character & 0x3F));
+            }
+        }
+        byte[] result = new byte[length];
+        System.arraycopy(encoding, 0, result, 0, length);
+        return result;
+    }
+
+    /**
+     * Reads an unsigned short value from a binary representation.
+     *
+     * @param binaryRepresentation The binary representation to read from.
+     * @param offset               The offset of the value.
+     * @return The value that was read.
+     */
+    private static int readUnsignedShort(byte[] binaryRepresentation, int offset) {
+        return ((binaryRepresentation[offset] & 0xFF) << 8) | (binaryRepresentation[offset + 1] & 0xFF);
+    }
+
+    /**
+     * Reads an integer value from a binary representation.
+     *
+     * @param binaryRepresentation The binary representation to read from.
+     * @param offset               The offset of the value.
+     * @return The value that was read.
+     */
+    private static int readInt(byte[] binaryRepresentation, int offset) {
+        return (readUnsignedShort(binaryRepresentation, offset) << 16) | readUnsignedShort(binaryRepresentation, offset + 2);
+    }
+
+    /**
+     * Returns the number of entries of the scanned constant pool, including the unusable entry at index {@code 0}.
+     *
+     * @return The number of entries of the scanned constant pool.
+     */
+    public int getSize() {
+        return offsets.length;
+    }
+
+    /**
+     * Determines if the constant pool contains a {@code CONSTANT_Utf8_info} entry that is equal to the supplied value.
+     *
+     * @param value The value to find.
+     * @return {@code true} if the value is contained in the constant pool.
+     */
+    public boolean mentions(String value) {
+        byte[] encoding = encode(value);
+        for (int offset : utf8) {
+            if (equals(offset, encoding)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines if any {@code CONSTANT_Utf8_info} entry of the constant pool contains the supplied descriptor. This includes
+     * type descriptors that are embedded in method descriptors and in generic signatures, as well as descriptors of the types
+     * of annotations and of the types of annotation values.
+     *
+     * @param descriptor The descriptor to find.
+     * @return {@code true} if the descriptor is mentioned in the constant pool.
+     */
+    public boolean mentionsDescriptor(String descriptor) {
+        byte[] encoding = encode(descriptor);
+        for (int offset : utf8) {
+            if (contains(offset, encoding)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines if the constant pool references a type, either by a {@code CONSTANT_Class_info} entry, for example as
+     * the owner of a field or method that is accessed, or by mentioning the type's descriptor, for example as a member
+     * type or as the type of an annotation.
+     *
+     * @param internalName The internal name of the type, for example {@code java/lang/Object}.
+     * @return {@code true} if the type is mentioned in the constant pool.
+     */
+    public boolean mentionsType(String internalName) {
+        byte[] encoding = encode(internalName);
+        for (int offset : types) {
+            int index = readUnsignedShort(binaryRepresentation, offset + 1);
+            if (index > 0 && index < offsets.length && offsets[index] != 0 && equals(offsets[index], encoding)) {
+                return true;
+            }
+        }
+        byte[] descriptor = new byte[encoding.length + 2];
+        descriptor[0] = 'L';
+        System.arraycopy(encoding, 0, descriptor, 1, encoding.length);
+        descriptor[descriptor.length - 1] = ';';
+        byte[] parameterized = descriptor.clone();
+        parameterized[parameterized.length - 1] = '<';
+        for (int offset : utf8) {
+            if (contains(offset, descriptor) || contains(offset, parameterized)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a {@code CONSTANT_Utf8_info} entry is equal to an encoded value.
+     *
+     * @param offset   The offset of the entry's tag.
+     * @param encoding The encoded value.
+     * @return {@code true} if the entry is equal to the encoded value.
+     */
+    private boolean equals(int offset, byte[] encoding) {
+        if (binaryRepresentation[offset] != UTF8 || readUnsignedShort(binaryRepresentation, offset + 1) != encoding.length) {
+            return false;
+        }
+        for (int index = 0; index < encoding.length; index++) {
+            if (binaryRepresentation[offset + 3 + index] != encoding[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a {@code CONSTANT_Utf8_info} entry contains an encoded value.
+     *
+     * @param offset   The offset of the entry's tag.
+     * @param encoding The encoded value.
+     * @return {@code true} if the entry contains the encoded value.
+     */
+    private boolean contains(int offset, byte[] encoding) {
+        int length = readUnsignedShort(binaryRepresentation, offset + 1), start = offset + 3;
+        if (encoding.length == 0) {
+            return true;
+        }
+        byte first = encoding[0];
+        outer:
+        for (int index = start; index <= start + length - encoding.length; index++) {
+            if (binaryRepresentation[index] == first) {
+                for (int position = 1; position < encoding.length; position++) {
+                    if (binaryRepresentation[index + position] != encoding[position]) {
+                        continue outer;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -38,8 +38,10 @@ import java.lang.annotation.*;
 import java.lang.reflect.*;
 import java.security.Permission;
 import java.security.PrivilegedAction;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -50,6 +52,9 @@ import java.util.Map;
  * <p>
  * By default, this dispatcher uses the Java {@link Proxy} for creating dispatchers. By setting {@code net.bytebuddy.generate} to
  * {@code true}, Byte Buddy can generate proxies manually as byte code to mostly avoid reflection and boxing of arguments as arrays.
+ * Members that cannot be invoked directly from a generated proxy, as they are declared by a non-public type, are invoked via a
+ * {@code java.lang.invoke.MethodHandle} if the current VM supports method handles. Dispatchers that are used by Byte Buddy itself
+ * can be resolved ahead of their first use by calling {@link JavaDispatcher#preload()}.
  * </p>
  * <p>
  * If a security manager is active, the <i>net.bytebuddy.createJavaDispatcher</i> runtime permission is required. Any dispatching
@@ -80,6 +85,11 @@ public class JavaDispatcher<T> implements PrivilegedAction<T> {
      */
     private static final DynamicClassLoader.Resolver RESOLVER = doPrivileged(DynamicClassLoader.Resolver.CreationAction.INSTANCE);
 
+    /**
+     * A factory for method handles that are used by generated proxies to invoke members that cannot be invoked directly.
+     */
+    private static final DynamicClassLoader.MethodHandleFactory METHOD_HANDLE_FACTORY = doPrivileged(DynamicClassLoader.MethodHandleFactory.CreationAction.INSTANCE);
+
     /**
      * Contains an invoker that makes sure that reflective dispatchers make invocations from an isolated {@link ClassLoader} and
      * not from within Byte Buddy's context. This way, no privilege context can be leaked by accident.
@@ -172,6 +182,83 @@ public class JavaDispatcher<T> implements PrivilegedAction<T> {
         }
     }
 
+    /**
+     * Resolves all dispatchers that Byte Buddy uses when transforming, locating or injecting classes by initializing the types
+     * that hold them. Doing so, for example when starting a Java agent, avoids that these dispatchers are resolved on the first
+     * class load that requires them. To resolve generated dispatchers, the {@link JavaDispatcher#GENERATE_PROPERTY} property must
+     * be set before any of these types is initialized.
+     */
+    public static void preload() {
+        for (String name : preloaded()) {
+            try {
+                Class.forName(name, true, JavaDispatcher.class.getClassLoader());
+            } catch (ClassNotFoundException exception) {
+                throw new IllegalStateException("Cannot initialize " + name, exception);
+            }
+        }
+    }
+
+    /**
+     * Returns the binary names of the types that hold dispatchers which are used by Byte Buddy. The types are referenced by name
+     * such that they are neither loaded unless dispatchers are preloaded nor need to be visible to this package. A type that
+     * holds a dispatcher is initialized if any of its subclasses is initialized, such that an abstract holder might be represented
+     * by one of its subclasses.
+     *
+     * @return The binary names of the types that hold dispatchers which are used by Byte Buddy.
+     */
+    protected static String[] preloaded() {
+        return new String[]{
+                "net.bytebuddy.utility.JavaModule",
+                "net.bytebuddy.utility.JavaConstant$Simple",
+                "net.bytebuddy.utility.JavaConstant$MethodType",
+                "net.bytebuddy.utility.JavaConstant$MethodHandle",
+                "net.bytebuddy.utility.QueueFactory",
+                "net.bytebuddy.utility.FileSystem$ForNio2CapableVm",
+                "net.bytebuddy.description.type.TypeDefinition$Sort",
+                "net.bytebuddy.description.type.TypeDescription$ForLoadedType",
+                "net.bytebuddy.description.type.TypeDescription$Generic$AnnotationReader$Delegator$ForLoadedField",
+                "net.bytebuddy.description.type.TypeDescription$Generic$AnnotationReader$Delegator$ForLoadedMethodReturnType",
+                "net.bytebuddy.description.type.TypeDescription$Generic$AnnotationReader$Delegator$ForLoadedExecutableParameterType",
+                "net.bytebuddy.description.type.TypeDescription$Generic$AnnotationReader$Delegator$ForLoadedExecutableExceptionType",
+                "net.bytebuddy.description.type.TypeDescription$Generic$AnnotationReader$ForWildcardUpperBoundType",
+                "net.bytebuddy.description.type.TypeDescription$Generic$AnnotationReader$ForWildcardLowerBoundType",
+                "net.bytebuddy.description.type.TypeDescription$Generic$AnnotationReader$ForTypeVariableBoundType",
+                "net.bytebuddy.description.type.TypeDescription$Generic$AnnotationReader$ForTypeVariableBoundType$OfFormalTypeVariable",
+                "net.bytebuddy.description.type.TypeDescription$Generic$AnnotationReader$ForTypeArgument",
+                "net.bytebuddy.description.type.TypeDescription$Generic$AnnotationReader$ForComponentType",
+                "net.bytebuddy.description.type.TypeDescription$Generic$AnnotationReader$ForOwnerType",
+                "net.bytebuddy.description.type.RecordComponentDescription$ForLoadedRecordComponent",
+                "net.bytebuddy.description.method.MethodDescription$ForLoadedMethod",
+                "net.bytebuddy.description.method.ParameterList$ForLoadedExecutable",
+                "net.bytebuddy.description.method.ParameterDescription$ForLoadedParameter",
+                "net.bytebuddy.dynamic.ClassFileLocator$ForInstrumentation",
+                "net.bytebuddy.dynamic.loading.ByteArrayClassLoader$PersistenceHandler$UrlDefinitionAction",
+                "net.bytebuddy.dynamic.loading.ClassInjector$UsingReflection",
+                "net.bytebuddy.dynamic.loading.ClassInjector$UsingLookup",
+                "net.bytebuddy.dynamic.loading.ClassInjector$UsingUnsafe",
+                "net.bytebuddy.dynamic.loading.ClassInjector$UsingInstrumentation",
+                "net.bytebuddy.dynamic.loading.ClassReloadingStrategy",
+                "net.bytebuddy.agent.builder.AgentBuilder$RedefinitionStrategy",
+                "net.bytebuddy.agent.builder.AgentBuilder$Default",
+                "net.bytebuddy.agent.builder.AgentBuilder$Default$WarmupStrategy$Enabled"
+        };
+    }
+
+    /**
+     * Resolves the dispatchers that are held by the supplied types by initializing these types.
+     *
+     * @param type The types that hold dispatchers in their static fields.
+     */
+    public static void preload(Class<?>... type) {
+        for (Class<?> aType : type) {
+            try {
+                Class.forName(aType.getName(), true, aType.getClassLoader());
+            } catch (ClassNotFoundException exception) {
+                throw new IllegalStateException("Cannot initialize " + aType.getName(), exception);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -236,6 +323,7 @@ public class JavaDispatcher<T> implements PrivilegedAction<T> {
             }
         }
         boolean generate = this.generate;
+        int methodHandles = 0;
         for (Method method : generate
                 ? GraalImageCode.getCurrent().sorted(proxy.getMethods(), MethodComparator.INSTANCE)
                 : proxy.getMethods()) {
@@ -316,11 +404,19 @@ public class JavaDispatcher<T> implements PrivilegedAction<T> {
                         if (!method.getReturnType().isAssignableFrom(target)) {
                             throw new IllegalStateException("Cannot assign " + resolved.getDeclaringClass().getName() + " to " + method);
                         }
+                        Dispatcher dispatcher = new Dispatcher.ForConstructor(resolved);
                         if ((resolved.getModifiers() & Opcodes.ACC_PUBLIC) == 0 || (target.getModifiers() & Opcodes.ACC_PUBLIC) == 0) {
                             resolved.setAccessible(true);
-                            generate = false;
+                            Object methodHandle = generate
+                                    ? METHOD_HANDLE_FACTORY.unreflect(resolved, method)
+                                    : null;
+                            if (methodHandle == null) {
+                                generate = false;
+                            } else {
+                                dispatcher = new Dispatcher.ForMethodHandle(dispatcher, methodHandle, Type.getInternalName(proxy) + "$Proxy", "methodHandle" + methodHandles++);
+                            }
                         }
-                        dispatchers.put(method, new Dispatcher.ForConstructor(resolved));
+                        dispatchers.put(method, dispatcher);
                     } else {
                         Proxied proxied = method.getAnnotation(Proxied.class);
                         Method resolved = target.getMethod(proxied == null ? method.getName() : proxied.value(), parameterType);
@@ -339,21 +435,30 @@ public class JavaDispatcher<T> implements PrivilegedAction<T> {
                             }
                             throw new IllegalStateException("Resolved method for " + method + " throws undeclared checked exception " + type.getName());
                         }
-                        if ((resolved.getModifiers() & Opcodes.ACC_PUBLIC) == 0 || (resolved.getDeclaringClass().getModifiers() & Opcodes.ACC_PUBLIC) == 0) {
-                            resolved.setAccessible(true);
-                            generate = false;
-                        }
+                        Dispatcher dispatcher;
                         if (Modifier.isStatic(resolved.getModifiers())) {
                             if (!method.isAnnotationPresent(IsStatic.class)) {
                                 throw new IllegalStateException("Resolved method for " + method + " was expected to be static: " + resolved);
                             }
-                            dispatchers.put(method, new Dispatcher.ForStaticMethod(resolved));
+                            dispatcher = new Dispatcher.ForStaticMethod(resolved);
                         } else {
                             if (method.isAnnotationPresent(IsStatic.class)) {
                                 throw new IllegalStateException("Resolved method for " + method + " was expected to be virtual: " + resolved);
                             }
-                            dispatchers.put(method, new Dispatcher.ForNonStaticMethod(resolved));
+                            dispatcher = new Dispatcher.ForNonStaticMethod(resolved);
+                        }
+                        if ((resolved.getModifiers() & Opcodes.ACC_PUBLIC) == 0 || (resolved.getDeclaringClass().getModifiers() & Opcodes.ACC_PUBLIC) == 0) {
+                            resolved.setAccessible(true);
+                            Object methodHandle = generate
+                                    ? METHOD_HANDLE_FACTORY.unreflect(resolved, method)
+                                    : null;
+                            if (methodHandle == null) {
+                                generate = false;
+                            } else {
+                                dispatcher = new Dispatcher.ForMethodHandle(dispatcher, methodHandle, Type.getInternalName(proxy) + "$Proxy", "methodHandle" + methodHandles++);
+                            }
                         }
+                        dispatchers.put(method, dispatcher);
                     }
                 } catch (ClassNotFoundException exception) {
                     dispatchers.put(method, defaults || method.isAnnotationPresent(Defaults.class)
@@ -1058,6 +1163,96 @@ public class JavaDispatcher<T> implements PrivilegedAction<T> {
             }
         }
 
+        /**
+         * A dispatcher that invokes a member via a {@code java.lang.invoke.MethodHandle} from a generated proxy if the member
+         * cannot be invoked directly. The method handle is adapted to the proxy method's type and stored in a field of the proxy.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class ForMethodHandle implements Dispatcher {
+
+            /**
+             * The dispatcher to use if the member is invoked reflectively.
+             */
+            private final Dispatcher delegate;
+
+            /**
+             * The {@code java.lang.invoke.MethodHandle} that is adapted to the type of the proxy method.
+             */
+            private final Object methodHandle;
+
+            /**
+             * The internal name of the generated proxy type.
+             */
+            private final String owner;
+
+            /**
+             * The name of the field of the generated proxy that stores the method handle.
+             */
+            private final String name;
+
+            /**
+             * Creates a dispatcher for invoking a method handle.
+             *
+             * @param delegate     The dispatcher to use if the member is invoked reflectively.
+             * @param methodHandle The {@code java.lang.invoke.MethodHandle} that is adapted to the type of the proxy method.
+             * @param owner        The internal name of the generated proxy type.
+             * @param name         The name of the field of the generated proxy that stores the method handle.
+             */
+            protected ForMethodHandle(Dispatcher delegate, Object methodHandle, String owner, String name) {
+                this.delegate = delegate;
+                this.methodHandle = methodHandle;
+                this.owner = owner;
+                this.name = name;
+            }
+
+            /**
+             * Returns the {@code java.lang.invoke.MethodHandle} that is adapted to the type of the proxy method.
+             *
+             * @return The {@code java.lang.invoke.MethodHandle} that is adapted to the type of the proxy method.
+             */
+            protected Object getMethodHandle() {
+                return methodHandle;
+            }
+
+            /**
+             * Returns the name of the field of the generated proxy that stores the method handle.
+             *
+             * @return The name of the field of the generated proxy that stores the method handle.
+             */
+            protected String getName() {
+                return name;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @MaybeNull
+            public Object invoke(Object[] argument) throws Throwable {
+                return delegate.invoke(argument);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public int apply(MethodVisitor methodVisitor, Method method) {
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                methodVisitor.visitFieldInsn(Opcodes.GETFIELD, owner, name, DynamicClassLoader.METHOD_HANDLE_DESCRIPTOR);
+                int offset = 1;
+                for (Class<?> parameterType : method.getParameterTypes()) {
+                    Type type = Type.getType(parameterType);
+                    methodVisitor.visitVarInsn(type.getOpcode(Opcodes.ILOAD), offset);
+                    offset += type.getSize();
+                }
+                methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL,
+                        DynamicClassLoader.METHOD_HANDLE_INTERNAL_NAME,
+                        "invokeExact",
+                        Type.getMethodDescriptor(method),
+                        false);
+                methodVisitor.visitInsn(Type.getReturnType(method).getOpcode(Opcodes.IRETURN));
+                return Math.max(offset, Type.getReturnType(method).getSize());
+            }
+        }
+
         /**
          * A dispatcher for an unresolved method.
          */
@@ -1202,6 +1397,16 @@ public class JavaDispatcher<T> implements PrivilegedAction<T> {
          */
         private static final Object[] NO_ARGUMENT = new Object[0];
 
+        /**
+         * The internal name of the {@code java.lang.invoke.MethodHandle} type.
+         */
+        protected static final String METHOD_HANDLE_INTERNAL_NAME = "java/lang/invoke/MethodHandle";
+
+        /**
+         * The descriptor of the {@code java.lang.invoke.MethodHandle} type.
+         */
+        protected static final String METHOD_HANDLE_DESCRIPTOR = "L" + METHOD_HANDLE_INTERNAL_NAME + ";";
+
         /*
          * Resolves the currently set dump folder.
          */
@@ -1241,7 +1446,16 @@ public class JavaDispatcher<T> implements PrivilegedAction<T> {
                     null,
                     Type.getInternalName(Object.class),
                     new String[]{Type.getInternalName(proxy)});
+            List<Dispatcher.ForMethodHandle> methodHandles = new ArrayList<Dispatcher.ForMethodHandle>();
             for (Map.Entry<Method, Dispatcher> entry : dispatchers.entrySet()) {
+                if (entry.getValue() instanceof Dispatcher.ForMethodHandle) {
+                    methodHandles.add((Dispatcher.ForMethodHandle) entry.getValue());
+                    classWriter.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL,
+                            ((Dispatcher.ForMethodHandle) entry.getValue()).getName(),
+                            METHOD_HANDLE_DESCRIPTOR,
+                            null,
+                            null).visitEnd();
+                }
                 Class<?>[] exceptionType = entry.getKey().getExceptionTypes();
                 String[] exceptionTypeName = new String[exceptionType.length];
                 for (int index = 0; index < exceptionType.length; index++) {
@@ -1262,7 +1476,9 @@ public class JavaDispatcher<T> implements PrivilegedAction<T> {
             }
             MethodVisitor methodVisitor = classWriter.visitMethod(Opcodes.ACC_PUBLIC,
                     MethodDescription.CONSTRUCTOR_INTERNAL_NAME,
-                    Type.getMethodDescriptor(Type.VOID_TYPE),
+                    methodHandles.isEmpty()
+                            ? Type.getMethodDescriptor(Type.VOID_TYPE)
+                            : Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Object[].class)),
                     null,
                     null);
             methodVisitor.visitCode();
@@ -1272,8 +1488,21 @@ public class JavaDispatcher<T> implements PrivilegedAction<T> {
                     MethodDescription.CONSTRUCTOR_INTERNAL_NAME,
                     Type.getMethodDescriptor(Type.VOID_TYPE),
                     false);
+            Object[] methodHandle = new Object[methodHandles.size()];
+            for (int index = 0; index < methodHandles.size(); index++) {
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+                methodVisitor.visitVarInsn(Opcodes.ALOAD, 1);
+                methodVisitor.visitLdcInsn(index);
+                methodVisitor.visitInsn(Opcodes.AALOAD);
+                methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, METHOD_HANDLE_INTERNAL_NAME);
+                methodVisitor.visitFieldInsn(Opcodes.PUTFIELD,
+                        Type.getInternalName(proxy) + "$Proxy",
+                        methodHandles.get(index).getName(),
+                        METHOD_HANDLE_DESCRIPTOR);
+                methodHandle[index] = methodHandles.get(index).getMethodHandle();
+            }
             methodVisitor.visitInsn(Opcodes.RETURN);
-            methodVisitor.visitMaxs(1, 1);
+            methodVisitor.visitMaxs(methodHandles.isEmpty() ? 1 : 3, methodHandles.isEmpty() ? 1 : 2);
             methodVisitor.visitEnd();
             classWriter.visitEnd();
             byte[] binaryRepresentation = classWriter.toByteArray();
@@ -1290,14 +1519,14 @@ public class JavaDispatcher<T> implements PrivilegedAction<T> {
                 }
             }
             try {
-                return new DynamicClassLoader(proxy)
-                        .defineClass(proxy.getName() + "$Proxy",
-                                binaryRepresentation,
-                                0,
-                                binaryRepresentation.length,
-                                JavaDispatcher.class.getProtectionDomain())
-                        .getConstructor(NO_PARAMETER)
-                        .newInstance(NO_ARGUMENT);
+                Class<?> type = new DynamicClassLoader(proxy).defineClass(proxy.getName() + "$Proxy",
+                        binaryRepresentation,
+                        0,
+                        binaryRepresentation.length,
+                        JavaDispatcher.class.getProtectionDomain());
+                return methodHandles.isEmpty()
+                        ? type.getConstructor(NO_PARAMETER).newInstance(NO_ARGUMENT)
+                        : type.getConstructor(Object[].class).newInstance(new Object[]{methodHandle});
             } catch (Exception exception) {
                 throw new IllegalStateException("Failed to create proxy for " + proxy.getName(), exception);
             }
@@ -1394,6 +1623,173 @@ public class JavaDispatcher<T> implements PrivilegedAction<T> {
             }
         }
 
+        /**
+         * A factory for {@code java.lang.invoke.MethodHandle}s that are adapted to the type of a proxy method.
+         */
+        protected interface MethodHandleFactory {
+
+            /**
+             * Resolves a method handle for an accessible method that is adapted to the type of the proxy method.
+             *
+             * @param method The method to resolve a method handle for.
+             * @param proxy  The proxy method that invokes the method handle.
+             * @return An appropriate method handle or {@code null} if no method handle can be resolved.
+             */
+            @MaybeNull
+            Object unreflect(Method method, Method proxy);
+
+            /**
+             * Resolves a method handle for an accessible constructor that is adapted to the type of the proxy method.
+             *
+             * @param constructor The constructor to resolve a method handle for.
+             * @param proxy       The proxy method that invokes the method handle.
+             * @return An appropriate method handle or {@code null} if no method handle can be resolved.
+             */
+            @MaybeNull
+            Object unreflect(Constructor<?> constructor, Method proxy);
+
+            /**
+             * An action to create a method handle factory.
+             */
+            enum CreationAction implements PrivilegedAction<MethodHandleFactory> {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @SuppressFBWarnings(value = "REC_CATCH_EXCEPTION", justification = "Exception should not be rethrown but trigger a fallback.")
+                public MethodHandleFactory run() {
+                    try {
+                        Class<?> methodHandles = Class.forName("java.lang.invoke.MethodHandles", false, null);
+                        Class<?> lookup = Class.forName("java.lang.invoke.MethodHandles$Lookup", false, null);
+                        Class<?> methodHandle = Class.forName("java.lang.invoke.MethodHandle", false, null);
+                        Class<?> methodType = Class.forName("java.lang.invoke.MethodType", false, null);
+                        return new ForJava7CapableVm(methodHandles.getMethod("publicLookup").invoke(null),
+                                lookup.getMethod("unreflect", Method.class),
+                                lookup.getMethod("unreflectConstructor", Constructor.class),
+                                methodType.getMethod("methodType", Class.class, Class[].class),
+                                methodHandle.getMethod("asType", methodType));
+                    } catch (Exception ignored) {
+                        return Unavailable.INSTANCE;
+                    }
+                }
+            }
+
+            /**
+             * A method handle factory for VMs that do not support method handles.
+             */
+            enum Unavailable implements MethodHandleFactory {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @MaybeNull
+                public Object unreflect(Method method, Method proxy) {
+                    return null;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @MaybeNull
+                public Object unreflect(Constructor<?> constructor, Method proxy) {
+                    return null;
+                }
+            }
+
+            /**
+             * A method handle factory for VMs that support method handles.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class ForJava7CapableVm implements MethodHandleFactory {
+
+                /**
+                 * The public {@code java.lang.invoke.MethodHandles$Lookup}.
+                 */
+                private final Object lookup;
+
+                /**
+                 * The {@code java.lang.invoke.MethodHandles$Lookup#unreflect} method.
+                 */
+                private final Method unreflect;
+
+                /**
+                 * The {@code java.lang.invoke.MethodHandles$Lookup#unreflectConstructor} method.
+                 */
+                private final Method unreflectConstructor;
+
+                /**
+                 * The {@code java.lang.invoke.MethodType#methodType} method.
+                 */
+                private final Method methodType;
+
+                /**
+                 * The {@code java.lang.invoke.MethodHandle#asType} method.
+                 */
+                private final Method asType;
+
+                /**
+                 * Creates a new method handle factory for a VM that supports method handles.
+                 *
+                 * @param lookup               The public {@code java.lang.invoke.MethodHandles$Lookup}.
+                 * @param unreflect            The {@code java.lang.invoke.MethodHandles$Lookup#unreflect} method.
+                 * @param unreflectConstructor The {@code java.lang.invoke.MethodHandles$Lookup#unreflectConstructor} method.
+                 * @param methodType           The {@code java.lang.invoke.MethodType#methodType} method.
+                 * @param asType               The {@code java.lang.invoke.MethodHandle#asType} method.
+                 */
+                protected ForJava7CapableVm(Object lookup, Method unreflect, Method unreflectConstructor, Method methodType, Method asType) {
+                    this.lookup = lookup;
+                    this.unreflect = unreflect;
+                    this.unreflectConstructor = unreflectConstructor;
+                    this.methodType = methodType;
+                    this.asType = asType;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @MaybeNull
+                public Object unreflect(Method method, Method proxy) {
+                    return adapt(unreflect, method, proxy);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @MaybeNull
+                public Object unreflect(Constructor<?> constructor, Method proxy) {
+                    return adapt(unreflectConstructor, constructor, proxy);
+                }
+
+                /**
+                 * Resolves a method handle for a member and adapts it to the type of a proxy method.
+                 *
+                 * @param unreflect The method to resolve the method handle with.
+                 * @param member    The member to resolve the method handle for.
+                 * @param proxy     The proxy method that invokes the method handle.
+                 * @return An appropriate method handle or {@code null} if no method handle can be resolved.
+                 */
+                @MaybeNull
+                @SuppressFBWarnings(value = "REC_CATCH_EXCEPTION", justification = "Exception should not be rethrown but trigger a fallback.")
+                private Object adapt(Method unreflect, Object member, Method proxy) {
+                    try {
+                        return asType.invoke(unreflect.invoke(lookup, member), methodType.invoke(null, proxy.getReturnType(), proxy.getParameterTypes()));
+                    } catch (Exception ignored) {
+                        return null;
+                    }
+                }
+            }
+        }
+
         /**
          * A resolver to make adjustments that are possibly necessary to withhold module graph guarantees.
          */
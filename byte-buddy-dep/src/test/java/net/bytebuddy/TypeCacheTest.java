@@ -6,7 +6,15 @@ import org.junit.Test;
 import java.lang.ref.Reference;
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 import static org.hamcrest.CoreMatchers.*;
@@ -193,6 +201,75 @@ public class TypeCacheTest {
         typeCache.findOrInsert(ClassLoader.getSystemClassLoader(), new Object(), callable, new Object());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFindOrInsertOnce() throws Exception {
+        TypeCache<Object> typeCache = new TypeCache.WithInlineExpunction<Object>(TypeCache.Sort.WEAK);
+        Object key = new Object();
+        Callable<Class<?>> callable = mock(Callable.class);
+        when(callable.call()).thenReturn((Class) Void.class);
+        assertThat(typeCache.findOrInsertOnce(ClassLoader.getSystemClassLoader(), key, callable), is((Object) Void.class));
+        verify(callable).call();
+        assertThat(typeCache.findOrInsertOnce(ClassLoader.getSystemClassLoader(), key, callable), is((Object) Void.class));
+        assertThat(typeCache.find(ClassLoader.getSystemClassLoader(), key), is((Object) Void.class));
+        verifyNoMoreInteractions(callable);
+        assertThat(typeCache.creations.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testFindOrInsertOnceConcurrently() throws Exception {
+        final TypeCache<Object> typeCache = new TypeCache<Object>();
+        final Object key = new Object();
+        final CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+        final AtomicInteger invocations = new AtomicInteger();
+        final Callable<Class<?>> callable = new Callable<Class<?>>() {
+            public Class<?> call() throws Exception {
+                invocations.incrementAndGet();
+                started.countDown();
+                release.await();
+                return Void.class;
+            }
+        };
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Class<?>>> futures = new ArrayList<Future<Class<?>>>();
+            futures.add(executorService.submit(new Callable<Class<?>>() {
+                public Class<?> call() {
+                    return typeCache.findOrInsertOnce(ClassLoader.getSystemClassLoader(), key, callable);
+                }
+            }));
+            assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+            for (int index = 0; index < 3; index++) {
+                futures.add(executorService.submit(new Callable<Class<?>>() {
+                    public Class<?> call() {
+                        return typeCache.findOrInsertOnce(ClassLoader.getSystemClassLoader(), key, callable);
+                    }
+                }));
+            }
+            assertThat(typeCache.findOrInsertOnce(ClassLoader.getSystemClassLoader(), new Object(), new Callable<Class<?>>() {
+                public Class<?> call() {
+                    return Object.class;
+                }
+            }), is((Object) Object.class));
+            release.countDown();
+            for (Future<Class<?>> future : futures) {
+                assertThat(future.get(10, TimeUnit.SECONDS), is((Object) Void.class));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertThat(invocations.get(), is(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @SuppressWarnings("unchecked")
+    public void testFindOrInsertOnceCreationException() throws Exception {
+        TypeCache<Object> typeCache = new TypeCache<Object>(TypeCache.Sort.WEAK);
+        Callable<Class<?>> callable = mock(Callable.class);
+        when(callable.call()).thenThrow(RuntimeException.class);
+        typeCache.findOrInsertOnce(ClassLoader.getSystemClassLoader(), new Object(), callable);
+    }
+
     @Test
     public void testSimpleKeyProperties() {
         assertThat(new TypeCache.SimpleKey(Object.class).hashCode(), is(new TypeCache.SimpleKey(Object.class).hashCode()));
@@ -13,6 +13,7 @@ import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.LoadedTypeInitializer;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.matcher.TypePrefilter;
 import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.test.utility.JavaVersionRule;
 import net.bytebuddy.utility.JavaModule;
@@ -35,7 +36,10 @@ import java.lang.instrument.UnmodifiableClassException;
 import java.lang.reflect.InvocationTargetException;
 import java.security.ProtectionDomain;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.none;
 import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
 import static org.hamcrest.CoreMatchers.*;
@@ -556,6 +560,42 @@ public class AgentBuilderDefaultTest {
         verifyNoMoreInteractions(installationListener);
     }
 
+    @Test
+    public void testSuccessfulWithRetransformationMatchedParallelPreparation() throws Exception {
+        when(typeMatcher.matches(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), REDEFINED, REDEFINED.getProtectionDomain())).thenReturn(true);
+        when(instrumentation.isModifiableClass(REDEFINED)).thenReturn(true);
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            ResettableClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                    .with(initializationStrategy)
+                    .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+                    .withParallelPreparation(executorService)
+                    .with(poolStrategy)
+                    .with(typeStrategy)
+                    .with(installationListener)
+                    .with(listener)
+                    .disableNativeMethodPrefix()
+                    .ignore(none())
+                    .type(typeMatcher).transform(transformer)
+                    .installOn(instrumentation);
+            verifyNoMoreInteractions(listener);
+            verify(instrumentation).addTransformer(classFileTransformer, true);
+            verify(instrumentation).getAllLoadedClasses();
+            verify(instrumentation).isModifiableClass(REDEFINED);
+            verify(instrumentation).retransformClasses(REDEFINED);
+            verify(instrumentation).isRetransformClassesSupported();
+            verifyNoMoreInteractions(instrumentation);
+            verify(typeMatcher).matches(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), REDEFINED, REDEFINED.getProtectionDomain());
+            verifyNoMoreInteractions(typeMatcher);
+            verify(installationListener).onBeforeInstall(instrumentation, classFileTransformer);
+            verify(installationListener).onInstall(instrumentation, classFileTransformer);
+            verifyNoMoreInteractions(installationListener);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
     @Test
     public void testSuccessfulWithRetransformationMatchedFallback() throws Exception {
         when(typeMatcher.matches(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), REDEFINED, REDEFINED.getProtectionDomain()))
@@ -2067,6 +2107,49 @@ public class AgentBuilderDefaultTest {
         verifyNoMoreInteractions(installationListener);
     }
 
+    @Test
+    public void testIgnoredByPrefilter() throws Exception {
+        ResettableClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                .with(AgentBuilder.PrefilterStrategy.Default.COMPILING)
+                .with(initializationStrategy)
+                .with(poolStrategy)
+                .with(typeStrategy)
+                .with(installationListener)
+                .with(listener)
+                .disableNativeMethodPrefix()
+                .type(named(FOO)).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(transform(classFileTransformer, JavaModule.ofType(REDEFINED), REDEFINED.getClassLoader(), REDEFINED.getName(), REDEFINED, REDEFINED.getProtectionDomain(), QUX),
+                nullValue(byte[].class));
+        verify(listener).onDiscovery(REDEFINED.getName(), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), true);
+        verify(listener).onIgnored(any(TypeDescription.class), eq(REDEFINED.getClassLoader()), eq(JavaModule.ofType(REDEFINED)), eq(true));
+        verify(listener).onComplete(REDEFINED.getName(), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), true);
+        verifyNoMoreInteractions(listener);
+        verifyNoMoreInteractions(typePool);
+        verifyNoMoreInteractions(transformer);
+    }
+
+    @Test
+    public void testIgnoredByRawMatcherPrefilter() throws Exception {
+        ResettableClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                .with(initializationStrategy)
+                .with(poolStrategy)
+                .with(typeStrategy)
+                .with(installationListener)
+                .with(listener)
+                .disableNativeMethodPrefix()
+                .type(new AgentBuilder.RawMatcher.WithPrefilter(TypePrefilter.ForMentionedTypes.of(Void.class), typeMatcher)).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(transform(classFileTransformer, JavaModule.ofType(REDEFINED), REDEFINED.getClassLoader(), REDEFINED.getName(), REDEFINED, REDEFINED.getProtectionDomain(), ClassFileLocator.ForClassLoader.read(REDEFINED)),
+                nullValue(byte[].class));
+        verify(listener).onDiscovery(REDEFINED.getName(), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), true);
+        verify(listener).onIgnored(any(TypeDescription.class), eq(REDEFINED.getClassLoader()), eq(JavaModule.ofType(REDEFINED)), eq(true));
+        verify(listener).onComplete(REDEFINED.getName(), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), true);
+        verifyNoMoreInteractions(listener);
+        verifyNoMoreInteractions(typeMatcher);
+        verifyNoMoreInteractions(typePool);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testEmptyPrefixThrowsException() throws Exception {
         new AgentBuilder.Default(byteBuddy).enableNativeMethodPrefix("");
@@ -2352,6 +2435,7 @@ public class AgentBuilderDefaultTest {
                 AgentBuilder.DescriptionStrategy.Default.HYBRID,
                 mock(AgentBuilder.FallbackStrategy.class),
                 mock(AgentBuilder.ClassFileBufferStrategy.class),
+                AgentBuilder.PrefilterStrategy.Default.EXPLICIT,
                 mock(AgentBuilder.InstallationListener.class),
                 mock(AgentBuilder.RawMatcher.class),
                 mock(AgentBuilder.RedefinitionStrategy.ResubmissionEnforcer.class),
@@ -2386,6 +2470,7 @@ public class AgentBuilderDefaultTest {
                 AgentBuilder.DescriptionStrategy.Default.HYBRID,
                 mock(AgentBuilder.FallbackStrategy.class),
                 mock(AgentBuilder.ClassFileBufferStrategy.class),
+                AgentBuilder.PrefilterStrategy.Default.EXPLICIT,
                 mock(AgentBuilder.InstallationListener.class),
                 mock(AgentBuilder.RawMatcher.class),
                 mock(AgentBuilder.RedefinitionStrategy.ResubmissionEnforcer.class),
@@ -2427,6 +2512,7 @@ public class AgentBuilderDefaultTest {
                 AgentBuilder.DescriptionStrategy.Default.HYBRID,
                 mock(AgentBuilder.FallbackStrategy.class),
                 mock(AgentBuilder.ClassFileBufferStrategy.class),
+                AgentBuilder.PrefilterStrategy.Default.EXPLICIT,
                 mock(AgentBuilder.InstallationListener.class),
                 mock(AgentBuilder.RawMatcher.class),
                 mock(AgentBuilder.RedefinitionStrategy.ResubmissionEnforcer.class),
@@ -2557,6 +2643,13 @@ public class AgentBuilderDefaultTest {
                 .withResubmission(mock(AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.class));
     }
 
+    @Test(expected = IllegalStateException.class)
+    public void testRetransformationDisabledNotEnabledPreparation() throws Exception {
+        new AgentBuilder.Default()
+                .with(AgentBuilder.RedefinitionStrategy.DISABLED)
+                .withPreparation(mock(AgentBuilder.RedefinitionStrategy.PreparationStrategy.class));
+    }
+
     public static class Foo {
         /* empty */
     }
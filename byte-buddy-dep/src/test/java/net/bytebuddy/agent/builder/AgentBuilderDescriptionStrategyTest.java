@@ -10,13 +10,29 @@ import org.junit.rules.MethodRule;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.ref.Reference;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 public class AgentBuilderDescriptionStrategyTest {
@@ -91,4 +107,132 @@ public class AgentBuilderDescriptionStrategyTest {
         assertThat(AgentBuilder.DescriptionStrategy.Default.POOL_ONLY.withSuperTypeLoading(executorService),
                 hasPrototype((AgentBuilder.DescriptionStrategy) new AgentBuilder.DescriptionStrategy.SuperTypeLoading.Asynchronous(AgentBuilder.DescriptionStrategy.Default.POOL_ONLY, executorService)));
     }
+
+    @Test
+    public void testPrefetching() throws Exception {
+        ExecutorService executorService = mock(ExecutorService.class);
+        AgentBuilder.PoolStrategy.WithTypePoolCache poolStrategy = mock(AgentBuilder.PoolStrategy.WithTypePoolCache.class);
+        assertThat(AgentBuilder.DescriptionStrategy.Default.HYBRID.withPrefetching(poolStrategy, executorService),
+                hasPrototype((AgentBuilder.DescriptionStrategy) new AgentBuilder.DescriptionStrategy.Prefetching(AgentBuilder.DescriptionStrategy.Default.HYBRID,
+                        AgentBuilder.LocationStrategy.ForClassLoader.STRONG,
+                        poolStrategy,
+                        executorService)));
+        assertThat(AgentBuilder.DescriptionStrategy.Default.HYBRID.withPrefetching(locationStrategy, poolStrategy, executorService),
+                hasPrototype((AgentBuilder.DescriptionStrategy) new AgentBuilder.DescriptionStrategy.Prefetching(AgentBuilder.DescriptionStrategy.Default.HYBRID,
+                        locationStrategy,
+                        poolStrategy,
+                        executorService)));
+        assertThat(AgentBuilder.DescriptionStrategy.Default.POOL_ONLY.withPrefetching(poolStrategy, executorService).isLoadedFirst(), is(false));
+    }
+
+    @Test
+    public void testPrefetchingResolvesReferencedTypes() throws Exception {
+        ConcurrentMap<ClassLoader, TypePool.CacheProvider> cacheProviders = new ConcurrentHashMap<ClassLoader, TypePool.CacheProvider>();
+        AgentBuilder.PoolStrategy.WithTypePoolCache poolStrategy = new AgentBuilder.PoolStrategy.WithTypePoolCache.Simple(cacheProviders);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            TypeDescription typeDescription = AgentBuilder.DescriptionStrategy.Default.POOL_ONLY.withPrefetching(poolStrategy, executorService).apply(Sample.class.getName(),
+                    null,
+                    poolStrategy.typePool(ClassFileLocator.ForClassLoader.of(Sample.class.getClassLoader()), Sample.class.getClassLoader()),
+                    mock(AgentBuilder.CircularityLock.class),
+                    Sample.class.getClassLoader(),
+                    JavaModule.ofType(Sample.class));
+            assertThat(typeDescription.getName(), is(Sample.class.getName()));
+        } finally {
+            executorService.shutdown();
+        }
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS), is(true));
+        TypePool.CacheProvider cacheProvider = cacheProviders.get(Sample.class.getClassLoader());
+        assertThat(cacheProvider.find(FieldSample.class.getName()), notNullValue(TypePool.Resolution.class));
+        assertThat(cacheProvider.find(ReturnSample.class.getName()), notNullValue(TypePool.Resolution.class));
+        assertThat(cacheProvider.find(ParameterSample.class.getName()), notNullValue(TypePool.Resolution.class));
+        assertThat(cacheProvider.find(SuperSample.class.getName()), notNullValue(TypePool.Resolution.class));
+        assertThat(cacheProvider.find(SampleInterface.class.getName()), notNullValue(TypePool.Resolution.class));
+        assertThat(cacheProvider.find(SuperSampleInterface.class.getName()), notNullValue(TypePool.Resolution.class));
+        assertThat(cacheProvider.find(SampleAnnotation.class.getName()), notNullValue(TypePool.Resolution.class));
+        assertThat(cacheProvider.find(SuperTypeSample.class.getName()), nullValue(TypePool.Resolution.class));
+    }
+
+    @Test
+    public void testPrefetchingClassLoaderCollected() throws Exception {
+        AgentBuilder.PoolStrategy.WithTypePoolCache poolStrategy = mock(AgentBuilder.PoolStrategy.WithTypePoolCache.class);
+        AgentBuilder.DescriptionStrategy.Prefetching.PrefetchingAction action = new AgentBuilder.DescriptionStrategy.Prefetching.PrefetchingAction(Sample.class.getName(),
+                new URLClassLoader(new URL[0]),
+                locationStrategy,
+                poolStrategy);
+        Field field = AgentBuilder.DescriptionStrategy.Prefetching.PrefetchingAction.class.getDeclaredField("classLoader");
+        field.setAccessible(true);
+        ((Reference<?>) field.get(action)).clear();
+        action.run();
+        verifyZeroInteractions(poolStrategy);
+        verifyZeroInteractions(locationStrategy);
+    }
+
+    @Test
+    public void testPrefetchingSkipsLoadedType() throws Exception {
+        ExecutorService executorService = mock(ExecutorService.class);
+        assertThat(AgentBuilder.DescriptionStrategy.Default.HYBRID.withPrefetching(mock(AgentBuilder.PoolStrategy.WithTypePoolCache.class), executorService).apply(Object.class.getName(),
+                Object.class,
+                typePool,
+                mock(AgentBuilder.CircularityLock.class),
+                Object.class.getClassLoader(),
+                JavaModule.ofType(Object.class)), is(TypeDescription.ForLoadedType.of(Object.class)));
+        verifyZeroInteractions(executorService);
+    }
+
+    @Test
+    public void testPrefetchingRejected() throws Exception {
+        ExecutorService executorService = mock(ExecutorService.class);
+        doThrow(new RejectedExecutionException()).when(executorService).execute(any(Runnable.class));
+        when(typePool.describe(Object.class.getName())).thenReturn(new TypePool.Resolution.Simple(typeDescription));
+        assertThat(AgentBuilder.DescriptionStrategy.Default.POOL_ONLY.withPrefetching(mock(AgentBuilder.PoolStrategy.WithTypePoolCache.class), executorService).apply(Object.class.getName(),
+                Object.class,
+                typePool,
+                mock(AgentBuilder.CircularityLock.class),
+                Object.class.getClassLoader(),
+                JavaModule.ofType(Object.class)), is(typeDescription));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface SampleAnnotation {
+        /* empty */
+    }
+
+    public interface SuperSampleInterface {
+        /* empty */
+    }
+
+    public interface SampleInterface extends SuperSampleInterface {
+        /* empty */
+    }
+
+    public static class SuperSample {
+        /* empty */
+    }
+
+    @SampleAnnotation
+    public static class FieldSample extends SuperSample implements SampleInterface {
+        /* empty */
+    }
+
+    public static class ReturnSample {
+        /* empty */
+    }
+
+    public static class ParameterSample {
+        /* empty */
+    }
+
+    public static class SuperTypeSample {
+        /* empty */
+    }
+
+    public static class Sample extends SuperTypeSample {
+
+        public FieldSample field;
+
+        public ReturnSample[] method(ParameterSample parameter, int value) {
+            return null;
+        }
+    }
 }
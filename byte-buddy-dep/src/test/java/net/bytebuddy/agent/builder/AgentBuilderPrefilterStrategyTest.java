@@ -0,0 +1,50 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.matcher.TypePrefilter;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AgentBuilderPrefilterStrategyTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    public void testExplicitDoesNotCompileMatchers() throws Exception {
+        assertThat(AgentBuilder.PrefilterStrategy.Default.EXPLICIT.resolve(Collections.singletonList(new AgentBuilder.RawMatcher.ForElementMatchers(named(FOO)))),
+                is((TypePrefilter) TypePrefilter.Trivial.CANDIDATE));
+    }
+
+    @Test
+    public void testExplicitWithoutMatchers() throws Exception {
+        assertThat(AgentBuilder.PrefilterStrategy.Default.EXPLICIT.resolve(Collections.<AgentBuilder.RawMatcher>emptyList()),
+                is((TypePrefilter) TypePrefilter.Trivial.CANDIDATE));
+    }
+
+    @Test
+    public void testExplicitAppliesRegisteredPrefilter() throws Exception {
+        TypePrefilter prefilter = AgentBuilder.PrefilterStrategy.Default.EXPLICIT.resolve(Collections.singletonList(new AgentBuilder.RawMatcher.WithPrefilter(new TypePrefilter.ForNames(Collections.singleton(FOO), Collections.<String>emptySet()),
+                named(FOO))));
+        assertThat(prefilter.isUnconstrained(), is(false));
+        assertThat(prefilter.isCandidate(FOO, new byte[0]), is(true));
+        assertThat(prefilter.isCandidate(BAR, new byte[0]), is(false));
+    }
+
+    @Test
+    public void testCompilingCompilesMatchers() throws Exception {
+        TypePrefilter prefilter = AgentBuilder.PrefilterStrategy.Default.COMPILING.resolve(Collections.singletonList(new AgentBuilder.RawMatcher.ForElementMatchers(named(FOO))));
+        assertThat(prefilter.isUnconstrained(), is(false));
+        assertThat(prefilter.isCandidate(FOO, new byte[0]), is(true));
+        assertThat(prefilter.isCandidate(BAR, new byte[0]), is(false));
+    }
+
+    @Test
+    public void testCompilingWithoutMatchers() throws Exception {
+        assertThat(AgentBuilder.PrefilterStrategy.Default.COMPILING.resolve(Collections.<AgentBuilder.RawMatcher>emptyList()),
+                is((TypePrefilter) TypePrefilter.Trivial.NON_CANDIDATE));
+    }
+}
@@ -0,0 +1,81 @@
+package net.bytebuddy.agent.builder;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class AgentBuilderRedefinitionStrategyPreparationStrategyTest {
+
+    @Test
+    public void testSequential() throws Exception {
+        final List<Integer> prepared = new ArrayList<Integer>();
+        List<Runnable> preparations = new ArrayList<Runnable>();
+        for (int index = 0; index < 3; index++) {
+            final int value = index;
+            preparations.add(new Runnable() {
+                public void run() {
+                    prepared.add(value);
+                }
+            });
+        }
+        AgentBuilder.RedefinitionStrategy.PreparationStrategy.Sequential.INSTANCE.prepare(preparations);
+        assertThat(prepared, is(Arrays.asList(0, 1, 2)));
+    }
+
+    @Test
+    public void testExecutorService() throws Exception {
+        final List<Integer> prepared = new CopyOnWriteArrayList<Integer>();
+        List<Runnable> preparations = new ArrayList<Runnable>();
+        for (int index = 0; index < 100; index++) {
+            final int value = index;
+            preparations.add(new Runnable() {
+                public void run() {
+                    prepared.add(value);
+                }
+            });
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            new AgentBuilder.RedefinitionStrategy.PreparationStrategy.ForExecutorService(executorService).prepare(preparations);
+        } finally {
+            executorService.shutdownNow();
+        }
+        List<Integer> sorted = new ArrayList<Integer>(prepared);
+        Collections.sort(sorted);
+        assertThat(sorted.size(), is(100));
+        for (int index = 0; index < 100; index++) {
+            assertThat(sorted.get(index), is(index));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testExecutorServiceError() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            new AgentBuilder.RedefinitionStrategy.PreparationStrategy.ForExecutorService(executorService).prepare(Collections.singletonList(new Runnable() {
+                public void run() {
+                    throw new RuntimeException();
+                }
+            }));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testExecutorServiceEmpty() throws Exception {
+        ExecutorService executorService = mock(ExecutorService.class);
+        new AgentBuilder.RedefinitionStrategy.PreparationStrategy.ForExecutorService(executorService).prepare(Collections.<Runnable>emptyList());
+        verifyNoMoreInteractions(executorService);
+    }
+}
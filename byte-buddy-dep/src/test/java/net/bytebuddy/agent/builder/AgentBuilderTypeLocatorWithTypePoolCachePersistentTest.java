@@ -0,0 +1,65 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.pool.TypePool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AgentBuilderTypeLocatorWithTypePoolCachePersistentTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("foo", "bar");
+        assertThat(file.delete(), is(true));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(!file.exists() || file.delete(), is(true));
+    }
+
+    @Test
+    public void testPersistentImplementation() throws Exception {
+        TypePool.CacheProvider.Persistent.Storage storage = TypePool.CacheProvider.Persistent.Storage.of(file);
+        ConcurrentMap<ClassLoader, TypePool.CacheProvider> cacheProviders = new ConcurrentHashMap<ClassLoader, TypePool.CacheProvider>();
+        AgentBuilder.PoolStrategy poolStrategy = new AgentBuilder.PoolStrategy.WithTypePoolCache.Persistent(storage, cacheProviders);
+        ClassLoader classLoader = getClass().getClassLoader();
+        TypePool typePool = poolStrategy.typePool(ClassFileLocator.ForClassLoader.of(classLoader), classLoader);
+        assertThat(typePool.describe(Foo.class.getName()).resolve().getDeclaredMethods().size(),
+                is(TypeDescription.ForLoadedType.of(Foo.class).getDeclaredMethods().size()));
+        assertThat(cacheProviders.get(classLoader), instanceOf(TypePool.CacheProvider.Persistent.class));
+        assertThat(((TypePool.CacheProvider.Persistent) cacheProviders.get(classLoader)).getStorage(), sameInstance(storage));
+        assertThat(storage.size() > 0, is(true));
+    }
+
+    @Test
+    public void testPersistentImplementationBootstrap() throws Exception {
+        TypePool.CacheProvider.Persistent.Storage storage = TypePool.CacheProvider.Persistent.Storage.of(file);
+        AgentBuilder.PoolStrategy poolStrategy = new AgentBuilder.PoolStrategy.WithTypePoolCache.Persistent(storage,
+                new ConcurrentHashMap<ClassLoader, TypePool.CacheProvider>());
+        TypePool typePool = poolStrategy.typePool(ClassFileLocator.ForClassLoader.ofBootLoader(), null);
+        assertThat(typePool.describe(Object.class.getName()).resolve().getDeclaredMethods().size(),
+                is(TypeDescription.ForLoadedType.of(Object.class).getDeclaredMethods().size()));
+        assertThat(storage.size() > 0, is(true));
+    }
+
+    private static class Foo {
+
+        public void foo() {
+            /* empty */
+        }
+    }
+}
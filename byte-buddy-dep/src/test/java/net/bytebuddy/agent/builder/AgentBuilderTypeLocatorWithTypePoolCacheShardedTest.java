@@ -0,0 +1,142 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.pool.TypePool;
+import net.bytebuddy.utility.nullability.MaybeNull;
+import org.junit.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class AgentBuilderTypeLocatorWithTypePoolCacheShardedTest {
+
+    private static final String FOO = "foo.Bar";
+
+    @Test
+    public void testParentShardIsShared() throws Exception {
+        RecordingSharded sharded = new RecordingSharded(10, 100, true);
+        ClassLoader first = new URLClassLoader(new URL[0], ClassLoadingStrategy.BOOTSTRAP_LOADER);
+        ClassLoader second = new URLClassLoader(new URL[0], ClassLoadingStrategy.BOOTSTRAP_LOADER);
+        assertThat(sharded.typePool(ClassFileLocator.ForClassLoader.of(first), first).describe(String.class.getName()).resolve().getDeclaredMethods().isEmpty(), is(false));
+        assertThat(sharded.typePool(ClassFileLocator.ForClassLoader.of(second), second).describe(String.class.getName()).resolve().getDeclaredMethods().isEmpty(), is(false));
+        assertThat(sharded.size(), is(3));
+        assertThat(sharded.cacheProviders.get(null), instanceOf(TypePool.CacheProvider.Bounded.class));
+        assertThat(sharded.cacheProviders.get(null).find(String.class.getName()), notNullValue(TypePool.Resolution.class));
+        assertThat(sharded.cacheProviders.get(first).find(String.class.getName()), nullValue(TypePool.Resolution.class));
+        assertThat(sharded.cacheProviders.get(second).find(String.class.getName()), nullValue(TypePool.Resolution.class));
+    }
+
+    @Test
+    public void testParentShardIsNotSharedByDefault() throws Exception {
+        RecordingSharded sharded = new RecordingSharded(10, 100, false);
+        ClassLoader classLoader = new URLClassLoader(new URL[0], ClassLoadingStrategy.BOOTSTRAP_LOADER);
+        assertThat(sharded.typePool(ClassFileLocator.ForClassLoader.of(classLoader), classLoader).describe(String.class.getName()).resolve().getDeclaredMethods().isEmpty(), is(false));
+        assertThat(sharded.size(), is(1));
+        assertThat(sharded.cacheProviders.get(classLoader).find(String.class.getName()), notNullValue(TypePool.Resolution.class));
+    }
+
+    @Test
+    public void testParentTypePoolIsRetained() throws Exception {
+        AgentBuilder.PoolStrategy.WithTypePoolCache.Sharded sharded = new AgentBuilder.PoolStrategy.WithTypePoolCache.Sharded(TypePool.Default.ReaderMode.FAST, 10, 100, true);
+        ClassLoader parent = new URLClassLoader(new URL[0], ClassLoadingStrategy.BOOTSTRAP_LOADER);
+        ClassLoader first = new URLClassLoader(new URL[0], parent);
+        ClassLoader second = new URLClassLoader(new URL[0], parent);
+        TypePool typePool = sharded.parent(first);
+        assertThat(sharded.parent(first), sameInstance(typePool));
+        assertThat(sharded.parent(second), sameInstance(typePool));
+        assertThat(sharded.parent(parent), sameInstance(sharded.parent(parent)));
+        assertThat(sharded.parent(null), is((TypePool) TypePool.Empty.INSTANCE));
+    }
+
+    @Test
+    public void testChildShard() throws Exception {
+        RecordingSharded sharded = new RecordingSharded(10, 100, true);
+        DynamicType dynamicType = new ByteBuddy().subclass(Object.class).name(FOO).make();
+        ClassLoader classLoader = new URLClassLoader(new URL[0], ClassLoadingStrategy.BOOTSTRAP_LOADER);
+        TypePool typePool = sharded.typePool(ClassFileLocator.Simple.of(FOO, dynamicType.getBytes()), classLoader);
+        assertThat(typePool.describe(FOO).resolve().getSuperClass().asErasure().represents(Object.class), is(true));
+        assertThat(sharded.cacheProviders.get(classLoader).find(FOO).isResolved(), is(true));
+        assertThat(sharded.cacheProviders.get(null).find(FOO).isResolved(), is(false));
+    }
+
+    @Test
+    public void testBootstrapLoader() throws Exception {
+        RecordingSharded sharded = new RecordingSharded(10, 100, true);
+        assertThat(sharded.typePool(ClassFileLocator.ForClassLoader.ofBootLoader(), null).describe(String.class.getName()).isResolved(), is(true));
+        assertThat(sharded.size(), is(1));
+        assertThat(sharded.cacheProviders.get(null).find(String.class.getName()), notNullValue(TypePool.Resolution.class));
+    }
+
+    @Test
+    public void testStaleShardIsExpunged() throws Exception {
+        AgentBuilder.PoolStrategy.WithTypePoolCache.Sharded sharded = new AgentBuilder.PoolStrategy.WithTypePoolCache.Sharded(10);
+        register(sharded);
+        assertThat(sharded.size(), is(1));
+        for (int index = 0; index < 100 && sharded.size() > 0; index++) {
+            System.gc();
+            Thread.sleep(10L);
+            sharded.expungeStaleEntries();
+        }
+        assertThat(sharded.size(), is(0));
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        AgentBuilder.PoolStrategy.WithTypePoolCache.Sharded sharded = new AgentBuilder.PoolStrategy.WithTypePoolCache.Sharded(10);
+        sharded.typePool(ClassFileLocator.ForClassLoader.ofBootLoader(), null);
+        assertThat(sharded.size(), is(1));
+        sharded.clear();
+        assertThat(sharded.size(), is(0));
+    }
+
+    @Test
+    public void testSchedule() throws Exception {
+        AgentBuilder.PoolStrategy.WithTypePoolCache.Sharded sharded = new AgentBuilder.PoolStrategy.WithTypePoolCache.Sharded(10);
+        ScheduledExecutorService scheduledExecutorService = mock(ScheduledExecutorService.class);
+        sharded.schedule(scheduledExecutorService, 1L, TimeUnit.SECONDS);
+        verify(scheduledExecutorService).scheduleWithFixedDelay(any(AgentBuilder.PoolStrategy.WithTypePoolCache.Sharded.ExpungingAction.class),
+                eq(1L),
+                eq(1L),
+                eq(TimeUnit.SECONDS));
+    }
+
+    private static void register(AgentBuilder.PoolStrategy.WithTypePoolCache.Sharded sharded) {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], ClassLoadingStrategy.BOOTSTRAP_LOADER);
+        sharded.typePool(ClassFileLocator.ForClassLoader.WeaklyReferenced.of(classLoader), classLoader);
+    }
+
+    private static class RecordingSharded extends AgentBuilder.PoolStrategy.WithTypePoolCache.Sharded {
+
+        private final Map<ClassLoader, TypePool.CacheProvider> cacheProviders = Collections.synchronizedMap(new HashMap<ClassLoader, TypePool.CacheProvider>());
+
+        private RecordingSharded(int maximumSize, int bootstrapMaximumSize, boolean shareParents) {
+            super(TypePool.Default.ReaderMode.FAST, maximumSize, bootstrapMaximumSize, shareParents);
+        }
+
+        @Override
+        protected TypePool.CacheProvider make(@MaybeNull ClassLoader classLoader) {
+            TypePool.CacheProvider cacheProvider = super.make(classLoader);
+            cacheProviders.put(classLoader, cacheProvider);
+            return cacheProvider;
+        }
+    }
+}
@@ -12,7 +12,9 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 
@@ -49,4 +51,24 @@ public class AgentBuilderTypeLocatorWithTypePoolCacheSimpleTest {
         assertThat(poolStrategy.typePool(classFileLocator, null), hasPrototype(poolStrategy.typePool(classFileLocator, null)));
         assertThat(poolStrategy.typePool(classFileLocator, null), not(hasPrototype(poolStrategy.typePool(classFileLocator, second))));
     }
+
+    @Test
+    public void testBoundedImplementation() throws Exception {
+        ConcurrentMap<ClassLoader, TypePool.CacheProvider> cacheProviders = new ConcurrentHashMap<ClassLoader, TypePool.CacheProvider>();
+        AgentBuilder.PoolStrategy poolStrategy = new AgentBuilder.PoolStrategy.WithTypePoolCache.Bounded(TypePool.Default.ReaderMode.FAST, 10, cacheProviders);
+        assertThat(poolStrategy.typePool(classFileLocator, first), hasPrototype(poolStrategy.typePool(classFileLocator, first)));
+        assertThat(cacheProviders.get(first), instanceOf(TypePool.CacheProvider.Bounded.class));
+        assertThat(cacheProviders.get(first).find(Object.class.getName()), notNullValue(TypePool.Resolution.class));
+    }
+
+    @Test
+    public void testBoundedImplementationWithWeigher() throws Exception {
+        ConcurrentMap<ClassLoader, TypePool.CacheProvider> cacheProviders = new ConcurrentHashMap<ClassLoader, TypePool.CacheProvider>();
+        AgentBuilder.PoolStrategy poolStrategy = new AgentBuilder.PoolStrategy.WithTypePoolCache.Bounded(1024L * 1024L,
+                TypePool.CacheProvider.Bounded.Weigher.ForEstimatedSize.INSTANCE,
+                cacheProviders);
+        assertThat(poolStrategy.typePool(classFileLocator, first), hasPrototype(poolStrategy.typePool(classFileLocator, first)));
+        assertThat(cacheProviders.get(first), instanceOf(TypePool.CacheProvider.Bounded.class));
+        assertThat(cacheProviders.get(first).find(Object.class.getName()), notNullValue(TypePool.Resolution.class));
+    }
 }
@@ -30,6 +30,7 @@ import java.lang.annotation.Annotation;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -1169,6 +1170,56 @@ public class AdviceTest {
         assertThat(type.getDeclaredField(EXIT).get(null), is((Object) 1));
     }
 
+    @Test
+    public void testOriginMethodCachedAdvice() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(Sample.class)
+                .visit(Advice.to(OriginMethodCachedAdvice.class).on(named(BAR)))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.getDeclaredMethod(BAR, String.class).invoke(type.getDeclaredConstructor().newInstance(), FOO), is((Object) FOO));
+        assertThat(type.getDeclaredField(ENTER).get(null), is((Object) 1));
+        assertThat(type.getDeclaredField(EXIT).get(null), is((Object) 1));
+        int cached = 0;
+        for (Field field : type.getDeclaredFields()) {
+            if (field.isSynthetic() && field.getType() == Method.class && Modifier.isStatic(field.getModifiers())) {
+                cached++;
+            }
+        }
+        assertThat(cached, is(1));
+    }
+
+    @Test
+    public void testOriginConstructorCachedAdvice() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(Sample.class)
+                .visit(Advice.to(OriginConstructorCachedAdvice.class).on(isConstructor()))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        type.getDeclaredConstructor().newInstance();
+        assertThat(type.getDeclaredField(ENTER).get(null), is((Object) 1));
+        assertThat(type.getDeclaredField(EXIT).get(null), is((Object) 1));
+    }
+
+    @Test
+    public void testOriginMethodCachedAdviceDisabledContext() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .with(Implementation.Context.Disabled.Factory.INSTANCE)
+                .redefine(Sample.class)
+                .visit(Advice.to(OriginMethodCachedAdvice.class).on(named(BAR)))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.getDeclaredMethod(BAR, String.class).invoke(type.getDeclaredConstructor().newInstance(), FOO), is((Object) FOO));
+        assertThat(type.getDeclaredField(ENTER).get(null), is((Object) 1));
+        assertThat(type.getDeclaredField(EXIT).get(null), is((Object) 1));
+        for (Field field : type.getDeclaredFields()) {
+            assertThat(field.isSynthetic(), is(false));
+        }
+    }
+
     @Test
     @JavaVersionRule.Enforce(value = 7, target = Sample.class)
     public void testOriginMethodHandleAdvice() throws Exception {
@@ -3256,6 +3307,46 @@ public class AdviceTest {
         }
     }
 
+    @SuppressWarnings("unused")
+    public static class OriginMethodCachedAdvice {
+
+        @Advice.OnMethodEnter
+        private static void enter(@Advice.Origin(cache = true) Method origin) throws Exception {
+            if (!origin.equals(Sample.class.getDeclaredMethod(BAR, String.class))) {
+                throw new AssertionError();
+            }
+            Sample.enter++;
+        }
+
+        @Advice.OnMethodExit
+        private static void exit(@Advice.Origin(cache = true) Method origin) throws Exception {
+            if (!origin.equals(Sample.class.getDeclaredMethod(BAR, String.class))) {
+                throw new AssertionError();
+            }
+            Sample.exit++;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class OriginConstructorCachedAdvice {
+
+        @Advice.OnMethodEnter
+        private static void enter(@Advice.Origin(cache = true) Constructor<?> origin) throws Exception {
+            if (!origin.equals(Sample.class.getDeclaredConstructor())) {
+                throw new AssertionError();
+            }
+            Sample.enter++;
+        }
+
+        @Advice.OnMethodExit
+        private static void exit(@Advice.Origin(cache = true) Constructor<?> origin) throws Exception {
+            if (!origin.equals(Sample.class.getDeclaredConstructor())) {
+                throw new AssertionError();
+            }
+            Sample.exit++;
+        }
+    }
+
     @SuppressWarnings("unused")
     public static class OriginConstructorAdvice {
 
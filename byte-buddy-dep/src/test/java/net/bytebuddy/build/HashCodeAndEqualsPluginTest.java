@@ -9,6 +9,7 @@ import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.implementation.EqualsMethod;
 import org.hamcrest.CoreMatchers;
+import net.bytebuddy.matcher.TypePrefilter;
 import org.junit.Test;
 
 import java.lang.annotation.Annotation;
@@ -34,6 +35,13 @@ public class HashCodeAndEqualsPluginTest {
         assertThat(plugin.matches(TypeDescription.ForLoadedType.of(Object.class)), is(false));
     }
 
+    @Test
+    public void testPluginPrefilter() throws Exception {
+        TypePrefilter prefilter = new HashCodeAndEqualsPlugin().getPrefilter();
+        assertThat(prefilter.isCandidate(SimpleSample.class.getName(), ClassFileLocator.ForClassLoader.read(SimpleSample.class)), is(true));
+        assertThat(prefilter.isCandidate(Object.class.getName(), ClassFileLocator.ForClassLoader.read(Object.class)), is(false));
+    }
+
     @Test
     public void testPluginEnhance() throws Exception {
         Class<?> type = new HashCodeAndEqualsPlugin()
@@ -0,0 +1,453 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.modifier.Ownership;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.inline.MethodNameTransformer;
+import net.bytebuddy.implementation.LoadedTypeInitializer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class PluginEngineCacheForFolderTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static final String BASE = "net.bytebuddy.test.Base", SAMPLE = "net.bytebuddy.test.Sample";
+
+    private File folder, cache;
+
+    @Before
+    public void setUp() throws Exception {
+        folder = File.createTempFile(FOO, BAR);
+        assertThat(folder.delete(), is(true));
+        assertThat(folder.mkdir(), is(true));
+        cache = new File(folder, QUX);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        delete(folder);
+    }
+
+    private static void delete(File file) {
+        File[] child = file.listFiles();
+        if (child != null) {
+            for (File aChild : child) {
+                delete(aChild);
+            }
+        }
+        assertThat(file.delete(), is(true));
+    }
+
+    @Test
+    public void testCachedTransformation() throws Exception {
+        Map<TypeDescription, byte[]> types = types(false);
+        CountingPlugin plugin = new CountingPlugin(SAMPLE);
+        Plugin.Engine.Target.InMemory target = new Plugin.Engine.Target.InMemory();
+        Plugin.Engine.Summary summary = new Plugin.Engine.Default()
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types), target, new Plugin.Factory.Simple(plugin));
+        assertThat(summary.getTransformed().size(), is(1));
+        assertThat(plugin.applied, is(1));
+        assertThat(plugin.matched, is(2));
+        Plugin.Engine.Target.InMemory cached = new Plugin.Engine.Target.InMemory();
+        summary = new Plugin.Engine.Default()
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types), cached, new Plugin.Factory.Simple(plugin));
+        assertThat(summary.getTransformed().size(), is(1));
+        assertThat(summary.getTransformed().get(0).getName(), is(SAMPLE));
+        assertThat(plugin.applied, is(1));
+        assertThat(plugin.matched, is(2));
+        assertThat(cached.getStorage().keySet(), is(target.getStorage().keySet()));
+        for (Map.Entry<String, byte[]> entry : target.getStorage().entrySet()) {
+            assertThat(cached.getStorage().get(entry.getKey()), is(entry.getValue()));
+        }
+        ClassLoader classLoader = new ByteArrayClassLoader(ClassLoadingStrategy.BOOTSTRAP_LOADER, cached.toTypeMap());
+        assertThat(classLoader.loadClass(SAMPLE).getDeclaredField(FOO).getType(), is((Object) Void.class));
+    }
+
+    @Test
+    public void testCachedTransformationInPlace() throws Exception {
+        Plugin.Engine.Target.Sink sink = new Plugin.Engine.Target.ForFolder(folder).write(Plugin.Engine.Source.Origin.NO_MANIFEST);
+        try {
+            sink.store(types(false));
+        } finally {
+            sink.close();
+        }
+        CountingPlugin plugin = new CountingPlugin(SAMPLE);
+        Plugin.Engine engine = new Plugin.Engine.Default().withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO));
+        Plugin.Engine.Summary summary = engine.apply(new Plugin.Engine.Source.Filtering(new Plugin.Engine.Source.ForFolder(folder), new ClassFileMatcher()),
+                new Plugin.Engine.Target.ForFolder(folder),
+                new Plugin.Factory.Simple(plugin));
+        assertThat(summary.getTransformed().size(), is(1));
+        assertThat(summary.getFailed().size(), is(0));
+        assertThat(plugin.applied, is(1));
+        summary = engine.apply(new Plugin.Engine.Source.Filtering(new Plugin.Engine.Source.ForFolder(folder), new ClassFileMatcher()),
+                new Plugin.Engine.Target.ForFolder(folder),
+                new Plugin.Factory.Simple(plugin));
+        assertThat(summary.getTransformed().size(), is(1));
+        assertThat(summary.getFailed().size(), is(0));
+        assertThat(plugin.applied, is(1));
+        assertThat(plugin.matched, is(2));
+    }
+
+    @Test
+    public void testChangedConfiguration() throws Exception {
+        Map<TypeDescription, byte[]> types = types(false);
+        CountingPlugin plugin = new CountingPlugin(SAMPLE);
+        new Plugin.Engine.Default()
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(plugin.applied, is(1));
+        new Plugin.Engine.Default()
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, BAR))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(plugin.applied, is(2));
+        assertThat(plugin.matched, is(4));
+    }
+
+    @Test
+    public void testChangedEntryPoint() throws Exception {
+        Map<TypeDescription, byte[]> types = types(false);
+        CountingPlugin plugin = new CountingPlugin(SAMPLE);
+        Plugin.Engine.Default.of(EntryPoint.Default.REBASE, ClassFileVersion.JAVA_V5, new MethodNameTransformer.Suffixing(BAR))
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(plugin.applied, is(1));
+        Plugin.Engine.Default.of(EntryPoint.Default.REBASE, ClassFileVersion.JAVA_V5, new MethodNameTransformer.Suffixing(BAR))
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(plugin.applied, is(1));
+        Plugin.Engine.Default.of(EntryPoint.Default.REDEFINE, ClassFileVersion.JAVA_V5, new MethodNameTransformer.Suffixing(BAR))
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(plugin.applied, is(2));
+    }
+
+    @Test
+    public void testLongConfiguration() throws Exception {
+        StringBuilder configuration = new StringBuilder();
+        for (int index = 0; index < 1 << 16; index++) {
+            configuration.append(FOO);
+        }
+        Map<TypeDescription, byte[]> types = types(false);
+        CountingPlugin plugin = new CountingPlugin(SAMPLE);
+        new Plugin.Engine.Default()
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, configuration.toString()))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(new File(cache, SAMPLE + ".cache").isFile(), is(true));
+        new Plugin.Engine.Default()
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, configuration.toString()))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(plugin.applied, is(1));
+    }
+
+    @Test
+    public void testNoTemporaryFileIsRetained() throws Exception {
+        new Plugin.Engine.Default()
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types(false)), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(new CountingPlugin(SAMPLE)));
+        File[] file = cache.listFiles();
+        assertThat(file, notNullValue(File[].class));
+        assertThat(file.length, is(2));
+        for (File aFile : file) {
+            assertThat(aFile.getName().endsWith(".cache"), is(true));
+        }
+    }
+
+    @Test
+    public void testChangedType() throws Exception {
+        CountingPlugin plugin = new CountingPlugin(SAMPLE);
+        new Plugin.Engine.Default()
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types(false)), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(plugin.applied, is(1));
+        Map<TypeDescription, byte[]> types = new HashMap<TypeDescription, byte[]>(types(false));
+        DynamicType sample = new ByteBuddy()
+                .subclass(Object.class)
+                .name(SAMPLE)
+                .defineField(QUX, Object.class, Visibility.PUBLIC)
+                .make();
+        types.put(sample.getTypeDescription(), sample.getBytes());
+        new Plugin.Engine.Default()
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(plugin.applied, is(2));
+    }
+
+    @Test
+    public void testChangedSuperType() throws Exception {
+        CountingPlugin plugin = new CountingPlugin(SAMPLE);
+        new Plugin.Engine.Default()
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types(false)), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(plugin.applied, is(1));
+        assertThat(plugin.matched, is(2));
+        new Plugin.Engine.Default()
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types(true)), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(plugin.applied, is(2));
+        assertThat(plugin.matched, is(4));
+    }
+
+    @Test
+    public void testCachedTransformationNotifiesListener() throws Exception {
+        Map<TypeDescription, byte[]> types = types(false);
+        CountingPlugin plugin = new CountingPlugin(SAMPLE);
+        new Plugin.Engine.Default()
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        Plugin.Engine.Listener listener = mock(Plugin.Engine.Listener.class);
+        new Plugin.Engine.Default()
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO))
+                .with(listener)
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(plugin.applied, is(1));
+        TypeDescription sample = TypeDescription.ForLoadedType.of(Object.class), base = sample;
+        for (TypeDescription typeDescription : types.keySet()) {
+            if (typeDescription.getName().equals(SAMPLE)) {
+                sample = typeDescription;
+            } else {
+                base = typeDescription;
+            }
+        }
+        verify(listener).onTransformation(sample, plugin);
+        verify(listener).onTransformation(sample, Collections.<Plugin>singletonList(plugin));
+        verify(listener).onIgnored(base, plugin);
+        verify(listener).onIgnored(base, Collections.<Plugin>singletonList(plugin));
+    }
+
+    @Test
+    public void testStaleEntryIsDeleted() throws Exception {
+        Map<TypeDescription, byte[]> types = types(false);
+        CountingPlugin plugin = new CountingPlugin(SAMPLE);
+        new Plugin.Engine.Default()
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(new File(cache, SAMPLE + ".cache").isFile(), is(true));
+        assertThat(new File(cache, BASE + ".cache").isFile(), is(true));
+        Map<TypeDescription, byte[]> remaining = new HashMap<TypeDescription, byte[]>();
+        for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
+            if (entry.getKey().getName().equals(BASE)) {
+                remaining.put(entry.getKey(), entry.getValue());
+            }
+        }
+        new Plugin.Engine.Default()
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO))
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(remaining), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(new File(cache, SAMPLE + ".cache").exists(), is(false));
+        assertThat(new File(cache, BASE + ".cache").isFile(), is(true));
+    }
+
+    @Test
+    public void testPartialSourceRetainsEntries() throws Exception {
+        File source = new File(folder, FOO);
+        Plugin.Engine.Target.Sink sink = new Plugin.Engine.Target.ForFolder(source).write(Plugin.Engine.Source.Origin.NO_MANIFEST);
+        try {
+            sink.store(types(false));
+        } finally {
+            sink.close();
+        }
+        CountingPlugin plugin = new CountingPlugin(SAMPLE);
+        Plugin.Engine engine = new Plugin.Engine.Default().withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO));
+        engine.apply(new Plugin.Engine.Source.ForFolder(source), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(new File(cache, SAMPLE + ".cache").isFile(), is(true));
+        assertThat(new File(cache, BASE + ".cache").isFile(), is(true));
+        engine.apply(new Plugin.Engine.Source.Filtering(new Plugin.Engine.Source.ForFolder(source), new ClassFileMatcher(BASE)),
+                new Plugin.Engine.Target.InMemory(),
+                new Plugin.Factory.Simple(plugin));
+        assertThat(new File(cache, SAMPLE + ".cache").isFile(), is(true));
+        assertThat(new File(cache, BASE + ".cache").isFile(), is(true));
+        engine.apply(new Plugin.Engine.Source.ForFolder(source), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(plugin.applied, is(1));
+        assertThat(new File(source, SAMPLE.replace('.', File.separatorChar) + ".class").delete(), is(true));
+        engine.apply(new Plugin.Engine.Source.Filtering(new Plugin.Engine.Source.ForFolder(source), new ClassFileMatcher(BASE)),
+                new Plugin.Engine.Target.InMemory(),
+                new Plugin.Factory.Simple(plugin));
+        assertThat(new File(cache, SAMPLE + ".cache").exists(), is(false));
+        assertThat(new File(cache, BASE + ".cache").isFile(), is(true));
+    }
+
+    @Test
+    public void testCachedTransformationReplaysLiveInitializer() throws Exception {
+        Map<TypeDescription, byte[]> types = types(false);
+        LiveInitializerPlugin plugin = new LiveInitializerPlugin(SAMPLE);
+        Plugin.Engine.Listener listener = mock(Plugin.Engine.Listener.class);
+        new Plugin.Engine.Default()
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO))
+                .withoutErrorHandlers()
+                .with(listener)
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        Plugin.Engine.Listener cached = mock(Plugin.Engine.Listener.class);
+        new Plugin.Engine.Default()
+                .withCache(new Plugin.Engine.Cache.ForFolder(cache, FOO))
+                .withoutErrorHandlers()
+                .with(cached)
+                .apply(Plugin.Engine.Source.InMemory.ofTypes(types), new Plugin.Engine.Target.InMemory(), new Plugin.Factory.Simple(plugin));
+        assertThat(plugin.applied, is(1));
+        TypeDescription sample = TypeDescription.ForLoadedType.of(Object.class);
+        for (TypeDescription typeDescription : types.keySet()) {
+            if (typeDescription.getName().equals(SAMPLE)) {
+                sample = typeDescription;
+            }
+        }
+        verify(listener).onLiveInitializer(sample, sample);
+        verify(cached).onLiveInitializer(sample, sample);
+    }
+
+    @Test
+    public void testFingerprintOfChangedJarFile() throws Exception {
+        File jar = new File(folder, FOO + ".jar");
+        String first = fingerprint(jar, types(false)), second = fingerprint(jar, types(true));
+        assertThat(first, is(fingerprint(jar, types(false))));
+        assertThat(first.equals(second), is(false));
+    }
+
+    @Test
+    public void testFingerprintOfClassFile() throws Exception {
+        assertThat(Plugin.Engine.Cache.ForFolder.fingerprint(Object.class), is(Plugin.Engine.Cache.ForFolder.fingerprint(Object.class)));
+    }
+
+    @Test
+    public void testNoOp() throws Exception {
+        Plugin.Engine.Cache.Session session = Plugin.Engine.Cache.NoOp.INSTANCE.open(FOO);
+        try {
+            session.store(TypeDescription.ForLoadedType.of(Object.class),
+                    mock(Plugin.Engine.Source.Element.class),
+                    ClassFileLocator.NoOp.INSTANCE,
+                    Collections.<Integer>emptyList(),
+                    null);
+            assertThat(session.lookup(TypeDescription.ForLoadedType.of(Object.class),
+                    mock(Plugin.Engine.Source.Element.class),
+                    ClassFileLocator.NoOp.INSTANCE), nullValue(Plugin.Engine.Cache.Outcome.class));
+            session.complete(ClassFileLocator.NoOp.INSTANCE);
+        } finally {
+            session.close();
+        }
+    }
+
+    private static String fingerprint(File jar, Map<TypeDescription, byte[]> types) throws Exception {
+        JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(jar));
+        try {
+            for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
+                outputStream.putNextEntry(new JarEntry(entry.getKey().getInternalName() + ".class"));
+                outputStream.write(entry.getValue());
+                outputStream.closeEntry();
+            }
+        } finally {
+            outputStream.close();
+        }
+        return Plugin.Engine.Cache.ForFolder.fingerprint(new URLClassLoader(new URL[]{jar.toURI().toURL()}, null).loadClass(BASE));
+    }
+
+    private static Map<TypeDescription, byte[]> types(boolean changed) {
+        DynamicType.Builder<?> builder = new ByteBuddy()
+                .subclass(Object.class)
+                .name(BASE);
+        if (changed) {
+            builder = builder.defineField(BAR, Object.class, Visibility.PUBLIC);
+        }
+        DynamicType base = builder.make();
+        DynamicType sample = new ByteBuddy()
+                .subclass(base.getTypeDescription())
+                .name(SAMPLE)
+                .make();
+        Map<TypeDescription, byte[]> types = new HashMap<TypeDescription, byte[]>();
+        types.put(base.getTypeDescription(), base.getBytes());
+        types.put(sample.getTypeDescription(), sample.getBytes());
+        return types;
+    }
+
+    private static class CountingPlugin implements Plugin {
+
+        private final String name;
+
+        private int matched, applied;
+
+        private CountingPlugin(String name) {
+            this.name = name;
+        }
+
+        public synchronized boolean matches(TypeDescription target) {
+            matched++;
+            return target.getName().equals(name);
+        }
+
+        public synchronized DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            applied++;
+            return builder.defineField(FOO, Void.class);
+        }
+
+        public void close() {
+            /* empty */
+        }
+    }
+
+    private static class LiveInitializerPlugin implements Plugin {
+
+        private final String name;
+
+        private int applied;
+
+        private LiveInitializerPlugin(String name) {
+            this.name = name;
+        }
+
+        public boolean matches(TypeDescription target) {
+            return target.getName().equals(name);
+        }
+
+        public synchronized DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            applied++;
+            return builder.defineField(FOO, Object.class, Ownership.STATIC, Visibility.PUBLIC)
+                    .initializer(new LoadedTypeInitializer.ForStaticField(FOO, new Object()));
+        }
+
+        public void close() {
+            /* empty */
+        }
+    }
+
+    private static class ClassFileMatcher extends net.bytebuddy.matcher.ElementMatcher.Junction.AbstractBase<Plugin.Engine.Source.Element> {
+
+        private final String name;
+
+        private ClassFileMatcher() {
+            this(null);
+        }
+
+        private ClassFileMatcher(String name) {
+            this.name = name;
+        }
+
+        public boolean matches(Plugin.Engine.Source.Element target) {
+            return name == null
+                    ? target.getName().endsWith(".class")
+                    : target.getName().equals(name.replace('.', '/') + ".class");
+        }
+    }
+}
@@ -10,6 +10,7 @@ import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.dynamic.scaffold.inline.MethodNameTransformer;
 import net.bytebuddy.implementation.LoadedTypeInitializer;
 import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.matcher.TypePrefilter;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -17,13 +18,16 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.jar.*;
 
@@ -44,7 +48,9 @@ public class PluginEngineDefaultTest {
                 {Plugin.Engine.Dispatcher.ForSerialTransformation.Factory.INSTANCE, true},
                 {new Plugin.Engine.Dispatcher.ForParallelTransformation.WithThrowawayExecutorService.Factory(1), true},
                 {Plugin.Engine.Dispatcher.ForSerialTransformation.Factory.INSTANCE, false},
-                {new Plugin.Engine.Dispatcher.ForParallelTransformation.WithThrowawayExecutorService.Factory(1), false}
+                {new Plugin.Engine.Dispatcher.ForParallelTransformation.WithThrowawayExecutorService.Factory(1), false},
+                {new Plugin.Engine.Dispatcher.ForPipelinedTransformation.WithThrowawayExecutorService.Factory(2, 1), true},
+                {new Plugin.Engine.Dispatcher.ForPipelinedTransformation.WithThrowawayExecutorService.Factory(2, 1), false}
         });
     }
 
@@ -113,6 +119,50 @@ public class PluginEngineDefaultTest {
         verifyNoMoreInteractions(listener);
     }
 
+    @Test
+    public void testSimpleTransformationRejectedByPrefilter() throws Exception {
+        Plugin.Engine.Listener listener = mock(Plugin.Engine.Listener.class);
+        Plugin plugin = eager
+                ? new PrefilteringPlugin()
+                : new PreprocessingPlugin(new PrefilteringPlugin());
+        Plugin.Engine.Source source = Plugin.Engine.Source.InMemory.ofTypes(Sample.class);
+        Plugin.Engine.Target.InMemory target = new Plugin.Engine.Target.InMemory();
+        Plugin.Engine.Summary summary = new Plugin.Engine.Default()
+                .with(listener)
+                .with(ClassFileLocator.ForClassLoader.of(PrefilteringPlugin.class.getClassLoader()))
+                .with(dispatcherFactory)
+                .apply(source, target, new Plugin.Factory.Simple(plugin));
+        ClassLoader classLoader = new ByteArrayClassLoader(ClassLoadingStrategy.BOOTSTRAP_LOADER, target.toTypeMap());
+        Class<?> type = classLoader.loadClass(Sample.class.getName());
+        assertThat(type.getDeclaredFields().length, is(0));
+        assertThat(summary.getTransformed().size(), is(0));
+        assertThat(summary.getFailed().size(), is(0));
+        assertThat(summary.getUnresolved().size(), is(0));
+        verify(listener).onManifest(Plugin.Engine.Source.Origin.NO_MANIFEST);
+        verify(listener).onDiscovery(Sample.class.getName());
+        verify(listener).onIgnored(TypeDescription.ForLoadedType.of(Sample.class), plugin);
+        verify(listener).onIgnored(TypeDescription.ForLoadedType.of(Sample.class), Collections.singletonList(plugin));
+        verify(listener).onComplete(TypeDescription.ForLoadedType.of(Sample.class));
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testSimpleTransformationReadsClassFileOnce() throws Exception {
+        CountingSource source = new CountingSource(Sample.class);
+        Plugin.Engine.Target.InMemory target = new Plugin.Engine.Target.InMemory();
+        Plugin.Engine.Summary summary = new Plugin.Engine.Default()
+                .with(ClassFileLocator.ForClassLoader.of(SimplePlugin.class.getClassLoader()))
+                .with(dispatcherFactory)
+                .apply(source, target, new Plugin.Factory.Simple(eager
+                        ? new PrefilteredSimplePlugin()
+                        : new PreprocessingPlugin(new PrefilteredSimplePlugin())));
+        ClassLoader classLoader = new ByteArrayClassLoader(ClassLoadingStrategy.BOOTSTRAP_LOADER, target.toTypeMap());
+        Class<?> type = classLoader.loadClass(Sample.class.getName());
+        assertThat(type.getDeclaredField(FOO).getType(), is((Object) Void.class));
+        assertThat(summary.getTransformed(), hasItems(TypeDescription.ForLoadedType.of(Sample.class)));
+        assertThat(source.reads, is(eager ? 1 : 0));
+    }
+
     @Test
     public void testSimpleTransformationIgnoredByPlugin() throws Exception {
         Plugin.Engine.Listener listener = mock(Plugin.Engine.Listener.class);
@@ -412,6 +462,50 @@ public class PluginEngineDefaultTest {
         /* empty */
     }
 
+    private static class CountingSource implements Plugin.Engine.Source, Plugin.Engine.Source.Origin, Plugin.Engine.Source.Element {
+
+        private final Class<?> type;
+
+        private int reads;
+
+        private CountingSource(Class<?> type) {
+            this.type = type;
+        }
+
+        public Plugin.Engine.Source.Origin read() {
+            return this;
+        }
+
+        public Manifest getManifest() {
+            return NO_MANIFEST;
+        }
+
+        public ClassFileLocator getClassFileLocator() {
+            return ClassFileLocator.NoOp.INSTANCE;
+        }
+
+        public Iterator<Plugin.Engine.Source.Element> iterator() {
+            return Collections.<Plugin.Engine.Source.Element>singleton(this).iterator();
+        }
+
+        public String getName() {
+            return type.getName().replace('.', '/') + ClassFileLocator.CLASS_FILE_EXTENSION;
+        }
+
+        public InputStream getInputStream() {
+            reads++;
+            return new ByteArrayInputStream(ClassFileLocator.ForClassLoader.read(type));
+        }
+
+        public <T> T resolveAs(Class<T> type) {
+            return null;
+        }
+
+        public void close() {
+            /* empty */
+        }
+    }
+
     private static class SimplePlugin implements Plugin {
 
         public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
@@ -427,6 +521,13 @@ public class PluginEngineDefaultTest {
         }
     }
 
+    private static class PrefilteredSimplePlugin extends SimplePlugin implements Plugin.WithPrefilter {
+
+        public TypePrefilter getPrefilter() {
+            return TypePrefilter.ForMentionedTypes.of(Sample.class);
+        }
+    }
+
     private static class LiveInitializerPlugin implements Plugin {
 
         public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
@@ -465,6 +566,25 @@ public class PluginEngineDefaultTest {
         }
     }
 
+    private static class PrefilteringPlugin implements Plugin.WithPrefilter {
+
+        public DynamicType.Builder<?> apply(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassFileLocator classFileLocator) {
+            throw new AssertionError();
+        }
+
+        public boolean matches(TypeDescription target) {
+            return false;
+        }
+
+        public TypePrefilter getPrefilter() {
+            return TypePrefilter.ForMentionedTypes.of(Void.class);
+        }
+
+        public void close() {
+            /* empty */
+        }
+    }
+
     private static class FailingPlugin implements Plugin {
 
         private final RuntimeException exception;
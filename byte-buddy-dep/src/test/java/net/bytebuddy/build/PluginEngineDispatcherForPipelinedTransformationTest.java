@@ -0,0 +1,302 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import static junit.framework.TestCase.fail;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class PluginEngineDispatcherForPipelinedTransformationTest {
+
+    @Rule
+    public MethodRule mockitoRule = MockitoJUnit.rule().silent();
+
+    @Mock
+    private Plugin.Engine.Target.Sink sink;
+
+    @Mock
+    private Plugin.Engine.Dispatcher.Materializable first, second, third;
+
+    @Mock
+    private Plugin.Engine.Source.Element resource;
+
+    private List<TypeDescription> transformed;
+
+    private Map<TypeDescription, List<Throwable>> failed;
+
+    private List<String> unresolved;
+
+    private DeferringExecutor executor;
+
+    @Before
+    public void setUp() throws Exception {
+        transformed = new ArrayList<TypeDescription>();
+        failed = new HashMap<TypeDescription, List<Throwable>>();
+        unresolved = new ArrayList<String>();
+        executor = new DeferringExecutor();
+    }
+
+    @Test
+    public void testEagerTransformation() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForPipelinedTransformation(new ImmediateExecutor(), 1, sink, transformed, failed, unresolved);
+        dispatcher.accept(new Work(first), true);
+        verify(first).materialize(sink, transformed, failed, unresolved);
+        dispatcher.complete();
+        verifyNoMoreInteractions(first);
+    }
+
+    @Test
+    public void testDeferredTransformation() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForPipelinedTransformation(new ImmediateExecutor(), 1, sink, transformed, failed, unresolved);
+        Work work = new Work(first);
+        dispatcher.accept(work, false);
+        assertThat(work.preprocessed, is(true));
+        assertThat(work.processed, is(false));
+        verifyNoMoreInteractions(first);
+        dispatcher.complete();
+        assertThat(work.processed, is(true));
+        verify(first).materialize(sink, transformed, failed, unresolved);
+        verifyNoMoreInteractions(first);
+    }
+
+    @Test
+    public void testOrderedMaterialization() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForPipelinedTransformation(executor, 3, sink, transformed, failed, unresolved);
+        dispatcher.accept(new Work(first), true);
+        dispatcher.accept(new Work(second), true);
+        dispatcher.accept(new Work(third), true);
+        executor.runReversed();
+        dispatcher.complete();
+        InOrder inOrder = inOrder(first, second, third);
+        inOrder.verify(first).materialize(sink, transformed, failed, unresolved);
+        inOrder.verify(second).materialize(sink, transformed, failed, unresolved);
+        inOrder.verify(third).materialize(sink, transformed, failed, unresolved);
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testOrderedMaterializationDeferred() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForPipelinedTransformation(executor, 3, sink, transformed, failed, unresolved);
+        dispatcher.accept(new Work(first), false);
+        dispatcher.accept(new Work(second), false);
+        executor.runReversed();
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    while (executor.size() < 2) {
+                        Thread.sleep(10L);
+                    }
+                } catch (InterruptedException exception) {
+                    throw new AssertionError(exception);
+                }
+                executor.runReversed();
+            }
+        });
+        thread.start();
+        dispatcher.complete();
+        thread.join();
+        InOrder inOrder = inOrder(first, second);
+        inOrder.verify(first).materialize(sink, transformed, failed, unresolved);
+        inOrder.verify(second).materialize(sink, transformed, failed, unresolved);
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testOrderedMaterializationWithResource() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForPipelinedTransformation(executor, 3, sink, transformed, failed, unresolved);
+        dispatcher.accept(new Work(first), true);
+        dispatcher.accept(new Plugin.Engine.Dispatcher.Retention(resource), true);
+        dispatcher.accept(new Work(second), true);
+        assertThat(executor.size(), is(2));
+        verifyZeroInteractions(sink);
+        executor.runReversed();
+        dispatcher.complete();
+        InOrder inOrder = inOrder(first, sink, second);
+        inOrder.verify(first).materialize(sink, transformed, failed, unresolved);
+        inOrder.verify(sink).retain(resource);
+        inOrder.verify(second).materialize(sink, transformed, failed, unresolved);
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testOrderedMaterializationWithResourceDeferred() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForPipelinedTransformation(executor, 3, sink, transformed, failed, unresolved);
+        dispatcher.accept(new Work(first), false);
+        dispatcher.accept(new Plugin.Engine.Dispatcher.Retention(resource), false);
+        dispatcher.accept(new Work(second), false);
+        verifyZeroInteractions(sink);
+        executor.runReversed();
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    while (executor.size() < 2) {
+                        Thread.sleep(10L);
+                    }
+                } catch (InterruptedException exception) {
+                    throw new AssertionError(exception);
+                }
+                executor.runReversed();
+            }
+        });
+        thread.start();
+        dispatcher.complete();
+        thread.join();
+        InOrder inOrder = inOrder(first, sink, second);
+        inOrder.verify(first).materialize(sink, transformed, failed, unresolved);
+        inOrder.verify(sink).retain(resource);
+        inOrder.verify(second).materialize(sink, transformed, failed, unresolved);
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testMaterializationOnExhaustedCapacity() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForPipelinedTransformation(executor, 1, sink, transformed, failed, unresolved);
+        dispatcher.accept(new Work(first), true);
+        verifyNoMoreInteractions(first);
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    while (executor.size() < 2) {
+                        Thread.sleep(10L);
+                    }
+                } catch (InterruptedException exception) {
+                    throw new AssertionError(exception);
+                }
+                executor.runFirst();
+            }
+        });
+        thread.start();
+        dispatcher.accept(new Work(second), true);
+        thread.join();
+        verify(first).materialize(sink, transformed, failed, unresolved);
+        verifyNoMoreInteractions(second);
+        executor.runReversed();
+        dispatcher.complete();
+        verify(second).materialize(sink, transformed, failed, unresolved);
+    }
+
+    @Test
+    public void testProcessingException() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForPipelinedTransformation(new ImmediateExecutor(), 1, sink, transformed, failed, unresolved);
+        Work work = new Work(first);
+        work.processingError = true;
+        try {
+            dispatcher.accept(work, true);
+            fail();
+        } catch (Exception exception) {
+            assertThat(exception, instanceOf(IllegalStateException.class));
+        }
+        verifyNoMoreInteractions(first);
+    }
+
+    @Test
+    public void testPreprocessingException() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForPipelinedTransformation(new ImmediateExecutor(), 1, sink, transformed, failed, unresolved);
+        Work work = new Work(first);
+        work.preprocessingError = true;
+        dispatcher.accept(work, false);
+        try {
+            dispatcher.complete();
+            fail();
+        } catch (Exception exception) {
+            assertThat(exception, instanceOf(IllegalStateException.class));
+        }
+        assertThat(work.processed, is(false));
+        verifyNoMoreInteractions(first);
+    }
+
+    @Test
+    public void testCloseCancels() throws Exception {
+        Plugin.Engine.Dispatcher dispatcher = new Plugin.Engine.Dispatcher.ForPipelinedTransformation(executor, 2, sink, transformed, failed, unresolved);
+        Work work = new Work(first);
+        dispatcher.accept(work, true);
+        dispatcher.close();
+        executor.runReversed();
+        assertThat(work.preprocessed, is(false));
+        verifyNoMoreInteractions(first);
+    }
+
+    private static class Work implements Callable<Callable<Plugin.Engine.Dispatcher.Materializable>> {
+
+        private final Plugin.Engine.Dispatcher.Materializable materializable;
+
+        private volatile boolean preprocessed, processed, preprocessingError, processingError;
+
+        private Work(Plugin.Engine.Dispatcher.Materializable materializable) {
+            this.materializable = materializable;
+        }
+
+        public Callable<Plugin.Engine.Dispatcher.Materializable> call() {
+            preprocessed = true;
+            if (preprocessingError) {
+                throw new IllegalStateException();
+            }
+            return new Callable<Plugin.Engine.Dispatcher.Materializable>() {
+                public Plugin.Engine.Dispatcher.Materializable call() {
+                    processed = true;
+                    if (processingError) {
+                        throw new IllegalStateException();
+                    }
+                    return materializable;
+                }
+            };
+        }
+    }
+
+    private static class ImmediateExecutor implements Executor {
+
+        public void execute(Runnable command) {
+            command.run();
+        }
+    }
+
+    private static class DeferringExecutor implements Executor {
+
+        private final List<Runnable> commands = new ArrayList<Runnable>();
+
+        public synchronized void execute(Runnable command) {
+            commands.add(command);
+        }
+
+        private synchronized int size() {
+            return commands.size();
+        }
+
+        private void runFirst() {
+            Runnable command;
+            synchronized (this) {
+                command = commands.remove(0);
+            }
+            command.run();
+        }
+
+        private void runReversed() {
+            List<Runnable> commands;
+            synchronized (this) {
+                commands = new ArrayList<Runnable>(this.commands);
+                this.commands.clear();
+            }
+            Collections.reverse(commands);
+            for (Runnable command : commands) {
+                command.run();
+            }
+        }
+    }
+}
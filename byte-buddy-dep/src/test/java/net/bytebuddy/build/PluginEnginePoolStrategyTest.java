@@ -10,6 +10,8 @@ import org.mockito.junit.MockitoJUnit;
 
 import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 public class PluginEnginePoolStrategyTest {
 
@@ -54,4 +56,15 @@ public class PluginEnginePoolStrategyTest {
                         TypePool.Default.ReaderMode.EXTENDED,
                         TypePool.ClassLoading.ofPlatformLoader())));
     }
+
+    @Test
+    public void testWithCacheProvider() {
+        TypePool.CacheProvider cacheProvider = mock(TypePool.CacheProvider.class);
+        assertThat(new Plugin.Engine.PoolStrategy.WithCacheProvider(cacheProvider).typePool(classFileLocator),
+                hasPrototype((TypePool) new TypePool.Default.WithLazyResolution(cacheProvider,
+                        classFileLocator,
+                        TypePool.Default.ReaderMode.FAST,
+                        TypePool.ClassLoading.ofPlatformLoader())));
+        verifyZeroInteractions(cacheProvider);
+    }
 }
@@ -0,0 +1,154 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.pool.TypePool;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ProxyPluginTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private static final String NAME = "net.bytebuddy.test.RegisteredSample";
+
+    @Test
+    public void testMatches() throws Exception {
+        TypePool typePool = TypePool.Default.ofSystemLoader();
+        assertThat(new ProxyPlugin().matches(typePool.describe(Sample.class.getName()).resolve()), is(true));
+        assertThat(new ProxyPlugin().matches(typePool.describe(Object.class.getName()).resolve()), is(false));
+    }
+
+    @Test
+    public void testProxyIsPregenerated() throws Exception {
+        DynamicType.Loaded<?> loaded = new ProxyPlugin().apply(new ByteBuddy().redefine(Sample.class),
+                        TypeDescription.ForLoadedType.of(Sample.class),
+                        ClassFileLocator.ForClassLoader.of(Sample.class.getClassLoader()))
+                .make()
+                .load(Sample.class.getClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST);
+        Class<?> proxy = Class.forName(Sample.class.getName() + ProxyPlugin.SUFFIX, false, loaded.getLoaded().getClassLoader());
+        assertThat(proxy.getSuperclass(), is((Object) loaded.getLoaded()));
+        Object instance = proxy.getConstructor(InvocationHandler.class).newInstance(new ConstantHandler(BAR));
+        assertThat(loaded.getLoaded().getMethod(FOO).invoke(instance), is((Object) BAR));
+        assertThat(instance.toString(), is(BAR));
+        assertThat(new ProxyPlugin.Lookup(loaded.getLoaded()).call(), is((Object) proxy));
+    }
+
+    @Test
+    public void testProxyIsGeneratedByLookup() throws Exception {
+        Class<?> type = new ByteArrayClassLoader.ChildFirst(Sample.class.getClassLoader(),
+                ClassFileLocator.ForClassLoader.readToNames(Sample.class)).loadClass(Sample.class.getName());
+        Class<?> proxy = new ProxyPlugin.Lookup(type).call();
+        assertThat(proxy.getName(), is(Sample.class.getName() + ProxyPlugin.SUFFIX));
+        assertThat(proxy.getClassLoader(), is(type.getClassLoader()));
+        Object instance = proxy.getConstructor(InvocationHandler.class).newInstance(new ConstantHandler(BAR));
+        assertThat(type.getMethod(FOO).invoke(instance), is((Object) BAR));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInterfaceProxy() throws Exception {
+        Class<?> proxy = new ProxyPlugin.Lookup(new ByteArrayClassLoader.ChildFirst(SampleInterface.class.getClassLoader(),
+                ClassFileLocator.ForClassLoader.readToNames(SampleInterface.class)).loadClass(SampleInterface.class.getName())).call();
+        assertThat(proxy.getSuperclass(), is((Object) Object.class));
+        Callable<String> instance = (Callable<String>) proxy.getConstructor(InvocationHandler.class).newInstance(new ConstantHandler(FOO));
+        assertThat(instance.call(), is(FOO));
+    }
+
+    @Test
+    public void testRegistrationIsInvoked() throws Exception {
+        assertThat(new ProxyPlugin().matches(TypePool.Default.ofSystemLoader().describe(SampleRegistration.class.getName()).resolve()), is(true));
+        DynamicType.Loaded<?> loaded = new ProxyPlugin().apply(new ByteBuddy().redefine(SampleRegistration.class),
+                        TypeDescription.ForLoadedType.of(SampleRegistration.class),
+                        ClassFileLocator.ForClassLoader.of(SampleRegistration.class.getClassLoader()))
+                .make()
+                .load(SampleRegistration.class.getClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST);
+        assertThat(loaded.getAllTypes().size(), is(2));
+        Class<?> type = Class.forName(NAME, false, loaded.getLoaded().getClassLoader());
+        assertThat(type.getDeclaredMethod(FOO).invoke(type.getConstructor().newInstance()), is((Object) BAR));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRegisteredTypeIsGeneratedByLookup() throws Exception {
+        Class<?> registration = new ByteArrayClassLoader.ChildFirst(SampleRegistration.class.getClassLoader(),
+                ClassFileLocator.ForClassLoader.readToNames(SampleRegistration.class)).loadClass(SampleRegistration.class.getName());
+        Class<?> type = new ProxyPlugin.Registration.Lookup((Class<? extends ProxyPlugin.Registration>) registration, NAME).call();
+        assertThat(type.getName(), is(NAME));
+        assertThat(type.getClassLoader(), is(registration.getClassLoader()));
+        assertThat(type.getDeclaredMethod(FOO).invoke(type.getConstructor().newInstance()), is((Object) BAR));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnregisteredTypeCannotBeLookedUp() throws Exception {
+        new ProxyPlugin.Registration.Lookup(SampleRegistration.class, NAME + BAR).call();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFinalTypeCannotBeProxied() throws Exception {
+        ProxyPlugin.proxy(new ByteBuddy(), TypeDescription.ForLoadedType.of(String.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testTypeWithoutDefaultConstructorCannotBeProxied() throws Exception {
+        ProxyPlugin.proxy(new ByteBuddy(), TypeDescription.ForLoadedType.of(NoDefaultConstructor.class));
+    }
+
+    @ProxyPlugin.Enhance
+    public static class Sample {
+
+        public String foo() {
+            return FOO;
+        }
+    }
+
+    @ProxyPlugin.Enhance
+    public interface SampleInterface extends Callable<String> {
+        /* empty */
+    }
+
+    @ProxyPlugin.Enhance
+    public static class SampleRegistration implements ProxyPlugin.Registration {
+
+        public Collection<? extends DynamicType.Builder<?>> register(ByteBuddy byteBuddy) {
+            return Collections.singletonList(byteBuddy.subclass(Object.class)
+                    .name(NAME)
+                    .defineMethod(FOO, Object.class, Visibility.PUBLIC)
+                    .intercept(FixedValue.value(BAR)));
+        }
+    }
+
+    public static class NoDefaultConstructor {
+
+        public NoDefaultConstructor(String value) {
+            /* empty */
+        }
+    }
+
+    private static class ConstantHandler implements InvocationHandler {
+
+        private final String value;
+
+        private ConstantHandler(String value) {
+            this.value = value;
+        }
+
+        public Object invoke(Object proxy, Method method, Object[] argument) {
+            return value;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.matcher.TypePrefilter;
 import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -20,6 +21,13 @@ public class ToStringPluginTest {
         assertThat(plugin.matches(TypeDescription.ForLoadedType.of(Object.class)), is(false));
     }
 
+    @Test
+    public void testPluginPrefilter() throws Exception {
+        TypePrefilter prefilter = new ToStringPlugin().getPrefilter();
+        assertThat(prefilter.isCandidate(SimpleSample.class.getName(), ClassFileLocator.ForClassLoader.read(SimpleSample.class)), is(true));
+        assertThat(prefilter.isCandidate(Object.class.getName(), ClassFileLocator.ForClassLoader.read(Object.class)), is(false));
+    }
+
     @Test
     public void testPluginEnhance() throws Exception {
         Class<?> type = new ToStringPlugin()
@@ -125,6 +125,12 @@ public class TypeDescriptionForLoadedTypeTest extends AbstractTypeDescriptionTes
         super.testTypeAnnotationNonGenericInnerType();
     }
 
+    @Test
+    public void testLoadedType() throws Exception {
+        assertThat(((TypeDescription.ForLoadedType) TypeDescription.ForLoadedType.of(Object.class)).getLoadedType(), is((Object) Object.class));
+        assertThat(new TypeDescription.ForLoadedType(Void.class).getLoadedType(), is((Object) Void.class));
+    }
+
     @Test
     public void testNameEqualityNonAnonymous() throws Exception {
         assertThat(TypeDescription.ForLoadedType.getName(Object.class), is(Object.class.getName()));
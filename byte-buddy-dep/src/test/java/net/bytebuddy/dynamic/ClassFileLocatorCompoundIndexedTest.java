@@ -0,0 +1,165 @@
+package net.bytebuddy.dynamic;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ClassFileLocatorCompoundIndexedTest {
+
+    private static final String FOO = "foo.Foo", BAR = "foo.Bar", SPLIT = "foo.Split", QUX = "qux.Qux", BAZ = "Baz";
+
+    @Rule
+    public MethodRule mockitoRule = MockitoJUnit.rule().silent();
+
+    @Mock
+    private ClassFileLocator classFileLocator;
+
+    @Mock
+    private ClassFileLocator otherClassFileLocator;
+
+    @Mock
+    private ClassFileLocator.Resolution legal, otherLegal, illegal;
+
+    @Before
+    public void setUp() throws Exception {
+        when(legal.isResolved()).thenReturn(true);
+        when(otherLegal.isResolved()).thenReturn(true);
+        when(classFileLocator.locate(anyString())).thenReturn(illegal);
+        when(otherClassFileLocator.locate(anyString())).thenReturn(illegal);
+    }
+
+    @Test
+    public void testApplicationOrder() throws Exception {
+        when(otherClassFileLocator.locate(FOO)).thenReturn(legal);
+        ClassFileLocator.Compound.Indexed indexed = new ClassFileLocator.Compound.Indexed(classFileLocator, otherClassFileLocator);
+        assertThat(indexed.locate(FOO), is(legal));
+        verify(classFileLocator).locate(FOO);
+        verify(otherClassFileLocator).locate(FOO);
+        assertThat(indexed.getLookupCount(), is(1L));
+        assertThat(indexed.getIndexHitCount(), is(0L));
+        assertThat(indexed.getQueryCount(), is(2L));
+    }
+
+    @Test
+    public void testPackageIndex() throws Exception {
+        when(otherClassFileLocator.locate(FOO)).thenReturn(legal);
+        when(otherClassFileLocator.locate(BAR)).thenReturn(legal);
+        ClassFileLocator.Compound.Indexed indexed = new ClassFileLocator.Compound.Indexed(classFileLocator, otherClassFileLocator);
+        assertThat(indexed.locate(FOO), is(legal));
+        assertThat(indexed.locate(BAR), is(legal));
+        verify(classFileLocator).locate(FOO);
+        verify(classFileLocator, never()).locate(BAR);
+        verify(otherClassFileLocator).locate(BAR);
+        assertThat(indexed.getIndexHitCount(), is(1L));
+        assertThat(indexed.getQueryCount(), is(3L));
+    }
+
+    @Test
+    public void testPackageIndexFallback() throws Exception {
+        when(otherClassFileLocator.locate(FOO)).thenReturn(legal);
+        when(classFileLocator.locate(BAR)).thenReturn(legal);
+        ClassFileLocator.Compound.Indexed indexed = new ClassFileLocator.Compound.Indexed(classFileLocator, otherClassFileLocator);
+        assertThat(indexed.locate(FOO), is(legal));
+        assertThat(indexed.locate(BAR), is(legal));
+        verify(otherClassFileLocator).locate(BAR);
+        verify(classFileLocator).locate(BAR);
+        assertThat(indexed.getIndexHitCount(), is(0L));
+        assertThat(indexed.getQueryCount(), is(4L));
+    }
+
+    @Test
+    public void testSplitPackageIsLookedUpInOrder() throws Exception {
+        when(otherClassFileLocator.locate(FOO)).thenReturn(otherLegal);
+        when(classFileLocator.locate(BAR)).thenReturn(legal);
+        when(classFileLocator.locate(SPLIT)).thenReturn(legal);
+        when(otherClassFileLocator.locate(SPLIT)).thenReturn(otherLegal);
+        ClassFileLocator.Compound.Indexed indexed = new ClassFileLocator.Compound.Indexed(classFileLocator, otherClassFileLocator);
+        assertThat(indexed.locate(FOO), is(otherLegal));
+        assertThat(indexed.locate(BAR), is(legal));
+        assertThat(indexed.locate(SPLIT), is(legal));
+        assertThat(indexed.locate(FOO), is(otherLegal));
+        verify(classFileLocator, times(2)).locate(FOO);
+        verify(otherClassFileLocator, never()).locate(SPLIT);
+        assertThat(indexed.getIndexHitCount(), is(0L));
+    }
+
+    @Test
+    public void testUndetectedSplitPackageIsLookedUpByIndex() throws Exception {
+        when(otherClassFileLocator.locate(FOO)).thenReturn(otherLegal);
+        when(classFileLocator.locate(SPLIT)).thenReturn(legal);
+        when(otherClassFileLocator.locate(SPLIT)).thenReturn(otherLegal);
+        ClassFileLocator.Compound.Indexed indexed = new ClassFileLocator.Compound.Indexed(classFileLocator, otherClassFileLocator);
+        assertThat(indexed.locate(FOO), is(otherLegal));
+        assertThat(indexed.locate(SPLIT), is(otherLegal));
+        assertThat(new ClassFileLocator.Compound(classFileLocator, otherClassFileLocator).locate(SPLIT), is(legal));
+        assertThat(indexed.getIndexHitCount(), is(1L));
+    }
+
+    @Test
+    public void testDefaultPackage() throws Exception {
+        when(otherClassFileLocator.locate(BAZ)).thenReturn(legal);
+        ClassFileLocator.Compound.Indexed indexed = new ClassFileLocator.Compound.Indexed(classFileLocator, otherClassFileLocator);
+        assertThat(indexed.locate(BAZ), is(legal));
+        assertThat(indexed.locate(BAZ), is(legal));
+        verify(classFileLocator).locate(BAZ);
+        verify(otherClassFileLocator, times(2)).locate(BAZ);
+        assertThat(indexed.getIndexHitCount(), is(1L));
+    }
+
+    @Test
+    public void testNegativeCache() throws Exception {
+        ClassFileLocator.Compound.Indexed indexed = new ClassFileLocator.Compound.Indexed(classFileLocator, otherClassFileLocator);
+        assertThat(indexed.locate(QUX).isResolved(), is(false));
+        assertThat(indexed.locate(QUX).isResolved(), is(false));
+        verify(classFileLocator).locate(QUX);
+        verify(otherClassFileLocator).locate(QUX);
+        assertThat(indexed.getNegativeHitCount(), is(1L));
+        assertThat(indexed.getMissSize(), is(1));
+        indexed.clear();
+        assertThat(indexed.getMissSize(), is(0));
+        assertThat(indexed.locate(QUX).isResolved(), is(false));
+        verify(classFileLocator, times(2)).locate(QUX);
+        assertThat(indexed.getLookupCount(), is(3L));
+    }
+
+    @Test
+    public void testNegativeCacheBounded() throws Exception {
+        ClassFileLocator.Compound.Indexed indexed = new ClassFileLocator.Compound.Indexed(Arrays.asList(classFileLocator), 1);
+        assertThat(indexed.locate(FOO).isResolved(), is(false));
+        assertThat(indexed.locate(BAR).isResolved(), is(false));
+        assertThat(indexed.getMissSize(), is(1));
+        assertThat(indexed.locate(FOO).isResolved(), is(false));
+        verify(classFileLocator, times(2)).locate(FOO);
+        assertThat(indexed.getNegativeHitCount(), is(0L));
+    }
+
+    @Test
+    public void testNegativeCacheDisabled() throws Exception {
+        ClassFileLocator.Compound.Indexed indexed = new ClassFileLocator.Compound.Indexed(Arrays.asList(classFileLocator), 0);
+        assertThat(indexed.locate(FOO).isResolved(), is(false));
+        assertThat(indexed.locate(FOO).isResolved(), is(false));
+        verify(classFileLocator, times(2)).locate(FOO);
+        assertThat(indexed.getMissSize(), is(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalMaximum() throws Exception {
+        new ClassFileLocator.Compound.Indexed(Arrays.asList(classFileLocator), -1);
+    }
+
+    @Test
+    public void testClosable() throws Exception {
+        new ClassFileLocator.Compound.Indexed(classFileLocator, otherClassFileLocator).close();
+        verify(classFileLocator).close();
+        verify(otherClassFileLocator).close();
+    }
+}
@@ -0,0 +1,170 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.utility.StreamDrainer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.asm.ClassVisitor;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.util.Enumeration;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassFileLocatorForMappedJarFileTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static final int VALUE = 42;
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile(FOO, BAR);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(file.delete(), is(true));
+    }
+
+    @Test
+    public void testSuccessfulLocationDeflated() throws Exception {
+        byte[] binaryRepresentation = new byte[1024];
+        for (int index = 0; index < binaryRepresentation.length; index++) {
+            binaryRepresentation[index] = (byte) (index % 7);
+        }
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(file));
+        try {
+            jarOutputStream.setComment(QUX);
+            jarOutputStream.putNextEntry(new JarEntry(FOO + "/" + BAR + ".class"));
+            jarOutputStream.write(binaryRepresentation);
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+        ClassFileLocator classFileLocator = ClassFileLocator.ForMappedJarFile.of(file);
+        try {
+            assertThat(classFileLocator, instanceOf(ClassFileLocator.ForMappedJarFile.class));
+            for (int index = 0; index < 3; index++) {
+                ClassFileLocator.Resolution resolution = classFileLocator.locate(FOO + "." + BAR);
+                assertThat(resolution.isResolved(), is(true));
+                assertThat(resolution.resolve(), is(binaryRepresentation));
+            }
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test
+    public void testSuccessfulLocationStored() throws Exception {
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(file));
+        try {
+            JarEntry jarEntry = new JarEntry(FOO + "/" + BAR + ".class");
+            jarEntry.setMethod(ZipEntry.STORED);
+            jarEntry.setSize(2);
+            CRC32 crc32 = new CRC32();
+            crc32.update(new byte[]{VALUE, VALUE * 2});
+            jarEntry.setCrc(crc32.getValue());
+            jarOutputStream.putNextEntry(jarEntry);
+            jarOutputStream.write(VALUE);
+            jarOutputStream.write(VALUE * 2);
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+        ClassFileLocator classFileLocator = ClassFileLocator.ForMappedJarFile.of(file);
+        try {
+            assertThat(classFileLocator, instanceOf(ClassFileLocator.ForMappedJarFile.class));
+            ClassFileLocator.Resolution resolution = classFileLocator.locate(FOO + "." + BAR);
+            assertThat(resolution.isResolved(), is(true));
+            assertThat(resolution.resolve(), is(new byte[]{VALUE, VALUE * 2}));
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test
+    public void testNonSuccessfulLocation() throws Exception {
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(file));
+        try {
+            jarOutputStream.putNextEntry(new JarEntry("noop.class"));
+            jarOutputStream.write(VALUE);
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(FOO + "/" + BAR));
+            jarOutputStream.write(VALUE);
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+        ClassFileLocator classFileLocator = ClassFileLocator.ForMappedJarFile.of(file);
+        try {
+            assertThat(classFileLocator.locate(FOO + "." + BAR).isResolved(), is(false));
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test
+    public void testEquivalentToJarFile() throws Exception {
+        File jar = new File(ClassVisitor.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        ClassFileLocator classFileLocator = ClassFileLocator.ForMappedJarFile.of(jar);
+        try {
+            assertThat(classFileLocator, instanceOf(ClassFileLocator.ForMappedJarFile.class));
+            JarFile jarFile = new JarFile(jar);
+            try {
+                Enumeration<JarEntry> enumeration = jarFile.entries();
+                while (enumeration.hasMoreElements()) {
+                    JarEntry jarEntry = enumeration.nextElement();
+                    if (jarEntry.getName().endsWith(".class")) {
+                        InputStream inputStream = jarFile.getInputStream(jarEntry);
+                        try {
+                            assertThat(classFileLocator.locate(jarEntry.getName()
+                                    .substring(0, jarEntry.getName().length() - ".class".length())
+                                    .replace('/', '.')).resolve(), is(StreamDrainer.DEFAULT.drain(inputStream)));
+                        } finally {
+                            inputStream.close();
+                        }
+                    }
+                }
+            } finally {
+                jarFile.close();
+            }
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test
+    public void testClassPath() throws Exception {
+        ClassFileLocator classFileLocator = ClassFileLocator.ForMappedJarFile.ofClassPath();
+        try {
+            assertThat(classFileLocator.locate(ByteBuddy.class.getName()).isResolved(), is(true)); // As file.
+            assertThat(classFileLocator.locate(ClassVisitor.class.getName()).isResolved(), is(true)); // On path.
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test(expected = java.util.zip.ZipException.class)
+    public void testIllegalFile() throws Exception {
+        FileOutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(new byte[]{1, 2, 3});
+        } finally {
+            outputStream.close();
+        }
+        ClassFileLocator.ForMappedJarFile.of(file);
+    }
+}
@@ -0,0 +1,169 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import org.junit.Test;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ByteArrayClassLoaderConcurrentTest {
+
+    private static final String FOO = "foo", BAR = "bar", CLASS_FILE = ".class";
+
+    private static final int THREADS = 8, TYPES = 50;
+
+    @Test
+    public void testParentFirstLoading() throws Exception {
+        ClassLoader classLoader = new ByteArrayClassLoader.Concurrent(ClassLoadingStrategy.BOOTSTRAP_LOADER,
+                ClassFileLocator.ForClassLoader.readToNames(Foo.class));
+        Class<?> type = classLoader.loadClass(Foo.class.getName());
+        assertThat(type.getClassLoader(), is(classLoader));
+        assertThat(classLoader.loadClass(Foo.class.getName()), is((Object) type));
+        assertThat(type, not(is((Object) Foo.class)));
+    }
+
+    @Test
+    public void testParentFirstLoadingPrefersParent() throws Exception {
+        ClassLoader classLoader = new ByteArrayClassLoader.Concurrent(getClass().getClassLoader(),
+                ClassFileLocator.ForClassLoader.readToNames(Foo.class));
+        assertThat(classLoader.loadClass(Foo.class.getName()), is((Object) Foo.class));
+    }
+
+    @Test
+    public void testChildFirstLoading() throws Exception {
+        ClassLoader classLoader = new ByteArrayClassLoader.Concurrent(getClass().getClassLoader(),
+                ClassFileLocator.ForClassLoader.readToNames(Foo.class),
+                ByteArrayClassLoader.PersistenceHandler.LATENT,
+                true);
+        Class<?> type = classLoader.loadClass(Foo.class.getName());
+        assertThat(type.getClassLoader(), is(classLoader));
+        assertThat(classLoader.loadClass(Foo.class.getName()), is((Object) type));
+        assertThat(classLoader.loadClass(Bar.class.getName()), is((Object) Bar.class));
+    }
+
+    @Test(expected = ClassNotFoundException.class)
+    public void testNotFoundException() throws Exception {
+        new ByteArrayClassLoader.Concurrent(ClassLoadingStrategy.BOOTSTRAP_LOADER, Collections.<String, byte[]>emptyMap()).loadClass(FOO);
+    }
+
+    @Test
+    public void testInjectionAfterFailedLookup() throws Exception {
+        ByteArrayClassLoader classLoader = new ByteArrayClassLoader.Concurrent(ClassLoadingStrategy.BOOTSTRAP_LOADER,
+                false,
+                Collections.<String, byte[]>emptyMap(),
+                ClassLoadingStrategy.NO_PROTECTION_DOMAIN,
+                ByteArrayClassLoader.PersistenceHandler.LATENT,
+                PackageDefinitionStrategy.Trivial.INSTANCE,
+                ClassFilePostProcessor.NoOp.INSTANCE,
+                false);
+        try {
+            classLoader.loadClass(Foo.class.getName());
+        } catch (ClassNotFoundException ignored) {
+            /* expected */
+        }
+        Class<?> type = classLoader.defineClass(Foo.class.getName(), ClassFileLocator.ForClassLoader.read(Foo.class));
+        assertThat(type.getClassLoader(), is((ClassLoader) classLoader));
+        assertThat(type.getName(), is(Foo.class.getName()));
+    }
+
+    @Test
+    public void testManifestResourceIsIndexed() throws Exception {
+        ClassLoader classLoader = new ByteArrayClassLoader.Concurrent(ClassLoadingStrategy.BOOTSTRAP_LOADER,
+                ClassFileLocator.ForClassLoader.readToNames(Foo.class),
+                ByteArrayClassLoader.PersistenceHandler.MANIFEST,
+                false);
+        URL url = classLoader.getResource(Foo.class.getName().replace('.', '/') + CLASS_FILE);
+        assertThat(url, notNullValue(URL.class));
+        assertThat(classLoader.getResource(Foo.class.getName().replace('.', '/') + CLASS_FILE), sameInstance(url));
+        assertThat(classLoader.loadClass(Foo.class.getName()).getClassLoader(), is(classLoader));
+        assertThat(classLoader.getResource(Foo.class.getName().replace('.', '/') + CLASS_FILE), sameInstance(url));
+        assertThat(classLoader.getResource(BAR + CLASS_FILE), nullValue(URL.class));
+    }
+
+    @Test
+    public void testLatentResourceIsShadowedWhenChildFirst() throws Exception {
+        ClassLoader classLoader = new ByteArrayClassLoader.Concurrent(getClass().getClassLoader(),
+                ClassFileLocator.ForClassLoader.readToNames(Foo.class),
+                ByteArrayClassLoader.PersistenceHandler.LATENT,
+                true);
+        assertThat(classLoader.getResource(Foo.class.getName().replace('.', '/') + CLASS_FILE), nullValue(URL.class));
+        assertThat(classLoader.loadClass(Foo.class.getName()).getClassLoader(), is(classLoader));
+        assertThat(classLoader.getResource(Foo.class.getName().replace('.', '/') + CLASS_FILE), nullValue(URL.class));
+        assertThat(classLoader.getResource(Bar.class.getName().replace('.', '/') + CLASS_FILE), notNullValue(URL.class));
+    }
+
+    @Test
+    public void testConcurrentLoading() throws Exception {
+        Map<String, byte[]> typeDefinitions = new HashMap<String, byte[]>();
+        for (int index = 0; index < TYPES; index++) {
+            DynamicType dynamicType = new ByteBuddy()
+                    .subclass(Object.class)
+                    .name(Foo.class.getPackage().getName() + "." + FOO + index)
+                    .make();
+            typeDefinitions.put(dynamicType.getTypeDescription().getName(), dynamicType.getBytes());
+        }
+        final ClassLoader classLoader = new ByteArrayClassLoader.Concurrent(ClassLoadingStrategy.BOOTSTRAP_LOADER, typeDefinitions);
+        final List<String> names = new ArrayList<String>(typeDefinitions.keySet());
+        final CountDownLatch latch = new CountDownLatch(THREADS);
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<Class<?>>>> futures = new ArrayList<Future<List<Class<?>>>>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                futures.add(executorService.submit(new Callable<List<Class<?>>>() {
+                    public List<Class<?>> call() throws Exception {
+                        latch.countDown();
+                        latch.await();
+                        List<Class<?>> types = new ArrayList<Class<?>>();
+                        for (String name : names) {
+                            types.add(Class.forName(name, false, classLoader));
+                        }
+                        return types;
+                    }
+                }));
+            }
+            List<Class<?>> types = futures.get(0).get();
+            for (Future<List<Class<?>>> future : futures) {
+                assertThat(future.get(), is(types));
+            }
+            for (Class<?> type : types) {
+                assertThat(type.getClassLoader(), is(classLoader));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+        Map<TypeDescription, Class<?>> types = ByteArrayClassLoader.Concurrent.load(getClass().getClassLoader(),
+                Collections.singletonMap(TypeDescription.ForLoadedType.of(Foo.class), ClassFileLocator.ForClassLoader.read(Foo.class)),
+                true);
+        assertThat(types.size(), is(1));
+        Class<?> type = types.get(TypeDescription.ForLoadedType.of(Foo.class));
+        assertThat(type, not(is((Object) Foo.class)));
+        assertThat(type.getName(), is(Foo.class.getName()));
+    }
+
+    public static class Foo {
+        /* empty */
+    }
+
+    public static class Bar {
+        /* empty */
+    }
+}
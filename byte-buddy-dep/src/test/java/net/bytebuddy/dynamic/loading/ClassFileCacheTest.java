@@ -0,0 +1,335 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.TypeCache;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassFileCacheTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static final String NAME = "net.bytebuddy.test.GeneratedSample";
+
+    private File folder;
+
+    @Before
+    public void setUp() throws Exception {
+        folder = File.createTempFile(FOO, BAR);
+        assertThat(folder.delete(), is(true));
+        assertThat(folder.mkdir(), is(true));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        delete(folder);
+    }
+
+    private static void delete(File file) {
+        File[] child = file.listFiles();
+        if (child != null) {
+            for (File aChild : child) {
+                delete(aChild);
+            }
+        }
+        assertThat(file.delete(), is(true));
+    }
+
+    @Test
+    public void testPersistedTypeIsReused() throws Exception {
+        CountingGenerator generator = new CountingGenerator(FOO);
+        Class<?> type = new ClassFileCache(folder).resolve(new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap()),
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                generator,
+                Sample.class).call();
+        assertThat(type.getName(), is(NAME));
+        assertThat(((Sample) type.getDeclaredConstructor().newInstance()).foo(), is(FOO));
+        assertThat(generator.generated, is(1));
+        assertThat(new File(folder, NAME.replace('.', File.separatorChar) + ".class").isFile(), is(true));
+        ClassFileCache classFileCache = new ClassFileCache(folder);
+        type = classFileCache.resolve(new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap()),
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                new CountingGenerator(BAR),
+                Sample.class).call();
+        assertThat(((Sample) type.getDeclaredConstructor().newInstance()).foo(), is(FOO));
+        assertThat(classFileCache.getInternalNames(), hasItem(NAME.replace('.', '/')));
+    }
+
+    @Test
+    public void testChangedConfigurationRegenerates() throws Exception {
+        new ClassFileCache(folder, FOO).resolve(new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap()),
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                new CountingGenerator(FOO),
+                Sample.class).call();
+        CountingGenerator generator = new CountingGenerator(BAR);
+        Class<?> type = new ClassFileCache(folder, BAR).resolve(new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap()),
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                generator,
+                Sample.class).call();
+        assertThat(((Sample) type.getDeclaredConstructor().newInstance()).foo(), is(BAR));
+        assertThat(generator.generated, is(1));
+    }
+
+    @Test
+    public void testChangedInputRegenerates() throws Exception {
+        new ClassFileCache(folder).resolve(new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap()),
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                new CountingGenerator(FOO),
+                Sample.class).call();
+        CountingGenerator generator = new CountingGenerator(BAR);
+        new ClassFileCache(folder).resolve(new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap()),
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                generator,
+                Sample.class,
+                Other.class).call();
+        assertThat(generator.generated, is(1));
+    }
+
+    @Test
+    public void testAuxiliaryTypesArePersisted() throws Exception {
+        ClassFileCache classFileCache = new ClassFileCache(folder);
+        classFileCache.resolve(new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap()),
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                new DelegatingGenerator(),
+                Sample.class).call();
+        assertThat(classFileCache.getInternalNames().size() > 1, is(true));
+        DelegatingGenerator generator = new DelegatingGenerator();
+        Class<?> type = new ClassFileCache(folder).resolve(new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap()),
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                generator,
+                Sample.class).call();
+        assertThat(((Sample) type.getDeclaredConstructor().newInstance()).foo(), is(FOO + QUX));
+        assertThat(generator.generated, is(0));
+    }
+
+    @Test
+    public void testChangedGeneratorRegenerates() throws Exception {
+        new ClassFileCache(folder).resolve(new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap()),
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                new CountingGenerator(FOO),
+                Sample.class).call();
+        DelegatingGenerator generator = new DelegatingGenerator();
+        Class<?> type = new ClassFileCache(folder).resolve(new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap()),
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                generator,
+                Sample.class).call();
+        assertThat(((Sample) type.getDeclaredConstructor().newInstance()).foo(), is(FOO + QUX));
+        assertThat(generator.generated, is(1));
+    }
+
+    @Test
+    public void testReplacedClassFileRegenerates() throws Exception {
+        new ClassFileCache(folder).resolve(new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap()),
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                new CountingGenerator(FOO),
+                Sample.class).call();
+        new CountingGenerator(BAR).call().saveIn(folder);
+        CountingGenerator generator = new CountingGenerator(QUX);
+        Class<?> type = new ClassFileCache(folder).resolve(new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap()),
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                generator,
+                Sample.class).call();
+        assertThat(((Sample) type.getDeclaredConstructor().newInstance()).foo(), is(QUX));
+        assertThat(generator.generated, is(1));
+        File[] file = new File(folder, NAME.substring(0, NAME.lastIndexOf('.')).replace('.', File.separatorChar)).listFiles();
+        assertThat(file == null, is(false));
+        for (File aFile : file) {
+            assertThat(aFile.getName().endsWith(".tmp"), is(false));
+        }
+    }
+
+    @Test
+    public void testCorruptIndexRegenerates() throws Exception {
+        new ClassFileCache(folder).resolve(new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap()),
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                new CountingGenerator(FOO),
+                Sample.class).call();
+        DataOutputStream outputStream = new DataOutputStream(new FileOutputStream(new File(folder, NAME.replace('.', File.separatorChar) + ".index")));
+        try {
+            outputStream.writeInt(1);
+            outputStream.writeShort(2);
+            outputStream.writeByte(0xE0);
+            outputStream.writeByte(0);
+        } finally {
+            outputStream.close();
+        }
+        CountingGenerator generator = new CountingGenerator(BAR);
+        Class<?> type = new ClassFileCache(folder).resolve(new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap()),
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                generator,
+                Sample.class).call();
+        assertThat(((Sample) type.getDeclaredConstructor().newInstance()).foo(), is(BAR));
+        assertThat(generator.generated, is(1));
+    }
+
+    @Test
+    public void testAliveLoadedTypeInitializerIsNotPersisted() throws Exception {
+        ClassFileCache classFileCache = new ClassFileCache(folder);
+        Class<?> type = classFileCache.resolve(new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap()),
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                new Callable<DynamicType.Unloaded<?>>() {
+                    public DynamicType.Unloaded<?> call() {
+                        return new ByteBuddy()
+                                .subclass(Sample.class)
+                                .name(NAME)
+                                .method(named(FOO))
+                                .intercept(MethodDelegation.to(new InstanceInterceptor()))
+                                .make();
+                    }
+                },
+                Sample.class).call();
+        assertThat(((Sample) type.getDeclaredConstructor().newInstance()).foo(), is(QUX));
+        assertThat(classFileCache.getInternalNames().isEmpty(), is(true));
+        assertThat(new File(folder, NAME.replace('.', File.separatorChar) + ".class").isFile(), is(false));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIllegalName() throws Exception {
+        new ClassFileCache(folder).resolve(new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap()),
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME + QUX,
+                new CountingGenerator(FOO),
+                Sample.class).call();
+    }
+
+    @Test
+    public void testTypeCache() throws Exception {
+        TypeCache<String> typeCache = new TypeCache<String>();
+        ClassLoader classLoader = new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap());
+        CountingGenerator generator = new CountingGenerator(FOO);
+        ClassFileCache classFileCache = new ClassFileCache(folder);
+        Class<?> type = typeCache.findOrInsert(classLoader, FOO, classFileCache.resolve(classLoader,
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                generator,
+                Sample.class));
+        assertThat(typeCache.findOrInsert(classLoader, FOO, classFileCache.resolve(classLoader,
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                generator,
+                Sample.class)) == type, is(true));
+        assertThat(generator.generated, is(1));
+    }
+
+    @Test
+    public void testClassList() throws Exception {
+        ClassFileCache classFileCache = new ClassFileCache(folder);
+        classFileCache.resolve(new ByteArrayClassLoader(Sample.class.getClassLoader(), Collections.<String, byte[]>emptyMap()),
+                ClassLoadingStrategy.Default.INJECTION,
+                NAME,
+                new CountingGenerator(FOO),
+                Sample.class).call();
+        File file = new File(folder, QUX);
+        classFileCache.writeClassList(file);
+        List<String> lines = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } finally {
+            reader.close();
+        }
+        assertThat(lines, hasItem(NAME.replace('.', '/')));
+        assertThat(lines, not(hasItem(NAME)));
+    }
+
+    public static class Sample {
+
+        public String foo() {
+            return null;
+        }
+    }
+
+    public static class Other {
+        /* empty */
+    }
+
+    public static class Interceptor {
+
+        public static String intercept(@SuperCall Callable<String> zuper) {
+            return FOO + QUX;
+        }
+    }
+
+    public static class InstanceInterceptor {
+
+        public String intercept() {
+            return QUX;
+        }
+    }
+
+    private static class DelegatingGenerator implements Callable<DynamicType.Unloaded<?>> {
+
+        private int generated;
+
+        public DynamicType.Unloaded<?> call() {
+            generated++;
+            return new ByteBuddy()
+                    .subclass(Sample.class)
+                    .name(NAME)
+                    .method(named(FOO))
+                    .intercept(MethodDelegation.to(Interceptor.class))
+                    .make();
+        }
+    }
+
+    private static class CountingGenerator implements Callable<DynamicType.Unloaded<?>> {
+
+        private final String value;
+
+        private int generated;
+
+        private CountingGenerator(String value) {
+            this.value = value;
+        }
+
+        public DynamicType.Unloaded<?> call() {
+            generated++;
+            return new ByteBuddy()
+                    .subclass(Sample.class)
+                    .name(NAME)
+                    .method(named(FOO))
+                    .intercept(FixedValue.value(value))
+                    .make();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.test.utility.ClassReflectionInjectionAvailableRule;
+import net.bytebuddy.test.utility.ClassUnsafeInjectionAvailableRule;
+import net.bytebuddy.test.utility.JavaVersionRule;
+import net.bytebuddy.utility.JavaType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+public class ClassInjectorBatchingTest {
+
+    private static final String MARKER = "foo.Marker", BASE = "foo.Base", SUB = "bar.Sub", OTHER = "foo.Other", QUX = "bar.Qux";
+
+    @Rule
+    public MethodRule classUnsafeInjectionAvailableRule = new ClassUnsafeInjectionAvailableRule();
+
+    @Rule
+    public MethodRule classReflectionInjectionAvailableRule = new ClassReflectionInjectionAvailableRule();
+
+    @Rule
+    public MethodRule javaVersionRule = new JavaVersionRule();
+
+    private Map<String, byte[]> types;
+
+    @Before
+    public void setUp() throws Exception {
+        DynamicType marker = new ByteBuddy().makeInterface().name(MARKER).make();
+        DynamicType base = new ByteBuddy().subclass(Object.class).name(BASE).make();
+        DynamicType sub = new ByteBuddy().subclass(base.getTypeDescription()).implement(marker.getTypeDescription()).name(SUB).make();
+        DynamicType other = new ByteBuddy().subclass(sub.getTypeDescription()).name(OTHER).make();
+        DynamicType qux = new ByteBuddy().subclass(Object.class).name(QUX).make();
+        types = new LinkedHashMap<String, byte[]>();
+        types.put(OTHER, other.getBytes());
+        types.put(SUB, sub.getBytes());
+        types.put(QUX, qux.getBytes());
+        types.put(BASE, base.getBytes());
+        types.put(MARKER, marker.getBytes());
+    }
+
+    @Test
+    public void testSort() throws Exception {
+        List<String> sorted = ClassInjector.Batching.sort(types);
+        assertThat(sorted.size(), is(5));
+        assertThat(sorted.indexOf(BASE) < sorted.indexOf(SUB), is(true));
+        assertThat(sorted.indexOf(MARKER) < sorted.indexOf(SUB), is(true));
+        assertThat(sorted.indexOf(SUB) < sorted.indexOf(OTHER), is(true));
+        assertThat(sorted.indexOf(SUB) == sorted.indexOf(QUX) + 1 || sorted.indexOf(QUX) == sorted.indexOf(SUB) + 1, is(true));
+    }
+
+    @Test
+    public void testSortExternalDependency() throws Exception {
+        Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+        types.put(SUB, this.types.get(SUB));
+        types.put(BASE, new ByteBuddy().subclass(Object.class).name(BASE).implement(Runnable.class).make().getBytes());
+        assertThat(ClassInjector.Batching.sort(types), is(Arrays.asList(BASE, SUB)));
+    }
+
+    @Test
+    public void testSortCycle() throws Exception {
+        Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+        types.put(SUB, this.types.get(SUB));
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V1_5, Opcodes.ACC_PUBLIC, BASE.replace('.', '/'), null, SUB.replace('.', '/'), null);
+        classWriter.visitEnd();
+        types.put(BASE, classWriter.toByteArray());
+        types.put(QUX, this.types.get(QUX));
+        assertThat(ClassInjector.Batching.sort(types), is(Arrays.asList(QUX, SUB, BASE)));
+    }
+
+    @Test
+    public void testFactoryIsResolvedOncePerPackage() throws Exception {
+        ClassInjector.Batching.Factory factory = mock(ClassInjector.Batching.Factory.class);
+        ClassInjector classInjector = mock(ClassInjector.class);
+        when(factory.resolve("foo")).thenReturn(classInjector);
+        when(factory.resolve("bar")).thenReturn(classInjector);
+        ClassInjector.Batching.Report report = new ClassInjector.Batching(factory).injectBatch(types);
+        verify(factory, times(1)).resolve("foo");
+        verify(factory, times(1)).resolve("bar");
+        assertThat(report.getBatches(), is(3));
+        assertThat(report.getSortingTime(TimeUnit.NANOSECONDS) >= 0, is(true));
+        assertThat(report.getResolutionTime(TimeUnit.NANOSECONDS) >= 0, is(true));
+        assertThat(report.getDefinitionTime(TimeUnit.NANOSECONDS) >= 0, is(true));
+    }
+
+    @Test
+    @ClassUnsafeInjectionAvailableRule.Enforce
+    public void testInjection() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], ClassLoadingStrategy.BOOTSTRAP_LOADER);
+        ClassInjector classInjector = new ClassInjector.Batching(new ClassInjector.UsingUnsafe(classLoader));
+        assertThat(classInjector.isAlive(), is(true));
+        Map<String, Class<?>> loaded = classInjector.injectRaw(types);
+        assertThat(loaded.size(), is(5));
+        assertThat(loaded.get(OTHER).getSuperclass(), is((Object) loaded.get(SUB)));
+        assertThat(loaded.get(SUB).getSuperclass(), is((Object) loaded.get(BASE)));
+        assertThat(loaded.get(SUB).getInterfaces()[0], is((Object) loaded.get(MARKER)));
+        assertThat(Class.forName(OTHER, false, classLoader), is((Object) loaded.get(OTHER)));
+    }
+
+    @Test
+    @ClassReflectionInjectionAvailableRule.Enforce
+    public void testForReflectionDefinesPackageOnce() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], ClassLoadingStrategy.BOOTSTRAP_LOADER);
+        PackageDefinitionStrategy packageDefinitionStrategy = mock(PackageDefinitionStrategy.class);
+        when(packageDefinitionStrategy.define(eq(classLoader), any(String.class), any(String.class))).thenReturn(PackageDefinitionStrategy.Definition.Trivial.INSTANCE);
+        ClassInjector classInjector = new ClassInjector.Batching(new ClassInjector.Batching.Factory.ForReflection(classLoader,
+                ClassLoadingStrategy.NO_PROTECTION_DOMAIN,
+                packageDefinitionStrategy,
+                ClassInjector.ALLOW_EXISTING_TYPES));
+        assertThat(classInjector.isAlive(), is(true));
+        Map<String, Class<?>> loaded = classInjector.injectRaw(types);
+        assertThat(loaded.size(), is(5));
+        assertThat(loaded.get(OTHER).getSuperclass(), is((Object) loaded.get(SUB)));
+        assertThat(loaded.get(OTHER).getPackage().getName(), is("foo"));
+        assertThat(loaded.get(SUB).getPackage().getName(), is("bar"));
+        verify(packageDefinitionStrategy).define(eq(classLoader), eq("foo"), any(String.class));
+        verify(packageDefinitionStrategy).define(eq(classLoader), eq("bar"), any(String.class));
+        verifyNoMoreInteractions(packageDefinitionStrategy);
+    }
+
+    @Test(expected = SecurityException.class)
+    @ClassReflectionInjectionAvailableRule.Enforce
+    public void testForReflectionValidatesSealingOfEveryType() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], ClassLoadingStrategy.BOOTSTRAP_LOADER);
+        PackageDefinitionStrategy.Definition definition = mock(PackageDefinitionStrategy.Definition.class);
+        when(definition.isDefined()).thenReturn(true);
+        when(definition.isCompatibleTo(any(Package.class))).thenReturn(false);
+        PackageDefinitionStrategy packageDefinitionStrategy = mock(PackageDefinitionStrategy.class);
+        when(packageDefinitionStrategy.define(eq(classLoader), any(String.class), any(String.class))).thenReturn(definition);
+        new ClassInjector.Batching(new ClassInjector.Batching.Factory.ForReflection(classLoader,
+                ClassLoadingStrategy.NO_PROTECTION_DOMAIN,
+                packageDefinitionStrategy,
+                ClassInjector.ALLOW_EXISTING_TYPES)).injectRaw(types);
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(9)
+    public void testForLookup() throws Exception {
+        DynamicType.Unloaded<?> bar = new ByteBuddy().subclass(Object.class).name("bar.Anchor").make();
+        Map<TypeDescription, Class<?>> anchors = new ByteBuddy().subclass(Object.class)
+                .name("foo.Anchor")
+                .make()
+                .include(bar)
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoadedAuxiliaryTypes();
+        Class<?> anchor = anchors.get(bar.getTypeDescription());
+        ClassLoader classLoader = anchor.getClassLoader();
+        Class<?> other = Class.forName("foo.Anchor", false, classLoader);
+        ClassInjector classInjector = new ClassInjector.Batching(new ClassInjector.Batching.Factory.ForLookup(
+                ClassInjector.UsingLookup.of(JavaType.METHOD_HANDLES.load().getMethod("lookup").invoke(null)),
+                anchor,
+                other));
+        Map<String, Class<?>> loaded = classInjector.injectRaw(types);
+        assertThat(loaded.size(), is(5));
+        assertThat(loaded.get(OTHER).getClassLoader(), is(classLoader));
+        assertThat(loaded.get(SUB).getClassLoader(), is(classLoader));
+        assertThat(loaded.get(OTHER).getSuperclass(), is((Object) loaded.get(SUB)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    @SuppressWarnings("unchecked")
+    public void testForLookupWithoutTypeOfPackage() throws Exception {
+        ClassInjector.UsingLookup classInjector = mock(ClassInjector.UsingLookup.class);
+        when(classInjector.lookupType()).thenReturn((Class) Object.class);
+        new ClassInjector.Batching.Factory.ForLookup(classInjector).resolve("foo");
+    }
+}
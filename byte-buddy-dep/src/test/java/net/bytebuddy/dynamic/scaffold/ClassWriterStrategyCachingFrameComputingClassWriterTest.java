@@ -0,0 +1,170 @@
+package net.bytebuddy.dynamic.scaffold;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.asm.AsmVisitorWrapper;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.pool.TypePool;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ClassWriterStrategyCachingFrameComputingClassWriterTest {
+
+    private static final String FOO = "pkg/foo", BAR = "pkg/bar", QUX = "pkg/qux";
+
+    @Rule
+    public MethodRule mockitoRule = MockitoJUnit.rule().silent();
+
+    @Mock
+    private TypePool typePool;
+
+    @Mock
+    private TypeDescription leftType, rightType;
+
+    private ClassWriterStrategy.CachingFrameComputingClassWriter frameComputingClassWriter;
+
+    @Before
+    public void setUp() throws Exception {
+        frameComputingClassWriter = new ClassWriterStrategy.CachingFrameComputingClassWriter(mock(ClassReader.class), 0, typePool);
+        when(typePool.describe(FOO.replace('/', '.'))).thenReturn(new TypePool.Resolution.Simple(leftType));
+        when(typePool.describe(BAR.replace('/', '.'))).thenReturn(new TypePool.Resolution.Simple(rightType));
+        when(leftType.getInternalName()).thenReturn(QUX);
+        when(leftType.isAssignableFrom(rightType)).thenReturn(true);
+        when(rightType.isAssignableTo(leftType)).thenReturn(true);
+    }
+
+    @Test
+    public void testCommonSuperClassIsCached() throws Exception {
+        assertThat(frameComputingClassWriter.getCommonSuperClass(FOO, BAR), is(QUX));
+        assertThat(frameComputingClassWriter.getCommonSuperClass(FOO, BAR), is(QUX));
+        assertThat(frameComputingClassWriter.getCommonSuperClass(BAR, FOO), is(QUX));
+        verify(typePool, times(1)).describe(FOO.replace('/', '.'));
+        verify(typePool, times(1)).describe(BAR.replace('/', '.'));
+        verify(leftType, times(1)).isAssignableFrom(rightType);
+    }
+
+    @Test
+    public void testTypeIsCached() throws Exception {
+        assertThat(frameComputingClassWriter.describe(FOO), is(leftType));
+        assertThat(frameComputingClassWriter.describe(FOO), is(leftType));
+        verify(typePool, times(1)).describe(FOO.replace('/', '.'));
+    }
+
+    @Test
+    public void testStrategies() throws Exception {
+        assertThat(ClassWriterStrategy.Incremental.CONSTANT_POOL_RETAINING.resolve(0, typePool),
+                instanceOf(ClassWriterStrategy.CachingFrameComputingClassWriter.class));
+        assertThat(ClassWriterStrategy.Incremental.CONSTANT_POOL_RETAINING.resolve(0, typePool, mock(ClassReader.class)),
+                instanceOf(ClassWriterStrategy.CachingFrameComputingClassWriter.class));
+        assertThat(ClassWriterStrategy.Incremental.CONSTANT_POOL_DISCARDING.resolve(0, typePool),
+                instanceOf(ClassWriterStrategy.CachingFrameComputingClassWriter.class));
+        assertThat(ClassWriterStrategy.Incremental.CONSTANT_POOL_DISCARDING.resolve(0, typePool, mock(ClassReader.class)),
+                instanceOf(ClassWriterStrategy.CachingFrameComputingClassWriter.class));
+    }
+
+    @Test
+    public void testFrameComputation() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .with(ClassWriterStrategy.Incremental.CONSTANT_POOL_RETAINING)
+                .redefine(Sample.class)
+                .visit(new AsmVisitorWrapper.ForDeclaredMethods().writerFlags(ClassWriter.COMPUTE_FRAMES))
+                .visit(Advice.to(SampleAdvice.class).on(named("foo")))
+                .make()
+                .load(Sample.class.getClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST)
+                .getLoaded();
+        Object instance = type.getDeclaredConstructor().newInstance();
+        assertThat(type.getDeclaredMethod("foo", boolean.class).invoke(instance, true), is((Object) "foo"));
+        assertThat(type.getDeclaredMethod("foo", boolean.class).invoke(instance, false), is((Object) "bar"));
+        assertThat(type.getDeclaredMethod("bar", boolean.class).invoke(instance, true), is((Object) 1));
+    }
+
+    @Test
+    public void testDefaultStrategiesDoNotCache() throws Exception {
+        assertThat(ClassWriterStrategy.Default.CONSTANT_POOL_RETAINING.resolve(0, typePool),
+                not(instanceOf(ClassWriterStrategy.CachingFrameComputingClassWriter.class)));
+        assertThat(ClassWriterStrategy.Default.CONSTANT_POOL_DISCARDING.resolve(0, typePool, mock(ClassReader.class)),
+                not(instanceOf(ClassWriterStrategy.CachingFrameComputingClassWriter.class)));
+    }
+
+    @Test
+    public void testFramesOfUntouchedMethodsAreRetained() throws Exception {
+        Set<String> incremental = new HashSet<String>(), standard = new HashSet<String>();
+        new ByteBuddy()
+                .with(ClassWriterStrategy.Incremental.CONSTANT_POOL_RETAINING)
+                .redefine(Sample.class)
+                .visit(new AsmVisitorWrapper.ForDeclaredMethods().writerFlags(ClassWriter.COMPUTE_FRAMES))
+                .visit(Advice.to(SampleAdvice.class).on(named("foo")))
+                .make(new RecordingTypePool(TypePool.Default.ofSystemLoader(), incremental));
+        new ByteBuddy()
+                .with(ClassWriterStrategy.Default.CONSTANT_POOL_RETAINING)
+                .redefine(Sample.class)
+                .visit(new AsmVisitorWrapper.ForDeclaredMethods().writerFlags(ClassWriter.COMPUTE_FRAMES))
+                .visit(Advice.to(SampleAdvice.class).on(named("foo")))
+                .make(new RecordingTypePool(TypePool.Default.ofSystemLoader(), standard));
+        assertThat(incremental, hasItem(StringBuilder.class.getName()));
+        assertThat(incremental, not(hasItem(Long.class.getName())));
+        assertThat(standard, hasItem(Long.class.getName()));
+    }
+
+    public static class Sample {
+
+        public Object foo(boolean value) {
+            return value ? (Object) "foo" : new StringBuilder("bar");
+        }
+
+        public Object bar(boolean value) {
+            return value ? (Object) 1 : (Object) 2L;
+        }
+    }
+
+    public static class SampleAdvice {
+
+        @Advice.OnMethodExit
+        private static void exit(@Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) Object value) {
+            value = value.toString();
+        }
+    }
+
+    private static class RecordingTypePool implements TypePool {
+
+        private final TypePool delegate;
+
+        private final Set<String> described;
+
+        private RecordingTypePool(TypePool delegate, Set<String> described) {
+            this.delegate = delegate;
+            this.described = described;
+        }
+
+        public Resolution describe(String name) {
+            described.add(name);
+            return delegate.describe(name);
+        }
+
+        public void clear() {
+            delegate.clear();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package net.bytebuddy.dynamic.scaffold;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.pool.TypePool;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ClassWriterStrategyForSharedCacheTest {
+
+    private static final String FOO = "pkg/foo", BAR = "pkg/bar", QUX = "pkg/qux";
+
+    @Rule
+    public MethodRule mockitoRule = MockitoJUnit.rule().silent();
+
+    @Mock
+    private TypePool typePool;
+
+    @Mock
+    private TypeDescription leftType, rightType;
+
+    @Mock
+    private ClassReader classReader;
+
+    @Before
+    public void setUp() throws Exception {
+        when(typePool.describe(FOO.replace('/', '.'))).thenReturn(new TypePool.Resolution.Simple(leftType));
+        when(typePool.describe(BAR.replace('/', '.'))).thenReturn(new TypePool.Resolution.Simple(rightType));
+        when(typePool.describe(QUX.replace('/', '.'))).thenReturn(new TypePool.Resolution.Simple(rightType));
+        when(leftType.getInternalName()).thenReturn(FOO);
+        when(leftType.isAssignableFrom(rightType)).thenReturn(true);
+    }
+
+    @Test
+    public void testCacheIsShared() throws Exception {
+        ClassWriterStrategy.ForSharedCache classWriterStrategy = new ClassWriterStrategy.ForSharedCache();
+        ClassWriterStrategy.ForSharedCache.CacheSharingClassWriter first = (ClassWriterStrategy.ForSharedCache.CacheSharingClassWriter) classWriterStrategy.resolve(0, typePool);
+        ClassWriterStrategy.ForSharedCache.CacheSharingClassWriter second = (ClassWriterStrategy.ForSharedCache.CacheSharingClassWriter) classWriterStrategy.resolve(0, typePool);
+        assertThat(first.getCommonSuperClass(FOO, BAR), is(FOO));
+        assertThat(second.getCommonSuperClass(BAR, FOO), is(FOO));
+        verify(typePool, times(1)).describe(FOO.replace('/', '.'));
+        verify(typePool, times(1)).describe(BAR.replace('/', '.'));
+        assertThat(classWriterStrategy.size(), is(1));
+        assertThat(classWriterStrategy.getLookupCount(), is(2L));
+        assertThat(classWriterStrategy.getHitCount(), is(1L));
+        assertThat(classWriterStrategy.getResolutionCount(), is(1L));
+        assertThat(classWriterStrategy.getEvictionCount(), is(0L));
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        ClassWriterStrategy.ForSharedCache classWriterStrategy = new ClassWriterStrategy.ForSharedCache(1);
+        ClassWriterStrategy.ForSharedCache.CacheSharingClassWriter classWriter = (ClassWriterStrategy.ForSharedCache.CacheSharingClassWriter) classWriterStrategy.resolve(0, typePool);
+        assertThat(classWriter.getCommonSuperClass(FOO, BAR), is(FOO));
+        assertThat(classWriter.getCommonSuperClass(FOO, QUX), is(FOO));
+        assertThat(classWriterStrategy.size(), is(1));
+        assertThat(classWriterStrategy.getEvictionCount(), is(1L));
+        assertThat(((ClassWriterStrategy.ForSharedCache.CacheSharingClassWriter) classWriterStrategy.resolve(0, typePool)).getCommonSuperClass(FOO, BAR), is(FOO));
+        assertThat(classWriterStrategy.getResolutionCount(), is(3L));
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        ClassWriterStrategy.ForSharedCache classWriterStrategy = new ClassWriterStrategy.ForSharedCache();
+        ((ClassWriterStrategy.ForSharedCache.CacheSharingClassWriter) classWriterStrategy.resolve(0, typePool)).getCommonSuperClass(FOO, BAR);
+        assertThat(classWriterStrategy.size(), is(1));
+        classWriterStrategy.clear();
+        assertThat(classWriterStrategy.size(), is(0));
+        assertThat(classWriterStrategy.getLookupCount(), is(1L));
+    }
+
+    @Test
+    public void testConstantPoolRetention() throws Exception {
+        ClassWriter withoutReader = new ClassWriterStrategy.ForSharedCache().resolve(0, typePool);
+        ClassWriter withReader = new ClassWriterStrategy.ForSharedCache().resolve(0, typePool, classReader);
+        assertThat(withReader, instanceOf(ClassWriterStrategy.ForSharedCache.CacheSharingClassWriter.class));
+        assertThat(withReader.toByteArray().length > withoutReader.toByteArray().length, is(true));
+    }
+
+    @Test
+    public void testConstantPoolDiscarding() throws Exception {
+        ClassWriter withoutReader = new ClassWriterStrategy.ForSharedCache(1, false).resolve(0, typePool);
+        ClassWriter withReader = new ClassWriterStrategy.ForSharedCache(1, false).resolve(0, typePool, classReader);
+        assertThat(withReader, instanceOf(ClassWriterStrategy.ForSharedCache.CacheSharingClassWriter.class));
+        assertThat(withReader.toByteArray().length == withoutReader.toByteArray().length, is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSize() throws Exception {
+        new ClassWriterStrategy.ForSharedCache(0);
+    }
+}
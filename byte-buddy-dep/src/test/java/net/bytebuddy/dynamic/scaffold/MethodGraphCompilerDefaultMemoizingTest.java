@@ -0,0 +1,227 @@
+package net.bytebuddy.dynamic.scaffold;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.StubMethod;
+import net.bytebuddy.pool.TypePool;
+import org.junit.Test;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MethodGraphCompilerDefaultMemoizingTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    @Test
+    public void testEquivalentToDefault() throws Exception {
+        MethodGraph.Compiler.Default.Memoizing<?> compiler = MethodGraph.Compiler.Default.Memoizing.ofJavaHierarchy();
+        for (int index = 0; index < 2; index++) {
+            assertEquivalent(compiler, TypeDescription.ForLoadedType.of(ArrayList.class));
+            assertEquivalent(compiler, TypeDescription.ForLoadedType.of(SampleList.class));
+        }
+        assertThat(compiler.getHitCount() > 0, is(true));
+        assertThat(compiler.getMissCount() > 0, is(true));
+    }
+
+    @Test
+    public void testSharedSuperType() throws Exception {
+        MethodGraph.Compiler.Default.Memoizing<?> compiler = MethodGraph.Compiler.Default.Memoizing.ofJavaHierarchy();
+        compiler.compile((TypeDefinition) TypeDescription.ForLoadedType.of(Sample.class));
+        long misses = compiler.getMissCount();
+        int size = compiler.size();
+        MethodGraph.Linked methodGraph = compiler.compile((TypeDefinition) TypeDescription.ForLoadedType.of(OtherSample.class));
+        assertThat(compiler.getMissCount(), is(misses));
+        assertThat(compiler.getHitCount(), is(1L));
+        assertThat(compiler.size(), is(size));
+        assertThat(methodGraph.locate(new MethodDescription.SignatureToken(FOO,
+                TypeDescription.ForLoadedType.of(void.class),
+                new ArrayList<TypeDescription>())).getSort(), is(MethodGraph.Node.Sort.RESOLVED));
+    }
+
+    @Test
+    public void testPackagePrivateVisibility() throws Exception {
+        MethodGraph.Compiler.Default.Memoizing<?> compiler = MethodGraph.Compiler.Default.Memoizing.ofJavaHierarchy();
+        MethodDescription.SignatureToken token = new MethodDescription.SignatureToken(BAR,
+                TypeDescription.ForLoadedType.of(void.class),
+                new ArrayList<TypeDescription>());
+        TypeDescription foreign = new ByteBuddy().subclass(Base.class).name(FOO + "." + BAR).make().getTypeDescription();
+        assertThat(compiler.compile((TypeDefinition) foreign).locate(token).getSort(), is(MethodGraph.Node.Sort.UNRESOLVED));
+        assertThat(compiler.compile((TypeDefinition) TypeDescription.ForLoadedType.of(Sample.class)).locate(token).getSort(), is(MethodGraph.Node.Sort.RESOLVED));
+        assertThat(compiler.compile((TypeDefinition) foreign).locate(token).getSort(), is(MethodGraph.Node.Sort.UNRESOLVED));
+    }
+
+    @Test
+    public void testTypeVariableNotMemoized() throws Exception {
+        assertThat(MethodGraph.Compiler.Default.Memoizing.isMemoizable(TypeDescription.ForLoadedType.of(SampleList.class).getSuperClass()), is(true));
+        assertThat(MethodGraph.Compiler.Default.Memoizing.isMemoizable(TypeDescription.ForLoadedType.of(GenericList.class).getSuperClass()), is(false));
+        assertThat(MethodGraph.Compiler.Default.Memoizing.isMemoizable(TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Object.class)), is(true));
+    }
+
+    @Test
+    public void testUnloadedTypeNotMemoized() throws Exception {
+        TypeDescription typeDescription = new ByteBuddy().subclass(Base.class).make().getTypeDescription();
+        assertThat(MethodGraph.Compiler.Default.Memoizing.isMemoizable(typeDescription.asGenericType()), is(false));
+        assertThat(MethodGraph.Compiler.Default.Memoizing.isMemoizable(TypeDescription.ForLoadedType.of(Sample.class).getSuperClass()), is(true));
+    }
+
+    @Test
+    public void testSameNameOfDifferentClassLoaders() throws Exception {
+        MethodGraph.Compiler.Default.Memoizing<?> compiler = MethodGraph.Compiler.Default.Memoizing.ofJavaHierarchy();
+        MethodDescription.SignatureToken foo = new MethodDescription.SignatureToken(FOO,
+                TypeDescription.ForLoadedType.of(void.class),
+                new ArrayList<TypeDescription>()), bar = new MethodDescription.SignatureToken(BAR,
+                TypeDescription.ForLoadedType.of(void.class),
+                new ArrayList<TypeDescription>());
+        MethodGraph.Linked first = compiler.compile((TypeDefinition) new ByteBuddy().subclass(base(FOO)).make().getTypeDescription());
+        MethodGraph.Linked second = compiler.compile((TypeDefinition) new ByteBuddy().subclass(base(BAR)).make().getTypeDescription());
+        assertThat(first.locate(foo).getSort(), is(MethodGraph.Node.Sort.RESOLVED));
+        assertThat(first.locate(bar).getSort(), is(MethodGraph.Node.Sort.UNRESOLVED));
+        assertThat(second.locate(foo).getSort(), is(MethodGraph.Node.Sort.UNRESOLVED));
+        assertThat(second.locate(bar).getSort(), is(MethodGraph.Node.Sort.RESOLVED));
+        assertThat(compiler.getHitCount(), is(1L));
+    }
+
+    @Test
+    public void testPoolDescribedSuperType() throws Exception {
+        MethodGraph.Compiler.Default.Memoizing<?> compiler = MethodGraph.Compiler.Default.Memoizing.ofJavaHierarchy();
+        TypePool typePool = TypePool.Default.of(Sample.class.getClassLoader());
+        assertThat(MethodGraph.Compiler.Default.Memoizing.isMemoizable(typePool.describe(Sample.class.getName()).resolve().getSuperClass()), is(true));
+        assertEquivalent(compiler, typePool.describe(Sample.class.getName()).resolve());
+        long misses = compiler.getMissCount();
+        int size = compiler.size();
+        assertEquivalent(compiler, typePool.describe(OtherSample.class.getName()).resolve());
+        assertThat(compiler.getMissCount(), is(misses));
+        assertThat(compiler.getHitCount(), is(1L));
+        assertThat(compiler.size(), is(size));
+    }
+
+    @Test
+    public void testLazyPoolDescribedSuperType() throws Exception {
+        MethodGraph.Compiler.Default.Memoizing<?> compiler = MethodGraph.Compiler.Default.Memoizing.ofJavaHierarchy();
+        TypePool typePool = TypePool.Default.WithLazyResolution.of(Sample.class.getClassLoader());
+        compiler.compile((TypeDefinition) typePool.describe(Sample.class.getName()).resolve());
+        long misses = compiler.getMissCount();
+        compiler.compile((TypeDefinition) typePool.describe(OtherSample.class.getName()).resolve());
+        assertThat(compiler.getMissCount(), is(misses));
+        assertThat(compiler.getHitCount(), is(1L));
+    }
+
+    @Test
+    public void testSameNameOfDifferentTypePools() throws Exception {
+        MethodGraph.Compiler.Default.Memoizing<?> compiler = MethodGraph.Compiler.Default.Memoizing.ofJavaHierarchy();
+        MethodDescription.SignatureToken foo = new MethodDescription.SignatureToken(FOO,
+                TypeDescription.ForLoadedType.of(void.class),
+                new ArrayList<TypeDescription>()), bar = new MethodDescription.SignatureToken(BAR,
+                TypeDescription.ForLoadedType.of(void.class),
+                new ArrayList<TypeDescription>());
+        MethodGraph.Linked first = compiler.compile((TypeDefinition) describe(FOO));
+        MethodGraph.Linked second = compiler.compile((TypeDefinition) describe(BAR));
+        assertThat(first.locate(foo).getSort(), is(MethodGraph.Node.Sort.RESOLVED));
+        assertThat(first.locate(bar).getSort(), is(MethodGraph.Node.Sort.UNRESOLVED));
+        assertThat(second.locate(foo).getSort(), is(MethodGraph.Node.Sort.UNRESOLVED));
+        assertThat(second.locate(bar).getSort(), is(MethodGraph.Node.Sort.RESOLVED));
+    }
+
+    @Test
+    public void testForeignViewPointNotMemoized() throws Exception {
+        MethodGraph.Compiler.Default.Memoizing<?> compiler = MethodGraph.Compiler.Default.Memoizing.ofJVMHierarchy();
+        compiler.compile((TypeDefinition) TypeDescription.ForLoadedType.of(Sample.class), TypeDescription.ForLoadedType.of(Object.class));
+        assertThat(compiler.size(), is(0));
+        assertThat(compiler.getMissCount(), is(0L));
+    }
+
+    @Test
+    public void testBounded() throws Exception {
+        MethodGraph.Compiler.Default.Memoizing<?> compiler = MethodGraph.Compiler.Default.Memoizing.ofJavaHierarchy(1);
+        compiler.compile((TypeDefinition) TypeDescription.ForLoadedType.of(Sample.class));
+        assertThat(compiler.size(), is(1));
+        compiler.clear();
+        assertThat(compiler.size(), is(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSize() throws Exception {
+        MethodGraph.Compiler.Default.Memoizing.ofJavaHierarchy(0);
+    }
+
+    private static TypeDescription describe(String method) {
+        DynamicType base = new ByteBuddy()
+                .subclass(Object.class)
+                .name(FOO + "." + BAR)
+                .defineMethod(method, void.class, Visibility.PUBLIC)
+                .intercept(StubMethod.INSTANCE)
+                .make();
+        DynamicType sample = new ByteBuddy()
+                .subclass(base.getTypeDescription())
+                .name(FOO + "." + QUX)
+                .make();
+        return TypePool.Default.of(new ClassFileLocator.Compound(ClassFileLocator.Simple.of(base.getAllTypes()),
+                ClassFileLocator.Simple.of(sample.getAllTypes()),
+                ClassFileLocator.ForClassLoader.ofSystemLoader())).describe(sample.getTypeDescription().getName()).resolve();
+    }
+
+    private static Class<?> base(String method) {
+        return new ByteBuddy()
+                .subclass(Object.class)
+                .name(FOO + "." + BAR)
+                .defineMethod(method, void.class, Visibility.PUBLIC)
+                .intercept(StubMethod.INSTANCE)
+                .make()
+                .load(null, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+    }
+
+    private static void assertEquivalent(MethodGraph.Compiler compiler, TypeDescription typeDescription) {
+        MethodGraph.Linked expected = MethodGraph.Compiler.DEFAULT.compile((TypeDefinition) typeDescription), actual = compiler.compile((TypeDefinition) typeDescription);
+        assertEquivalent(actual, expected);
+        assertEquivalent(actual.getSuperClassGraph(), expected.getSuperClassGraph());
+    }
+
+    private static void assertEquivalent(MethodGraph actual, MethodGraph expected) {
+        assertThat(actual.listNodes().size(), is(expected.listNodes().size()));
+        for (MethodGraph.Node node : expected.listNodes()) {
+            MethodGraph.Node other = actual.locate(node.getRepresentative().asSignatureToken());
+            assertThat(other.getSort(), is(node.getSort()));
+            assertThat(other.getRepresentative(), is(node.getRepresentative()));
+            assertThat(other.getMethodTypes(), is(node.getMethodTypes()));
+        }
+    }
+
+    public static class Base {
+
+        public void foo() {
+            /* empty */
+        }
+
+        void bar() {
+            /* empty */
+        }
+    }
+
+    public static class Sample extends Base {
+        /* empty */
+    }
+
+    public static class OtherSample extends Base {
+        /* empty */
+    }
+
+    public abstract static class SampleList extends AbstractList<String> {
+        /* empty */
+    }
+
+    public abstract static class GenericList<T> extends AbstractList<T> implements List<T> {
+        /* empty */
+    }
+}
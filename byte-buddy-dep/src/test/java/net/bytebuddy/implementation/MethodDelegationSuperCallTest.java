@@ -3,8 +3,10 @@ package net.bytebuddy.implementation;
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.bind.annotation.Argument;
 import net.bytebuddy.implementation.bind.annotation.RuntimeType;
 import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import net.bytebuddy.implementation.bind.annotation.This;
 import net.bytebuddy.test.utility.CallTraceable;
 import net.bytebuddy.test.utility.JavaVersionRule;
 import org.hamcrest.CoreMatchers;
@@ -13,12 +15,20 @@ import org.junit.Test;
 import org.junit.rules.MethodRule;
 
 import java.io.Serializable;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class MethodDelegationSuperCallTest {
@@ -27,7 +37,7 @@ public class MethodDelegationSuperCallTest {
 
     private static final String CONFLICTING_INTERFACE = "net.bytebuddy.test.precompiled.v8.SingleDefaultMethodConflictingInterface";
 
-    private static final String FOO = "foo", BAR = "bar";
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
 
     @Rule
     public MethodRule javaVersionRule = new JavaVersionRule();
@@ -107,6 +117,67 @@ public class MethodDelegationSuperCallTest {
         assertThat(instance.bar(), is(FOO));
     }
 
+    @Test
+    public void testReusableProxy() throws Exception {
+        DynamicType.Loaded<Reusable> loaded = new ByteBuddy()
+                .subclass(Reusable.class)
+                .method(isDeclaredBy(Reusable.class))
+                .intercept(MethodDelegation.to(ReusableTarget.class))
+                .make()
+                .load(Reusable.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Reusable instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        ReusableTarget.proxies.clear();
+        assertThat(instance.foo(FOO, 1L), is(FOO + 1L));
+        assertThat(instance.foo(BAR, 2L), is(BAR + 2L));
+        assertThat(ReusableTarget.proxies.size(), is(2));
+        assertThat(ReusableTarget.proxies.get(0), sameInstance(ReusableTarget.proxies.get(1)));
+        for (Field field : ReusableTarget.proxies.get(0).getClass().getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+                field.setAccessible(true);
+                assertThat(field.get(ReusableTarget.proxies.get(0)), nullValue());
+            }
+        }
+    }
+
+    @Test
+    public void testReusableProxyReentrant() throws Exception {
+        DynamicType.Loaded<Reusable> loaded = new ByteBuddy()
+                .subclass(Reusable.class)
+                .method(isDeclaredBy(Reusable.class))
+                .intercept(MethodDelegation.to(ReusableTarget.class))
+                .make()
+                .load(Reusable.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Reusable instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        ReusableTarget.proxies.clear();
+        assertThat(instance.foo(QUX, 1L), is(QUX + 1L));
+        assertThat(instance.foo(BAR, 2L), is(BAR + 2L));
+        assertThat(ReusableTarget.proxies.size(), is(3));
+        assertThat(ReusableTarget.proxies.get(0), not(sameInstance(ReusableTarget.proxies.get(1))));
+        assertThat(ReusableTarget.proxies.get(2), sameInstance(ReusableTarget.proxies.get(1)));
+    }
+
+    @Test
+    public void testReusableProxyOfOtherThread() throws Exception {
+        DynamicType.Loaded<Reusable> loaded = new ByteBuddy()
+                .subclass(Reusable.class)
+                .method(isDeclaredBy(Reusable.class))
+                .intercept(MethodDelegation.to(ReusableTarget.class))
+                .make()
+                .load(Reusable.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        final Reusable instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        ReusableTarget.proxies.clear();
+        assertThat(instance.foo(FOO, 1L), is(FOO + 1L));
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                instance.foo(BAR, 2L);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertThat(ReusableTarget.proxies.size(), is(2));
+        assertThat(ReusableTarget.proxies.get(0), not(sameInstance(ReusableTarget.proxies.get(1))));
+    }
+
     @Test
     @JavaVersionRule.Enforce(8)
     public void testDefaultMethodFallback() throws Exception {
@@ -247,6 +318,28 @@ public class MethodDelegationSuperCallTest {
         }
     }
 
+    public static class Reusable {
+
+        public String foo(String value, long number) {
+            return value + number;
+        }
+    }
+
+    public static class ReusableTarget {
+
+        private static final List<Object> proxies = Collections.synchronizedList(new ArrayList<Object>());
+
+        public static String foo(@This Reusable self,
+                                 @Argument(0) String value,
+                                 @SuperCall(reusableProxy = true) Callable<String> callable) throws Exception {
+            proxies.add(callable);
+            if (value.equals(QUX)) {
+                assertThat(self.foo(FOO, 0L), is(FOO + 0L));
+            }
+            return callable.call();
+        }
+    }
+
     @SuppressWarnings("unused")
     public static class NoFallback {
 
@@ -0,0 +1,107 @@
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.pool.TypePool;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class CachingMatcherBoundedTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Rule
+    public MethodRule mockitoRule = MockitoJUnit.rule().silent();
+
+    @Mock
+    private ElementMatcher<Object> matcher;
+
+    @Before
+    public void setUp() throws Exception {
+        when(matcher.matches(FOO)).thenReturn(true);
+    }
+
+    @Test
+    public void testCached() throws Exception {
+        CachingMatcher.Bounded<Object> matcher = ElementMatchers.cached(this.matcher, CachingMatcher.KeyFunction.ForEquality.INSTANCE, 2);
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.matches(BAR), is(false));
+        assertThat(matcher.matches(BAR), is(false));
+        verify(this.matcher).matches(FOO);
+        verify(this.matcher).matches(BAR);
+        verifyNoMoreInteractions(this.matcher);
+        assertThat(matcher.getHitCount(), is(2L));
+        assertThat(matcher.getMissCount(), is(2L));
+        assertThat(matcher.getEvictionCount(), is(0L));
+        assertThat(matcher.size(), is(2));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() throws Exception {
+        CachingMatcher.Bounded<Object> matcher = ElementMatchers.cached(this.matcher, CachingMatcher.KeyFunction.ForEquality.INSTANCE, 2);
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.matches(BAR), is(false));
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.matches(FOO + BAR), is(false));
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.matches(BAR), is(false));
+        verify(this.matcher).matches(FOO);
+        verify(this.matcher, times(2)).matches(BAR);
+        assertThat(matcher.getEvictionCount(), is(2L));
+        assertThat(matcher.size(), is(2));
+        matcher.clear();
+        assertThat(matcher.size(), is(0));
+    }
+
+    @Test
+    public void testNullTarget() throws Exception {
+        CachingMatcher.Bounded<Object> matcher = ElementMatchers.cached(this.matcher, CachingMatcher.KeyFunction.ForEquality.INSTANCE, 1);
+        assertThat(matcher.matches(null), is(false));
+        assertThat(matcher.matches(null), is(false));
+        verify(this.matcher).matches(null);
+    }
+
+    @Test
+    @SuppressWarnings("RedundantStringConstructorCall")
+    public void testIdentity() throws Exception {
+        CachingMatcher.Bounded<Object> matcher = ElementMatchers.cached(this.matcher, CachingMatcher.KeyFunction.ForIdentity.INSTANCE, 2);
+        String other = new String(FOO);
+        when(this.matcher.matches(other)).thenReturn(true);
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.matches(other), is(true));
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.getHitCount(), is(1L));
+        assertThat(matcher.getMissCount(), is(2L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTypeName() throws Exception {
+        ElementMatcher<? super TypeDescription> matcher = mock(ElementMatcher.class);
+        when(matcher.matches(any(TypeDescription.class))).thenReturn(true);
+        CachingMatcher.Bounded<TypeDescription> cached = ElementMatchers.cachedByName(matcher, 1);
+        assertThat(cached.matches(TypeDescription.ForLoadedType.of(Object.class)), is(true));
+        assertThat(cached.matches(TypePool.Default.ofSystemLoader().describe(Object.class.getName()).resolve()), is(true));
+        verify(matcher, times(1)).matches(any(TypeDescription.class));
+        assertThat(cached.getHitCount(), is(1L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalCapacity() throws Exception {
+        new CachingMatcher.Bounded<Object>(matcher, CachingMatcher.KeyFunction.ForEquality.INSTANCE, 0);
+    }
+
+    @Test
+    public void testStringRepresentation() throws Exception {
+        assertThat(new CachingMatcher.Bounded<Object>(matcher, CachingMatcher.KeyFunction.ForEquality.INSTANCE, 1).toString(), startsWith("cached("));
+    }
+}
@@ -0,0 +1,218 @@
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.utility.ConstantPoolScanner;
+import org.junit.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypePrefilterTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static final byte[] EMPTY = new byte[0];
+
+    @Test
+    public void testTrivial() throws Exception {
+        assertThat(TypePrefilter.Trivial.CANDIDATE.isCandidate(FOO, EMPTY), is(true));
+        assertThat(TypePrefilter.Trivial.CANDIDATE.isUnconstrained(), is(true));
+        assertThat(TypePrefilter.Trivial.NON_CANDIDATE.isCandidate(FOO, EMPTY), is(false));
+        assertThat(TypePrefilter.Trivial.NON_CANDIDATE.isUnconstrained(), is(false));
+    }
+
+    @Test
+    public void testNamed() throws Exception {
+        TypePrefilter prefilter = TypePrefilter.Compiler.INSTANCE.compile(named(FOO));
+        assertThat(prefilter.isCandidate(FOO, EMPTY), is(true));
+        assertThat(prefilter.isCandidate(BAR, EMPTY), is(false));
+        assertThat(prefilter.isUnconstrained(), is(false));
+    }
+
+    @Test
+    public void testNamedOneOf() throws Exception {
+        TypePrefilter prefilter = TypePrefilter.Compiler.INSTANCE.compile(namedOneOf(FOO, BAR));
+        assertThat(prefilter.isCandidate(FOO, EMPTY), is(true));
+        assertThat(prefilter.isCandidate(BAR, EMPTY), is(true));
+        assertThat(prefilter.isCandidate(QUX, EMPTY), is(false));
+    }
+
+    @Test
+    public void testNameStartsWith() throws Exception {
+        TypePrefilter prefilter = TypePrefilter.Compiler.INSTANCE.compile(nameStartsWith(FOO));
+        assertThat(prefilter.isCandidate(FOO + BAR, EMPTY), is(true));
+        assertThat(prefilter.isCandidate(BAR + FOO, EMPTY), is(false));
+    }
+
+    @Test
+    public void testNameStartsWithEmptyIsUnconstrained() throws Exception {
+        assertThat(TypePrefilter.Compiler.INSTANCE.compile(nameStartsWith("")).isUnconstrained(), is(true));
+    }
+
+    @Test
+    public void testIs() throws Exception {
+        TypePrefilter prefilter = TypePrefilter.Compiler.INSTANCE.compile(ElementMatchers.is(Object.class));
+        assertThat(prefilter.isCandidate(Object.class.getName(), EMPTY), is(true));
+        assertThat(prefilter.isCandidate(String.class.getName(), EMPTY), is(false));
+    }
+
+    @Test
+    public void testUnknownMatcher() throws Exception {
+        assertThat(TypePrefilter.Compiler.INSTANCE.compile(isInterface()).isUnconstrained(), is(true));
+        assertThat(TypePrefilter.Compiler.INSTANCE.compile(not(named(FOO))).isUnconstrained(), is(true));
+        assertThat(TypePrefilter.Compiler.INSTANCE.compile(nameEndsWith(FOO)).isUnconstrained(), is(true));
+    }
+
+    @Test
+    public void testBoolean() throws Exception {
+        assertThat(TypePrefilter.Compiler.INSTANCE.compile(any()), is((TypePrefilter) TypePrefilter.Trivial.CANDIDATE));
+        assertThat(TypePrefilter.Compiler.INSTANCE.compile(none()), is((TypePrefilter) TypePrefilter.Trivial.NON_CANDIDATE));
+    }
+
+    @Test
+    public void testConjunction() throws Exception {
+        TypePrefilter prefilter = TypePrefilter.Compiler.INSTANCE.compile(nameStartsWith(FOO).and(isInterface()).and(nameStartsWith(FOO + BAR)));
+        assertThat(prefilter, instanceOf(TypePrefilter.Conjunction.class));
+        assertThat(prefilter.isCandidate(FOO + BAR + QUX, EMPTY), is(true));
+        assertThat(prefilter.isCandidate(FOO + QUX, EMPTY), is(false));
+        assertThat(TypePrefilter.Compiler.INSTANCE.compile(named(FOO).and(isInterface())).isCandidate(BAR, EMPTY), is(false));
+        assertThat(TypePrefilter.Compiler.INSTANCE.compile(named(FOO).and(none())), is((TypePrefilter) TypePrefilter.Trivial.NON_CANDIDATE));
+    }
+
+    @Test
+    public void testDisjunction() throws Exception {
+        TypePrefilter prefilter = TypePrefilter.Compiler.INSTANCE.compile(named(FOO).or(nameStartsWith(BAR)).or(named(QUX)));
+        assertThat(prefilter, instanceOf(TypePrefilter.ForNames.class));
+        assertThat(prefilter.isCandidate(FOO, EMPTY), is(true));
+        assertThat(prefilter.isCandidate(BAR + FOO, EMPTY), is(true));
+        assertThat(prefilter.isCandidate(QUX, EMPTY), is(true));
+        assertThat(prefilter.isCandidate(FOO + BAR, EMPTY), is(false));
+        assertThat(TypePrefilter.Compiler.INSTANCE.compile(named(FOO).or(isInterface())).isUnconstrained(), is(true));
+        assertThat(TypePrefilter.Compiler.INSTANCE.compile(none().or(none())), is((TypePrefilter) TypePrefilter.Trivial.NON_CANDIDATE));
+    }
+
+    @Test
+    public void testAnnotation() throws Exception {
+        TypePrefilter prefilter = TypePrefilter.Compiler.INSTANCE.compile(isAnnotatedWith(Foo.class));
+        assertThat(prefilter, instanceOf(TypePrefilter.ForMentionedDescriptors.class));
+        assertThat(prefilter.isCandidate(Bar.class.getName(), ClassFileLocator.ForClassLoader.read(Bar.class)), is(true));
+        assertThat(prefilter.isCandidate(Qux.class.getName(), ClassFileLocator.ForClassLoader.read(Qux.class)), is(false));
+    }
+
+    @Test
+    public void testAnnotationNamed() throws Exception {
+        TypePrefilter prefilter = TypePrefilter.Compiler.INSTANCE.compile(isAnnotatedWith(named(Foo.class.getName()).or(named(FOO))));
+        assertThat(prefilter.isCandidate(Bar.class.getName(), ClassFileLocator.ForClassLoader.read(Bar.class)), is(true));
+        assertThat(prefilter.isCandidate(Qux.class.getName(), ClassFileLocator.ForClassLoader.read(Qux.class)), is(false));
+    }
+
+    @Test
+    public void testAnnotationUnknown() throws Exception {
+        assertThat(TypePrefilter.Compiler.INSTANCE.compile(isAnnotatedWith(nameStartsWith(FOO))).isUnconstrained(), is(true));
+        assertThat(TypePrefilter.Compiler.INSTANCE.compile(inheritsAnnotation(Foo.class)).isUnconstrained(), is(true));
+    }
+
+    @Test
+    public void testAnnotationNone() throws Exception {
+        assertThat(TypePrefilter.Compiler.INSTANCE.compile(isAnnotatedWith(none())), is((TypePrefilter) TypePrefilter.Trivial.NON_CANDIDATE));
+    }
+
+    @Test
+    public void testMentionedDescriptorNonAscii() throws Exception {
+        byte[] binaryRepresentation = new ByteBuddy()
+                .subclass(Object.class)
+                .name("foo.Bär€")
+                .make()
+                .getBytes();
+        assertThat(new TypePrefilter.ForMentionedDescriptors(Collections.singleton("foo/Bär€")).isCandidate(FOO, binaryRepresentation), is(true));
+        assertThat(new TypePrefilter.ForMentionedDescriptors(Collections.singleton("foo/Bär")).isCandidate(FOO, binaryRepresentation), is(true));
+        assertThat(new TypePrefilter.ForMentionedDescriptors(Collections.singleton("foo/Bar")).isCandidate(FOO, binaryRepresentation), is(false));
+    }
+
+    @Test
+    public void testDisjunctionMerge() throws Exception {
+        TypePrefilter prefilter = TypePrefilter.Disjunction.of(Arrays.<TypePrefilter>asList(
+                TypePrefilter.Compiler.INSTANCE.compile(named(FOO)),
+                TypePrefilter.Compiler.INSTANCE.compile(isAnnotatedWith(Foo.class)),
+                TypePrefilter.Compiler.INSTANCE.compile(isAnnotatedWith(TypeDescription.ForLoadedType.of(Retention.class)))));
+        assertThat(prefilter, instanceOf(TypePrefilter.Disjunction.class));
+        assertThat(prefilter.isCandidate(FOO, EMPTY), is(true));
+        assertThat(prefilter.isCandidate(Bar.class.getName(), ClassFileLocator.ForClassLoader.read(Bar.class)), is(true));
+        assertThat(prefilter.isCandidate(Qux.class.getName(), ClassFileLocator.ForClassLoader.read(Qux.class)), is(false));
+        assertThat(prefilter.isCandidate(Foo.class.getName(), ClassFileLocator.ForClassLoader.read(Foo.class)), is(true));
+    }
+
+    @Test
+    public void testMentionedTypes() throws Exception {
+        TypePrefilter prefilter = TypePrefilter.ForMentionedTypes.of(Foo.class);
+        assertThat(prefilter.isUnconstrained(), is(false));
+        assertThat(prefilter.isCandidate(Bar.class.getName(), ClassFileLocator.ForClassLoader.read(Bar.class)), is(true));
+        assertThat(prefilter.isCandidate(Qux.class.getName(), ClassFileLocator.ForClassLoader.read(Qux.class)), is(false));
+        assertThat(TypePrefilter.ForMentionedTypes.of(Object.class).isCandidate(Qux.class.getName(), ClassFileLocator.ForClassLoader.read(Qux.class)), is(true));
+    }
+
+    @Test
+    public void testMalformedClassFileIsCandidate() throws Exception {
+        assertThat(TypePrefilter.ForMentionedTypes.of(Foo.class).isCandidate(FOO, EMPTY), is(true));
+        assertThat(TypePrefilter.Compiler.INSTANCE.compile(isAnnotatedWith(Foo.class)).isCandidate(FOO, EMPTY), is(true));
+    }
+
+    @Test
+    public void testDisjunctionMergeMentionedTypes() throws Exception {
+        TypePrefilter prefilter = TypePrefilter.Disjunction.of(Arrays.<TypePrefilter>asList(
+                TypePrefilter.ForMentionedTypes.of(Foo.class),
+                TypePrefilter.ForMentionedTypes.of(Retention.class)));
+        assertThat(prefilter, instanceOf(TypePrefilter.ForMentionedTypes.class));
+        assertThat(prefilter.isCandidate(Bar.class.getName(), ClassFileLocator.ForClassLoader.read(Bar.class)), is(true));
+        assertThat(prefilter.isCandidate(Foo.class.getName(), ClassFileLocator.ForClassLoader.read(Foo.class)), is(true));
+        assertThat(prefilter.isCandidate(Qux.class.getName(), ClassFileLocator.ForClassLoader.read(Qux.class)), is(false));
+    }
+
+    @Test
+    public void testJunctionScansClassFileOnce() throws Exception {
+        RecordingPrefilter first = new RecordingPrefilter(), second = new RecordingPrefilter();
+        TypePrefilter prefilter = new TypePrefilter.Conjunction(first, new TypePrefilter.Disjunction(second, TypePrefilter.ForMentionedTypes.of(Foo.class)));
+        assertThat(prefilter.isCandidate(Bar.class.getName(), ClassFileLocator.ForClassLoader.read(Bar.class)), is(true));
+        assertThat(first.scanner, notNullValue(ConstantPoolScanner.class));
+        assertThat(second.scanner, sameInstance(first.scanner));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Foo {
+        /* empty */
+    }
+
+    @Foo
+    private static class Bar {
+        /* empty */
+    }
+
+    private static class Qux {
+        /* empty */
+    }
+
+    private static class RecordingPrefilter extends TypePrefilter.OfClassFile {
+
+        private ConstantPoolScanner scanner;
+
+        protected boolean isCandidate(String name, Scan scan) {
+            scanner = scan.resolve();
+            return true;
+        }
+
+        public boolean isUnconstrained() {
+            return false;
+        }
+    }
+}
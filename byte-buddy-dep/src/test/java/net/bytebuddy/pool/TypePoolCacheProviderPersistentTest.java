@@ -0,0 +1,295 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class TypePoolCacheProviderPersistentTest {
+
+    private static final String QUX = "qux", BAZ = "baz", SAMPLE = "foo.Sample";
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("foo", "bar");
+        assertThat(file.delete(), is(true));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (File generation : TypePool.CacheProvider.Persistent.Storage.generations(file).values()) {
+            assertThat(generation.delete(), is(true));
+        }
+        assertThat(!file.exists() || file.delete(), is(true));
+    }
+
+    @Test
+    public void testEmptyStorage() throws Exception {
+        TypePool.CacheProvider.Persistent.Storage storage = TypePool.CacheProvider.Persistent.Storage.of(file);
+        assertThat(storage.size(), is(0));
+        assertThat(storage.getFile(), is(file));
+        assertThat(storage.getCurrentFile(), nullValue(File.class));
+    }
+
+    @Test
+    public void testResolutionIsCondensedAndStored() throws Exception {
+        TypePool.CacheProvider.Persistent.Storage storage = TypePool.CacheProvider.Persistent.Storage.of(file);
+        TypePool.CacheProvider cacheProvider = new TypePool.CacheProvider.Persistent(storage,
+                ClassFileLocator.ForClassLoader.of(Foo.class.getClassLoader()),
+                TypePool.Default.ReaderMode.FAST);
+        TypePool.Resolution resolution = cacheProvider.find(Foo.class.getName());
+        assertThat(resolution, notNullValue(TypePool.Resolution.class));
+        assertThat(resolution.isResolved(), is(true));
+        assertThat(resolution.resolve(), is(TypeDescription.ForLoadedType.of(Foo.class)));
+        assertThat(resolution.resolve().getDeclaredMethods(), is(TypeDescription.ForLoadedType.of(Foo.class).getDeclaredMethods()));
+        assertThat(resolution.resolve().getDeclaredFields(), is(TypeDescription.ForLoadedType.of(Foo.class).getDeclaredFields()));
+        assertThat(resolution.resolve().getSuperClass().asErasure(), is(TypeDescription.ForLoadedType.of(Bar.class)));
+        assertThat(cacheProvider.find(Foo.class.getName()), sameInstance(resolution));
+        assertThat(storage.size() > 0, is(true));
+    }
+
+    @Test
+    public void testPersistAndRestore() throws Exception {
+        TypePool.CacheProvider.Persistent.Storage storage = TypePool.CacheProvider.Persistent.Storage.of(file);
+        new TypePool.CacheProvider.Persistent(storage,
+                ClassFileLocator.ForClassLoader.of(Foo.class.getClassLoader()),
+                TypePool.Default.ReaderMode.FAST).find(Foo.class.getName());
+        storage.persist();
+        assertThat(storage.getCurrentFile(), is(new File(file.getPath() + ".1")));
+        assertThat(storage.getCurrentFile().isFile(), is(true));
+        TypePool.CacheProvider.Persistent.Storage restored = TypePool.CacheProvider.Persistent.Storage.of(file);
+        assertThat(restored.size(), is(storage.size()));
+        ClassFileLocator classFileLocator = mock(ClassFileLocator.class);
+        TypePool.CacheProvider cacheProvider = new TypePool.CacheProvider.Persistent(restored,
+                classFileLocator,
+                TypePool.Default.ReaderMode.FAST,
+                false);
+        TypePool.Resolution resolution = cacheProvider.find(Foo.class.getName());
+        assertThat(resolution, notNullValue(TypePool.Resolution.class));
+        assertThat(resolution.resolve(), is(TypeDescription.ForLoadedType.of(Foo.class)));
+        assertThat(resolution.resolve().getDeclaredMethods().filter(named(QUX)).size(), is(1));
+        verify(classFileLocator, never()).locate(Foo.class.getName());
+    }
+
+    @Test
+    public void testChangedClassFileIsCondensedAnew() throws Exception {
+        TypePool.CacheProvider.Persistent.Storage storage = TypePool.CacheProvider.Persistent.Storage.of(file);
+        new TypePool.CacheProvider.Persistent(storage,
+                ClassFileLocator.ForClassLoader.of(Foo.class.getClassLoader()),
+                TypePool.Default.ReaderMode.FAST).find(Foo.class.getName());
+        storage.persist();
+        byte[] binaryRepresentation = new ByteBuddy()
+                .redefine(Foo.class)
+                .defineField(QUX, Object.class)
+                .make()
+                .getBytes();
+        TypePool.CacheProvider.Persistent.Storage restored = TypePool.CacheProvider.Persistent.Storage.of(file);
+        TypePool.CacheProvider cacheProvider = new TypePool.CacheProvider.Persistent(restored,
+                new ClassFileLocator.Compound(ClassFileLocator.Simple.of(Foo.class.getName(), binaryRepresentation),
+                        ClassFileLocator.ForClassLoader.of(Foo.class.getClassLoader())),
+                TypePool.Default.ReaderMode.FAST);
+        TypePool.Resolution resolution = cacheProvider.find(Foo.class.getName());
+        assertThat(resolution, notNullValue(TypePool.Resolution.class));
+        assertThat(resolution.resolve().getDeclaredFields().filter(named(QUX)).size(), is(1));
+    }
+
+    @Test
+    public void testClassLoaderEntryIsValidatedWithoutReadingClassFile() throws Exception {
+        TypePool.CacheProvider.Persistent.Storage storage = TypePool.CacheProvider.Persistent.Storage.of(file);
+        new TypePool.CacheProvider.Persistent(storage, Foo.class.getClassLoader(), TypePool.Default.ReaderMode.FAST).find(Foo.class.getName());
+        storage.persist();
+        ClassFileLocator classFileLocator = mock(ClassFileLocator.class);
+        TypePool.CacheProvider cacheProvider = new TypePool.CacheProvider.Persistent(TypePool.CacheProvider.Persistent.Storage.of(file),
+                classFileLocator,
+                TypePool.CacheProvider.Persistent.OriginLocator.ForClassLoader.of(Foo.class.getClassLoader()),
+                TypePool.Default.ReaderMode.FAST,
+                true);
+        TypePool.Resolution resolution = cacheProvider.find(Foo.class.getName());
+        assertThat(resolution, notNullValue(TypePool.Resolution.class));
+        assertThat(resolution.resolve().getDeclaredMethods().filter(named(QUX)).size(), is(1));
+        verify(classFileLocator, never()).locate(Foo.class.getName());
+    }
+
+    @Test
+    public void testSharedStorageDistinguishesClassLoaders() throws Exception {
+        File first = folder(QUX), second = folder(BAZ);
+        try {
+            TypePool.CacheProvider.Persistent.Storage storage = TypePool.CacheProvider.Persistent.Storage.of(file);
+            TypePool.Resolution firstResolution = new TypePool.CacheProvider.Persistent(storage,
+                    new URLClassLoader(new URL[]{first.toURI().toURL()}, null),
+                    TypePool.Default.ReaderMode.FAST).find(SAMPLE);
+            TypePool.Resolution secondResolution = new TypePool.CacheProvider.Persistent(storage,
+                    new URLClassLoader(new URL[]{second.toURI().toURL()}, null),
+                    TypePool.Default.ReaderMode.FAST).find(SAMPLE);
+            assertThat(firstResolution.resolve().getDeclaredFields().getOnly().getName(), is(QUX));
+            assertThat(secondResolution.resolve().getDeclaredFields().getOnly().getName(), is(BAZ));
+            assertThat(storage.size(), is(2));
+        } finally {
+            delete(first);
+            delete(second);
+        }
+    }
+
+    @Test
+    public void testClassLoaderIsNotRetained() throws Exception {
+        File folder = folder(QUX);
+        try {
+            ClassLoader classLoader = new URLClassLoader(new URL[]{folder.toURI().toURL()}, null);
+            Map<ClassLoader, TypePool.CacheProvider> cacheProviders = new WeakHashMap<ClassLoader, TypePool.CacheProvider>();
+            TypePool.CacheProvider cacheProvider = new TypePool.CacheProvider.Persistent(TypePool.CacheProvider.Persistent.Storage.of(file),
+                    classLoader,
+                    TypePool.Default.ReaderMode.FAST);
+            cacheProviders.put(classLoader, cacheProvider);
+            TypePool.Resolution resolution = cacheProvider.find(SAMPLE);
+            assertThat(resolution.isResolved(), is(true));
+            WeakReference<ClassLoader> reference = new WeakReference<ClassLoader>(classLoader);
+            classLoader = null; // Make GC eligible.
+            for (int attempt = 0; attempt < 10 && reference.get() != null; attempt++) {
+                System.gc();
+                Thread.sleep(50);
+            }
+            assertThat(reference.get(), nullValue(ClassLoader.class));
+            assertThat(cacheProviders.isEmpty(), is(true));
+            assertThat(cacheProvider.find(SAMPLE), sameInstance(resolution));
+        } finally {
+            delete(folder);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnvalidatedStorageCannotBeShared() throws Exception {
+        TypePool.CacheProvider.Persistent.Storage storage = TypePool.CacheProvider.Persistent.Storage.of(file);
+        new TypePool.CacheProvider.Persistent(storage, ClassFileLocator.NoOp.INSTANCE, TypePool.Default.ReaderMode.FAST);
+        new TypePool.CacheProvider.Persistent(storage, ClassFileLocator.NoOp.INSTANCE, TypePool.Default.ReaderMode.FAST, false);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnvalidatedStorageIsExclusive() throws Exception {
+        TypePool.CacheProvider.Persistent.Storage storage = TypePool.CacheProvider.Persistent.Storage.of(file);
+        new TypePool.CacheProvider.Persistent(storage, ClassFileLocator.NoOp.INSTANCE, TypePool.Default.ReaderMode.FAST, false);
+        new TypePool.CacheProvider.Persistent(storage, ClassFileLocator.NoOp.INSTANCE, TypePool.Default.ReaderMode.FAST);
+    }
+
+    @Test
+    public void testUnresolvedTypeCanBeRegistered() throws Exception {
+        TypePool.CacheProvider.Persistent.Storage storage = TypePool.CacheProvider.Persistent.Storage.of(file);
+        TypePool.CacheProvider cacheProvider = new TypePool.CacheProvider.Persistent(storage,
+                ClassFileLocator.NoOp.INSTANCE,
+                TypePool.Default.ReaderMode.FAST);
+        assertThat(cacheProvider.find(QUX), nullValue(TypePool.Resolution.class));
+        TypePool.Resolution resolution = new TypePool.Resolution.Simple(TypeDescription.ForLoadedType.of(Object.class));
+        assertThat(cacheProvider.register(QUX, resolution), sameInstance(resolution));
+        assertThat(cacheProvider.find(QUX), sameInstance(resolution));
+        assertThat(cacheProvider.register(QUX, new TypePool.Resolution.Simple(TypeDescription.ForLoadedType.of(Void.class))), sameInstance(resolution));
+        cacheProvider.clear();
+        assertThat(cacheProvider.find(QUX), nullValue(TypePool.Resolution.class));
+        assertThat(storage.size(), is(0));
+    }
+
+    @Test
+    public void testPersistWritesNewGenerationWhilePreviousIsMapped() throws Exception {
+        TypePool.CacheProvider.Persistent.Storage storage = TypePool.CacheProvider.Persistent.Storage.of(file);
+        new TypePool.CacheProvider.Persistent(storage,
+                ClassFileLocator.ForClassLoader.of(Foo.class.getClassLoader()),
+                TypePool.Default.ReaderMode.FAST).find(Foo.class.getName());
+        storage.persist();
+        TypePool.CacheProvider.Persistent.Storage restored = TypePool.CacheProvider.Persistent.Storage.of(file);
+        assertThat(restored.getCurrentFile(), is(storage.getCurrentFile()));
+        restored.persist();
+        assertThat(restored.getCurrentFile(), is(new File(file.getPath() + ".2")));
+        assertThat(TypePool.CacheProvider.Persistent.Storage.generations(file).keySet(), hasItem(2L));
+        assertThat(file.exists(), is(false));
+        TypePool.CacheProvider.Persistent.Storage reopened = TypePool.CacheProvider.Persistent.Storage.of(file);
+        assertThat(reopened.size(), is(storage.size()));
+        assertThat(reopened.getCurrentFile(), is(restored.getCurrentFile()));
+        assertThat(TypePool.CacheProvider.Persistent.Storage.generations(file).size(), is(1));
+    }
+
+    @Test
+    public void testIncompatibleFileIsIgnored() throws Exception {
+        OutputStream outputStream = new FileOutputStream(file.getPath() + ".1");
+        try {
+            outputStream.write(new byte[]{1, 2, 3});
+        } finally {
+            outputStream.close();
+        }
+        assertThat(TypePool.CacheProvider.Persistent.Storage.of(file).size(), is(0));
+    }
+
+    @Test
+    public void testTruncatedFileIsIgnored() throws Exception {
+        TypePool.CacheProvider.Persistent.Storage storage = TypePool.CacheProvider.Persistent.Storage.of(file);
+        new TypePool.CacheProvider.Persistent(storage,
+                ClassFileLocator.ForClassLoader.of(Foo.class.getClassLoader()),
+                TypePool.Default.ReaderMode.FAST).find(Foo.class.getName());
+        storage.persist();
+        RandomAccessFile randomAccessFile = new RandomAccessFile(storage.getCurrentFile(), "rw");
+        try {
+            randomAccessFile.setLength(randomAccessFile.length() - 1);
+        } finally {
+            randomAccessFile.close();
+        }
+        assertThat(TypePool.CacheProvider.Persistent.Storage.of(file).size(), is(0));
+    }
+
+    private static File folder(String field) throws Exception {
+        File folder = File.createTempFile("foo", "bar");
+        assertThat(folder.delete(), is(true));
+        File target = new File(folder, SAMPLE.replace('.', File.separatorChar) + ".class");
+        assertThat(target.getParentFile().mkdirs(), is(true));
+        OutputStream outputStream = new FileOutputStream(target);
+        try {
+            outputStream.write(new ByteBuddy()
+                    .subclass(Object.class)
+                    .name(SAMPLE)
+                    .defineField(field, Object.class)
+                    .make()
+                    .getBytes());
+        } finally {
+            outputStream.close();
+        }
+        return folder;
+    }
+
+    private static void delete(File file) {
+        File[] child = file.listFiles();
+        if (child != null) {
+            for (File aChild : child) {
+                delete(aChild);
+            }
+        }
+        assertThat(file.delete(), is(true));
+    }
+
+    private static class Bar {
+        /* empty */
+    }
+
+    private static class Foo extends Bar {
+
+        private int foo;
+
+        public String qux(int value) {
+            return String.valueOf(value + foo);
+        }
+    }
+}
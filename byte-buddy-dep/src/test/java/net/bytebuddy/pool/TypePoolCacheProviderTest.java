@@ -1,5 +1,6 @@
 package net.bytebuddy.pool;
 
+import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatchers;
 import org.junit.Rule;
 import org.junit.Test;
@@ -10,6 +11,8 @@ import org.mockito.junit.MockitoJUnit;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -17,7 +20,7 @@ import static org.mockito.Mockito.*;
 
 public class TypePoolCacheProviderTest {
 
-    private static final String FOO = "foo", BAR = "bar";
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
 
     @Rule
     public MethodRule mockitoRule = MockitoJUnit.rule().silent();
@@ -93,4 +96,88 @@ public class TypePoolCacheProviderTest {
         verify(matched).clear();
         verify(unmatched).clear();
     }
+
+    @Test
+    public void testBounded() throws Exception {
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(1);
+        assertThat(bounded.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.register(FOO, resolution), sameInstance(resolution));
+        assertThat(bounded.find(FOO), sameInstance(resolution));
+        TypePool.Resolution resolution = mock(TypePool.Resolution.class);
+        assertThat(bounded.register(FOO, resolution), sameInstance(this.resolution));
+        assertThat(bounded.find(FOO), sameInstance(this.resolution));
+        assertThat(bounded.size(), is(1));
+        assertThat(bounded.getWeight(), is(1L));
+        assertThat(bounded.getHitCount(), is(2L));
+        assertThat(bounded.getMissCount(), is(1L));
+        assertThat(bounded.getEvictionCount(), is(0L));
+        bounded.clear();
+        assertThat(bounded.size(), is(0));
+        assertThat(bounded.getWeight(), is(0L));
+        assertThat(bounded.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.getMissCount(), is(2L));
+    }
+
+    @Test
+    public void testBoundedEvictsLeastRecentlyUsed() throws Exception {
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(2);
+        TypePool.Resolution first = mock(TypePool.Resolution.class), second = mock(TypePool.Resolution.class);
+        assertThat(bounded.register(FOO, first), sameInstance(first));
+        assertThat(bounded.register(BAR, second), sameInstance(second));
+        assertThat(bounded.find(FOO), sameInstance(first));
+        assertThat(bounded.find(QUX), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.register(QUX, resolution), sameInstance(resolution));
+        assertThat(bounded.find(QUX), sameInstance(resolution));
+        assertThat(bounded.find(FOO), sameInstance(first));
+        assertThat(bounded.find(BAR), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.size(), is(2));
+        assertThat(bounded.getEvictionCount(), is(1L));
+    }
+
+    @Test
+    public void testBoundedRejectsInfrequentCandidate() throws Exception {
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(1);
+        TypePool.Resolution frequent = mock(TypePool.Resolution.class);
+        assertThat(bounded.register(FOO, frequent), sameInstance(frequent));
+        for (int index = 0; index < 5; index++) {
+            assertThat(bounded.find(FOO), sameInstance(frequent));
+        }
+        assertThat(bounded.register(BAR, resolution), sameInstance(resolution));
+        assertThat(bounded.find(BAR), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.find(FOO), sameInstance(frequent));
+        assertThat(bounded.getEvictionCount(), is(0L));
+    }
+
+    @Test
+    public void testBoundedWeigher() throws Exception {
+        TypePool.CacheProvider.Bounded.Weigher weigher = mock(TypePool.CacheProvider.Bounded.Weigher.class);
+        when(weigher.weigh(FOO, resolution)).thenReturn(3);
+        when(weigher.weigh(BAR, resolution)).thenReturn(6);
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(5, weigher);
+        assertThat(bounded.register(FOO, resolution), sameInstance(resolution));
+        assertThat(bounded.getWeight(), is(3L));
+        assertThat(bounded.register(BAR, resolution), sameInstance(resolution));
+        assertThat(bounded.find(BAR), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.getWeight(), is(3L));
+    }
+
+    @Test
+    public void testBoundedEstimatedSizeWeigher() throws Exception {
+        TypePool.Resolution resolution = new TypePool.Resolution.Simple(TypeDescription.ForLoadedType.of(Object.class));
+        assertThat(TypePool.CacheProvider.Bounded.Weigher.ForEstimatedSize.INSTANCE.weigh(FOO, resolution)
+                > TypePool.CacheProvider.Bounded.Weigher.ForEstimatedSize.INSTANCE.weigh(FOO, this.resolution), is(true));
+        assertThat(TypePool.CacheProvider.Bounded.Weigher.ForEntry.INSTANCE.weigh(FOO, resolution), is(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundedIllegalWeight() throws Exception {
+        new TypePool.CacheProvider.Bounded(0);
+    }
+
+    @Test
+    public void testBoundedWithObjectType() throws Exception {
+        TypePool.Resolution resolution = TypePool.CacheProvider.Bounded.withObjectType(1).find(Object.class.getName());
+        assertThat(resolution, notNullValue(TypePool.Resolution.class));
+        assertThat(resolution.resolve().represents(Object.class), is(true));
+    }
 }
@@ -0,0 +1,116 @@
+package net.bytebuddy.utility;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.implementation.FixedValue;
+import org.junit.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ConstantPoolScannerTest {
+
+    private static final String FOO = "foo";
+
+    @Test
+    public void testMentions() throws Exception {
+        ConstantPoolScanner scanner = ConstantPoolScanner.of(ClassFileLocator.ForClassLoader.read(Sample.class));
+        assertThat(scanner.getSize() > 1, is(true));
+        assertThat(scanner.mentions(FOO), is(true));
+        assertThat(scanner.mentions(FOO.substring(1)), is(false));
+        assertThat(scanner.mentions("()Ljava/util/List;"), is(true));
+    }
+
+    @Test
+    public void testMentionsDescriptor() throws Exception {
+        ConstantPoolScanner scanner = ConstantPoolScanner.of(ClassFileLocator.ForClassLoader.read(Sample.class));
+        assertThat(scanner.mentionsDescriptor("L" + Foo.class.getName().replace('.', '/') + ";"), is(true));
+        assertThat(scanner.mentionsDescriptor("Ljava/util/List;"), is(true));
+        assertThat(scanner.mentionsDescriptor("Ljava/io/PrintStream;"), is(true));
+        assertThat(scanner.mentionsDescriptor("Ljava/lang/Runnable;"), is(false));
+    }
+
+    @Test
+    public void testMentionsType() throws Exception {
+        ConstantPoolScanner scanner = ConstantPoolScanner.of(ClassFileLocator.ForClassLoader.read(Sample.class));
+        assertThat(scanner.mentionsType(Foo.class.getName().replace('.', '/')), is(true));
+        assertThat(scanner.mentionsType("java/util/List"), is(true));
+        assertThat(scanner.mentionsType("java/lang/System"), is(true));
+        assertThat(scanner.mentionsType("java/util/concurrent/Callable"), is(true));
+        assertThat(scanner.mentionsType("java/lang/Runnable"), is(false));
+        assertThat(scanner.mentionsType("java/util/Lis"), is(false));
+    }
+
+    @Test
+    public void testNonAscii() throws Exception {
+        ConstantPoolScanner scanner = ConstantPoolScanner.of(new ByteBuddy()
+                .subclass(Object.class)
+                .name("foo.Bär€")
+                .defineField("qux", Long.TYPE)
+                .defineMethod("bar", Object.class)
+                .intercept(FixedValue.value(42d))
+                .make()
+                .getBytes());
+        assertThat(scanner.mentionsType("foo/Bär€"), is(true));
+        assertThat(scanner.mentionsType("foo/Bär"), is(false));
+        assertThat(scanner.mentionsDescriptor("foo/Bär"), is(true));
+        assertThat(scanner.mentions("foo/Bar€"), is(false));
+    }
+
+    @Test
+    public void testIgnoresNonConstantPool() throws Exception {
+        byte[] binaryRepresentation = new ByteBuddy()
+                .subclass(Object.class)
+                .name(FOO + ".Bar")
+                .make()
+                .getBytes();
+        byte[] extended = new byte[binaryRepresentation.length + 4];
+        System.arraycopy(binaryRepresentation, 0, extended, 0, binaryRepresentation.length);
+        extended[binaryRepresentation.length] = 'q';
+        extended[binaryRepresentation.length + 1] = 'u';
+        extended[binaryRepresentation.length + 2] = 'x';
+        assertThat(ConstantPoolScanner.of(extended).mentionsDescriptor("qux"), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoClassFile() throws Exception {
+        ConstantPoolScanner.of(new byte[]{1, 2, 3});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedClassFile() throws Exception {
+        byte[] binaryRepresentation = ClassFileLocator.ForClassLoader.read(Sample.class);
+        byte[] truncated = new byte[20];
+        System.arraycopy(binaryRepresentation, 0, truncated, 0, truncated.length);
+        ConstantPoolScanner.of(truncated);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalTag() throws Exception {
+        byte[] binaryRepresentation = ClassFileLocator.ForClassLoader.read(Sample.class);
+        binaryRepresentation[10] = 2;
+        ConstantPoolScanner.of(binaryRepresentation);
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface Foo {
+        /* empty */
+    }
+
+    @Foo
+    private static class Sample implements Callable<List<?>> {
+
+        private long foo = 1234567890123L;
+
+        public List<?> call() {
+            System.out.println(foo);
+            return null;
+        }
+    }
+}
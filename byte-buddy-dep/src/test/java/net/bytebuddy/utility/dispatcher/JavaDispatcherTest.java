@@ -2,14 +2,21 @@ package net.bytebuddy.utility.dispatcher;
 
 import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.test.utility.JavaVersionRule;
+import net.bytebuddy.utility.OpenedClassReader;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.MethodRule;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
@@ -18,7 +25,11 @@ import java.security.PermissionCollection;
 import java.security.ProtectionDomain;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -147,6 +158,54 @@ public class JavaDispatcherTest {
         assertThat(Proxy.isProxyClass(JavaDispatcher.of(StaticSample.class, null, generate).run().getClass()), is(!generate));
     }
 
+    @Test
+    public void testNonPublicTarget() throws Exception {
+        NonPublicSample sample = JavaDispatcher.of(NonPublicSample.class, JavaDispatcherTest.class.getClassLoader(), generate).run();
+        Object target = sample.make("foo");
+        assertThat(target.getClass(), is((Object) NonPublicTarget.class));
+        assertThat(sample.getValue(target), is("foo"));
+        assertThat(sample.length("foo"), is(3));
+        assertThat(Proxy.isProxyClass(sample.getClass()), is(!generate || !ClassFileVersion.ofThisVm().isAtLeast(ClassFileVersion.JAVA_V7)));
+    }
+
+    @Test
+    public void testPreload() throws Exception {
+        JavaDispatcher.preload();
+    }
+
+    @Test
+    public void testPreloadedCoversAllHolders() throws Exception {
+        Set<String> preloaded = new HashSet<String>();
+        for (String name : JavaDispatcher.preloaded()) {
+            Class<?> type = Class.forName(name, false, JavaDispatcher.class.getClassLoader());
+            do {
+                preloaded.add(type.getName());
+                type = type.getSuperclass();
+            } while (type != null);
+        }
+        File folder = new File(JavaDispatcher.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        assertThat(folder.isDirectory(), is(true));
+        Set<String> holders = new HashSet<String>();
+        LinkedList<File> files = new LinkedList<File>(Collections.singleton(folder));
+        while (!files.isEmpty()) {
+            File file = files.removeFirst();
+            File[] child = file.listFiles();
+            if (child != null) {
+                files.addAll(Arrays.asList(child));
+            } else if (file.getName().endsWith(".class")) {
+                InputStream inputStream = new FileInputStream(file);
+                try {
+                    new ClassReader(inputStream).accept(new HolderVisitor(holders), ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+                } finally {
+                    inputStream.close();
+                }
+            }
+        }
+        assertThat(holders.isEmpty(), is(false));
+        holders.removeAll(preloaded);
+        assertThat(holders, is(Collections.<String>emptySet()));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testJavaSecurity() {
         JavaDispatcher.of(ProtectionDomain.class, null, generate);
@@ -321,10 +380,70 @@ public class JavaDispatcherTest {
         Object lookup();
     }
 
+    @JavaDispatcher.Proxied("net.bytebuddy.utility.dispatcher.JavaDispatcherTest$NonPublicTarget")
+    public interface NonPublicSample {
+
+        @JavaDispatcher.IsConstructor
+        Object make(String value);
+
+        String getValue(Object target);
+
+        @JavaDispatcher.IsStatic
+        int length(String value);
+    }
+
+    static class NonPublicTarget {
+
+        private final String value;
+
+        public NonPublicTarget(String value) {
+            this.value = value;
+        }
+
+        public static int length(String value) {
+            return value.length();
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
     @JavaDispatcher.Proxied("net.bytebuddy.utility.dispatcher.JavaDispatcherTest")
     public interface JavaDispatcherCaller {
 
         @JavaDispatcher.IsStatic
         Class<?> caller() throws Exception;
     }
-}
\ No newline at end of file
+
+    private static class HolderVisitor extends ClassVisitor {
+
+        private final Set<String> holders;
+
+        private String name;
+
+        private HolderVisitor(Set<String> holders) {
+            super(OpenedClassReader.ASM_API);
+            this.holders = holders;
+        }
+
+        @Override
+        public void visit(int version, int modifiers, String name, String signature, String superName, String[] interfaces) {
+            this.name = name;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int modifiers, String name, String descriptor, String signature, String[] exception) {
+            return new MethodVisitor(OpenedClassReader.ASM_API) {
+                @Override
+                public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+                    if (owner.equals(Type.getInternalName(JavaDispatcher.class))
+                            && name.equals("of")
+                            && !HolderVisitor.this.name.startsWith(Type.getInternalName(JavaDispatcher.class))) {
+                        holders.add(HolderVisitor.this.name.replace('/', '.'));
+                    }
+                }
+            };
+        }
+    }
+}
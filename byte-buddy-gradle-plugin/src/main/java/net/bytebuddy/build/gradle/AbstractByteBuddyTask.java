@@ -16,6 +16,7 @@
 package net.bytebuddy.build.gradle;
 
 import groovy.lang.Closure;
+import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.build.BuildLogger;
 import net.bytebuddy.build.EntryPoint;
@@ -359,6 +360,16 @@ public abstract class AbstractByteBuddyTask extends DefaultTask {
     @MaybeNull
     protected abstract Iterable<File> discoverySet();
 
+    /**
+     * Returns the cache to use for the plugin engine.
+     *
+     * @param fingerprint A fingerprint of this task's configuration.
+     * @return The cache to use for the plugin engine.
+     */
+    protected Plugin.Engine.Cache cache(String fingerprint) {
+        return Plugin.Engine.Cache.NoOp.INSTANCE;
+    }
+
     /**
      * Applies the transformation from a source to a target.
      *
@@ -404,9 +415,15 @@ public abstract class AbstractByteBuddyTask extends DefaultTask {
                 getLogger().debug("{} plugins are being applied via configuration and discovery", transformations.size());
             }
             List<Plugin.Factory> factories = new ArrayList<Plugin.Factory>(transformations.size());
+            StringBuilder fingerprint = new StringBuilder().append(ByteBuddy.class.getPackage().getImplementationVersion());
             for (Transformation transformation : transformations) {
                 try {
-                    factories.add(new Plugin.Factory.UsingReflection(transformation.toPlugin(classLoader))
+                    Class<? extends Plugin> plugin = transformation.toPlugin(classLoader);
+                    fingerprint.append('\n').append(plugin.getName()).append('@').append(Plugin.Engine.Cache.ForFolder.fingerprint(plugin));
+                    for (PluginArgument argument : transformation.getArguments()) {
+                        fingerprint.append(';').append(argument.getIndex()).append('=').append(argument.getValue());
+                    }
+                    factories.add(new Plugin.Factory.UsingReflection(plugin)
                             .with(transformation.makeArgumentResolvers())
                             .with(Plugin.Factory.UsingReflection.ArgumentResolver.ForType.of(File.class, source()),
                                     Plugin.Factory.UsingReflection.ArgumentResolver.ForType.of(Logger.class, getLogger()),
@@ -439,7 +456,11 @@ public abstract class AbstractByteBuddyTask extends DefaultTask {
                     }
                     pluginEngine = Plugin.Engine.Default.of(getEntryPoint(), classFileVersion, getSuffix().length() == 0
                             ? MethodNameTransformer.Suffixing.withRandomSuffix()
-                            : new MethodNameTransformer.Suffixing(getSuffix()));
+                            : new MethodNameTransformer.Suffixing(getSuffix())).withCache(cache(fingerprint.append('\n')
+                            .append(getEntryPoint() instanceof Enum<?> ? getEntryPoint() : getEntryPoint().getClass().getName())
+                            .append(';').append(getSuffix())
+                            .append(';').append(isExtendedParsing())
+                            .append(';').append(classFileVersion).toString()));
                 } catch (Throwable throwable) {
                     throw new IllegalStateException("Cannot create plugin engine", throwable);
                 }
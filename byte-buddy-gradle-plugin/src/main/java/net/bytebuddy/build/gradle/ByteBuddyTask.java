@@ -47,6 +47,12 @@ public abstract class ByteBuddyTask extends AbstractByteBuddyTask {
     @MaybeNull
     private FileCollection discoverySet;
 
+    /**
+     * The directory to cache transformation outcomes in or {@code null} if no cache should be used.
+     */
+    @MaybeNull
+    private File cacheDirectory;
+
     /**
      * Creates a new Byte Buddy task.
      */
@@ -123,6 +129,35 @@ public abstract class ByteBuddyTask extends AbstractByteBuddyTask {
         this.discoverySet = discoverySet;
     }
 
+    /**
+     * Returns the directory to cache transformation outcomes in or {@code null} if no cache should be used. If a class file,
+     * its resolved super types and the plugin configuration are unchanged, a cached outcome is applied without transforming
+     * the type again.
+     *
+     * @return The directory to cache transformation outcomes in or {@code null} if no cache should be used.
+     */
+    @Internal
+    @MaybeNull
+    public File getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Sets the directory to cache transformation outcomes in or {@code null} if no cache should be used.
+     *
+     * @param cacheDirectory The directory to cache transformation outcomes in or {@code null} if no cache should be used.
+     */
+    public void setCacheDirectory(@MaybeNull File cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    @Override
+    protected Plugin.Engine.Cache cache(String fingerprint) {
+        return cacheDirectory == null
+                ? Plugin.Engine.Cache.NoOp.INSTANCE
+                : new Plugin.Engine.Cache.ForFolder(cacheDirectory, fingerprint);
+    }
+
     @Override
     protected File source() {
         return getSource().getAsFile().get();
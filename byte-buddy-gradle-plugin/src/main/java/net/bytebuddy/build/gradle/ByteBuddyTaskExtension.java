@@ -21,6 +21,7 @@ import org.gradle.api.Project;
 import org.gradle.api.file.FileCollection;
 
 import javax.inject.Inject;
+import java.io.File;
 
 /**
  * A Byte Buddy task extension.
@@ -44,6 +45,12 @@ public class ByteBuddyTaskExtension extends AbstractByteBuddyTaskExtension<ByteB
     @MaybeNull
     private FileCollection discoverySet;
 
+    /**
+     * The directory to cache transformation outcomes in or {@code null} if no cache should be used.
+     */
+    @MaybeNull
+    private File cacheDirectory;
+
     /**
      * Creates a new Byte Buddy task extension.
      *
@@ -112,6 +119,25 @@ public class ByteBuddyTaskExtension extends AbstractByteBuddyTaskExtension<ByteB
         this.discoverySet = discoverySet;
     }
 
+    /**
+     * Returns the directory to cache transformation outcomes in or {@code null} if no cache should be used.
+     *
+     * @return The directory to cache transformation outcomes in or {@code null} if no cache should be used.
+     */
+    @MaybeNull
+    public File getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Sets the directory to cache transformation outcomes in or {@code null} if no cache should be used.
+     *
+     * @param cacheDirectory The directory to cache transformation outcomes in or {@code null} if no cache should be used.
+     */
+    public void setCacheDirectory(@MaybeNull File cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
     @Override
     protected boolean isEmptyDiscovery() {
         return discoverySet == null || discoverySet.isEmpty();
@@ -121,6 +147,7 @@ public class ByteBuddyTaskExtension extends AbstractByteBuddyTaskExtension<ByteB
     protected void doConfigure(ByteBuddyTask task) {
         task.setIncrementalResolver(getIncrementalResolver());
         task.setDiscoverySet(discoverySet);
+        task.setCacheDirectory(cacheDirectory);
     }
 
     @Override
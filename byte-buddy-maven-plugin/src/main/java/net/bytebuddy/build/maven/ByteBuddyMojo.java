@@ -16,6 +16,7 @@
 package net.bytebuddy.build.maven;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.build.BuildLogger;
 import net.bytebuddy.build.EntryPoint;
@@ -253,6 +254,13 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
     @Parameter(defaultValue = "0", required = true)
     public int staleMilliseconds;
 
+    /**
+     * Determines if the outcome of each type's transformation is cached within the build directory. If a class file, its resolved
+     * super types and the plugin configuration are unchanged, the cached outcome is applied without transforming the type again.
+     */
+    @Parameter(defaultValue = "false", required = true)
+    public boolean cache;
+
     /**
      * {@inheritDoc}
      */
@@ -395,11 +403,11 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
         } else if (!root.isDirectory()) {
             throw new MojoExecutionException("Not a directory: " + root);
         }
-        File staleness = new File(project.getBuild().getDirectory(), "maven-status"
+        File status = new File(project.getBuild().getDirectory(), "maven-status"
                 + File.separator + execution.getArtifactId()
                 + File.separator + execution.getGoal()
-                + File.separator + execution.getExecutionId()
-                + File.separator + "staleness");
+                + File.separator + execution.getExecutionId());
+        File staleness = new File(status, "staleness");
         StalenessFilter stalenessFilter;
         if (filtered || staleMilliseconds < 0) {
             stalenessFilter = null;
@@ -421,10 +429,13 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
         ClassLoaderResolver classLoaderResolver = new ClassLoaderResolver(getLog(), repositorySystem, repositorySystemSession == null ? MavenRepositorySystemUtils.newSession() : repositorySystemSession, project.getRemotePluginRepositories());
         try {
             List<Plugin.Factory> factories = new ArrayList<Plugin.Factory>(transformers.size());
+            StringBuilder fingerprint = new StringBuilder().append(ByteBuddy.class.getPackage().getImplementationVersion());
             for (Transformer transformer : transformers) {
                 String plugin = transformer.getPlugin();
                 try {
-                    factories.add(new Plugin.Factory.UsingReflection((Class<? extends Plugin>) Class.forName(plugin, false, transformer.toClassLoader(classLoaderResolver, coordinates, project.getGroupId(), project.getArtifactId(), project.getVersion(), project.getPackaging())))
+                    Class<?> type = Class.forName(plugin, false, transformer.toClassLoader(classLoaderResolver, coordinates, project.getGroupId(), project.getArtifactId(), project.getVersion(), project.getPackaging()));
+                    fingerprint.append('\n').append(transformer.toFingerprint()).append('@').append(Plugin.Engine.Cache.ForFolder.fingerprint(type));
+                    factories.add(new Plugin.Factory.UsingReflection((Class<? extends Plugin>) type)
                             .with(transformer.toArgumentResolvers())
                             .with(Plugin.Factory.UsingReflection.ArgumentResolver.ForType.of(File.class, root),
                                     Plugin.Factory.UsingReflection.ArgumentResolver.ForType.of(Log.class, getLog()),
@@ -437,6 +448,7 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
             String managed = coordinates.get(new Coordinate(project.getGroupId(), project.getArtifactId()));
             EntryPoint entryPoint = (initialization == null ? new Initialization() : initialization).getEntryPoint(classLoaderResolver, project.getGroupId(), project.getArtifactId(), managed == null ? project.getVersion() : managed, project.getPackaging());
             getLog().info("Resolved entry point: " + entryPoint);
+            fingerprint.append('\n').append(entryPoint instanceof Enum<?> ? entryPoint : entryPoint.getClass().getName()).append(';').append(suffix).append(';').append(extendedParsing);
             List<ClassFileLocator> classFileLocators = new ArrayList<ClassFileLocator>(classPath.size());
             classFileLocators.add(ClassFileLocator.ForClassLoader.ofPlatformLoader());
             for (String target : classPath) {
@@ -462,6 +474,10 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
                         getLog().debug("Java version detected: " + javaVersionString);
                     }
                     pluginEngine = Plugin.Engine.Default.of(entryPoint, classFileVersion, suffix == null || suffix.length() == 0 ? MethodNameTransformer.Suffixing.withRandomSuffix() : new MethodNameTransformer.Suffixing(suffix));
+                    if (cache) {
+                        pluginEngine = pluginEngine.withCache(new Plugin.Engine.Cache.ForFolder(new File(status, "cache"), fingerprint.append(';').append(classFileVersion).toString()));
+                        getLog().debug("Using transformation cache in " + new File(status, "cache"));
+                    }
                 } catch (Throwable throwable) {
                     throw new MojoExecutionException("Cannot create plugin engine", throwable);
                 }
@@ -857,6 +873,16 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
          */
         protected abstract List<? extends Plugin.Factory.UsingReflection.ArgumentResolver> toArgumentResolvers();
 
+        /**
+         * Returns a fingerprint of this transformer's configuration.
+         *
+         * @return A fingerprint of this transformer's configuration.
+         * @throws MojoExecutionException If the plugin name was not set.
+         */
+        protected String toFingerprint() throws MojoExecutionException {
+            return getPlugin();
+        }
+
         /**
          * Resolves the class loader to use for resolving the plugin.
          *
@@ -901,6 +927,17 @@ public abstract class ByteBuddyMojo extends AbstractMojo {
                 return transformation.makeArgumentResolvers();
             }
 
+            @Override
+            protected String toFingerprint() throws MojoExecutionException {
+                StringBuilder stringBuilder = new StringBuilder(transformation.getPlugin());
+                if (transformation.arguments != null) {
+                    for (PluginArgument argument : transformation.arguments) {
+                        stringBuilder.append(';').append(argument.index).append('=').append(argument.value);
+                    }
+                }
+                return stringBuilder.toString();
+            }
+
             @Override
             protected ClassLoader toClassLoader(ClassLoaderResolver classLoaderResolver, Map<Coordinate, String> coordinates, String groupId, String artifactId, String version, String packaging) throws MojoFailureException, MojoExecutionException {
                 String managed = coordinates.get(new Coordinate(transformation.getGroupId(groupId), transformation.getArtifactId(artifactId)));